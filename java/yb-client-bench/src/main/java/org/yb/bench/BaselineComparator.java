@@ -0,0 +1,161 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.bench;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares a JMH JSON result file against a baseline recorded with the same benchmarks, and exits
+ * with a non-zero status if any benchmark got slower by more than the allowed threshold.
+ * <p>
+ * Usage: {@code BaselineComparator <baseline.json> <result.json> [threshold_percent]}
+ * <p>
+ * Benchmarks are matched by name and parameters. A score is a regression when it is worse than
+ * the baseline by more than the threshold and by more than the combined error of both runs, so
+ * that noisy benchmarks do not fail the comparison. Benchmarks missing from either file are
+ * reported but do not fail it.
+ */
+public final class BaselineComparator {
+
+  private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+  private BaselineComparator() {
+  }
+
+  /** The primary metric of a single benchmark run. */
+  static final class Score {
+    final double score;
+    final double error;
+    final String unit;
+
+    Score(double score, double error, String unit) {
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+    }
+
+    /** Time per operation gets better when it goes down, throughput when it goes up. */
+    boolean lowerIsBetter() {
+      return unit.endsWith("/op");
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println(
+          "Usage: BaselineComparator <baseline.json> <result.json> [threshold_percent]");
+      System.exit(2);
+    }
+    Path baselinePath = Paths.get(args[0]);
+    if (!Files.exists(baselinePath)) {
+      System.err.println("No baseline at " + baselinePath + ", nothing to compare against. " +
+                         "Copy " + args[1] + " there to record one.");
+      System.exit(2);
+    }
+    double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+    List<String> regressions = compare(read(baselinePath), read(Paths.get(args[1])), threshold);
+    if (!regressions.isEmpty()) {
+      System.err.println(regressions.size() + " benchmark(s) regressed by more than " +
+                         threshold + "%:");
+      for (String regression : regressions) {
+        System.err.println("  " + regression);
+      }
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Prints the comparison of every benchmark and returns descriptions of the regressions.
+   */
+  static List<String> compare(Map<String, Score> baseline, Map<String, Score> result,
+                              double thresholdPercent) {
+    List<String> regressions = new ArrayList<>();
+    for (Map.Entry<String, Score> entry : result.entrySet()) {
+      String key = entry.getKey();
+      Score current = entry.getValue();
+      Score base = baseline.get(key);
+      if (base == null) {
+        System.out.printf("%-80s %12.3f %s (no baseline)%n", key, current.score, current.unit);
+        continue;
+      }
+      if (!base.unit.equals(current.unit)) {
+        System.out.printf("%-80s unit changed from %s to %s, skipped%n",
+                          key, base.unit, current.unit);
+        continue;
+      }
+      double change = (current.score - base.score) / base.score * 100;
+      double worse = current.lowerIsBetter() ? current.score - base.score
+                                             : base.score - current.score;
+      boolean regressed = worse > base.score * thresholdPercent / 100 &&
+                          worse > base.error + current.error;
+      String line = String.format("%-80s %12.3f -> %12.3f %s (%+.1f%%)",
+                                  key, base.score, current.score, current.unit, change);
+      System.out.println(line + (regressed ? " REGRESSION" : ""));
+      if (regressed) {
+        regressions.add(line);
+      }
+    }
+    for (String key : baseline.keySet()) {
+      if (!result.containsKey(key)) {
+        System.out.printf("%-80s not run%n", key);
+      }
+    }
+    return regressions;
+  }
+
+  /** Reads the primary metric of every benchmark in a JMH JSON result file. */
+  static Map<String, Score> read(Path path) throws IOException {
+    Map<String, Score> scores = new TreeMap<>();
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+      for (JsonElement element : runs) {
+        JsonObject run = element.getAsJsonObject();
+        JsonObject metric = run.getAsJsonObject("primaryMetric");
+        double error = metric.get("scoreError").isJsonPrimitive() ?
+            metric.get("scoreError").getAsDouble() : 0;
+        scores.put(key(run), new Score(metric.get("score").getAsDouble(),
+                                       Double.isNaN(error) ? 0 : error,
+                                       metric.get("scoreUnit").getAsString()));
+      }
+    }
+    return scores;
+  }
+
+  private static String key(JsonObject run) {
+    StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+    if (run.has("params")) {
+      // Sorted, so that the key does not depend on the order JMH lists the parameters in.
+      Map<String, String> params = new TreeMap<>();
+      for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+        params.put(param.getKey(), param.getValue().getAsString());
+      }
+      key.append(params);
+    }
+    return key.toString();
+  }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.yb.util.HybridTimeUtil;
+import org.yb.util.Slice;
+import org.yb.util.Slices;
+
+/**
+ * Byte-level helpers on the request path: {@link Bytes} key comparison and fixed-width codecs,
+ * {@link Slice} tablet ids and {@link HybridTimeUtil} conversions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BytesBenchmark {
+
+  @State(Scope.Thread)
+  public static class Keys {
+    /** Length of the compared keys; they only differ in the last byte. */
+    @Param({"16", "64"})
+    public int keyLength;
+
+    byte[] a;
+    byte[] b;
+    byte[] scratch = new byte[8];
+    long value = 0x0123456789abcdefL;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      a = new byte[keyLength];
+      b = new byte[keyLength];
+      for (int i = 0; i < keyLength; i++) {
+        a[i] = b[i] = (byte) i;
+      }
+      b[keyLength - 1]++;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TabletIds {
+    final String tabletId = "5b4e0e1a2f3c4d5e6f708192a3b4c5d6";
+    final Slice slice = Slices.copiedBuffer(tabletId, StandardCharsets.UTF_8);
+    final Slice sameSlice = Slices.copiedBuffer(tabletId, StandardCharsets.UTF_8);
+  }
+
+  @State(Scope.Thread)
+  public static class Clock {
+    long micros = 1_600_000_000_000_000L;
+  }
+
+  @Benchmark
+  public int memcmp(Keys k) {
+    return Bytes.memcmp(k.a, k.b);
+  }
+
+  @Benchmark
+  public int memcmpComparator(Keys k) {
+    return Bytes.MEMCMP.compare(k.a, k.b);
+  }
+
+  @Benchmark
+  public long setGetLong(Keys k) {
+    Bytes.setLong(k.scratch, k.value++);
+    return Bytes.getLong(k.scratch);
+  }
+
+  /** Tablet ids are Slices keyed in hash maps, so hashing and equality dominate lookups. */
+  @Benchmark
+  public void sliceHashAndEquals(TabletIds t, Blackhole bh) {
+    bh.consume(t.slice.hashCode());
+    bh.consume(t.slice.equals(t.sameSlice));
+  }
+
+  @Benchmark
+  public int sliceCompareTo(TabletIds t) {
+    return t.slice.compareTo(t.sameSlice);
+  }
+
+  @Benchmark
+  public Slice sliceFromString(TabletIds t) {
+    return Slices.copiedBuffer(t.tabletId, StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String sliceToString(TabletIds t) {
+    return t.slice.toString(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public long hybridTimeRoundTrip(Clock c) {
+    long ht = HybridTimeUtil.clockTimestampToHTTimestamp(c.micros++, TimeUnit.MICROSECONDS);
+    long[] physicalAndLogical = HybridTimeUtil.HTTimestampToPhysicalAndLogical(ht);
+    return HybridTimeUtil.physicalAndLogicalToHTTimestamp(physicalAndLogical[0],
+                                                          physicalAndLogical[1]);
+  }
+}
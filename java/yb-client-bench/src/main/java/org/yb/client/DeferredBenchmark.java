@@ -0,0 +1,114 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.stumbleupon.async.Callback;
+import com.stumbleupon.async.Deferred;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Callback chains on {@link Deferred}, which every asynchronous client call completes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeferredBenchmark {
+
+  private static final Callback<Long, Long> INCREMENT = new Callback<Long, Long>() {
+    @Override
+    public Long call(Long value) {
+      return value + 1;
+    }
+  };
+
+  private static final Callback<Long, Exception> RECOVER = new Callback<Long, Exception>() {
+    @Override
+    public Long call(Exception e) {
+      return -1L;
+    }
+  };
+
+  private static final Exception FAILURE = new NonRecoverableException("benchmark failure");
+
+  @State(Scope.Thread)
+  public static class Chain {
+    /** Number of callbacks added to each deferred. */
+    @Param({"1", "8"})
+    public int length;
+
+    long next;
+  }
+
+  /** Callbacks added before the result arrives, as for an RPC that is still in flight. */
+  @Benchmark
+  public Object callbackThenResult(Chain c) {
+    Deferred<Long> d = new Deferred<>();
+    for (int i = 0; i < c.length; i++) {
+      d.addCallback(INCREMENT);
+    }
+    d.callback(c.next++);
+    return d;
+  }
+
+  /** Callbacks added to a deferred that already has its result, which run inline. */
+  @Benchmark
+  public Object resultThenCallback(Chain c) {
+    Deferred<Long> d = Deferred.fromResult(c.next++);
+    for (int i = 0; i < c.length; i++) {
+      d.addCallback(INCREMENT);
+    }
+    return d;
+  }
+
+  /** An error that skips the callbacks and is handled by the errback at the end of the chain. */
+  @Benchmark
+  public Object errback(Chain c) {
+    Deferred<Long> d = new Deferred<>();
+    for (int i = 0; i < c.length; i++) {
+      d.addCallback(INCREMENT);
+    }
+    d.addErrback(RECOVER);
+    d.callback(FAILURE);
+    return d;
+  }
+
+  /** Waiting on a group of deferreds, as batched operations do. */
+  @Benchmark
+  public Object group(Chain c) {
+    List<Deferred<Long>> deferreds = new ArrayList<>(c.length);
+    for (int i = 0; i < c.length; i++) {
+      deferreds.add(new Deferred<>());
+    }
+    Deferred<ArrayList<Long>> all = Deferred.group(deferreds);
+    for (Deferred<Long> d : deferreds) {
+      d.callback(c.next++);
+    }
+    return all;
+  }
+}
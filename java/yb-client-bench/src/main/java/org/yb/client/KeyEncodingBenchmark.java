@@ -0,0 +1,120 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.ColumnSchema.ColumnSchemaBuilder;
+import org.yb.Common.PartitionSchemaPB.HashSchema;
+import org.yb.Schema;
+import org.yb.Type;
+
+/**
+ * Row building, primary key encoding and partition key hashing, as done for every write.
+ * <p>
+ * The table has a hash column, two range columns and a value column:
+ * {@code (h int32 HASH, r string, ts int64, v int64)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyEncodingBenchmark {
+
+  static final int NUM_HASH_BUCKETS = 16;
+
+  static Schema newSchema() {
+    return new Schema(
+        Arrays.asList(
+            new ColumnSchemaBuilder("h", Type.INT32).hashKey(true).build(),
+            new ColumnSchemaBuilder("r", Type.STRING).key(true).build(),
+            new ColumnSchemaBuilder("ts", Type.INT64).key(true).build(),
+            new ColumnSchemaBuilder("v", Type.INT64).build()),
+        Arrays.asList(10, 11, 12, 13),
+        -1 /* timeToLiveInMillis */);
+  }
+
+  static PartitionSchema newPartitionSchema(Schema schema) {
+    return new PartitionSchema(
+        new PartitionSchema.RangeSchema(Arrays.asList(11, 12)),
+        Collections.singletonList(
+            new PartitionSchema.HashBucketSchema(Collections.singletonList(10),
+                                                 NUM_HASH_BUCKETS, 0 /* seed */)),
+        schema,
+        HashSchema.MULTI_COLUMN_HASH_SCHEMA);
+  }
+
+  @State(Scope.Thread)
+  public static class Table {
+    Schema schema;
+    PartitionSchema partitionSchema;
+    PartialRow row;
+    KeyEncoder encoder;
+    int nextKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      schema = newSchema();
+      partitionSchema = newPartitionSchema(schema);
+      encoder = new KeyEncoder();
+      row = fillRow(schema, 42);
+    }
+  }
+
+  static PartialRow fillRow(Schema schema, int key) {
+    PartialRow row = schema.newPartialRow();
+    row.addInt(0, key);
+    row.addString(1, "user-" + (key & 1023));
+    row.addLong(2, 1_600_000_000_000L + key);
+    row.addLong(3, key);
+    return row;
+  }
+
+  /** Builds a fresh row for each operation, as an application writing new rows does. */
+  @Benchmark
+  public PartialRow buildRow(Table t) {
+    return fillRow(t.schema, t.nextKey++);
+  }
+
+  @Benchmark
+  public byte[] encodePrimaryKey(Table t) {
+    return t.encoder.encodePrimaryKey(t.row);
+  }
+
+  /** Murmur2 hash of the hash columns followed by the encoded range columns. */
+  @Benchmark
+  public byte[] encodePartitionKey(Table t) {
+    return t.encoder.encodePartitionKey(t.row, t.partitionSchema);
+  }
+
+  /** The public entry point, which allocates a new encoder on every call. */
+  @Benchmark
+  public byte[] partitionSchemaEncodePartitionKey(Table t) {
+    return t.partitionSchema.encodePartitionKey(t.row);
+  }
+}
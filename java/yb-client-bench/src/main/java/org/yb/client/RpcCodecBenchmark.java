@@ -0,0 +1,112 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.master.MasterClientOuterClass.GetTableLocationsResponsePB;
+import org.yb.rpc.RpcHeader;
+
+/**
+ * Encoding of request frames and decoding of response frames, without the network.
+ * <p>
+ * Requests are encoded the way {@link TabletClient} does it: a request header with the shared
+ * remote method, then {@link YRpc#serialize} into a pooled direct buffer. Responses are decoded
+ * from a heap frame with {@link CallResponse} and parsed with {@link YRpc#readProtobuf}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RpcCodecBenchmark {
+
+  @State(Scope.Thread)
+  public static class Request {
+    AsyncYBClient client;
+    GetTableSchemaRequest rpc;
+    int nextCallId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:7100").build();
+      rpc = new GetTableSchemaRequest(client.masterTable, null /* name */,
+                                      "000033e8000030008000000000004000");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      client.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Response {
+    /** Number of tablets, with three replicas each, in the table locations response. */
+    @Param({"1", "64"})
+    public int numTablets;
+
+    ByteBuf frame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      frame = Unpooled.buffer();
+      RpcFrames.writeResponse(
+          frame, 1, TabletLookupBenchmark.tableLocations(numTablets, true /* withReplicas */));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      frame.release();
+    }
+  }
+
+  @Benchmark
+  public int encodeRequest(Request r) {
+    RpcHeader.RequestHeader header = RpcHeader.RequestHeader.newBuilder()
+        .setCallId(r.nextCallId++)
+        .setRemoteMethod(TabletClient.remoteMethod(r.rpc.serviceName(), r.rpc.method()))
+        .setTimeoutMillis(10000)
+        .build();
+    ByteBuf buf = r.rpc.serialize(header);
+    try {
+      return buf.readableBytes();
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Benchmark
+  public GetTableLocationsResponsePB decodeResponse(Response r) {
+    CallResponse response = new CallResponse(r.frame.duplicate());
+    GetTableLocationsResponsePB.Builder builder = GetTableLocationsResponsePB.newBuilder();
+    YRpc.readProtobuf(response.getPBMessage(), builder);
+    return builder.build();
+  }
+}
@@ -0,0 +1,54 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.io.IOException;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import io.netty.buffer.ByteBuf;
+import org.yb.rpc.RpcHeader;
+
+/**
+ * Builds RPC response frames the way a server puts them on the wire, so that benchmarks can feed
+ * them to the client without a server.
+ */
+final class RpcFrames {
+
+  private RpcFrames() {
+  }
+
+  /** Appends a length-prefixed response frame for the given call to {@code out}. */
+  static void writeResponse(ByteBuf out, int callId, Message body) {
+    RpcHeader.ResponseHeader header = RpcHeader.ResponseHeader.newBuilder()
+        .setCallId(callId)
+        .build();
+    int headerSize = header.getSerializedSize();
+    int bodySize = body.getSerializedSize();
+    int totalSize = CodedOutputStream.computeUInt32SizeNoTag(headerSize) + headerSize
+        + CodedOutputStream.computeUInt32SizeNoTag(bodySize) + bodySize;
+    byte[] frame = new byte[totalSize];
+    CodedOutputStream cos = CodedOutputStream.newInstance(frame);
+    try {
+      cos.writeUInt32NoTag(headerSize);
+      header.writeTo(cos);
+      cos.writeUInt32NoTag(bodySize);
+      body.writeTo(cos);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    out.writeInt(totalSize);
+    out.writeBytes(frame);
+  }
+}
@@ -0,0 +1,128 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TLS setup of a new connection: building the client {@link SslContext} for every connection, as
+ * was done before {@link SslContextCache}, against reusing the cached one. The handshakes run in
+ * memory against a server with a self-signed certificate, so they only measure CPU cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SslHandshakeBenchmark {
+
+  private static final String HOST = "127.0.0.1";
+  private static final int PORT = 9100;
+
+  @State(Scope.Thread)
+  public static class Tls {
+    SelfSignedCertificate certificate;
+    String certFile;
+    SslContext serverContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+      certificate = new SelfSignedCertificate();
+      certFile = certificate.certificate().getPath();
+      serverContext =
+          SslContextBuilder.forServer(certificate.certificate(), certificate.privateKey()).build();
+      SslContextCache.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      certificate.delete();
+    }
+  }
+
+  /** Client handler of a new connection, with a context built from the files. */
+  @Benchmark
+  public SslHandler newHandlerRebuilt(Tls tls) {
+    SslContext context = SslContextCache.build(tls.certFile, null, null);
+    return context.newHandler(ByteBufAllocator.DEFAULT, HOST, PORT);
+  }
+
+  /** Client handler of a new connection, with the cached context. */
+  @Benchmark
+  public SslHandler newHandlerCached(Tls tls) {
+    SslContext context = SslContextCache.get(tls.certFile, null, null);
+    return context.newHandler(ByteBufAllocator.DEFAULT, HOST, PORT);
+  }
+
+  /** Full handshake with a context built from the files. */
+  @Benchmark
+  public boolean handshakeRebuilt(Tls tls) {
+    return handshake(SslContextCache.build(tls.certFile, null, null), tls.serverContext);
+  }
+
+  /** Handshake with the cached context, which resumes the session of the previous connection. */
+  @Benchmark
+  public boolean handshakeCached(Tls tls) {
+    return handshake(SslContextCache.get(tls.certFile, null, null), tls.serverContext);
+  }
+
+  private static boolean handshake(SslContext clientContext, SslContext serverContext) {
+    SslHandler clientHandler = clientContext.newHandler(ByteBufAllocator.DEFAULT, HOST, PORT);
+    EmbeddedChannel client = new EmbeddedChannel(clientHandler);
+    EmbeddedChannel server =
+        new EmbeddedChannel(serverContext.newHandler(ByteBufAllocator.DEFAULT));
+    try {
+      while (!clientHandler.handshakeFuture().isDone()) {
+        if (!transfer(client, server) && !transfer(server, client)) {
+          throw new IllegalStateException("Handshake stalled");
+        }
+      }
+      return clientHandler.handshakeFuture().isSuccess();
+    } finally {
+      client.finishAndReleaseAll();
+      server.finishAndReleaseAll();
+    }
+  }
+
+  // Moves the bytes written by one side to the other, returns whether there were any.
+  private static boolean transfer(EmbeddedChannel from, EmbeddedChannel to) {
+    boolean transferred = false;
+    ByteBuf buf;
+    while ((buf = from.readOutbound()) != null) {
+      to.writeInbound(buf);
+      transferred = true;
+    }
+    return transferred;
+  }
+}
@@ -0,0 +1,181 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.yb.rpc.RpcHeader;
+import org.yb.server.ServerBase;
+
+/**
+ * Encode and dispatch throughput of a single {@link TabletClient} connection.
+ * <p>
+ * The connection is an {@link EmbeddedChannel}, so the numbers cover header encoding, request
+ * serialization, in-flight bookkeeping and response dispatch without any socket IO.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TabletClientBenchmark {
+
+  @State(Scope.Thread)
+  public static class Connection {
+    /** Number of RPCs sent before their responses are fed back to the connection. */
+    @Param({"1", "64"})
+    public int batchSize;
+
+    AsyncYBClient client;
+    TabletClient tabletClient;
+    EmbeddedChannel channel;
+    int nextCallId;
+    PingRequest[] rpcs;
+    ByteBuf responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      // The client is never connected, it only provides configuration to the TabletClient.
+      client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:7100").build();
+      tabletClient = new TabletClient(client, "bench");
+      tabletClient.setDisconnectListener((tc, chan) -> { });
+      channel = new EmbeddedChannel(
+          new FlushConsolidationHandler(
+              FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true),
+          tabletClient);
+      // Drop the connection header written on activation.
+      releaseOutbound();
+      rpcs = new PingRequest[batchSize];
+      for (int i = 0; i < batchSize; i++) {
+        rpcs[i] = new PingRequest();
+      }
+      responses = Unpooled.buffer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      channel.finishAndReleaseAll();
+      responses.release();
+      client.close();
+    }
+
+    void releaseOutbound() {
+      channel.runPendingTasks();
+      Object msg;
+      while ((msg = channel.readOutbound()) != null) {
+        ((ByteBuf) msg).release();
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Headers {
+    final String service = YRpc.TABLET_SERVER_SERVICE_NAME;
+    final String method = "Write";
+    int callId;
+  }
+
+  /** Sends a batch of RPCs and dispatches their responses, as a busy connection would. */
+  @Benchmark
+  public void sendAndDispatch(Connection conn, Blackhole bh) {
+    for (PingRequest rpc : conn.rpcs) {
+      rpc.setTimeoutMillis(10000);
+      bh.consume(rpc.getDeferred());
+      conn.tabletClient.sendRpc(rpc);
+    }
+    conn.channel.flushOutbound();
+    conn.releaseOutbound();
+
+    conn.responses.clear();
+    for (int i = 0; i < conn.batchSize; i++) {
+      RpcFrames.writeResponse(conn.responses, conn.nextCallId++,
+          ServerBase.PingResponsePB.getDefaultInstance());
+    }
+    conn.channel.writeInbound(conn.responses.retain());
+  }
+
+  /** Builds the request header the way every RPC did before the remote method was cached. */
+  @Benchmark
+  public RpcHeader.RequestHeader headerUncached(Headers h) {
+    return RpcHeader.RequestHeader.newBuilder()
+        .setCallId(h.callId++)
+        .setTimeoutMillis(10000)
+        .setRemoteMethod(RpcHeader.RemoteMethodPB.newBuilder()
+            .setServiceName(h.service)
+            .setMethodName(h.method))
+        .build();
+  }
+
+  @Benchmark
+  public RpcHeader.RequestHeader headerCached(Headers h) {
+    return RpcHeader.RequestHeader.newBuilder()
+        .setCallId(h.callId++)
+        .setTimeoutMillis(10000)
+        .setRemoteMethod(TabletClient.remoteMethod(h.service, h.method))
+        .build();
+  }
+
+  @State(Scope.Thread)
+  public static class Inflight {
+    @Param({"16", "1024"})
+    public int depth;
+
+    final InflightRpcTable table = new InflightRpcTable();
+    final ConcurrentHashMap<Integer, YRpc<?>> map = new ConcurrentHashMap<>();
+    final PingRequest rpc = new PingRequest();
+    int callId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      for (; callId < depth; callId++) {
+        table.put(callId, rpc);
+        map.put(callId, rpc);
+      }
+    }
+  }
+
+  /** Registers one call and retires the oldest one, keeping {@code depth} calls in flight. */
+  @Benchmark
+  public YRpc<?> inflightTable(Inflight s) {
+    s.table.put(s.callId, s.rpc);
+    s.table.get(s.callId - s.depth);
+    return s.table.remove(s.callId++ - s.depth);
+  }
+
+  @Benchmark
+  public YRpc<?> inflightConcurrentHashMap(Inflight s) {
+    s.map.put(s.callId, s.rpc);
+    s.map.get(s.callId - s.depth);
+    return s.map.remove(s.callId++ - s.depth);
+  }
+}
@@ -0,0 +1,139 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.Common;
+import org.yb.CommonNet.HostPortPB;
+import org.yb.CommonTypes.PeerRole;
+import org.yb.Schema;
+import org.yb.master.MasterClientOuterClass.GetTableLocationsResponsePB;
+import org.yb.master.MasterClientOuterClass.TSInfoPB;
+import org.yb.master.MasterClientOuterClass.TabletLocationsPB;
+
+/**
+ * Lookup of the tablet serving a partition key in the {@link AsyncYBClient} tablet cache, which
+ * every write and read does before it is sent.
+ * <p>
+ * The table is hash partitioned into {@code numTablets} tablets over the 16-bit hash space, and
+ * the cache is populated with the same code path used for master responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TabletLookupBenchmark {
+
+  private static final int NUM_KEYS = 4096;
+  private static final int HASH_SPACE = 1 << 16;
+
+  @State(Scope.Benchmark)
+  public static class Cache {
+    @Param({"8", "256"})
+    public int numTablets;
+
+    AsyncYBClient client;
+    YBTable table;
+    byte[][] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+      // The client is never connected, only its tablet cache is used.
+      client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:7100").build();
+      Schema schema = KeyEncodingBenchmark.newSchema();
+      table = new YBTable(client, "bench", "bench-table-id", schema,
+                          KeyEncodingBenchmark.newPartitionSchema(schema));
+      client.discoverTablets(table, tableLocations(numTablets, false /* withReplicas */));
+
+      Random random = new Random(42);
+      keys = new byte[NUM_KEYS][];
+      for (int i = 0; i < NUM_KEYS; i++) {
+        // A 16-bit hash code followed by an encoded range component.
+        byte[] key = new byte[12];
+        random.nextBytes(key);
+        keys[i] = key;
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      client.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+  }
+
+  /**
+   * Builds a master response describing a table hash partitioned into {@code numTablets} tablets.
+   */
+  static GetTableLocationsResponsePB tableLocations(int numTablets, boolean withReplicas) {
+    GetTableLocationsResponsePB.Builder response = GetTableLocationsResponsePB.newBuilder();
+    for (int i = 0; i < numTablets; i++) {
+      TabletLocationsPB.Builder tablet = TabletLocationsPB.newBuilder()
+          .setTabletId(ByteString.copyFromUtf8(String.format("%032x", i)))
+          .setStale(false)
+          .setPartition(Common.PartitionPB.newBuilder()
+              .setPartitionKeyStart(hashKey(i, numTablets))
+              .setPartitionKeyEnd(hashKey(i + 1, numTablets)));
+      if (withReplicas) {
+        for (int r = 0; r < 3; r++) {
+          tablet.addReplicas(TabletLocationsPB.ReplicaPB.newBuilder()
+              .setTsInfo(TSInfoPB.newBuilder()
+                  .setPermanentUuid(ByteString.copyFromUtf8(String.format("%032x", r)))
+                  .addPrivateRpcAddresses(HostPortPB.newBuilder()
+                      .setHost("127.0.0." + (r + 1))
+                      .setPort(9100)))
+              .setRole(r == 0 ? PeerRole.LEADER : PeerRole.FOLLOWER));
+        }
+      }
+      response.addTabletLocations(tablet);
+    }
+    return response.build();
+  }
+
+  /** Start key of the {@code i}-th of {@code numTablets} hash partitions, empty at both ends. */
+  private static ByteString hashKey(int i, int numTablets) {
+    if (i == 0 || i == numTablets) {
+      return ByteString.EMPTY;
+    }
+    int hash = (int) ((long) i * HASH_SPACE / numTablets);
+    return ByteString.copyFrom(new byte[] { (byte) (hash >>> 8), (byte) hash });
+  }
+
+  @Benchmark
+  public AsyncYBClient.RemoteTablet getTablet(Cache cache, Cursor cursor) {
+    byte[] key = cache.keys[cursor.next++ & (NUM_KEYS - 1)];
+    return cache.client.getTablet(cache.table.getTableId(), key);
+  }
+}
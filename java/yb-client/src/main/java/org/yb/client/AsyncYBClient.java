@@ -59,28 +59,18 @@ import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timeout;
 import io.netty.util.TimerTask;
 import io.netty.util.concurrent.FutureListener;
-import java.io.FileInputStream;
-import java.io.FileReader;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
-import java.security.KeyFactory;
-import java.security.KeyStore;
-import java.security.PrivateKey;
-import java.security.Security;
-import java.security.cert.Certificate;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -90,19 +80,14 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import javax.net.ssl.KeyManagerFactory;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLEngine;
-import javax.net.ssl.TrustManagerFactory;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
-import org.bouncycastle.util.io.pem.PemObject;
-import org.bouncycastle.util.io.pem.PemReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.CommonNet;
@@ -118,26 +103,11 @@ import org.yb.master.MasterDdlOuterClass;
 import org.yb.master.MasterReplicationOuterClass;
 import org.yb.util.*;
 
-import javax.net.ssl.KeyManagerFactory;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLEngine;
-import javax.net.ssl.TrustManagerFactory;
-import java.io.FileInputStream;
-import java.io.FileReader;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
-import java.security.KeyFactory;
-import java.security.KeyStore;
-import java.security.PrivateKey;
-import java.security.Security;
-import java.security.cert.Certificate;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -185,6 +155,11 @@ public class AsyncYBClient implements AutoCloseable {
 
   private static final int SHUTDOWN_TIMEOUT_SEC = 15;
   public static final int SLEEP_TIME = 500;
+
+  // First delay between two evaluations of a condition in waitForCondition(). The delay doubles
+  // after every unsuccessful evaluation, up to SLEEP_TIME.
+  public static final int CONDITION_INITIAL_DELAY_MS = 20;
+
   public static final byte[] EMPTY_ARRAY = new byte[0];
   public static final long NO_TIMESTAMP = -1;
   public static final long DEFAULT_OPERATION_TIMEOUT_MS = 10000;
@@ -2462,6 +2437,17 @@ public class AsyncYBClient implements AutoCloseable {
     if (ip == null) {
       return null;
     }
+    return newMasterClient(masterHostPort, ip);
+  }
+
+  /**
+   * Same as {@link #newMasterClient(HostAndPort)}, with the master host already resolved, so it
+   * does not block on a DNS lookup.
+   * @param masterHostPort The RPC host and port for the master server.
+   * @param ip The IP of the master host.
+   * @return A live and initialized client for the specified master server.
+   */
+  TabletClient newMasterClient(HostAndPort masterHostPort, String ip) {
     // We should pass a UUID here but we have a chicken and egg problem, we first need to
     // communicate with the masters to find out about them, and that's what we're trying to do.
     // The UUID is used for logging, so instead we're passing the "master table name" followed by
@@ -2494,9 +2480,13 @@ public class AsyncYBClient implements AutoCloseable {
         @Override
         protected void initChannel(SocketChannel channel) {
           if (certFile != null) {
-            SslHandler sslHandler = createSslHandler();
-            if (sslHandler != null) {
-              channel.pipeline().addFirst("ssl", sslHandler);
+            SslContext sslContext =
+              SslContextCache.get(certFile, clientCertFile, clientKeyFile);
+            if (sslContext != null) {
+              // Naming the peer lets the handshake resume the TLS session of an earlier
+              // connection to it.
+              channel.pipeline().addFirst("ssl",
+                sslContext.newHandler(channel.alloc(), host, port));
             }
           }
           if (defaultSocketReadTimeoutMs > 0) {
@@ -2504,6 +2494,11 @@ public class AsyncYBClient implements AutoCloseable {
               new ReadTimeoutHandler(defaultSocketReadTimeoutMs,
                 TimeUnit.MILLISECONDS));
           }
+          // Coalesces the flushes of RPCs written from many caller threads into one per event
+          // loop iteration instead of one syscall per RPC.
+          channel.pipeline().addLast("flush-consolidation",
+            new FlushConsolidationHandler(
+              FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
           channel.pipeline().addLast("yb-handler", newClient);
         }
       });
@@ -2770,105 +2765,6 @@ public class AsyncYBClient implements AutoCloseable {
     }
   }
 
-  private SslHandler createSslHandler() {
-    try {
-      Security.addProvider(new BouncyCastleProvider());
-      CertificateFactory cf = CertificateFactory.getInstance("X.509");
-      FileInputStream fis = new FileInputStream(certFile);
-      List<X509Certificate> cas;
-      try {
-        cas = (List<X509Certificate>) (List<?>) cf.generateCertificates(fis);
-      } catch (Exception e) {
-        LOG.error("Exception generating CA certificate from input file: ", e);
-        throw e;
-      } finally {
-        fis.close();
-      }
-
-      // Create a KeyStore containing our trusted CAs
-      String keyStoreType = KeyStore.getDefaultType();
-      KeyStore keyStore = KeyStore.getInstance(keyStoreType);
-      keyStore.load(null, null);
-      for (int i = 0; i < cas.size(); i++) {
-        // Adding to the trust store. Expect the caller to have verified
-        // the certs.
-        keyStore.setCertificateEntry("ca_" + i, cas.get(i));
-      }
-
-      // Create a TrustManager that trusts the CAs in our KeyStore
-      String tmfAlgorithm = TrustManagerFactory.getDefaultAlgorithm();
-      TrustManagerFactory tmf = TrustManagerFactory.getInstance(tmfAlgorithm);
-      tmf.init(keyStore);
-
-      List<X509Certificate> clientCerts = null;
-      KeyStore clientKeyStore = null;
-      KeyManagerFactory kmf = null;
-      if (clientCertFile != null) {
-        if (clientKeyFile == null) {
-          LOG.error("Both client cert and key needed for mutual auth.");
-          return null;
-        }
-        fis = new FileInputStream(clientCertFile);
-        try {
-          clientCerts = (List<X509Certificate>) (List<?>) cf.generateCertificates(fis);
-        } catch (Exception e) {
-          LOG.error("Exception generating CA certificate from input file: ", e);
-          throw e;
-        } finally {
-          fis.close();
-        }
-        PrivateKey pk = getPrivateKey(clientKeyFile);
-        Certificate[] chain = new Certificate[clientCerts.size()];
-        clientKeyStore = KeyStore.getInstance(keyStoreType);
-        clientKeyStore.load(null, null);
-        for (int i = 0; i < clientCerts.size(); i++) {
-          chain[i] = clientCerts.get(i);
-          clientKeyStore.setCertificateEntry("node_crt_" + i, clientCerts.get(i));
-        }
-
-        String password = "password";
-        char[] ksPass = password.toCharArray();
-        clientKeyStore.setKeyEntry("node_key", pk, ksPass, chain);
-
-        kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
-        kmf.init(clientKeyStore, ksPass);
-      }
-
-      SSLContext sslContext = SSLContext.getInstance("TLS");
-      // mTLS is enabled.
-      if (kmf != null) {
-        sslContext.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
-      } else {
-        sslContext.init(null, tmf.getTrustManagers(), null);
-      }
-      SSLEngine sslEngine = sslContext.createSSLEngine();
-      sslEngine.setUseClientMode(true);
-      return new SslHandler(sslEngine);
-    } catch (Exception e) {
-      LOG.error("Exception creating sslContext: ", e);
-      throw new RuntimeException("SSLContext creation failed: " + e.toString());
-    }
-  }
-
-  private PrivateKey getPrivateKey(String keyFile) {
-    try {
-      PemReader pemReader = new PemReader(new FileReader(keyFile));
-      PemObject pemObject = pemReader.readPemObject();
-      pemReader.close();
-      byte[] bytes = pemObject.getContent();
-      PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(bytes);
-      KeyFactory kf = KeyFactory.getInstance("RSA");
-      PrivateKey pk = kf.generatePrivate(spec);
-      return pk;
-    } catch (InvalidKeySpecException e) {
-      LOG.error("Could not read the private key file.", e);
-      throw new RuntimeException("InvalidKeySpecException while reading key: " + keyFile);
-    } catch (Exception e) {
-      LOG.error("Issue reading pem file.", e);
-      throw new RuntimeException("IOException reading key: " + keyFile);
-    }
-  }
-
   /**
    * Gets a hostname or an IP address and returns the textual representation
    * of the IP address.
@@ -2879,7 +2775,7 @@ public class AsyncYBClient implements AutoCloseable {
    * @return The IP address associated with the given hostname,
    * or {@code null} if the address couldn't be resolved.
    */
-  private static String getIP(final String host) {
+  static String getIP(final String host) {
     final long start = System.nanoTime();
     try {
       final String ip = InetAddress.getByName(host).getHostAddress();
@@ -2929,6 +2825,169 @@ public class AsyncYBClient implements AutoCloseable {
     }
   }
 
+  /**
+   * A condition evaluated asynchronously by {@link #waitForCondition}.
+   */
+  public interface AsyncCondition {
+    /**
+     * Starts one evaluation of the condition. This is called from the client's timer thread, so
+     * it must not block: issue the RPCs and return their {@link Deferred}.
+     * @return a Deferred yielding whether the condition holds; an errback counts as a failed
+     * evaluation and the condition is evaluated again later
+     */
+    Deferred<Boolean> check() throws Exception;
+  }
+
+  /**
+   * Waits for a condition without blocking a thread.
+   * <p>
+   * The condition is evaluated right away and then re-evaluated from the client's timer, starting
+   * after {@link #CONDITION_INITIAL_DELAY_MS} and doubling the delay up to {@link #SLEEP_TIME}, so
+   * conditions that are met quickly are noticed quickly while long waits don't add load. Any
+   * number of waits share the timer thread.
+   * @param condition the condition to wait for
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a Deferred yielding true if the condition held within the time frame, false if the
+   * wait timed out or hit {@link YBClient#MAX_ERRORS_TO_IGNORE} failed evaluations
+   */
+  public Deferred<Boolean> waitForCondition(AsyncCondition condition, long timeoutMs) {
+    return waitForCondition(condition, timeoutMs, YBClient.MAX_ERRORS_TO_IGNORE);
+  }
+
+  /**
+   * Same as {@link #waitForCondition(AsyncCondition, long)}, but gives up after the given number
+   * of failed evaluations. Once more than {@code maxErrorsToIgnore} evaluations failed, the
+   * returned Deferred is called back with the last exception, so 0 propagates the first error.
+   */
+  public Deferred<Boolean> waitForCondition(AsyncCondition condition, long timeoutMs,
+                                            int maxErrorsToIgnore) {
+    checkIsClosed();
+    ConditionWaiter waiter = new ConditionWaiter(condition, timeoutMs, maxErrorsToIgnore);
+    waiter.evaluate();
+    return waiter.result;
+  }
+
+  /**
+   * {@link CompletableFuture} flavor of {@link #waitForCondition(AsyncCondition, long)}.
+   */
+  public CompletableFuture<Boolean> waitForConditionFuture(AsyncCondition condition,
+                                                           long timeoutMs) {
+    CompletableFuture<Boolean> future = new CompletableFuture<>();
+    waitForCondition(condition, timeoutMs).addCallbacks(
+        new Callback<Object, Boolean>() {
+          @Override
+          public Object call(Boolean done) {
+            future.complete(done);
+            return null;
+          }
+        },
+        new Callback<Object, Exception>() {
+          @Override
+          public Object call(Exception e) {
+            future.completeExceptionally(e);
+            return null;
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Drives one {@link #waitForCondition} call: evaluates the condition, and re-arms itself on the
+   * timer with an increasing delay until the condition holds, the deadline passes or too many
+   * evaluations failed.
+   */
+  private final class ConditionWaiter implements TimerTask {
+    private final AsyncCondition condition;
+    private final long deadlineNanos;
+    private final int maxErrorsToIgnore;
+    private final Deferred<Boolean> result = new Deferred<>();
+    private long delayMs = CONDITION_INITIAL_DELAY_MS;
+    private int numErrors = 0;
+    private int numIters = 0;
+    private Exception lastException;
+
+    ConditionWaiter(AsyncCondition condition, long timeoutMs, int maxErrorsToIgnore) {
+      this.condition = condition;
+      this.deadlineNanos = System.nanoTime() + MILLISECONDS.toNanos(timeoutMs);
+      this.maxErrorsToIgnore = maxErrorsToIgnore;
+    }
+
+    @Override
+    public void run(final Timeout timeout) {
+      evaluate();
+    }
+
+    void evaluate() {
+      if (closed) {
+        result.callback(new ConnectionResetException("Client is shutting down"));
+        return;
+      }
+      numIters++;
+      Deferred<Boolean> d;
+      try {
+        d = condition.check();
+      } catch (Exception e) {
+        onError(e);
+        return;
+      }
+      d.addCallbacks(
+          new Callback<Object, Boolean>() {
+            @Override
+            public Object call(Boolean done) {
+              if (Boolean.TRUE.equals(done)) {
+                result.callback(true);
+              } else {
+                scheduleNext();
+              }
+              return null;
+            }
+          },
+          new Callback<Object, Exception>() {
+            @Override
+            public Object call(Exception e) {
+              onError(e);
+              return null;
+            }
+          });
+    }
+
+    private void onError(Exception e) {
+      // We will get exceptions if we cannot connect to the other end. Keep the last one for the
+      // final debug message if we never succeed.
+      lastException = e;
+      numErrors++;
+      if (numErrors > maxErrorsToIgnore) {
+        if (maxErrorsToIgnore == 0) {
+          result.callback(e);
+        } else {
+          LOG.error("Hit too many errors waiting for {}, final exception is {}.",
+                    condition, e.toString());
+          result.callback(false);
+        }
+        return;
+      }
+      if (numErrors % 100 == 0) {
+        LOG.warn("Hit {} errors so far. Latest is : {}.", numErrors, e.toString());
+      }
+      scheduleNext();
+    }
+
+    private void scheduleNext() {
+      long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+      if (remainingMs <= 0) {
+        LOG.error("Timed out waiting for {} after {} iterations, num errors = {}. " +
+                  "Final exception was {}.", condition, numIters, numErrors,
+                  lastException != null ? lastException.toString() : "none");
+        result.callback(false);
+        return;
+      }
+      // A little jitter keeps many waiters started together from polling in lock step.
+      long sleepMs = Math.min(delayMs + ThreadLocalRandom.current().nextInt(10), remainingMs);
+      delayMs = Math.min(delayMs * 2, SLEEP_TIME);
+      newTimeout(this, sleepMs);
+    }
+  }
+
   /**
    * This class encapsulates the information regarding a tablet and its locations.
    *
@@ -0,0 +1,178 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.yb.annotations.InterfaceAudience;
+
+/**
+ * Open-addressing table of in-flight RPCs keyed by their primitive call id.
+ * <p>
+ * Call ids handed out by {@link TabletClient} are consecutive, so a linear-probing table indexed
+ * by the mixed call id almost never collides and avoids the boxing and per-entry node allocation
+ * of a {@code ConcurrentHashMap<Integer, YRpc<?>>}. Removal uses backward-shift deletion, so no
+ * tombstones accumulate on long-lived connections.
+ * <p>
+ * All operations lock this instance. Critical sections are a handful of array accesses and the
+ * only contenders are the threads sending RPCs and the connection's IO thread.
+ */
+@InterfaceAudience.Private
+final class InflightRpcTable {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private int[] keys;
+  private YRpc<?>[] values;
+  private int mask;
+  private int size;
+
+  InflightRpcTable() {
+    this(MIN_CAPACITY);
+  }
+
+  InflightRpcTable(int expectedSize) {
+    allocate(tableSizeFor(Math.max(expectedSize, MIN_CAPACITY)));
+  }
+
+  /**
+   * Associates the given RPC with the call id.
+   * @return the RPC previously registered under this call id, or {@code null}
+   */
+  synchronized YRpc<?> put(int callId, YRpc<?> rpc) {
+    int idx = indexOf(callId);
+    while (values[idx] != null) {
+      if (keys[idx] == callId) {
+        YRpc<?> old = values[idx];
+        values[idx] = rpc;
+        return old;
+      }
+      idx = (idx + 1) & mask;
+    }
+    keys[idx] = callId;
+    values[idx] = rpc;
+    // Keep the load factor at or below 1/2 so probe sequences stay short.
+    if (++size > (mask + 1) >>> 1) {
+      resize((mask + 1) << 1);
+    }
+    return null;
+  }
+
+  synchronized YRpc<?> get(int callId) {
+    int idx = indexOf(callId);
+    while (values[idx] != null) {
+      if (keys[idx] == callId) {
+        return values[idx];
+      }
+      idx = (idx + 1) & mask;
+    }
+    return null;
+  }
+
+  synchronized YRpc<?> remove(int callId) {
+    int idx = indexOf(callId);
+    while (values[idx] != null) {
+      if (keys[idx] == callId) {
+        YRpc<?> removed = values[idx];
+        shiftBack(idx);
+        --size;
+        return removed;
+      }
+      idx = (idx + 1) & mask;
+    }
+    return null;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Removes every entry from the table.
+   * @return the RPCs that were in flight, in no particular order
+   */
+  synchronized List<YRpc<?>> drain() {
+    List<YRpc<?>> drained = new ArrayList<>(size);
+    for (YRpc<?> rpc : values) {
+      if (rpc != null) {
+        drained.add(rpc);
+      }
+    }
+    // Connections that saw a burst of traffic give the memory back once they are reset.
+    allocate(MIN_CAPACITY);
+    return drained;
+  }
+
+  private int indexOf(int callId) {
+    // Fibonacci hashing spreads consecutive ids across the table.
+    int h = callId * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private void shiftBack(int hole) {
+    int idx = hole;
+    while (true) {
+      idx = (idx + 1) & mask;
+      if (values[idx] == null) {
+        break;
+      }
+      int home = indexOf(keys[idx]);
+      // Move the entry into the hole unless its home slot lies cyclically in (hole, idx].
+      boolean homeBetween = hole <= idx ? (hole < home && home <= idx)
+                                        : (hole < home || home <= idx);
+      if (!homeBetween) {
+        keys[hole] = keys[idx];
+        values[hole] = values[idx];
+        hole = idx;
+      }
+    }
+    values[hole] = null;
+  }
+
+  private void resize(int capacity) {
+    int[] oldKeys = keys;
+    YRpc<?>[] oldValues = values;
+    int oldSize = size;
+    allocate(capacity);
+    size = oldSize;
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int idx = indexOf(oldKeys[i]);
+        while (values[idx] != null) {
+          idx = (idx + 1) & mask;
+        }
+        keys[idx] = oldKeys[i];
+        values[idx] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new YRpc<?>[capacity];
+    mask = capacity - 1;
+    size = 0;
+  }
+
+  private static int tableSizeFor(int n) {
+    int capacity = Integer.highestOneBit(n - 1) << 1;
+    return Math.max(capacity, MIN_CAPACITY);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "InflightRpcTable(size=" + size + ", capacity=" + (mask + 1) + ")";
+  }
+}
@@ -0,0 +1,218 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.util.io.pem.PemObject;
+import org.bouncycastle.util.io.pem.PemReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yb.annotations.InterfaceAudience;
+
+/**
+ * Client TLS contexts, shared by all the clients which use the same CA, client certificate and key
+ * files. A context is built once and used for every new connection. It is rebuilt when one of the
+ * files changes, as it does when certificates are rotated before servers are told to
+ * {@link AsyncYBClient#reloadCertificates reload} theirs.
+ * <p>
+ * The OpenSSL engine is used when netty-tcnative is on the class path, the JDK one otherwise. Both
+ * keep a client session cache, so reconnecting to a server resumes the TLS session instead of
+ * doing a full handshake.
+ */
+@InterfaceAudience.Private
+final class SslContextCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SslContextCache.class);
+
+  // Keyed by the CA, client certificate and client key file paths.
+  private static final Map<List<String>, Entry> CONTEXTS = new ConcurrentHashMap<>();
+
+  static {
+    if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+      Security.addProvider(new BouncyCastleProvider());
+    }
+  }
+
+  private static final class Entry {
+    final SslContext context;
+    // Modification time and length of each file the context was built from.
+    final long[] stamp;
+
+    Entry(SslContext context, long[] stamp) {
+      this.context = context;
+      this.stamp = stamp;
+    }
+  }
+
+  private SslContextCache() {
+  }
+
+  /**
+   * Returns the context for the given files, or null if a client certificate is given without a
+   * key.
+   */
+  static SslContext get(String certFile, String clientCertFile, String clientKeyFile) {
+    if (clientCertFile != null && clientKeyFile == null) {
+      LOG.error("Both client cert and key needed for mutual auth.");
+      return null;
+    }
+    List<String> files = Arrays.asList(certFile, clientCertFile, clientKeyFile);
+    long[] stamp = stamp(files);
+    Entry entry = CONTEXTS.get(files);
+    if (entry != null && Arrays.equals(entry.stamp, stamp)) {
+      return entry.context;
+    }
+    synchronized (CONTEXTS) {
+      entry = CONTEXTS.get(files);
+      if (entry != null && Arrays.equals(entry.stamp, stamp)) {
+        return entry.context;
+      }
+      try {
+        SslContext context = build(certFile, clientCertFile, clientKeyFile);
+        CONTEXTS.put(files, new Entry(context, stamp));
+        if (entry != null) {
+          LOG.info("Reloaded SSL context for changed files {}", files);
+        }
+        return context;
+      } catch (RuntimeException e) {
+        if (entry == null) {
+          throw e;
+        }
+        // The files may be in the middle of being rotated; they are read again for the next
+        // connection.
+        LOG.warn("Failed to reload SSL context for changed files {}, using the previous one",
+            files, e);
+        return entry.context;
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    CONTEXTS.clear();
+  }
+
+  /** Builds a new context from the files, as was done for every connection before. */
+  @VisibleForTesting
+  static SslContext build(String certFile, String clientCertFile, String clientKeyFile) {
+    try {
+      CertificateFactory cf = CertificateFactory.getInstance("X.509");
+      List<X509Certificate> cas = readCertificates(cf, certFile);
+
+      // Create a KeyStore containing our trusted CAs
+      String keyStoreType = KeyStore.getDefaultType();
+      KeyStore keyStore = KeyStore.getInstance(keyStoreType);
+      keyStore.load(null, null);
+      for (int i = 0; i < cas.size(); i++) {
+        // Adding to the trust store. Expect the caller to have verified
+        // the certs.
+        keyStore.setCertificateEntry("ca_" + i, cas.get(i));
+      }
+
+      // Create a TrustManager that trusts the CAs in our KeyStore
+      String tmfAlgorithm = TrustManagerFactory.getDefaultAlgorithm();
+      TrustManagerFactory tmf = TrustManagerFactory.getInstance(tmfAlgorithm);
+      tmf.init(keyStore);
+
+      SslContextBuilder builder = SslContextBuilder.forClient()
+          .sslProvider(OpenSsl.isAvailable() ? SslProvider.OPENSSL : SslProvider.JDK)
+          .trustManager(tmf);
+      // mTLS is enabled.
+      if (clientCertFile != null) {
+        List<X509Certificate> clientCerts = readCertificates(cf, clientCertFile);
+        PrivateKey pk = getPrivateKey(clientKeyFile);
+        Certificate[] chain = new Certificate[clientCerts.size()];
+        KeyStore clientKeyStore = KeyStore.getInstance(keyStoreType);
+        clientKeyStore.load(null, null);
+        for (int i = 0; i < clientCerts.size(); i++) {
+          chain[i] = clientCerts.get(i);
+          clientKeyStore.setCertificateEntry("node_crt_" + i, clientCerts.get(i));
+        }
+
+        String password = "password";
+        char[] ksPass = password.toCharArray();
+        clientKeyStore.setKeyEntry("node_key", pk, ksPass, chain);
+
+        KeyManagerFactory kmf =
+            KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(clientKeyStore, ksPass);
+        builder.keyManager(kmf);
+      }
+      return builder.build();
+    } catch (Exception e) {
+      LOG.error("Exception creating sslContext: ", e);
+      throw new RuntimeException("SSLContext creation failed: " + e.toString());
+    }
+  }
+
+  private static List<X509Certificate> readCertificates(CertificateFactory cf, String file)
+      throws Exception {
+    try (FileInputStream fis = new FileInputStream(file)) {
+      return (List<X509Certificate>) (List<?>) cf.generateCertificates(fis);
+    } catch (Exception e) {
+      LOG.error("Exception generating certificate from input file {}: ", file, e);
+      throw e;
+    }
+  }
+
+  private static PrivateKey getPrivateKey(String keyFile) {
+    try (PemReader pemReader = new PemReader(new FileReader(keyFile))) {
+      PemObject pemObject = pemReader.readPemObject();
+      byte[] bytes = pemObject.getContent();
+      PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(bytes);
+      KeyFactory kf = KeyFactory.getInstance("RSA");
+      return kf.generatePrivate(spec);
+    } catch (InvalidKeySpecException e) {
+      LOG.error("Could not read the private key file.", e);
+      throw new RuntimeException("InvalidKeySpecException while reading key: " + keyFile);
+    } catch (Exception e) {
+      LOG.error("Issue reading pem file.", e);
+      throw new RuntimeException("IOException reading key: " + keyFile);
+    }
+  }
+
+  private static long[] stamp(List<String> files) {
+    long[] result = new long[files.size() * 2];
+    for (int i = 0; i < files.size(); i++) {
+      if (files.get(i) != null) {
+        File file = new File(files.get(i));
+        result[2 * i] = file.lastModified();
+        result[2 * i + 1] = file.length();
+      }
+    }
+    return result;
+  }
+}
@@ -130,10 +130,17 @@ public class TabletClient extends ReplayingDecoder<Void> {
 
   /**
    * Maps an RPC ID to the in-flight RPC that was given this ID.
-   * RPCs can be sent out from any thread, so we need a concurrent map.
+   * RPCs can be sent out from any thread, so the table is internally synchronized.
    */
-  private final ConcurrentHashMap<Integer, YRpc<?>> rpcs_inflight =
-      new ConcurrentHashMap<Integer, YRpc<?>>();
+  private final InflightRpcTable rpcs_inflight = new InflightRpcTable();
+
+  /**
+   * Pre-built {@link RpcHeader.RemoteMethodPB} per service and method. The set of service/method
+   * pairs is small and fixed, and an immutable protobuf message memoizes its serialized form, so
+   * sharing one instance avoids rebuilding and re-encoding it for every call.
+   */
+  private static final ConcurrentHashMap<String, ConcurrentHashMap<String,
+      RpcHeader.RemoteMethodPB>> REMOTE_METHODS = new ConcurrentHashMap<>();
 
   private final AsyncYBClient ybClient;
 
@@ -158,16 +165,25 @@ public class TabletClient extends ReplayingDecoder<Void> {
       LOG.warn(getPeerUuidLoggingString() + " sending an rpc without a timeout " + rpc);
     }
     if (chan != null) {
-      final ByteBuf serialized = encode(rpc);
+      final int rpcid = this.rpcid.incrementAndGet();
+      final ByteBuf serialized = encode(rpc, rpcid);
       if (serialized == null) {  // Error during encoding.
         return;  // Stop here.  RPC has been failed already.
       }
 
       final Channel chan = this.chan;  // Volatile read.
       if (chan != null) {  // Double check if we disconnected during encode().
+        // Flushes are coalesced per event loop iteration by the FlushConsolidationHandler
+        // installed in front of this handler, see AsyncYBClient#newClient.
         chan.writeAndFlush(serialized);
         return;
       }
+      // We got disconnected during encode(). The buffer was never handed to the channel, so it is
+      // ours to release.
+      serialized.release();
+      if (rpcs_inflight.remove(rpcid) == null) {
+        return;  // cleanup() already failed or retried this RPC.
+      }
     }
     boolean tryagain = false;
     boolean copyOfDead;
@@ -197,16 +213,14 @@ public class TabletClient extends ReplayingDecoder<Void> {
     }
   }
 
-  private <R> ByteBuf encode(final YRpc<R> rpc) {
-    final int rpcid = this.rpcid.incrementAndGet();
+  private <R> ByteBuf encode(final YRpc<R> rpc, final int rpcid) {
     ByteBuf payload;
     final String service = rpc.serviceName();
     final String method = rpc.method();
     try {
       final RpcHeader.RequestHeader.Builder headerBuilder = RpcHeader.RequestHeader.newBuilder()
           .setCallId(rpcid)
-          .setRemoteMethod(
-              RpcHeader.RemoteMethodPB.newBuilder().setServiceName(service).setMethodName(method));
+          .setRemoteMethod(remoteMethod(service, method));
 
       // If any timeout is set, find the lowest non-zero one, since this will be the deadline that
       // the server must respect.
@@ -249,13 +263,22 @@ public class TabletClient extends ReplayingDecoder<Void> {
     return payload;
   }
 
+  /**
+   * Returns the shared {@link RpcHeader.RemoteMethodPB} for the given service and method.
+   */
+  static RpcHeader.RemoteMethodPB remoteMethod(String service, String method) {
+    ConcurrentHashMap<String, RpcHeader.RemoteMethodPB> methods =
+        REMOTE_METHODS.computeIfAbsent(service, s -> new ConcurrentHashMap<>());
+    return methods.computeIfAbsent(method, m -> RpcHeader.RemoteMethodPB.newBuilder()
+        .setServiceName(service)
+        .setMethodName(m)
+        .build());
+  }
+
   public Deferred<Void> shutdown() {
     // First, check whether we have RPCs in flight and cancel them.
-    for (Iterator<YRpc<?>> ite = rpcs_inflight.values().iterator(); ite
-        .hasNext();) {
-      YRpc<?> rpc = ite.next();
+    for (YRpc<?> rpc : rpcs_inflight.drain()) {
       rpc.errback(new ConnectionResetException(null));
-      ite.remove();
     }
 
     // Same for the pending RPCs.
@@ -660,11 +683,8 @@ public class TabletClient extends ReplayingDecoder<Void> {
   private void cleanup(final Channel chan) {
     final ConnectionResetException exception =
         new ConnectionResetException(getPeerUuidLoggingString() + "Connection reset on " + chan);
-    for (Iterator<YRpc<?>> ite = rpcs_inflight.values().iterator(); ite
-        .hasNext();) {
-      YRpc<?> rpc = ite.next();
+    for (YRpc<?> rpc : rpcs_inflight.drain()) {
       failOrRetryRpc(rpc, exception);
-      ite.remove();
     }
 
     final ArrayList<YRpc<?>> rpcs;
@@ -94,7 +94,7 @@ public class YBClient implements AutoCloseable {
   public static final String REDIS_KEY_COLUMN_NAME = "key";
 
   // Number of response errors to tolerate.
-  private static final int MAX_ERRORS_TO_IGNORE = 2500;
+  static final int MAX_ERRORS_TO_IGNORE = 2500;
 
   // Log errors every so many errors.
   private static final int LOG_ERRORS_EVERY_NUM_ITERS = 100;
@@ -339,39 +339,11 @@ public class YBClient implements AutoCloseable {
    * @return a boolean indicating if the table is done being altered
    */
   public boolean isAlterTableDone(String keyspace, String name) throws Exception {
-    long totalSleepTime = 0;
-    while (totalSleepTime < getDefaultAdminOperationTimeoutMs()) {
-      long start = System.currentTimeMillis();
-
-      Deferred<IsAlterTableDoneResponse> d = asyncClient.isAlterTableDone(keyspace, name);
-      IsAlterTableDoneResponse response;
-      try {
-        response = d.join(AsyncYBClient.SLEEP_TIME);
-      } catch (Exception ex) {
-        throw ex;
-      }
-
-      if (response.isDone()) {
-        return true;
-      }
-
-      // Count time that was slept and see if we need to wait a little more.
-      long elapsed = System.currentTimeMillis() - start;
-      // Don't oversleep the deadline.
-      if (totalSleepTime + AsyncYBClient.SLEEP_TIME > getDefaultAdminOperationTimeoutMs()) {
-        return false;
-      }
-      // elapsed can be bigger if we slept about 500ms
-      if (elapsed <= AsyncYBClient.SLEEP_TIME) {
-        LOG.debug("Alter not done, sleep " + (AsyncYBClient.SLEEP_TIME - elapsed) +
-            " and slept " + totalSleepTime);
-        Thread.sleep(AsyncYBClient.SLEEP_TIME - elapsed);
-        totalSleepTime += AsyncYBClient.SLEEP_TIME;
-      } else {
-        totalSleepTime += elapsed;
-      }
-    }
-    return false;
+    AsyncYBClient.AsyncCondition alterDone = () ->
+        asyncClient.isAlterTableDone(keyspace, name).addCallback(
+            IsAlterTableDoneResponse::isDone);
+    // Errors are not retried, they are propagated to the caller.
+    return waitForCondition(alterDone, getDefaultAdminOperationTimeoutMs(), 0);
   }
 
   /**
@@ -504,12 +476,17 @@ public class YBClient implements AutoCloseable {
       return false;
     }
 
-    long start = System.currentTimeMillis();
-    while (System.currentTimeMillis() - start < timeoutMS &&
-      getMasterUUID(hp.getHost(), hp.getPort()) == null) {
-      Thread.sleep(AsyncYBClient.SLEEP_TIME);
+    // Resolved here once, as the condition is evaluated on the client timer which must not block
+    // on DNS lookups.
+    String ip = AsyncYBClient.getIP(hp.getHost());
+    if (ip == null) {
+      return false;
     }
-    return getMasterUUID(hp.getHost(), hp.getPort()) != null;
+    AsyncYBClient.AsyncCondition masterRegistered = () ->
+        asyncClient.getMasterRegistration(asyncClient.newMasterClient(hp, ip))
+            .addCallback(resp -> true);
+    return waitForCondition(masterRegistered, timeoutMS) ||
+        getMasterUUID(hp.getHost(), hp.getPort()) != null;
   }
 
   /**
@@ -638,6 +615,7 @@ public class YBClient implements AutoCloseable {
   private String waitAndGetLeaderMasterUUID(long timeoutMs) throws Exception {
     LOG.info("Waiting for master leader (timeout: " + timeoutMs + " ms)");
     long start = System.currentTimeMillis();
+    long sleepMs = AsyncYBClient.CONDITION_INITIAL_DELAY_MS;
     // Retry till we get a valid UUID (or timeout) for the new leader.
     do {
       String leaderUuid = getLeaderMasterUUID();
@@ -650,7 +628,9 @@ public class YBClient implements AutoCloseable {
         return leaderUuid;
       }
 
-      Thread.sleep(asyncClient.SLEEP_TIME);
+      // Elections usually finish well within SLEEP_TIME, so start with short sleeps.
+      Thread.sleep(sleepMs);
+      sleepMs = Math.min(sleepMs * 2, AsyncYBClient.SLEEP_TIME);
     } while (System.currentTimeMillis() - start < timeoutMs);
 
     LOG.error("Timed out getting leader uuid.");
@@ -1025,86 +1005,93 @@ public class YBClient implements AutoCloseable {
     }
   }
 
-  private class TableDoesNotExistCondition implements Condition {
+  private class TableDoesNotExistCondition implements AsyncYBClient.AsyncCondition {
     private String nameFilter;
     public TableDoesNotExistCondition(String nameFilter) {
       this.nameFilter = nameFilter;
     }
     @Override
-    public boolean get() throws Exception {
-      ListTablesResponse tl = getTablesList(nameFilter);
-      return tl.getTablesList().isEmpty();
+    public Deferred<Boolean> check() {
+      return asyncClient.getTablesList(nameFilter).addCallback(
+          tl -> tl.getTablesList().isEmpty());
     }
   }
 
   /**
    * Checks the ping of the given ip and port.
    */
-  private class ServerCondition implements Condition {
+  private class ServerCondition implements AsyncYBClient.AsyncCondition {
     private HostAndPort hp;
     public ServerCondition(HostAndPort hp) {
       this.hp = hp;
     }
     @Override
-    public boolean get() throws Exception {
-      return ping(hp.getHost(), hp.getPort());
+    public Deferred<Boolean> check() {
+      return asyncClient.ping(hp).addCallback(resp -> true);
     }
   }
 
   /**
    * Checks whether the IsLoadBalancedResponse has no error.
    */
-  private class LoadBalanceCondition implements Condition {
+  private class LoadBalanceCondition implements AsyncYBClient.AsyncCondition {
     private int numServers;
     public LoadBalanceCondition(int numServers) {
       this.numServers = numServers;
     }
     @Override
-    public boolean get() throws Exception {
-      IsLoadBalancedResponse resp = getIsLoadBalanced(numServers);
-      return !resp.hasError();
+    public Deferred<Boolean> check() {
+      return asyncClient.getIsLoadBalanced(numServers).addCallback(resp -> !resp.hasError());
     }
   }
 
   /**
    * Checks whether the IsLoadBalancerIdleResponse has no error.
    */
-  private class LoadBalancerIdleCondition implements Condition {
+  private class LoadBalancerIdleCondition implements AsyncYBClient.AsyncCondition {
     public LoadBalancerIdleCondition() {
     }
     @Override
-    public boolean get() throws Exception {
-      IsLoadBalancerIdleResponse resp = getIsLoadBalancerIdle();
-      return !resp.hasError();
+    public Deferred<Boolean> check() {
+      return asyncClient.getIsLoadBalancerIdle().addCallback(resp -> !resp.hasError());
     }
   }
 
   /**
    * Checks whether the LoadBalancer is currently running.
    */
-  private class LoadBalancerActiveCondition implements Condition {
+  private class LoadBalancerActiveCondition implements AsyncYBClient.AsyncCondition {
     public LoadBalancerActiveCondition() {
     }
     @Override
-    public boolean get() throws Exception {
-      try {
-        IsLoadBalancerIdleResponse resp = getIsLoadBalancerIdle();
-      } catch (MasterErrorException e) {
-        // TODO (deepthi.srinivasan) Instead of writing if-else
-        // with Exceptions, find a way to receive the error code
-        // neatly.
-        return e.toString().contains("LOAD_BALANCER_RECENTLY_ACTIVE");
-      }
-      return false;
+    public Deferred<Boolean> check() {
+      return asyncClient.getIsLoadBalancerIdle().addCallbacks(
+          new Callback<Boolean, IsLoadBalancerIdleResponse>() {
+            @Override
+            public Boolean call(IsLoadBalancerIdleResponse resp) {
+              return false;
+            }
+          },
+          new Callback<Object, Exception>() {
+            @Override
+            public Object call(Exception e) {
+              // TODO (deepthi.srinivasan) Instead of writing if-else
+              // with Exceptions, find a way to receive the error code
+              // neatly.
+              if (e instanceof MasterErrorException) {
+                return e.toString().contains("LOAD_BALANCER_RECENTLY_ACTIVE");
+              }
+              return e;
+            }
+          });
     }
   }
 
 
-  private class AreLeadersOnPreferredOnlyCondition implements Condition {
+  private class AreLeadersOnPreferredOnlyCondition implements AsyncYBClient.AsyncCondition {
     @Override
-    public boolean get() throws Exception {
-      AreLeadersOnPreferredOnlyResponse resp = getAreLeadersOnPreferredOnly();
-      return !resp.hasError();
+    public Deferred<Boolean> check() {
+      return asyncClient.getAreLeadersOnPreferredOnly().addCallback(resp -> !resp.hasError());
     }
   }
 
@@ -1150,8 +1137,38 @@ public class YBClient implements AutoCloseable {
   }
 
   /**
-   * Helper method that loops on a condition every 500ms until it returns true or the
-   * operation times out.
+   * Helper method that waits for an asynchronous condition without holding a thread for the
+   * evaluations, see {@link AsyncYBClient#waitForCondition(AsyncYBClient.AsyncCondition, long)}.
+   * Only the caller blocks, until the condition holds or the operation times out.
+   * @param condition the condition to wait for.
+   * @param timeoutMs the amount of time, in MS, to wait.
+   * @return true if the condition is true within the time frame, false otherwise.
+   */
+  private boolean waitForCondition(AsyncYBClient.AsyncCondition condition, final long timeoutMs) {
+    try {
+      if (injectWaitError) {
+        Thread.sleep(AsyncYBClient.SLEEP_TIME);
+        injectWaitError = false;
+        LOG.info("Simulated expection due to injected error.");
+      }
+      return waitForCondition(condition, timeoutMs, MAX_ERRORS_TO_IGNORE);
+    } catch (Exception e) {
+      LOG.error("Failed waiting for operation.", e);
+      return false;
+    }
+  }
+
+  private boolean waitForCondition(AsyncYBClient.AsyncCondition condition, final long timeoutMs,
+                                   int maxErrorsToIgnore) throws Exception {
+    Deferred<Boolean> d = asyncClient.waitForCondition(condition, timeoutMs, maxErrorsToIgnore);
+    // The last evaluation may have been started right before the deadline, give it time to
+    // finish.
+    return d.join(timeoutMs + getDefaultAdminOperationTimeoutMs());
+  }
+
+  /**
+   * Helper method that loops on a condition until it returns true or the operation times out.
+   * The condition is re-evaluated after a short delay that doubles up to 500ms.
    * @param condition the Condition which implements a boolean get() method.
    * @param timeoutMs the amount of time, in MS, to wait.
    * @return true if the condition is true within the time frame, false otherwise.
@@ -1159,6 +1176,7 @@ public class YBClient implements AutoCloseable {
   private boolean waitForCondition(Condition condition, final long timeoutMs) {
     Exception finalException = null;
     long start = System.currentTimeMillis();
+    long sleepMs = AsyncYBClient.CONDITION_INITIAL_DELAY_MS;
     int numErrors = 0;
     int numIters = 0;
     String errorMessage = null;
@@ -1195,8 +1213,9 @@ public class YBClient implements AutoCloseable {
 
       // Need to wait even when ping has an exception, so the sleep is outside the above try block.
       try {
-        Thread.sleep(AsyncYBClient.SLEEP_TIME);
+        Thread.sleep(sleepMs);
       } catch (Exception e) {}
+      sleepMs = Math.min(sleepMs * 2, AsyncYBClient.SLEEP_TIME);
     } while (System.currentTimeMillis() - start < timeoutMs);
 
     if (errorMessage == null) {
@@ -1231,7 +1250,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the server responded to pings in the given time, false otherwise
   */
   public boolean waitForServer(final HostAndPort hp, final long timeoutMs) {
-    Condition serverCondition = new ServerCondition(hp);
+    AsyncYBClient.AsyncCondition serverCondition = new ServerCondition(hp);
     return waitForCondition(serverCondition, timeoutMs);
   }
 
@@ -1242,7 +1261,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the master leader does not return any error balance check.
   */
   public boolean waitForLoadBalance(final long timeoutMs, int numServers) {
-    Condition loadBalanceCondition = new LoadBalanceCondition(numServers);
+    AsyncYBClient.AsyncCondition loadBalanceCondition = new LoadBalanceCondition(numServers);
     return waitForCondition(loadBalanceCondition, timeoutMs);
   }
 
@@ -1252,7 +1271,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the load balancer is currently running.
   */
   public boolean waitForLoadBalancerActive(final long timeoutMs) {
-    Condition loadBalancerActiveCondition = new LoadBalancerActiveCondition();
+    AsyncYBClient.AsyncCondition loadBalancerActiveCondition = new LoadBalancerActiveCondition();
     return waitForCondition(loadBalancerActiveCondition, timeoutMs);
   }
 
@@ -1262,7 +1281,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the master leader does not return any error balance check.
   */
   public boolean waitForLoadBalancerIdle(final long timeoutMs) {
-    Condition loadBalancerIdleCondition = new LoadBalancerIdleCondition();
+    AsyncYBClient.AsyncCondition loadBalancerIdleCondition = new LoadBalancerIdleCondition();
     return waitForCondition(loadBalancerIdleCondition, timeoutMs);
   }
 
@@ -1272,7 +1291,7 @@ public class YBClient implements AutoCloseable {
    * @return true iff the leader count is balanced within timeoutMs.
    */
   public boolean waitForAreLeadersOnPreferredOnlyCondition(final long timeoutMs) {
-    Condition areLeadersOnPreferredOnlyCondition =
+    AsyncYBClient.AsyncCondition areLeadersOnPreferredOnlyCondition =
         new AreLeadersOnPreferredOnlyCondition();
     return waitForCondition(areLeadersOnPreferredOnlyCondition, timeoutMs);
   }
@@ -1427,7 +1446,7 @@ public class YBClient implements AutoCloseable {
   }
 
   public boolean waitForTableRemoval(final long timeoutMs, String name) {
-    Condition TableDoesNotExistCondition = new TableDoesNotExistCondition(name);
+    AsyncYBClient.AsyncCondition TableDoesNotExistCondition = new TableDoesNotExistCondition(name);
     return waitForCondition(TableDoesNotExistCondition, timeoutMs);
   }
 
@@ -45,7 +45,7 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.stumbleupon.async.Deferred;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.annotations.InterfaceAudience;
@@ -280,24 +280,29 @@ public abstract class YRpc<R> {
     }
   }
 
+  /**
+   * Serializes the header and the request into a single length-prefixed frame. The frame is
+   * written straight into a pooled direct buffer, which the channel releases once it has been
+   * written to the socket, so no intermediate heap copy is made.
+   */
   static ByteBuf toChannelBuffer(Message header, Message pb) {
     int totalSize = IPCUtil.getTotalSizeWhenWrittenDelimited(header, pb);
-    byte[] buf = new byte[totalSize+4];
-    ByteBuf chanBuf = Unpooled.wrappedBuffer(buf);
-    chanBuf.clear();
-    chanBuf.writeInt(totalSize);
-    final CodedOutputStream out = CodedOutputStream.newInstance(buf, 4, totalSize);
+    ByteBuf chanBuf = PooledByteBufAllocator.DEFAULT.directBuffer(totalSize + 4);
     try {
-      out.writeRawVarint32(header.getSerializedSize());
+      chanBuf.writeInt(totalSize);
+      final CodedOutputStream out = CodedOutputStream.newInstance(chanBuf.nioBuffer(4, totalSize));
+      out.writeUInt32NoTag(header.getSerializedSize());
       header.writeTo(out);
 
-      out.writeRawVarint32(pb.getSerializedSize());
+      out.writeUInt32NoTag(pb.getSerializedSize());
       pb.writeTo(out);
+      out.flush();
       out.checkNoSpaceLeft();
-    } catch (IOException e) {
+    } catch (IOException | RuntimeException e) {
+      chanBuf.release();
       throw new NonRecoverableException("Cannot serialize the following message " + pb, e);
     }
-    chanBuf.writerIndex(buf.length);
+    chanBuf.writerIndex(totalSize + 4);
     return chanBuf;
   }
 
@@ -35,6 +35,9 @@ import com.google.common.base.Charsets;
 import com.google.protobuf.ByteString;
 import com.stumbleupon.async.Deferred;
 import com.stumbleupon.async.TimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -116,4 +119,59 @@ public class TestAsyncYBClient extends BaseYBClientTest {
       assertTrue(ex.getMessage().contains(badHostname));
     }
   }
+
+  @Test
+  public void testWaitForCondition() throws Exception {
+    // The condition holds on the fifth evaluation, well before the timeout.
+    AtomicInteger evaluations = new AtomicInteger();
+    long start = System.currentTimeMillis();
+    Deferred<Boolean> done = client.waitForCondition(
+        () -> Deferred.fromResult(evaluations.incrementAndGet() >= 5), 30000);
+    assertTrue(done.join(30000));
+    assertEquals(5, evaluations.get());
+    // Back-off starts well below SLEEP_TIME, so the first few evaluations take less than a
+    // single fixed-interval sleep each.
+    assertTrue(System.currentTimeMillis() - start < 5 * AsyncYBClient.SLEEP_TIME);
+
+    // A condition that never holds times out.
+    assertFalse(client.waitForCondition(() -> Deferred.fromResult(false), 1000).join(10000));
+
+    // Failed evaluations are retried by default.
+    AtomicInteger attempts = new AtomicInteger();
+    Deferred<Boolean> retried = client.waitForCondition(() -> {
+      if (attempts.incrementAndGet() < 3) {
+        return Deferred.fromError(new IllegalStateException("not yet"));
+      }
+      return Deferred.fromResult(true);
+    }, 30000);
+    assertTrue(retried.join(30000));
+
+    // With no errors to ignore, the first failure is propagated.
+    try {
+      client.waitForCondition(
+          () -> Deferred.fromError(new IllegalStateException("boom")), 30000, 0).join(30000);
+      fail("The error should have been propagated");
+    } catch (IllegalStateException e) {
+      assertEquals("boom", e.getMessage());
+    }
+
+    // Many waits share the client's timer thread.
+    int numWaits = 1000;
+    AtomicInteger pending = new AtomicInteger(numWaits);
+    List<Deferred<Boolean>> waits = new ArrayList<>();
+    for (int i = 0; i < numWaits; i++) {
+      AtomicInteger count = new AtomicInteger();
+      waits.add(client.waitForCondition(() -> {
+        if (count.incrementAndGet() < 3) {
+          return Deferred.fromResult(false);
+        }
+        pending.decrementAndGet();
+        return Deferred.fromResult(true);
+      }, 30000));
+    }
+    for (Boolean result : Deferred.group(waits).join(30000)) {
+      assertTrue(result);
+    }
+    assertEquals(0, pending.get());
+  }
 }
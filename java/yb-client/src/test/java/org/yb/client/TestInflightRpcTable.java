@@ -0,0 +1,85 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+
+@RunWith(value=YBTestRunner.class)
+public class TestInflightRpcTable {
+
+  @Test
+  public void testPutGetRemove() {
+    InflightRpcTable table = new InflightRpcTable();
+    PingRequest first = new PingRequest();
+    PingRequest second = new PingRequest();
+
+    assertNull(table.put(1, first));
+    assertSame(first, table.get(1));
+    assertSame(first, table.put(1, second));
+    assertSame(second, table.get(1));
+    assertEquals(1, table.size());
+
+    assertSame(second, table.remove(1));
+    assertNull(table.get(1));
+    assertNull(table.remove(1));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testMatchesHashMap() {
+    // Randomized operations over a small key range to exercise collisions, growth and
+    // backward-shift deletion, including negative ids from call id wrap-around.
+    InflightRpcTable table = new InflightRpcTable();
+    Map<Integer, YRpc<?>> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      int callId = random.nextInt(512) - 256;
+      switch (random.nextInt(3)) {
+        case 0:
+          PingRequest rpc = new PingRequest();
+          assertSame(expected.put(callId, rpc), table.put(callId, rpc));
+          break;
+        case 1:
+          assertSame(expected.remove(callId), table.remove(callId));
+          break;
+        default:
+          assertSame(expected.get(callId), table.get(callId));
+      }
+      assertEquals(expected.size(), table.size());
+    }
+    for (Map.Entry<Integer, YRpc<?>> entry : expected.entrySet()) {
+      assertSame(entry.getValue(), table.get(entry.getKey()));
+    }
+  }
+
+  @Test
+  public void testDrain() {
+    InflightRpcTable table = new InflightRpcTable();
+    for (int i = 0; i < 1000; i++) {
+      table.put(i, new PingRequest());
+    }
+    List<YRpc<?>> drained = table.drain();
+    assertEquals(1000, drained.size());
+    assertEquals(0, table.size());
+    assertNull(table.get(0));
+  }
+}
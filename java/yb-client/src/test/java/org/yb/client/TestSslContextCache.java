@@ -0,0 +1,106 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.*;
+
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+
+@RunWith(value=YBTestRunner.class)
+public class TestSslContextCache {
+
+  private File dir;
+
+  @Before
+  public void setUp() throws Exception {
+    SslContextCache.clear();
+    dir = Files.createTempDirectory("ssl_context_cache").toFile();
+    dir.deleteOnExit();
+  }
+
+  private String copy(File source, String name) throws Exception {
+    File target = new File(dir, name);
+    Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    target.deleteOnExit();
+    return target.getPath();
+  }
+
+  // Makes the change visible even on file systems with a coarse modification time.
+  private void touch(String path) {
+    File file = new File(path);
+    assertTrue(file.setLastModified(file.lastModified() + 10000));
+  }
+
+  @Test
+  public void testReusedUntilFilesChange() throws Exception {
+    String caFile = copy(new SelfSignedCertificate().certificate(), "ca.crt");
+    SslContext first = SslContextCache.get(caFile, null, null);
+    assertNotNull(first);
+    assertTrue(first.isClient());
+    assertSame(first, SslContextCache.get(caFile, null, null));
+
+    // Rotate the CA.
+    copy(new SelfSignedCertificate().certificate(), "ca.crt");
+    touch(caFile);
+    SslContext second = SslContextCache.get(caFile, null, null);
+    assertNotSame(first, second);
+    assertSame(second, SslContextCache.get(caFile, null, null));
+  }
+
+  @Test
+  public void testMutualTls() throws Exception {
+    String caFile = copy(new SelfSignedCertificate().certificate(), "ca.crt");
+    SelfSignedCertificate client = new SelfSignedCertificate();
+    String certFile = copy(client.certificate(), "node.crt");
+    String keyFile = copy(client.privateKey(), "node.key");
+
+    SslContext context = SslContextCache.get(caFile, certFile, keyFile);
+    assertNotNull(context);
+    assertSame(context, SslContextCache.get(caFile, certFile, keyFile));
+    assertNotSame(context, SslContextCache.get(caFile, null, null));
+    assertNull(SslContextCache.get(caFile, certFile, null));
+  }
+
+  @Test
+  public void testKeepsPreviousContextWhenReloadFails() throws Exception {
+    String caFile = copy(new SelfSignedCertificate().certificate(), "ca.crt");
+    SslContext first = SslContextCache.get(caFile, null, null);
+
+    // A rotation which is not complete yet.
+    Files.write(new File(caFile).toPath(), "-----BEGIN".getBytes(StandardCharsets.UTF_8));
+    touch(caFile);
+    assertSame(first, SslContextCache.get(caFile, null, null));
+
+    copy(new SelfSignedCertificate().certificate(), "ca.crt");
+    touch(caFile);
+    assertNotSame(first, SslContextCache.get(caFile, null, null));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testFailsWithoutPreviousContext() throws Exception {
+    File caFile = new File(dir, "ca.crt");
+    caFile.deleteOnExit();
+    Files.write(caFile.toPath(), "not a certificate".getBytes(StandardCharsets.UTF_8));
+    SslContextCache.get(caFile.getPath(), null, null);
+  }
+}
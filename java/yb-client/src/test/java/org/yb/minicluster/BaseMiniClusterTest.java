@@ -85,6 +85,12 @@ public class BaseMiniClusterTest extends BaseYBTest {
    */
   private static boolean clusterNeedsRecreation = false;
 
+  /**
+   * Reuse key of the current mini cluster if it may be handed to the next test class through
+   * {@link MiniYBClusterPool}, {@code null} otherwise.
+   */
+  private static String miniClusterReuseKey;
+
   protected int getReplicationFactor() {
     return -1;
   }
@@ -107,6 +113,15 @@ public class BaseMiniClusterTest extends BaseYBTest {
     return true;
   }
 
+  /**
+   * Whether the mini cluster can be leased from and returned to {@link MiniYBClusterPool}.
+   * Subclasses that leave the cluster in a clean state after every test (no user databases,
+   * keyspaces, tables or roles) override this to return true.
+   */
+  protected boolean isMiniClusterReusable() {
+    return false;
+  }
+
   /** Mark cluster as custom, that needs to be recreated fresh for the next test. */
   protected static void markClusterNeedsRecreation() {
     clusterNeedsRecreation = true;
@@ -300,7 +315,13 @@ public class BaseMiniClusterTest extends BaseYBTest {
 
     clusterBuilder.addEnvironmentVariables(additionalEnvironmentVars);
 
-    miniCluster = clusterBuilder.build();
+    String reuseKey = MiniYBClusterPool.isEnabled() && isMiniClusterReusable() ?
+        clusterBuilder.reuseKey() : null;
+    miniCluster = reuseKey != null ? MiniYBClusterPool.lease(reuseKey) : null;
+    if (miniCluster == null) {
+      miniCluster = clusterBuilder.build();
+    }
+    miniClusterReuseKey = reuseKey;
     masterAddresses = miniCluster.getMasterAddresses();
     masterHostPorts = miniCluster.getMasterHostPorts();
 
@@ -326,6 +347,22 @@ public class BaseMiniClusterTest extends BaseYBTest {
       miniCluster.shutdown();
       miniCluster = null;
     }
+    miniClusterReuseKey = null;
+  }
+
+  /**
+   * Called once the test class is done with the mini cluster. Returns the cluster to
+   * {@link MiniYBClusterPool} if it may be reused by the next test class, destroys it otherwise.
+   */
+  protected static void releaseMiniCluster() throws Exception {
+    if (miniCluster == null || miniClusterReuseKey == null || clusterNeedsRecreation) {
+      destroyMiniCluster();
+      return;
+    }
+    LOG.info("Returning mini cluster to the pool");
+    MiniYBClusterPool.release(miniClusterReuseKey, miniCluster);
+    miniCluster = null;
+    miniClusterReuseKey = null;
   }
 
   // Get metrics of all tservers.
@@ -434,7 +471,7 @@ public class BaseMiniClusterTest extends BaseYBTest {
   @AfterClass
   public static void tearDownAfterClass() throws Exception {
     LOG.info("BaseMiniClusterTest.tearDownAfterClass is running");
-    destroyMiniCluster();
+    releaseMiniCluster();
     LOG.info("BaseMiniClusterTest.tearDownAfterClass completed");
   }
 
@@ -20,6 +20,9 @@ public class ExternalDaemonLogErrorListener implements LogErrorListener {
 
   private static final Logger LOG = LoggerFactory.getLogger(ExternalDaemonLogErrorListener.class);
 
+  // How often to check that the process is still alive while waiting for it to start.
+  private static final long PROCESS_CHECK_INTERVAL_MS = 100;
+
   private final Object serverStartEventMonitor = new Object();
   private boolean sawServerStarting = false;
 
@@ -71,12 +74,24 @@ public class ExternalDaemonLogErrorListener implements LogErrorListener {
     }
   }
 
-  public void waitForServerStartingLogLine(long deadlineMs) throws InterruptedException {
+  /**
+   * Waits until the "RPC server started." line shows up in the daemon's log.
+   * <p>
+   * The process is checked while waiting, so a daemon that dies during start-up (e.g. because of
+   * an invalid flag) is reported right away instead of after the full deadline.
+   */
+  public void waitForServerStartingLogLine(long deadlineMs, Process process)
+      throws InterruptedException {
     long timeoutMs = deadlineMs - System.currentTimeMillis();
     synchronized (serverStartEventMonitor) {
       long timeLeftMs = deadlineMs - System.currentTimeMillis();
       while (timeLeftMs > 0 && !sawServerStarting) {
-        serverStartEventMonitor.wait(timeLeftMs);
+        if (!process.isAlive()) {
+          throw new RuntimeException(
+              "Process exited with value=" + process.exitValue() + " before logging a " +
+              "'server starting' message. Log: " + processDescription);
+        }
+        serverStartEventMonitor.wait(Math.min(timeLeftMs, PROCESS_CHECK_INTERVAL_MS));
         timeLeftMs = deadlineMs - System.currentTimeMillis();
       }
       if (!sawServerStarting) {
@@ -98,6 +98,10 @@ public class MiniYBCluster implements AutoCloseable {
   // Timeout for waiting process to terminate.
   private static final long PROCESS_TERMINATE_TIMEOUT_MS = BuildTypeUtil.adjustTimeout(180 * 1000);
 
+  // Timeouts for waiting for the "RPC server started" log line after launching a daemon.
+  private static final long MASTER_STARTUP_TIMEOUT_MS = 120000;
+  private static final long TSERVER_STARTUP_TIMEOUT_MS = 60000;
+
   // List of threads that print log messages.
   private final List<LogPrinter> logPrinters = new ArrayList<>();
 
@@ -264,11 +268,13 @@ public class MiniYBCluster implements AutoCloseable {
    * @return true if there are at least as many TS as expected, otherwise false
    */
   public boolean waitForTabletServers(int expected) throws Exception {
-    int count = 0;
     Stopwatch stopwatch = Stopwatch.createStarted();
+    int count = syncClient.listTabletServers().getTabletServersCount();
+    long sleepMs = 20;
     while (count < expected &&
         stopwatch.elapsed(MILLISECONDS) < clusterParameters.defaultTimeoutMs) {
-      Thread.sleep(200);
+      Thread.sleep(sleepMs);
+      sleepMs = Math.min(sleepMs * 2, 200);
       count = syncClient.listTabletServers().getTabletServersCount();
     }
     boolean success = count >= expected;
@@ -496,12 +502,21 @@ public class MiniYBCluster implements AutoCloseable {
       if (!perTserverFlags.isEmpty() && perTserverFlags.get(i) != null) {
         currTserverFlags.putAll(perTserverFlags.get(i));
       }
-      startTServer(currTserverFlags, tserverEnvVars);
+      startTServerProcess(currTserverFlags, null, null, tserverEnvVars);
     }
 
-    long tserverStartupDeadlineMs = System.currentTimeMillis() + 60000;
-    for (MiniYBDaemon tserverProcess : tserverProcesses.values()) {
-      tserverProcess.waitForServerStartLogMessage(tserverStartupDeadlineMs);
+    waitForServerStartLogMessages(tserverProcesses.values(), TSERVER_STARTUP_TIMEOUT_MS);
+  }
+
+  /**
+   * Waits for all of the given daemons to report that their RPC server has started. Fails as soon
+   * as one of them exits.
+   */
+  private static void waitForServerStartLogMessages(
+      Collection<MiniYBDaemon> daemons, long timeoutMs) throws InterruptedException {
+    long startupDeadlineMs = System.currentTimeMillis() + timeoutMs;
+    for (MiniYBDaemon daemon : daemons) {
+      daemon.waitForServerStartLogMessage(startupDeadlineMs);
     }
   }
 
@@ -544,6 +559,16 @@ public class MiniYBCluster implements AutoCloseable {
                            String tserverBindAddress,
                            Integer tserverRpcPort,
                            Map<String, String> tserverEnvVars) throws Exception {
+    MiniYBDaemon daemon =
+        startTServerProcess(tserverFlags, tserverBindAddress, tserverRpcPort, tserverEnvVars);
+    daemon.waitForServerStartLogMessage(
+        System.currentTimeMillis() + TSERVER_STARTUP_TIMEOUT_MS);
+  }
+
+  private MiniYBDaemon startTServerProcess(Map<String, String> tserverFlags,
+                                           String tserverBindAddress,
+                                           Integer tserverRpcPort,
+                                           Map<String, String> tserverEnvVars) throws Exception {
     LOG.info("Starting a tablet server: " +
         "tserverFlags={}, tserverBindAddress={}, tserverRpcPort={}",
         tserverFlags, tserverBindAddress, tserverRpcPort);
@@ -616,6 +641,7 @@ public class MiniYBCluster implements AutoCloseable {
       pathsToDelete.add(flagsPath);
     }
     pathsToDelete.add(dataDirPath);
+    return daemon;
   }
 
   /**
@@ -702,7 +728,7 @@ public class MiniYBCluster implements AutoCloseable {
     }
     pathsToDelete.add(dataDirPath);
 
-    TestUtils.logAndSleepMs(5000, "let the shell master get initialized and running");
+    daemon.waitForServerStartLogMessage(System.currentTimeMillis() + MASTER_STARTUP_TIMEOUT_MS);
 
     return masterHostPort;
   }
@@ -780,10 +806,7 @@ public class MiniYBCluster implements AutoCloseable {
       pathsToDelete.add(dataDirPath);
     }
 
-    long startupDeadlineMs = System.currentTimeMillis() + 120000;
-    for (MiniYBDaemon masterProcess : masterProcesses.values()) {
-      masterProcess.waitForServerStartLogMessage(startupDeadlineMs);
-    }
+    waitForServerStartLogMessages(masterProcesses.values(), MASTER_STARTUP_TIMEOUT_MS);
   }
 
   /**
@@ -841,14 +864,12 @@ public class MiniYBCluster implements AutoCloseable {
                          pgsqlWebPort, cqlWebPort, redisWebPort, dataDirPath);
     logPrinters.add(daemon.getLogPrinter());
 
-    Thread.sleep(300);
-    try {
-      int ev = proc.exitValue();
+    // Readiness is established by waiting for the "RPC server started" log line, which also fails
+    // fast if the process dies. Here we only catch processes that could not even be launched.
+    if (!proc.isAlive()) {
       throw new Exception("We tried starting a process (" + command[0] + ") but it exited with " +
-          "value=" + ev + (daemon.getLogPrinter().getError() == null ?
-                           "" : ", error: " + daemon.getLogPrinter().getError()));
-    } catch (IllegalThreadStateException ex) {
-      // This means the process is still alive, it's like reverse psychology.
+          "value=" + proc.exitValue() + (daemon.getLogPrinter().getError() == null ?
+                                         "" : ", error: " + daemon.getLogPrinter().getError()));
     }
 
     LOG.info("Started " + command[0] + " as pid " + ProcessUtil.pidOfProcess(proc));
@@ -863,13 +884,9 @@ public class MiniYBCluster implements AutoCloseable {
     logPrinters.add(daemon.getLogPrinter());
 
     Process proc = daemon.getProcess();
-    Thread.sleep(300);
-    try {
-      int ev = proc.exitValue();
+    if (!proc.isAlive()) {
       throw new Exception("We tried starting a process (" + command[0] + ") but it exited with " +
-          "value=" + ev);
-    } catch (IllegalThreadStateException ex) {
-      // This means the process is still alive, it's like reverse psychology.
+          "value=" + proc.exitValue());
     }
 
     LOG.info("Restarted " + command[0] + " as pid " + ProcessUtil.pidOfProcess(proc));
@@ -897,6 +914,7 @@ public class MiniYBCluster implements AutoCloseable {
       master = restart(master);
       masterProcesses.put(master.getHostAndPort(), master);
     }
+    waitForServerStartLogMessages(masterProcesses.values(), MASTER_STARTUP_TIMEOUT_MS);
 
     startSyncClient(waitForMasterLeader);
 
@@ -904,6 +922,7 @@ public class MiniYBCluster implements AutoCloseable {
       tserver = restart(tserver);
       tserverProcesses.put(tserver.getHostAndPort(), tserver);
     }
+    waitForServerStartLogMessages(tserverProcesses.values(), TSERVER_STARTUP_TIMEOUT_MS);
 
     LOG.info("Restarted mini cluster");
   }
@@ -229,6 +229,24 @@ public class MiniYBClusterBuilder {
     return this;
   }
 
+  /**
+   * @return a key identifying the cluster this builder would start. Two builders with the same key
+   *         start interchangeable clusters, so a running cluster can be reused for either of them.
+   *         The test class name only affects log output and is not part of the key.
+   */
+  public String reuseKey() {
+    return clusterParameters +
+        ", masterFlags=" + masterFlags +
+        ", commonTServerFlags=" + commonTServerFlags +
+        ", perTServerFlags=" + perTServerFlags +
+        ", tserverEnvVars=" + tserverEnvVars +
+        ", certFile=" + certFile +
+        ", clientCertFile=" + clientCertFile +
+        ", clientKeyFile=" + clientKeyFile +
+        ", clientHost=" + clientHost +
+        ", clientPort=" + clientPort;
+  }
+
   public MiniYBCluster build() throws Exception {
     Preconditions.checkArgument(
         perTServerFlags.isEmpty() || perTServerFlags.size() == clusterParameters.numTservers,
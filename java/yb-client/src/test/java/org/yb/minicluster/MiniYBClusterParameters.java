@@ -60,4 +60,22 @@ public class MiniYBClusterParameters {
   public int getYQLSystemPartitionsVtableRefreshSecs() {
     return yqlSystemPartitionsVtableRefreshSecsOpt.get();
   }
+
+  @Override
+  public String toString() {
+    return "MiniYBClusterParameters{" +
+        "numMasters=" + numMasters +
+        ", numTservers=" + numTservers +
+        ", numShardsPerTServer=" + numShardsPerTServer +
+        ", useIpWithCertificate=" + useIpWithCertificate +
+        ", defaultTimeoutMs=" + defaultTimeoutMs +
+        ", defaultAdminOperationTimeoutMs=" + defaultAdminOperationTimeoutMs +
+        ", replicationFactor=" + replicationFactor +
+        ", startYsqlProxy=" + startYsqlProxy +
+        ", pgTransactionsEnabled=" + pgTransactionsEnabled +
+        ", ysqlSnapshotVersion=" + ysqlSnapshotVersion +
+        ", tserverHeartbeatTimeoutMsOpt=" + tserverHeartbeatTimeoutMsOpt +
+        ", yqlSystemPartitionsVtableRefreshSecsOpt=" + yqlSystemPartitionsVtableRefreshSecsOpt +
+        "}";
+  }
 }
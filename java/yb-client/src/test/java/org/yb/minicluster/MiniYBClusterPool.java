@@ -0,0 +1,143 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.minicluster;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps mini clusters of finished test classes running so that a following test class in the same
+ * JVM that asks for an identical cluster can lease it instead of starting a new one.
+ * <p>
+ * Reuse is opt-in through the {@code yb.minicluster.reuse} system property and is only effective
+ * when surefire reuses forks, see the {@code reuseMiniClusters} profile. Clusters are matched by
+ * {@link MiniYBClusterBuilder#reuseKey()}, and the test base classes are responsible for returning
+ * a cluster in a clean state (no user databases, keyspaces or roles left behind).
+ */
+public final class MiniYBClusterPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MiniYBClusterPool.class);
+
+  private static final boolean ENABLED = Boolean.getBoolean("yb.minicluster.reuse");
+
+  /** Maximum number of idle clusters kept running, each one holds a full set of daemons. */
+  private static final int MAX_IDLE_CLUSTERS =
+      Integer.getInteger("yb.minicluster.reuse.max_idle", 1);
+
+  // Idle clusters keyed by their reuse key, least recently released first.
+  private static final Map<String, MiniYBCluster> idleClusters = new LinkedHashMap<>();
+
+  static {
+    if (ENABLED) {
+      Runtime.getRuntime().addShutdownHook(new Thread(MiniYBClusterPool::shutdownIdleClusters,
+          "minicluster-pool-shutdown"));
+    }
+  }
+
+  private MiniYBClusterPool() {
+  }
+
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Takes an idle cluster started with the given reuse key out of the pool.
+   * @return the cluster, or {@code null} if there is no healthy idle cluster for this key
+   */
+  public static MiniYBCluster lease(String reuseKey) throws Exception {
+    MiniYBCluster cluster;
+    synchronized (idleClusters) {
+      cluster = idleClusters.remove(reuseKey);
+    }
+    if (cluster == null) {
+      return null;
+    }
+    if (!isHealthy(cluster)) {
+      LOG.warn("Discarding a pooled mini cluster with dead daemons");
+      cluster.shutdown();
+      return null;
+    }
+    LOG.info("Reusing a running mini cluster with masters {}", cluster.getMasterAddresses());
+    return cluster;
+  }
+
+  /**
+   * Returns a cluster to the pool. Unhealthy clusters, and clusters pushed out of the pool by a
+   * more recently released one, are shut down.
+   */
+  public static void release(String reuseKey, MiniYBCluster cluster) throws Exception {
+    if (!isHealthy(cluster)) {
+      LOG.info("Not pooling a mini cluster with dead daemons");
+      cluster.shutdown();
+      return;
+    }
+    List<MiniYBCluster> evicted = new ArrayList<>();
+    synchronized (idleClusters) {
+      MiniYBCluster previous = idleClusters.put(reuseKey, cluster);
+      if (previous != null && previous != cluster) {
+        evicted.add(previous);
+      }
+      Iterator<MiniYBCluster> it = idleClusters.values().iterator();
+      while (idleClusters.size() > MAX_IDLE_CLUSTERS && it.hasNext()) {
+        evicted.add(it.next());
+        it.remove();
+      }
+    }
+    for (MiniYBCluster c : evicted) {
+      LOG.info("Evicting an idle mini cluster with masters {}", c.getMasterAddresses());
+      c.shutdown();
+    }
+  }
+
+  private static boolean isHealthy(MiniYBCluster cluster) {
+    MiniYBClusterParameters params = cluster.getClusterParameters();
+    if (cluster.getMasters().size() != params.numMasters ||
+        cluster.getTabletServers().size() != params.numTservers) {
+      return false;
+    }
+    for (MiniYBDaemon daemon : cluster.getMasters().values()) {
+      if (!daemon.getProcess().isAlive()) {
+        return false;
+      }
+    }
+    for (MiniYBDaemon daemon : cluster.getTabletServers().values()) {
+      if (!daemon.getProcess().isAlive()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void shutdownIdleClusters() {
+    List<MiniYBCluster> clusters;
+    synchronized (idleClusters) {
+      clusters = new ArrayList<>(idleClusters.values());
+      idleClusters.clear();
+    }
+    for (MiniYBCluster cluster : clusters) {
+      try {
+        cluster.shutdown();
+      } catch (Exception e) {
+        LOG.warn("Failed to shut down an idle mini cluster", e);
+      }
+    }
+  }
+}
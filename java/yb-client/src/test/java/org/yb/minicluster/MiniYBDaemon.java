@@ -332,7 +332,7 @@ public class MiniYBDaemon {
   }
 
   public void waitForServerStartLogMessage(long deadlineMs) throws InterruptedException {
-    logListener.waitForServerStartingLogLine(deadlineMs);
+    logListener.waitForServerStartingLogLine(deadlineMs, process);
     LOG.info("Saw an 'RPC server started' message from " + this);
   }
 
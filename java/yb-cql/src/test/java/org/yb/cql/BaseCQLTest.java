@@ -109,6 +109,12 @@ public class BaseCQLTest extends BaseMiniClusterTest {
     return flagMap;
   }
 
+  /** Tables, types, keyspaces and roles are dropped by {@link #tearDownAfter()}. */
+  @Override
+  protected boolean isMiniClusterReusable() {
+    return true;
+  }
+
   @Override
   protected void customizeMiniClusterBuilder(MiniYBClusterBuilder builder) {
     super.customizeMiniClusterBuilder(builder);
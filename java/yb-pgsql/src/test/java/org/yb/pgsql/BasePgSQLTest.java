@@ -184,6 +184,59 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
     runPgRegressTest(schedule, 0 /* maxRuntimeMillis */);
   }
 
+  /**
+   * Runs a schedule of independent tests as several concurrent pg_regress processes, see
+   * {@link PgRegressSchedule}. The number of shards is taken from the YB_PG_REGRESS_SHARDS
+   * environment variable or system property and defaults to half of the available cores. The
+   * first shard uses the default database, every other shard gets a database of its own, and the
+   * shards are spread over the tablet servers.
+   *
+   * @param firstShardTests tests that must run in the default database
+   */
+  public void runPgRegressTestSharded(String schedule, Set<String> firstShardTests)
+      throws Exception {
+    final File inputDir = PgRegressBuilder.PG_REGRESS_DIR;
+    final int numShards = (int) EnvAndSysPropertyUtil.getLongEnvVarOrSystemProperty(
+        "YB_PG_REGRESS_SHARDS", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    List<List<String>> shards = PgRegressSchedule.read(new File(inputDir, schedule))
+        .shard(numShards, new File(inputDir, "sql"), firstShardTests);
+    if (shards.size() == 1) {
+      runPgRegressTest(schedule);
+      return;
+    }
+
+    PgRegressRunner pgRegress = new PgRegressRunner(inputDir, schedule, 0 /* maxRuntimeMillis */);
+    if (!pgRegress.outputDir().mkdirs()) {
+      throw new RuntimeException("Failed to create directory " + pgRegress.outputDir());
+    }
+    final int numTservers = miniCluster.getTabletServers().size();
+    List<ProcessBuilder> procBuilders = new ArrayList<>();
+    for (int i = 0; i < shards.size(); i++) {
+      String database = DEFAULT_PG_DATABASE;
+      if (i > 0) {
+        database = "yb_regress_shard_" + i;
+        try (Statement stmt = connection.createStatement()) {
+          stmt.execute("CREATE DATABASE " + database);
+        }
+      }
+      File shardSchedule = new File(pgRegress.outputDir(), schedule + "_shard_" + i);
+      PgRegressSchedule.write(shardSchedule, shards.get(i));
+      LOG.info("pg_regress shard {} runs in database {}: {}", i, database, shards.get(i));
+
+      final int tserverIndex = i % numTservers;
+      procBuilders.add(new PgRegressBuilder(PgRegressBuilder.PG_REGRESS_EXECUTABLE)
+          .setDirs(inputDir, pgRegress.shardOutputDir(i))
+          .setSchedule(shardSchedule)
+          .setHost(getPgHost(tserverIndex))
+          .setPort(getPgPort(tserverIndex))
+          .setUser(DEFAULT_PG_USER)
+          .setDatabase(database)
+          .setEnvVars(getPgRegressEnvVars())
+          .getProcessBuilder());
+    }
+    pgRegress.run(procBuilders);
+  }
+
   public static void perfAssertLessThan(double time1, double time2) {
     if (TestUtils.isReleaseBuild()) {
       assertLessThan(time1, time2);
@@ -282,6 +335,12 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
     builder.enableYsql(true);
   }
 
+  /** Custom databases, entities and roles are dropped by {@link #cleanUpAfter()}. */
+  @Override
+  protected boolean isMiniClusterReusable() {
+    return true;
+  }
+
   @Before
   public void initYBBackupUtil() {
     YBBackupUtil.setMasterAddresses(masterAddresses);
@@ -530,11 +589,8 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
       connection.close();
     }
     pgInitialized = false;
-    LOG.info("Destroying mini-cluster");
-    if (miniCluster != null) {
-      destroyMiniCluster();
-      miniCluster = null;
-    }
+    LOG.info("Releasing mini-cluster");
+    releaseMiniCluster();
   }
 
   protected void recreateWithYsqlVersion(YsqlSnapshotVersion version) throws Exception {
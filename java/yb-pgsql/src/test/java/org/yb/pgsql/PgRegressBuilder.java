@@ -121,14 +121,20 @@ public class PgRegressBuilder {
     if (inputDir == null) {
       throw new RuntimeException("inputDir should not be null");
     }
+    return setSchedule(new File(inputDir, schedule));
+  }
+
+  /**
+   * Use a schedule file outside of the input directory, e.g. one shard of a schedule written by
+   * {@link PgRegressSchedule#write}.
+   */
+  public PgRegressBuilder setSchedule(File scheduleInputFile) {
     if (outputDir == null) {
       throw new RuntimeException("outputDir should not be null");
     }
 
-    File scheduleInputFile = new File(inputDir, schedule);
-
     if (isRegressExecutable()) {
-      File scheduleOutputFile = new File(outputDir, schedule);
+      File scheduleOutputFile = new File(outputDir, scheduleInputFile.getName());
 
       // Copy the schedule file, replacing some lines based on the operating system.
       try (BufferedReader scheduleReader = new BufferedReader(new FileReader(scheduleInputFile));
@@ -147,7 +153,7 @@ public class PgRegressBuilder {
         LOG.error("Failed to write schedule to " + outputDir);
         throw new RuntimeException(ex);
       }
-      args.add("--schedule=" + new File(outputDir, schedule));
+      args.add("--schedule=" + scheduleOutputFile);
     } else {
       args.add("--schedule=" + scheduleInputFile);
     }
@@ -27,7 +27,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,7 +39,11 @@ public class PgRegressRunner {
 
   private static final Logger LOG = LoggerFactory.getLogger(PgRegressRunner.class);
 
-  private Set<String> failedTests = new ConcurrentSkipListSet<>();
+  // Failed tests, mapped to the output directory of the pg_regress process that ran them.
+  private Map<String, File> failedTests = new ConcurrentSkipListMap<>();
+
+  // Time spent in each test, in milliseconds.
+  private Map<String, Long> testTimings = new ConcurrentHashMap<>();
 
   private File pgRegressInputDir;
   private File pgRegressOutputDir;
@@ -70,14 +75,29 @@ public class PgRegressRunner {
   private final Pattern failedTestLineRe =
       Pattern.compile("^test\\s+([a-zA-Z0-9_-]+)\\s+[.]+\\s+FAILED");
 
-  private LogErrorListener createLogErrorListener(int pid) {
+  /**
+   * Any test result line, printed by pg_regress once the test has finished. Tests of a schedule
+   * run one after another, so the time between two result lines is the runtime of a test.
+   */
+  private final Pattern testResultLineRe =
+      Pattern.compile("^test\\s+([a-zA-Z0-9_-]+)\\s+[.]+\\s+\\S");
+
+  private LogErrorListener createLogErrorListener(int pid, File outputDir, long startTimeMillis) {
     return new ExternalDaemonLogErrorListener("pg_regress with pid " + pid) {
+      private long lastResultMillis = startTimeMillis;
+
       @Override
       public void handleLine(String line) {
         super.handleLine(line);
         Matcher matcher = failedTestLineRe.matcher(line);
         if (matcher.find()) {
-          failedTests.add(matcher.group(1));
+          failedTests.put(matcher.group(1), outputDir);
+        }
+        matcher = testResultLineRe.matcher(line);
+        if (matcher.find()) {
+          long now = System.currentTimeMillis();
+          testTimings.put(matcher.group(1), now - lastResultMillis);
+          lastResultMillis = now;
         }
       }
     };
@@ -87,44 +107,109 @@ public class PgRegressRunner {
     return pgRegressOutputDir;
   }
 
+  /** Output directory of the given shard of a sharded run, see {@link #run(List)}. */
+  public File shardOutputDir(int shard) {
+    return new File(pgRegressOutputDir, "shard_" + shard);
+  }
+
   public void run(ProcessBuilder procBuilder) throws Exception {
+    run(Collections.singletonList(procBuilder));
+  }
+
+  /**
+   * Runs the given pg_regress processes concurrently and reports their results as one run. With a
+   * single process, it must write to {@link #outputDir()}. With several processes, process
+   * {@code i} must write to {@link #shardOutputDir(int) shardOutputDir(i)}; their diffs are then
+   * combined into a single regression.diffs file in {@link #outputDir()}.
+   */
+  public void run(List<ProcessBuilder> procBuilders) throws Exception {
+    final boolean sharded = procBuilders.size() > 1;
+    List<File> outputDirs = new ArrayList<>();
+    if (sharded) {
+      for (int i = 0; i < procBuilders.size(); i++) {
+        outputDirs.add(shardOutputDir(i));
+      }
+    } else {
+      outputDirs.add(pgRegressOutputDir);
+    }
     if (diffsFilePath.exists()) {
       diffsFilePath.delete();
     }
+    for (File outputDir : outputDirs) {
+      File shardDiffsFilePath = new File(outputDir, "regression.diffs");
+      if (shardDiffsFilePath.exists()) {
+        shardDiffsFilePath.delete();
+      }
+    }
+
+    long         startTimeMillis = System.currentTimeMillis();
+    List<Process> pgRegressProcs = new ArrayList<>();
+    List<LogPrinter> logPrinters = new ArrayList<>();
+    int[]        exitCodes       = new int[procBuilders.size()];
+    int          exitCode        = -1;
+    long         runtimeMillis;
 
-    long    startTimeMillis = System.currentTimeMillis();
-    Process pgRegressProc   = procBuilder.start();
-    int     pgRegressPid    = ProcessUtil.pidOfProcess(pgRegressProc);
-    String  logPrefix       = "pg_regress|pid" + pgRegressPid;
-    int     exitCode        = -1;
-    long    runtimeMillis;
-
-    try (LogPrinter stdoutLogPrinter =
-             new LogPrinter(pgRegressProc.getInputStream(), logPrefix + "|stdout ",
-                 createLogErrorListener(pgRegressPid));
-         LogPrinter stderrLogPrinter =
-             new LogPrinter(pgRegressProc.getErrorStream(), logPrefix + "|stderr ",
-                 createLogErrorListener(pgRegressPid))) {
-
-      exitCode = pgRegressProc.waitFor();
+    Arrays.fill(exitCodes, -1);
+    try {
+      for (int i = 0; i < procBuilders.size(); i++) {
+        Process pgRegressProc = procBuilders.get(i).start();
+        pgRegressProcs.add(pgRegressProc);
+        int    pgRegressPid = ProcessUtil.pidOfProcess(pgRegressProc);
+        String logPrefix    = "pg_regress|" + (sharded ? "shard" + i + "|" : "") +
+                              "pid" + pgRegressPid;
+        logPrinters.add(
+            new LogPrinter(pgRegressProc.getInputStream(), logPrefix + "|stdout ",
+                createLogErrorListener(pgRegressPid, outputDirs.get(i), startTimeMillis)));
+        logPrinters.add(
+            new LogPrinter(pgRegressProc.getErrorStream(), logPrefix + "|stderr ",
+                createLogErrorListener(pgRegressPid, outputDirs.get(i), startTimeMillis)));
+      }
+
+      exitCode = 0;
+      for (int i = 0; i < pgRegressProcs.size(); i++) {
+        exitCodes[i] = pgRegressProcs.get(i).waitFor();
+        if (exitCode == 0) {
+          exitCode = exitCodes[i];
+        }
+      }
       runtimeMillis = System.currentTimeMillis() - startTimeMillis;
     } finally {
-      if (diffsFilePath.exists()) {
-        List<String> diffsLines = FileUtil.readLinesFrom(diffsFilePath);
-        String diffsContent = StringUtils.join(diffsLines.iterator(), "\n");
-        LOG.warn("Contents of {}:\n{}", diffsFilePath, diffsContent);
-      } else if (exitCode != 0) {
-        LOG.error("File does not exist: {}", diffsFilePath);
+      for (Process pgRegressProc : pgRegressProcs) {
+        if (pgRegressProc.isAlive()) {
+          pgRegressProc.destroy();
+        }
+      }
+      for (LogPrinter logPrinter : logPrinters) {
+        logPrinter.close();
+      }
+
+      List<String> combinedDiffsLines = new ArrayList<>();
+      for (int i = 0; i < outputDirs.size(); i++) {
+        File shardDiffsFilePath = new File(outputDirs.get(i), "regression.diffs");
+        if (shardDiffsFilePath.exists()) {
+          List<String> diffsLines = FileUtil.readLinesFrom(shardDiffsFilePath);
+          String diffsContent = StringUtils.join(diffsLines.iterator(), "\n");
+          LOG.warn("Contents of {}:\n{}", shardDiffsFilePath, diffsContent);
+          combinedDiffsLines.addAll(diffsLines);
+        } else if (exitCodes[i] != 0) {
+          LOG.error("File does not exist: {}", shardDiffsFilePath);
+        }
+      }
+      if (sharded && !combinedDiffsLines.isEmpty()) {
+        Files.write(diffsFilePath.toPath(), combinedDiffsLines);
+        LOG.warn("Combined diffs of all shards written to {}", diffsFilePath);
       }
     }
 
-    Set<String> sortedFailedTests = new TreeSet<>();
-    sortedFailedTests.addAll(failedTests);
-    if (!sortedFailedTests.isEmpty()) {
-      LOG.warn("Failed tests: {}", sortedFailedTests);
-      for (String testName : sortedFailedTests) {
-        File expectedFile = new File(new File(pgRegressOutputDir, "expected"), testName + ".out");
-        File resultFile = new File(new File(pgRegressOutputDir, "results"), testName + ".out");
+    reportTestTimings();
+
+    if (!failedTests.isEmpty()) {
+      LOG.warn("Failed tests: {}", failedTests.keySet());
+      for (Map.Entry<String, File> failedTest : failedTests.entrySet()) {
+        String testName = failedTest.getKey();
+        File expectedFile = new File(new File(failedTest.getValue(), "expected"),
+            testName + ".out");
+        File resultFile = new File(new File(failedTest.getValue(), "results"), testName + ".out");
         if (!expectedFile.exists()) {
           LOG.warn("Expected test output file {} not found.", expectedFile);
           continue;
@@ -141,35 +226,20 @@ public class PgRegressRunner {
     }
 
     if (!ConfForTesting.isCI()) {
-      final Path pgRegressOutputPath = Paths.get(pgRegressOutputDir.toString());
-
-      LOG.info("Copying test result files and generated SQL and expected output {} back to {}",
-          pgRegressOutputPath, pgRegressInputDir);
-      Files.find(
-          pgRegressOutputPath,
-          Integer.MAX_VALUE,
-          (filePath, fileAttr) -> fileAttr.isRegularFile()
-      ).forEach(pathToCopy -> {
-        String fileName = pathToCopy.toFile().getName();
-        String relPathStr = pgRegressOutputPath.relativize(pathToCopy).toString();
-        if ((fileName.endsWith(".out") || fileName.endsWith(".diffs")) &&
-            !relPathStr.startsWith("expected/")) {
-          File srcFile = pathToCopy.toFile();
-          File destFile = new File(pgRegressInputDir, relPathStr);
-          LOG.info("Copying file {} to {}", srcFile, destFile);
-          try {
-            FileUtils.copyFile(srcFile, destFile);
-          } catch (IOException ex) {
-            LOG.error("Failed copying file " + srcFile + " to " + destFile, ex);
-          }
-        }
-      });
+      for (File outputDir : outputDirs) {
+        // The diffs of each shard would overwrite each other, the combined file is copied below.
+        copyResultsToInputDir(outputDir, !sharded /* copyDiffs */);
+      }
+      if (sharded && diffsFilePath.exists()) {
+        copyResultFile(diffsFilePath, new File(pgRegressInputDir, diffsFilePath.getName()));
+      }
     }
 
     if (EnvAndSysPropertyUtil.isEnvVarOrSystemPropertyTrue("YB_PG_REGRESS_IGNORE_RESULT")) {
       return;
     }
 
+    Set<String> sortedFailedTests = failedTests.keySet();
     if (exitCode != 0) {
       throw new AssertionError("pg_regress exited with error code: " + exitCode +
           ", failed tests: " + sortedFailedTests);
@@ -186,4 +256,52 @@ public class PgRegressRunner {
 
     LOG.info("Completed pg_regress ({}). Elapsed time = {} msecs", label, runtimeMillis);
   }
+
+  /**
+   * Logs the runtime of every test, slowest first, and saves it as tab-separated values next to
+   * the diffs so that schedules can be rebalanced.
+   */
+  private void reportTestTimings() throws IOException {
+    if (testTimings.isEmpty()) {
+      return;
+    }
+    List<Map.Entry<String, Long>> timings = new ArrayList<>(testTimings.entrySet());
+    timings.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+    List<String> lines = new ArrayList<>();
+    for (Map.Entry<String, Long> timing : timings) {
+      lines.add(timing.getKey() + "\t" + timing.getValue());
+    }
+    File timingsFile = new File(pgRegressOutputDir, "test_timings.tsv");
+    Files.write(timingsFile.toPath(), lines);
+    LOG.info("pg_regress test timings in msecs ({}):\n{}",
+        label, StringUtils.join(lines.iterator(), "\n"));
+  }
+
+  private void copyResultsToInputDir(File outputDir, boolean copyDiffs) throws IOException {
+    final Path pgRegressOutputPath = Paths.get(outputDir.toString());
+
+    LOG.info("Copying test result files and generated SQL and expected output {} back to {}",
+        pgRegressOutputPath, pgRegressInputDir);
+    Files.find(
+        pgRegressOutputPath,
+        Integer.MAX_VALUE,
+        (filePath, fileAttr) -> fileAttr.isRegularFile()
+    ).forEach(pathToCopy -> {
+      String fileName = pathToCopy.toFile().getName();
+      String relPathStr = pgRegressOutputPath.relativize(pathToCopy).toString();
+      if ((fileName.endsWith(".out") || (copyDiffs && fileName.endsWith(".diffs"))) &&
+          !relPathStr.startsWith("expected/")) {
+        copyResultFile(pathToCopy.toFile(), new File(pgRegressInputDir, relPathStr));
+      }
+    });
+  }
+
+  private static void copyResultFile(File srcFile, File destFile) {
+    LOG.info("Copying file {} to {}", srcFile, destFile);
+    try {
+      FileUtils.copyFile(srcFile, destFile);
+    } catch (IOException ex) {
+      LOG.error("Failed copying file " + srcFile + " to " + destFile, ex);
+    }
+  }
 }
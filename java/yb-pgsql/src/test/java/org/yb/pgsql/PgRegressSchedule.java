@@ -0,0 +1,131 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.pgsql;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The tests of a pg_regress schedule, with support for splitting them into shards that can run
+ * concurrently.
+ * <p>
+ * Only schedules whose tests are independent of each other, such as
+ * yb_pg_misc_independent_serial_schedule, can be sharded: each test is free to land in any shard
+ * and runs in a database that none of the other shards uses.
+ */
+public class PgRegressSchedule {
+
+  private static final String TEST_LINE_PREFIX = "test:";
+
+  private final List<String> tests;
+
+  private PgRegressSchedule(List<String> tests) {
+    this.tests = tests;
+  }
+
+  public static PgRegressSchedule read(File scheduleFile) throws IOException {
+    List<String> tests = new ArrayList<>();
+    for (String line : Files.readAllLines(scheduleFile.toPath())) {
+      line = line.trim();
+      if (line.startsWith(TEST_LINE_PREFIX)) {
+        for (String test : line.substring(TEST_LINE_PREFIX.length()).trim().split("\\s+")) {
+          tests.add(test);
+        }
+      }
+    }
+    return new PgRegressSchedule(tests);
+  }
+
+  public List<String> getTests() {
+    return Collections.unmodifiableList(tests);
+  }
+
+  /**
+   * Splits the tests into at most {@code numShards} shards of about the same total size, using the
+   * size of each test's SQL file in {@code sqlDir} as an estimate of its runtime. Tests keep their
+   * schedule order within a shard.
+   *
+   * @param firstShardTests tests that have to run in the first shard, e.g. because their expected
+   *                        output contains the name of the default database
+   */
+  public List<List<String>> shard(int numShards, File sqlDir, Set<String> firstShardTests) {
+    numShards = Math.max(1, Math.min(numShards, tests.size()));
+    long[] shardSizes = new long[numShards];
+    List<List<Integer>> shardIndexes = new ArrayList<>();
+    for (int i = 0; i < numShards; i++) {
+      shardIndexes.add(new ArrayList<>());
+    }
+
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < tests.size(); i++) {
+      if (firstShardTests.contains(tests.get(i))) {
+        shardIndexes.get(0).add(i);
+        shardSizes[0] += estimateSize(sqlDir, tests.get(i));
+      } else {
+        order.add(i);
+      }
+    }
+
+    // Largest tests first, each into the currently smallest shard.
+    long[] sizes = new long[tests.size()];
+    for (int i : order) {
+      sizes[i] = estimateSize(sqlDir, tests.get(i));
+    }
+    order.sort(Comparator.comparingLong((Integer i) -> sizes[i]).reversed());
+    for (int i : order) {
+      int smallest = 0;
+      for (int shard = 1; shard < numShards; shard++) {
+        if (shardSizes[shard] < shardSizes[smallest]) {
+          smallest = shard;
+        }
+      }
+      shardIndexes.get(smallest).add(i);
+      shardSizes[smallest] += sizes[i];
+    }
+
+    List<List<String>> shards = new ArrayList<>();
+    for (List<Integer> indexes : shardIndexes) {
+      if (indexes.isEmpty()) {
+        continue;
+      }
+      Collections.sort(indexes);
+      List<String> shardTests = new ArrayList<>();
+      for (int i : indexes) {
+        shardTests.add(tests.get(i));
+      }
+      shards.add(shardTests);
+    }
+    return shards;
+  }
+
+  /** Writes a schedule running the given tests one after another. */
+  public static void write(File scheduleFile, List<String> tests) throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (String test : tests) {
+      lines.add(TEST_LINE_PREFIX + " " + test);
+    }
+    Files.write(scheduleFile.toPath(), lines);
+  }
+
+  private static long estimateSize(File sqlDir, String test) {
+    File sqlFile = new File(sqlDir, test + ".sql");
+    // Tests generated from the input directory have no SQL file yet, count them as small ones.
+    return sqlFile.exists() ? sqlFile.length() : 1;
+  }
+}
@@ -46,6 +46,26 @@ create_tar_file() {
   echo "Successfully added files to tar:  ${filtered_files_list[@]}"
 }
 
+list_files() {
+  dir_path=$1
+  max_depth=$2
+  # Optional, only files modified after this epoch second are listed
+  modified_after=$3
+
+  # Nothing to list if the directory does not exist
+  if [ ! -d "$dir_path" ]
+  then
+    exit 0
+  fi
+
+  if [ -n "$modified_after" ]
+  then
+    find "$dir_path" -maxdepth "$max_depth" -type f -newermt "@$modified_after" -printf '%s %p\n'
+  else
+    find "$dir_path" -maxdepth "$max_depth" -type f -printf '%s %p\n'
+  fi
+}
+
 check_file_exists() {
   if [ -e "$1" ]
   then
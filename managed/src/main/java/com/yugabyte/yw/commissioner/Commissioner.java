@@ -259,6 +259,50 @@ public class Commissioner {
     return Optional.of(responseJson);
   }
 
+  /**
+   * Builds the task status from the summary kept on the customer task, without reading task_info
+   * and its subtasks. Unlike buildTaskStatus, details of subtask groups are not included.
+   */
+  public Optional<ObjectNode> buildTaskSummaryStatus(CustomerTask task) {
+    if (task == null || task.getTaskState() == null) {
+      return Optional.empty();
+    }
+    UUID taskUUID = task.getTaskUUID();
+    ObjectNode responseJson = Json.newObject();
+    responseJson.put("title", task.getFriendlyDescription());
+    responseJson.put("createTime", task.getCreateTime().toString());
+    responseJson.put("target", task.getTargetName());
+    responseJson.put("targetUUID", task.getTargetUUID().toString());
+    responseJson.put("type", task.getType().name());
+    responseJson.put("status", task.getTaskState().toString());
+    responseJson.put("percent", task.getPercentComplete());
+    String correlationId = task.getCorrelationId();
+    if (!Strings.isNullOrEmpty(correlationId)) responseJson.put("correlationId", correlationId);
+
+    // Task is abortable only when it is running.
+    RunnableTask runnable = runningTasks.get(taskUUID);
+    responseJson.put(
+        "abortable",
+        runnable != null
+            && taskExecutor.isTaskRunning(taskUUID)
+            && isTaskAbortable(runnable.getTaskType()));
+
+    // Only the task which left the universe in updating state can be retried. Check that first,
+    // it is much rarer than the task type being retryable.
+    responseJson.put("retryable", false);
+    if (TaskInfo.ERROR_STATES.contains(task.getTaskState())) {
+      Universe.getUniverseDetailsField(String.class, task.getTargetUUID(), "updatingTaskUUID")
+          .filter(updatingTask -> taskUUID.equals(UUID.fromString(updatingTask)))
+          .map(updatingTask -> TaskInfo.get(taskUUID))
+          .ifPresent(
+              taskInfo -> responseJson.put("retryable", isTaskRetryable(taskInfo.getTaskType())));
+    }
+    if (pauseLatches.containsKey(taskUUID)) {
+      responseJson.put("paused", true);
+    }
+    return Optional.of(responseJson);
+  }
+
   public Optional<ObjectNode> mayGetStatus(UUID taskUUID) {
     CustomerTask task = CustomerTask.find.query().where().eq("task_uuid", taskUUID).findOne();
     // Check if the task is in the DB.
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ *     https://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.commissioner;
+
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.MetricKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.Value;
+
+/**
+ * Remembers the health check results of each universe between runs, to turn a full health report
+ * into the list of checks which changed result, and the list of metrics which changed value.
+ * Recent changes are kept per check in a fixed size ring buffer.
+ */
+public class HealthCheckChangeTracker {
+
+  // Number of changes kept per universe and check.
+  static final int HISTORY_SIZE = 64;
+
+  // Unchanged metrics are saved again at this interval, so that they don't expire and metrics
+  // cleaned outside of health check get restored.
+  static final Duration FULL_SYNC_INTERVAL = Duration.ofMinutes(30);
+
+  private final Map<UUID, UniverseState> universes = new ConcurrentHashMap<>();
+
+  /** Result of a check on a node process. */
+  @Value
+  public static class CheckKey {
+    String node;
+    String checkName;
+    boolean master;
+  }
+
+  /** Change of a check result, hasError is null if the check is no longer run. */
+  @Value
+  public static class CheckChange {
+    CheckKey key;
+    Boolean hadError;
+    Boolean hasError;
+    Date timestamp;
+  }
+
+  /** Metric updates needed to bring the metric storage to the current values. */
+  @Value
+  public static class MetricUpdate {
+    // All the metrics are to be saved, and other health check metrics cleaned.
+    boolean fullSync;
+    List<Metric> toSave;
+    Set<MetricKey> toDelete;
+  }
+
+  /**
+   * Records the check results of a health check run.
+   *
+   * @return the checks which changed result since the previous run, nothing on the first run.
+   */
+  public List<CheckChange> recordResults(
+      UUID universeUuid, Map<CheckKey, Boolean> results, Date timestamp) {
+    UniverseState state = universes.computeIfAbsent(universeUuid, k -> new UniverseState());
+    synchronized (state) {
+      List<CheckChange> changes = new ArrayList<>();
+      if (state.checkResults != null) {
+        results.forEach(
+            (key, hasError) -> {
+              Boolean hadError = state.checkResults.get(key);
+              if (!hasError.equals(hadError)) {
+                changes.add(new CheckChange(key, hadError, hasError, timestamp));
+              }
+            });
+        state.checkResults.forEach(
+            (key, hadError) -> {
+              if (!results.containsKey(key)) {
+                changes.add(new CheckChange(key, hadError, null, timestamp));
+              }
+            });
+      }
+      state.checkResults = new HashMap<>(results);
+      for (CheckChange change : changes) {
+        state
+            .history
+            .computeIfAbsent(change.getKey().getCheckName(), k -> new ChangeHistory())
+            .add(change);
+      }
+      return changes;
+    }
+  }
+
+  /**
+   * Compares the metrics built from a health check run with the ones saved after the previous run.
+   * Metrics with the same key and value are not saved again, unless the last full sync is older
+   * than FULL_SYNC_INTERVAL.
+   */
+  public MetricUpdate diffMetrics(UUID universeUuid, List<Metric> metrics, Date timestamp) {
+    UniverseState state = universes.computeIfAbsent(universeUuid, k -> new UniverseState());
+    synchronized (state) {
+      Map<MetricKey, Double> values = new HashMap<>();
+      metrics.forEach(metric -> values.put(MetricKey.from(metric), metric.getValue()));
+      Map<MetricKey, Double> savedValues = state.metricValues;
+      state.metricValues = values;
+      if (savedValues == null
+          || state.lastFullSync == null
+          || timestamp.getTime() - state.lastFullSync.getTime() >= FULL_SYNC_INTERVAL.toMillis()) {
+        state.lastFullSync = timestamp;
+        return new MetricUpdate(true, metrics, Collections.emptySet());
+      }
+      List<Metric> toSave =
+          metrics
+              .stream()
+              .filter(
+                  metric -> {
+                    MetricKey key = MetricKey.from(metric);
+                    return !savedValues.containsKey(key)
+                        || !Objects.equals(savedValues.get(key), metric.getValue());
+                  })
+              .collect(Collectors.toList());
+      Set<MetricKey> toDelete =
+          savedValues
+              .keySet()
+              .stream()
+              .filter(key -> !values.containsKey(key))
+              .collect(Collectors.toSet());
+      return new MetricUpdate(false, toSave, toDelete);
+    }
+  }
+
+  /**
+   * Returns the changes of the universe checks at or after the given time, newest first.
+   *
+   * @param checkName only returns the changes of this check, unless null.
+   */
+  public List<CheckChange> getChanges(UUID universeUuid, String checkName, Date since) {
+    UniverseState state = universes.get(universeUuid);
+    if (state == null) {
+      return Collections.emptyList();
+    }
+    synchronized (state) {
+      return state
+          .history
+          .entrySet()
+          .stream()
+          .filter(e -> checkName == null || e.getKey().equals(checkName))
+          .flatMap(e -> e.getValue().since(since).stream())
+          .sorted(Comparator.comparing(CheckChange::getTimestamp).reversed())
+          .collect(Collectors.toList());
+    }
+  }
+
+  /** Forgets the saved metrics, so that the next run saves all of them. */
+  public void invalidateMetrics(UUID universeUuid) {
+    UniverseState state = universes.get(universeUuid);
+    if (state != null) {
+      synchronized (state) {
+        state.metricValues = null;
+      }
+    }
+  }
+
+  public void remove(UUID universeUuid) {
+    universes.remove(universeUuid);
+  }
+
+  private static class UniverseState {
+    private Map<CheckKey, Boolean> checkResults;
+    private Map<MetricKey, Double> metricValues;
+    private Date lastFullSync;
+    private final Map<String, ChangeHistory> history = new HashMap<>();
+  }
+
+  // Keeps the last HISTORY_SIZE changes, oldest ones are overwritten.
+  private static class ChangeHistory {
+    private final CheckChange[] changes = new CheckChange[HISTORY_SIZE];
+    private int next;
+    private int size;
+
+    private void add(CheckChange change) {
+      changes[next] = change;
+      next = (next + 1) % HISTORY_SIZE;
+      size = Math.min(size + 1, HISTORY_SIZE);
+    }
+
+    // Newest first.
+    private List<CheckChange> since(Date since) {
+      List<CheckChange> result = new ArrayList<>();
+      for (int i = 1; i <= size; i++) {
+        CheckChange change = changes[(next - i + HISTORY_SIZE) % HISTORY_SIZE];
+        if (change.getTimestamp().before(since)) {
+          break;
+        }
+        result.add(change);
+      }
+      return result;
+    }
+  }
+}
@@ -31,6 +31,9 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.Common.CloudType;
+import com.yugabyte.yw.commissioner.HealthCheckChangeTracker.CheckChange;
+import com.yugabyte.yw.commissioner.HealthCheckChangeTracker.CheckKey;
+import com.yugabyte.yw.commissioner.HealthCheckChangeTracker.MetricUpdate;
 import com.yugabyte.yw.common.EmailHelper;
 import com.yugabyte.yw.common.NodeUniverseManager;
 import com.yugabyte.yw.common.PlatformExecutorFactory;
@@ -158,6 +161,8 @@ public class HealthChecker {
   private final Set<String> healthScriptMetrics =
       Collections.newSetFromMap(new ConcurrentHashMap<>());
 
+  private final HealthCheckChangeTracker checkChangeTracker = new HealthCheckChangeTracker();
+
   final ApplicationLifecycle lifecycle;
 
   private final NodeUniverseManager nodeUniverseManager;
@@ -265,6 +270,7 @@ public class HealthChecker {
       List<Metric> metrics = new ArrayList<>();
       Map<PlatformMetrics, Integer> platformMetrics = new HashMap<>();
       Set<String> nodesWithError = new HashSet<>();
+      Map<CheckKey, Boolean> checkResults = new HashMap<>();
       boolean shouldCollectNodeMetrics = false;
       for (NodeData nodeData : report.getData()) {
         String node = nodeData.getNode();
@@ -279,6 +285,7 @@ public class HealthChecker {
         if (StringUtils.isNotBlank(nodeData.getProcess())) {
           isMaster = !nodeData.getProcess().equals(YB_TSERVER_PROCESS);
         }
+        checkResults.put(new CheckKey(node, checkName, isMaster), checkResult);
         // Add node metric value if it's present in data node
         List<Details.Metric> nodeMetrics = nodeData.getMetrics();
         List<Metric> nodeCustomMetrics = new ArrayList<>(getNodeMetrics(c, u, node, nodeMetrics));
@@ -326,6 +333,19 @@ public class HealthChecker {
         metrics.add(healthCheckStatusMetric);
       }
 
+      Date now = new Date();
+      for (CheckChange change :
+          checkChangeTracker.recordResults(u.getUniverseUUID(), checkResults, now)) {
+        log.info(
+            "Health check '{}' of {} on node {} of universe {} changed from {} to {}",
+            change.getKey().getCheckName(),
+            change.getKey().isMaster() ? "master" : "tserver",
+            change.getKey().getNode(),
+            u.name,
+            change.getHadError() == null ? "none" : change.getHadError() ? "error" : "ok",
+            change.getHasError() == null ? "none" : change.getHasError() ? "error" : "ok");
+      }
+
       healthScriptMetrics.addAll(
           metrics.stream().map(Metric::getName).collect(Collectors.toList()));
       metrics.addAll(
@@ -334,11 +354,21 @@ public class HealthChecker {
               .stream()
               .map(e -> buildMetricTemplate(e.getKey(), u).setValue(e.getValue().doubleValue()))
               .collect(Collectors.toList()));
-      // Clean all health check metrics for universe before saving current values
-      // just in case list of nodes changed between runs.
-      MetricFilter toClean =
-          metricSourceKeysFilterWithHealthScriptMetrics(c, u, HEALTH_CHECK_METRICS_WITHOUT_STATUS);
-      metricService.cleanAndSave(metrics, toClean);
+      MetricUpdate metricUpdate = checkChangeTracker.diffMetrics(u.getUniverseUUID(), metrics, now);
+      if (metricUpdate.isFullSync()) {
+        // Clean all health check metrics for universe before saving current values
+        // just in case list of nodes changed between runs.
+        MetricFilter toClean =
+            metricSourceKeysFilterWithHealthScriptMetrics(
+                c, u, HEALTH_CHECK_METRICS_WITHOUT_STATUS);
+        metricService.cleanAndSave(metrics, toClean);
+      } else {
+        // Only write the metrics of the checks whose result or values changed.
+        if (!metricUpdate.getToDelete().isEmpty()) {
+          metricService.delete(MetricFilter.builder().keys(metricUpdate.getToDelete()).build());
+        }
+        metricService.save(metricUpdate.getToSave());
+      }
 
       metricService.setMetric(
           buildMetricTemplate(PlatformMetrics.HEALTH_CHECK_NODES_WITH_ERRORS, u),
@@ -348,6 +378,7 @@ public class HealthChecker {
           buildMetricTemplate(PlatformMetrics.HEALTH_CHECK_NODE_METRICS_STATUS, u));
     } catch (Exception e) {
       log.warn("Failed to convert health check response to prometheus metrics", e);
+      checkChangeTracker.invalidateMetrics(u.getUniverseUUID());
       metricService.setFailureStatusMetric(
           buildMetricTemplate(PlatformMetrics.HEALTH_CHECK_NODE_METRICS_STATUS, u));
     }
@@ -520,6 +551,7 @@ public class HealthChecker {
   public void handleUniverseRemoval(UUID universeUUID) {
     cancelHealthCheck(universeUUID);
     runningHealthChecks.remove(universeUUID);
+    checkChangeTracker.remove(universeUUID);
     List<Pair<UUID, String>> universeNodeInfos =
         uploadedNodeInfo
             .keySet()
@@ -939,6 +971,17 @@ public class HealthChecker {
     Metric healthCheckFailed =
         buildMetricTemplate(PlatformMetrics.HEALTH_CHECK_STATUS, universe).setValue(0.0);
     metricService.cleanAndSave(Collections.singletonList(healthCheckFailed), toClean);
+    checkChangeTracker.invalidateMetrics(universe.getUniverseUUID());
+  }
+
+  /**
+   * Returns the health check result changes of the universe at or after the given time, newest
+   * first.
+   *
+   * @param checkName only returns the changes of this check, unless null.
+   */
+  public List<CheckChange> getCheckChanges(UUID universeUUID, String checkName, Date since) {
+    return checkChangeTracker.getChanges(universeUUID, checkName, since);
   }
 
   private String generateCollectMetricsScript(UUID universeUuid, NodeInfo nodeInfo) {
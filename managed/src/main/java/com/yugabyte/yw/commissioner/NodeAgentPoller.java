@@ -17,7 +17,6 @@ import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.Util;
 import com.yugabyte.yw.controllers.handlers.NodeAgentHandler;
-import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.NodeAgent;
 import com.yugabyte.yw.models.NodeAgent.State;
 import com.yugabyte.yw.models.NodeInstance;
@@ -26,11 +25,12 @@ import com.yugabyte.yw.nodeagent.Server.ServerInfo;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -53,11 +53,13 @@ import org.apache.commons.lang3.StringUtils;
 @Singleton
 public class NodeAgentPoller {
   public static final String POLLER_INTERVAL_PROPERTY = "yb.node_agent.poller_interval";
+  public static final String POLLER_WHEEL_SLOTS_PROPERTY = "yb.node_agent.poller_wheel_slots";
   public static final String RETENTION_DURATION_PROPERTY = "yb.node_agent.retention_duration";
   private static final Duration POLLER_INITIAL_DELAY = Duration.ofMinutes(1);
   private static final String LIVE_POLLER_POOL_NAME = "node_agent.live_node_poller";
   private static final String DEAD_POLLER_POOL_NAME = "node_agent.dead_node_poller";
   private static final int MAX_FAILED_CONN_COUNT = 100;
+  private static final Duration MIN_WHEEL_TICK = Duration.ofSeconds(1);
 
   private final Config appConfig;
   private final ConfigHelper configHelper;
@@ -68,6 +70,15 @@ public class NodeAgentPoller {
 
   private final Map<UUID, PollerTask> pollerTasks = new ConcurrentHashMap<>();
 
+  // Node agents which responded since the last flush. Their heartbeat time is updated in bulk.
+  private final Map<UUID, Boolean> pendingHeartbeats = new ConcurrentHashMap<>();
+
+  // Time wheel of the poller tasks. Each tick polls the node agents of one slot, so that the polls
+  // are spread over the poller interval. Only accessed from the scheduler thread.
+  private List<List<PollerTask>> wheel = Collections.emptyList();
+  private int wheelSlots;
+  private int wheelCursor;
+
   // Poller with more threads allowing less queuing.
   private ExecutorService livePollerExecutor;
   // Poller with less threads allowing more queuing.
@@ -146,6 +157,9 @@ public class NodeAgentPoller {
       } catch (RuntimeException e) {
         int count =
             lastFailedCount.updateAndGet(val -> val >= MAX_FAILED_CONN_COUNT ? val : val + 1);
+        if (count == MAX_FAILED_CONN_COUNT) {
+          log.info("Node agent {} is considered dead", nodeAgent.uuid);
+        }
         log.warn(
             "Node agent {} has not been responding for count {}- {}",
             nodeAgent.uuid,
@@ -173,6 +187,7 @@ public class NodeAgentPoller {
       boolean wasDead = !isNodeAgentAlive();
       lastFailedCount.set(0);
       if (wasDead) {
+        log.info("Node agent {} is alive again", nodeAgent.uuid);
         // Return to schedule on the live executor.
         return;
       }
@@ -181,7 +196,7 @@ public class NodeAgentPoller {
           {
             String ybaVersion = param.getSoftwareVersion();
             if (Util.compareYbVersions(ybaVersion, nodeAgent.version, true) == 0) {
-              nodeAgent.heartbeat();
+              pendingHeartbeats.put(nodeAgent.uuid, true);
               return;
             }
             nodeAgent.saveState(State.UPGRADE);
@@ -253,11 +268,20 @@ public class NodeAgentPoller {
         platformExecutorFactory.createExecutor(
             DEAD_POLLER_POOL_NAME,
             new ThreadFactoryBuilder().setNameFormat("NodeAgentDeadPoller-%d").build());
+    wheelSlots = appConfig.getInt(POLLER_WHEEL_SLOTS_PROPERTY);
+    if (wheelSlots <= 0) {
+      throw new IllegalArgumentException(
+          String.format("%s must be positive", POLLER_WHEEL_SLOTS_PROPERTY));
+    }
+    Duration wheelTick = pollerInterval.dividedBy(wheelSlots);
+    if (wheelTick.compareTo(MIN_WHEEL_TICK) < 0) {
+      wheelTick = MIN_WHEEL_TICK;
+    }
     log.info("Scheduling poller service");
     platformScheduler.schedule(
         NodeAgentHandler.class.getSimpleName() + "Poller",
         POLLER_INITIAL_DELAY,
-        pollerInterval,
+        wheelTick,
         this::pollerService);
   }
 
@@ -291,42 +315,76 @@ public class NodeAgentPoller {
             });
   }
 
+  /** Writes the heartbeat time of the node agents which responded since the last flush. */
+  @VisibleForTesting
+  void flushHeartbeats() {
+    Set<UUID> nodeUuids = new HashSet<>(pendingHeartbeats.keySet());
+    if (nodeUuids.isEmpty()) {
+      return;
+    }
+    NodeAgent.heartbeat(nodeUuids, new Date());
+    nodeUuids.forEach(pendingHeartbeats::remove);
+  }
+
+  /** Returns the wheel slot of the node agent, the same one on every turn. */
+  @VisibleForTesting
+  static int wheelSlot(UUID nodeUuid, int wheelSlots) {
+    return Math.floorMod(nodeUuid.hashCode(), wheelSlots);
+  }
+
+  /**
+   * Loads the node agents and places their poller tasks on the wheel slots. Node agents keep their
+   * slot, as it is derived from the uuid.
+   */
+  private void refreshWheel() {
+    Duration duration = appConfig.getDuration(RETENTION_DURATION_PROPERTY);
+    String softwareVersion =
+        Objects.requireNonNull(
+            (String) configHelper.getConfig(ConfigType.SoftwareVersion).get("version"));
+    Set<UUID> nodeUuids = NodeAgent.getAllUuids();
+    List<List<PollerTask>> newWheel = new ArrayList<>(wheelSlots);
+    for (int i = 0; i < wheelSlots; i++) {
+      newWheel.add(new ArrayList<>());
+    }
+    for (UUID nodeUuid : nodeUuids) {
+      PollerTask pollerTask =
+          pollerTasks.computeIfAbsent(
+              nodeUuid,
+              k ->
+                  createPollerTask(
+                      PollerTaskParam.builder()
+                          .nodeAgentUuid(nodeUuid)
+                          .softwareVersion(softwareVersion)
+                          .lifetime(duration)
+                          .build()));
+      newWheel.get(wheelSlot(nodeUuid, wheelSlots)).add(pollerTask);
+    }
+    pollerTasks.keySet().retainAll(nodeUuids);
+    wheel = newWheel;
+  }
+
   /**
-   * This method is run in interval. Some node agents may not be responding at the moment. Once they
-   * come up, they may recover from their states and change to LIVE. Then, they are notified to
-   * upgrade. After that, this method becomes idle. It can be improved to do in batches.
+   * This method is run on every tick of the wheel. Some node agents may not be responding at the
+   * moment. Once they come up, they may recover from their states and change to LIVE. Then, they
+   * are notified to upgrade. Node agents are reloaded once per turn of the wheel, and heartbeats
+   * are flushed on every tick.
    */
   @VisibleForTesting
   void pollerService() {
     try {
-      Duration duration = appConfig.getDuration(RETENTION_DURATION_PROPERTY);
-      String softwareVersion =
-          Objects.requireNonNull(
-              (String) configHelper.getConfig(ConfigType.SoftwareVersion).get("version"));
-      Set<UUID> nodeUuids = new HashSet<>();
-      NodeAgent.getAll()
-          .stream()
-          .peek(n -> nodeUuids.add(n.uuid))
-          .map(
-              n ->
-                  pollerTasks.computeIfAbsent(
-                      n.uuid,
-                      k ->
-                          createPollerTask(
-                              PollerTaskParam.builder()
-                                  .nodeAgentUuid(n.uuid)
-                                  .softwareVersion(softwareVersion)
-                                  .lifetime(duration)
-                                  .build())))
-          .filter(PollerTask::isSchedulable)
-          .forEach(p -> p.schedule(p.isNodeAgentAlive() ? livePollerExecutor : deadPollerExecutor));
-      Iterator<Entry<UUID, PollerTask>> iter = pollerTasks.entrySet().iterator();
-      while (iter.hasNext()) {
-        Entry<UUID, PollerTask> entry = iter.next();
-        if (!nodeUuids.contains(entry.getKey())) {
-          iter.remove();
-        }
+      if (wheelCursor == 0) {
+        refreshWheel();
+      }
+      if (wheelCursor < wheel.size()) {
+        wheel
+            .get(wheelCursor)
+            .stream()
+            .filter(PollerTask::isSchedulable)
+            .forEach(
+                p -> p.schedule(p.isNodeAgentAlive() ? livePollerExecutor : deadPollerExecutor));
       }
+      wheelCursor = (wheelCursor + 1) % Math.max(wheelSlots, 1);
+      flushHeartbeats();
     } catch (Exception e) {
       log.error("Error in pollerService - " + e.getMessage(), e);
     }
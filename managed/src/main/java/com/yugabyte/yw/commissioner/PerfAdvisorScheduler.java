@@ -3,11 +3,16 @@
 package com.yugabyte.yw.commissioner;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.google.common.collect.Iterables;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.NodeManager;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.PlatformUniverseNodeConfig;
 import com.yugabyte.yw.common.ShellProcessContext;
@@ -19,20 +24,23 @@ import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.queries.QueryHelper;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
 import java.time.Duration;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import lombok.Builder;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -42,10 +50,36 @@ import org.yb.perf_advisor.configs.UniverseNodeConfigInterface;
 import org.yb.perf_advisor.models.PerformanceRecommendation.RecommendationType;
 import org.yb.perf_advisor.services.generation.PlatformPerfAdvisor;
 
+/**
+ * Runs perf advisor for universes every yb.perf_advisor.universe_frequency_mins. Scheduler runs
+ * only queue due universes, most overdue first, and at most yb.perf_advisor.max_parallel_runs
+ * universe runs execute at a time. Everything else, including node config preparation and the
+ * database listing, happens on the run threads. The first run of each universe is offset within
+ * the frequency interval, so that runs of a large fleet do not all come due at once.
+ */
 @Singleton
 @Slf4j
 public class PerfAdvisorScheduler {
 
+  private static final String RESULT_LABEL = "result";
+
+  private static final Gauge PENDING_RUNS =
+      Gauge.build("ybp_perf_advisor_pending_runs", "Perf advisor runs waiting for a free slot")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Gauge ACTIVE_RUNS =
+      Gauge.build("ybp_perf_advisor_active_runs", "Perf advisor runs in progress")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Counter FINISHED_RUNS =
+      Counter.build("ybp_perf_advisor_finished_runs", "Finished perf advisor runs")
+          .labelNames(RESULT_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Histogram RUN_DURATION =
+      Histogram.build("ybp_perf_advisor_run_duration_seconds", "Perf advisor universe run time")
+          .register(CollectorRegistry.defaultRegistry);
+
   private final PlatformScheduler platformScheduler;
 
   private final ExecutorService threadPool;
@@ -60,7 +94,20 @@ public class PerfAdvisorScheduler {
   /* Simple universe locking mechanism to prevent parallel universe runs */
   private final Map<UUID, Boolean> universesLock = new ConcurrentHashMap<>();
 
-  private final Map<UUID, Long> universeLastScheduledRun = new HashMap<>();
+  private final Map<UUID, Long> universeNextScheduledRun = new ConcurrentHashMap<>();
+
+  // Manual runs go first, then scheduled ones by how long they are overdue. Guarded by this.
+  private final PriorityQueue<PendingRun> pendingRuns =
+      new PriorityQueue<>(
+          Comparator.comparing(PendingRun::isScheduled).thenComparing(PendingRun::getDueTime));
+
+  // Guarded by this.
+  private int activeRuns;
+
+  private final int maxParallelRuns;
+
+  // Databases rarely change, so they are not listed through the universe on every run.
+  private final Cache<UUID, List<String>> databaseNames;
 
   private final SettableRuntimeConfigFactory configFactory;
 
@@ -69,12 +116,42 @@ public class PerfAdvisorScheduler {
       SettableRuntimeConfigFactory settableRuntimeConfigFactory,
       PlatformScheduler platformScheduler,
       PlatformPerfAdvisor platformPerfAdvisor,
-      QueryHelper queryHelper) {
+      QueryHelper queryHelper,
+      PlatformExecutorFactory platformExecutorFactory) {
+    this(
+        settableRuntimeConfigFactory,
+        platformScheduler,
+        platformPerfAdvisor,
+        queryHelper,
+        platformExecutorFactory,
+        Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  PerfAdvisorScheduler(
+      SettableRuntimeConfigFactory settableRuntimeConfigFactory,
+      PlatformScheduler platformScheduler,
+      PlatformPerfAdvisor platformPerfAdvisor,
+      QueryHelper queryHelper,
+      PlatformExecutorFactory platformExecutorFactory,
+      Ticker ticker) {
     this.configFactory = settableRuntimeConfigFactory;
     this.platformPerfAdvisor = platformPerfAdvisor;
     this.platformScheduler = platformScheduler;
     this.queryHelper = queryHelper;
-    this.threadPool = Executors.newCachedThreadPool();
+    Config appConfig = configFactory.staticApplicationConf();
+    this.maxParallelRuns = appConfig.getInt("yb.perf_advisor.max_parallel_runs");
+    this.databaseNames =
+        CacheBuilder.newBuilder()
+            .ticker(ticker)
+            .expireAfterWrite(
+                appConfig.getLong("yb.perf_advisor.database_list_cache_ttl_mins"), TimeUnit.MINUTES)
+            .build();
+    this.threadPool =
+        platformExecutorFactory.createFixedExecutor(
+            getClass().getSimpleName(),
+            maxParallelRuns,
+            new ThreadFactoryBuilder().setNameFormat("PerfAdvisor-%d").build());
   }
 
   public void start() {
@@ -89,49 +166,96 @@ public class PerfAdvisorScheduler {
   }
 
   void scheduleRunner() {
+    scheduleRunner(System.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  void scheduleRunner(long now) {
     log.info("Running Perf Advisor Scheduler");
-    int defaultUniBatchSize =
-        configFactory.staticApplicationConf().getInt("yb.perf_advisor.universe_batch_size");
+    long jitterWindowMs =
+        TimeUnit.MINUTES.toMillis(
+            configFactory
+                .staticApplicationConf()
+                .getLong("yb.perf_advisor.universe_frequency_mins"));
     try {
-      Set<UUID> uuidList = Universe.getAllUUIDs();
-      for (List<UUID> batch : Iterables.partition(uuidList, defaultUniBatchSize)) {
-        this.batchRun(batch);
+      Set<UUID> universeUUIDs = Universe.getAllUUIDs();
+      universeNextScheduledRun.keySet().retainAll(universeUUIDs);
+      for (UUID universeUUID : universeUUIDs) {
+        // The first run is offset by a stable per universe jitter.
+        long nextRun =
+            universeNextScheduledRun.computeIfAbsent(
+                universeUUID,
+                k -> now + Math.floorMod(k.getLeastSignificantBits(), jitterWindowMs));
+        if (nextRun <= now) {
+          enqueue(PendingRun.builder().universeUUID(universeUUID).dueTime(nextRun).build());
+        }
       }
     } catch (Exception e) {
       log.error("Error running perf advisor scheduled run", e);
     }
   }
 
-  private void batchRun(List<UUID> univUuidSet) {
-    for (Universe universe : Universe.getAllWithoutResources(univUuidSet)) {
-      run(universe, true);
+  /** Returns false if a run of the universe is already queued or in progress. */
+  private synchronized boolean enqueue(PendingRun run) {
+    if (universesLock.putIfAbsent(run.getUniverseUUID(), true) != null) {
+      return false;
     }
+    pendingRuns.add(run);
+    dispatch();
+    return true;
   }
 
-  private RunResult run(Universe universe, boolean scheduled) {
-    // Check status of universe
-    if (universe.getUniverseDetails().updateInProgress) {
-      return RunResult.builder().failureReason("Universe update in progress").build();
+  private synchronized void dispatch() {
+    while (activeRuns < maxParallelRuns && !pendingRuns.isEmpty()) {
+      PendingRun run = pendingRuns.poll();
+      activeRuns++;
+      threadPool.submit(() -> execute(run));
     }
-    if (universesLock.containsKey(universe.universeUUID)) {
-      return RunResult.builder().failureReason("Perf advisor run in progress").build();
+    PENDING_RUNS.set(pendingRuns.size());
+    ACTIVE_RUNS.set(activeRuns);
+  }
+
+  private synchronized void onRunFinished(UUID universeUUID) {
+    universesLock.remove(universeUUID);
+    activeRuns--;
+    dispatch();
+  }
+
+  private void execute(PendingRun run) {
+    String result = "failed";
+    Histogram.Timer timer = RUN_DURATION.startTimer();
+    try {
+      result = run(run) ? "completed" : "skipped";
+    } catch (Exception e) {
+      log.error("Perf advisor run failed for universe {}", run.getUniverseUUID(), e);
+    } finally {
+      timer.observeDuration();
+      FINISHED_RUNS.labels(result).inc();
+      onRunFinished(run.getUniverseUUID());
     }
+  }
 
+  /** Returns false if the universe was skipped. */
+  private boolean run(PendingRun run) throws Exception {
+    Universe universe = Universe.maybeGet(run.getUniverseUUID()).orElse(null);
+    if (universe == null) {
+      return false;
+    }
     Config universeConfig = configFactory.forUniverse(universe);
     boolean enabled = universeConfig.getBoolean(UniverseConfKeys.perfAdvisorEnabled.getKey());
-    if (!enabled) {
-      return RunResult.builder().failureReason("Perf advisor disabled for universe").build();
-    }
-    if (scheduled) {
-      Long lastRun = universeLastScheduledRun.get(universe.getUniverseUUID());
+    String failureReason = enabled ? checkCanRun(universe) : "Perf advisor disabled for universe";
+    // Universes which can not run now are retried on the next scheduler run.
+    if (run.isScheduled() && (!enabled || failureReason == null)) {
       int runFrequencyMins =
           universeConfig.getInt(UniverseConfKeys.perfAdvisorUniverseFrequencyMins.getKey());
-      if (lastRun != null
-          && Instant.now()
-              .isBefore(Instant.ofEpochMilli(lastRun).plus(runFrequencyMins, ChronoUnit.MINUTES))) {
-        // Need to wait before subsequent run
-        return RunResult.builder().failureReason("Skipped due to last run time").build();
-      }
+      universeNextScheduledRun.put(
+          universe.getUniverseUUID(),
+          System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(runFrequencyMins));
+    }
+    if (failureReason != null) {
+      log.debug(
+          "Skipping perf advisor run for universe {}: {}", universe.universeUUID, failureReason);
+      return false;
     }
 
     List<UniverseNodeConfigInterface> universeNodeConfigList = new ArrayList<>();
@@ -142,20 +266,11 @@ public class PerfAdvisorScheduler {
         universeNodeConfigList.add(nodeConfig);
       }
     }
-
-    if (universeNodeConfigList.isEmpty()) {
-      log.warn(
-          String.format(
-              "Universe %s node config list is empty! Skipping..", universe.universeUUID));
-      return RunResult.builder().failureReason("No Live nodes found").build();
-    }
-
-    JsonNode databaseNamesResult = queryHelper.listDatabaseNames(universe);
-    List<String> databases = new ArrayList<>();
-    Iterator<JsonNode> queryIterator = databaseNamesResult.get("result").elements();
-    while (queryIterator.hasNext()) {
-      databases.add(queryIterator.next().get("datname").asText());
+    if (!run.isScheduled()) {
+      databaseNames.invalidate(universe.getUniverseUUID());
     }
+    List<String> databases =
+        databaseNames.get(universe.getUniverseUUID(), () -> listDatabaseNames(universe));
     Provider provider =
         Provider.getOrBadRequest(
             UUID.fromString(universe.getUniverseDetails().getPrimaryCluster().userIntent.provider));
@@ -174,39 +289,79 @@ public class PerfAdvisorScheduler {
             ysqlAuth,
             tlsClient);
     Customer customer = Customer.get(universe.customerId);
-    RunResult.RunResultBuilder result =
-        RunResult.builder().failureReason("Perf advisor run in progress");
-    universesLock.computeIfAbsent(
-        universe.universeUUID,
-        (k) -> {
-          threadPool.submit(
-              () -> {
-                try {
-                  if (scheduled) {
-                    universeLastScheduledRun.put(
-                        universe.getUniverseUUID(), System.currentTimeMillis());
-                  }
-                  UniverseConfig uConfig =
-                      new UniverseConfig(
-                          customer.getUuid(),
-                          universe.universeUUID,
-                          universeNodeConfigList,
-                          scriptConfig,
-                          provider.getYbHome() + "/bin",
-                          universeConfig);
-                  platformPerfAdvisor.run(uConfig);
-                } finally {
-                  universesLock.remove(universe.universeUUID);
-                }
-              });
-          result.started(true).failureReason(null);
-          return true;
-        });
-    return result.build();
+    UniverseConfig uConfig =
+        new UniverseConfig(
+            customer.getUuid(),
+            universe.universeUUID,
+            universeNodeConfigList,
+            scriptConfig,
+            provider.getYbHome() + "/bin",
+            universeConfig);
+    platformPerfAdvisor.run(uConfig);
+    return true;
+  }
+
+  /** Returns the reason why perf advisor can not run for the universe now, or null. */
+  private String checkCanRun(Universe universe) {
+    if (universe.getUniverseDetails().updateInProgress) {
+      return "Universe update in progress";
+    }
+    boolean hasLiveNodes =
+        universe
+            .getNodes()
+            .stream()
+            .anyMatch(details -> details.state.equals(NodeDetails.NodeState.Live));
+    if (!hasLiveNodes) {
+      log.warn(
+          String.format(
+              "Universe %s node config list is empty! Skipping..", universe.universeUUID));
+      return "No Live nodes found";
+    }
+    return null;
+  }
+
+  private List<String> listDatabaseNames(Universe universe) {
+    JsonNode databaseNamesResult = queryHelper.listDatabaseNames(universe);
+    List<String> databases = new ArrayList<>();
+    Iterator<JsonNode> queryIterator = databaseNamesResult.get("result").elements();
+    while (queryIterator.hasNext()) {
+      databases.add(queryIterator.next().get("datname").asText());
+    }
+    return databases;
   }
 
   public RunResult runPerfAdvisor(Universe universe) {
-    return run(universe, false);
+    String failureReason = checkCanRun(universe);
+    if (failureReason == null && universesLock.containsKey(universe.universeUUID)) {
+      failureReason = "Perf advisor run in progress";
+    }
+    if (failureReason == null
+        && !configFactory
+            .forUniverse(universe)
+            .getBoolean(UniverseConfKeys.perfAdvisorEnabled.getKey())) {
+      failureReason = "Perf advisor disabled for universe";
+    }
+    if (failureReason == null
+        && !enqueue(
+            PendingRun.builder()
+                .universeUUID(universe.getUniverseUUID())
+                .dueTime(System.currentTimeMillis())
+                .scheduled(false)
+                .build())) {
+      failureReason = "Perf advisor run in progress";
+    }
+    if (failureReason != null) {
+      return RunResult.builder().failureReason(failureReason).build();
+    }
+    return RunResult.builder().started(true).build();
+  }
+
+  @Value
+  @Builder
+  private static class PendingRun {
+    UUID universeUUID;
+    long dueTime;
+    @Builder.Default boolean scheduled = true;
   }
 
   @Value
@@ -2,25 +2,36 @@ package com.yugabyte.yw.commissioner;
 
 import static com.yugabyte.yw.common.metrics.MetricService.STATUS_OK;
 import static com.yugabyte.yw.common.metrics.MetricService.STATUS_NOT_OK;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.yugabyte.yw.common.BackupUtil;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.common.metrics.MetricService;
 import com.yugabyte.yw.common.services.YBClientService;
+import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.MetricKey;
 import com.yugabyte.yw.models.PitrConfig;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
 import java.util.Collections;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -28,28 +39,63 @@ import org.yb.client.ListSnapshotSchedulesResponse;
 import org.yb.client.SnapshotScheduleInfo;
 import org.yb.client.YBClient;
 
+/**
+ * Polls snapshot schedules of all universes with PITR configs and reports their status as
+ * metrics. Universes are polled in parallel, yb.snapshot_schedule.poll_parallelism at a time, and
+ * the status metrics of all universes are saved in one call at the end of the run.
+ */
 @Singleton
 @Slf4j
 public class PitrConfigPoller {
 
+  private static final String UNIVERSE_UUID_LABEL = "universe_uuid";
+
+  private static final Histogram POLL_LATENCY =
+      Histogram.build(
+              "ybp_pitr_config_poll_latency_seconds",
+              "Time to poll snapshot schedules of a universe")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Gauge UNIVERSE_POLL_LATENCY =
+      Gauge.build(
+              "ybp_pitr_config_universe_poll_latency_seconds",
+              "Time of the last snapshot schedules poll of the universe")
+          .labelNames(UNIVERSE_UUID_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+
   private final PlatformScheduler platformScheduler;
   private final RuntimeConfigFactory runtimeConfigFactory;
   private final YBClientService ybClientService;
   private final MetricService metricService;
+  private final ExecutorService executor;
+
+  // Universes with a poll latency gauge, to drop the gauges of universes no longer polled.
+  private final Set<UUID> polledUniverses = new HashSet<>();
 
   private static final String YB_SNAPSHOT_SCHEDULED_RUN_INTERVAL =
       "yb.snapshot_schedule.run_interval";
 
+  private static final String YB_SNAPSHOT_SCHEDULE_POLL_PARALLELISM =
+      "yb.snapshot_schedule.poll_parallelism";
+
   @Inject
   public PitrConfigPoller(
       PlatformScheduler platformScheduler,
       RuntimeConfigFactory runtimeConfigFactory,
       YBClientService ybClientService,
-      MetricService metricService) {
+      MetricService metricService,
+      PlatformExecutorFactory platformExecutorFactory) {
     this.platformScheduler = platformScheduler;
     this.runtimeConfigFactory = runtimeConfigFactory;
     this.ybClientService = ybClientService;
     this.metricService = metricService;
+    this.executor =
+        platformExecutorFactory.createFixedExecutor(
+            getClass().getSimpleName(),
+            runtimeConfigFactory
+                .staticApplicationConf()
+                .getInt(YB_SNAPSHOT_SCHEDULE_POLL_PARALLELISM),
+            new ThreadFactoryBuilder().setNameFormat("PitrConfigPoller-%d").build());
   }
 
   public void start() {
@@ -73,67 +119,122 @@ public class PitrConfigPoller {
                 Collectors.groupingBy(
                     p -> p.getUniverse().getUniverseUUID(),
                     Collectors.toMap(PitrConfig::getUuid, Function.identity())));
-    YBClient client = null;
+
+    Map<UUID, Future<List<Metric>>> polls =
+        scheduleMap
+            .entrySet()
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey,
+                    entry ->
+                        executor.submit(() -> pollUniverse(entry.getKey(), entry.getValue()))));
 
     List<Metric> metrics = new ArrayList<>();
-    for (Map.Entry<UUID, Map<UUID, PitrConfig>> entry : scheduleMap.entrySet()) {
-      UUID universeUUID = entry.getKey();
+    Set<MetricKey> keptKeys = new HashSet<>();
+    for (Map.Entry<UUID, Future<List<Metric>>> poll : polls.entrySet()) {
+      UUID universeUUID = poll.getKey();
+      List<Metric> universeMetrics = null;
       try {
-        Universe universe = Universe.getOrBadRequest(universeUUID);
-        if (universe.getUniverseDetails().universePaused) {
-          continue;
-        }
-        String masterHostPorts = universe.getMasterAddresses();
-        String certificate = universe.getCertificateNodetoNode();
-        ListSnapshotSchedulesResponse scheduleResp;
-        List<SnapshotScheduleInfo> scheduleInfoList;
-        Map<UUID, PitrConfig> snapshotScheduleMap = entry.getValue();
-        Set<UUID> snapshotScheduleUUIDs = snapshotScheduleMap.keySet();
-        log.info("Universe uuid: {}, schedule uuid: {}", universeUUID, snapshotScheduleUUIDs);
-        try {
-          client = ybClientService.getClient(masterHostPorts, certificate);
-          scheduleResp = client.listSnapshotSchedules(null);
-          scheduleInfoList = scheduleResp.getSnapshotScheduleInfoList();
-        } catch (Exception ex) {
-          log.error("Failed to get snapshots for universe {}", universeUUID, ex);
-          continue;
-        } finally {
-          ybClientService.closeClient(client, masterHostPorts);
-        }
-
-        for (SnapshotScheduleInfo snapshotScheduleInfo : scheduleInfoList) {
-          if (!snapshotScheduleUUIDs.contains(snapshotScheduleInfo.getSnapshotScheduleUUID())) {
-            continue;
-          }
-          PitrConfig pitrConfig =
-              snapshotScheduleMap.get(snapshotScheduleInfo.getSnapshotScheduleUUID());
-          boolean pitrStatus =
-              BackupUtil.allSnapshotsSuccessful(snapshotScheduleInfo.getSnapshotInfoList());
-
-          if (pitrStatus) {
-            metrics.add(
-                BackupUtil.buildMetricTemplate(
-                    PlatformMetrics.PITR_CONFIG_STATUS, universe, pitrConfig, STATUS_OK));
-          } else {
-            log.error(
-                "Failed state for PITR config: {} for universe: {}",
-                pitrConfig.getUuid(),
-                universeUUID);
-            metrics.add(
-                BackupUtil.buildMetricTemplate(
-                    PlatformMetrics.PITR_CONFIG_STATUS, universe, pitrConfig, STATUS_NOT_OK));
-          }
-        }
-      } catch (Exception ex) {
+        universeMetrics = poll.getValue().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("PITR Config Poller interrupted");
+        return;
+      } catch (ExecutionException e) {
         log.error(
             "Not able to update the latest snapshot schedule status for the universe: "
-                + universeUUID.toString());
+                + universeUUID.toString(),
+            e.getCause());
+      }
+      if (universeMetrics != null) {
+        metrics.addAll(universeMetrics);
+      } else {
+        // Keep the last known status, a failed poll does not tell if the schedules are healthy.
+        metricService
+            .list(
+                MetricFilter.builder()
+                    .metricName(PlatformMetrics.PITR_CONFIG_STATUS)
+                    .sourceUuid(universeUUID)
+                    .build())
+            .forEach(metric -> keptKeys.add(MetricKey.from(metric)));
       }
     }
     MetricFilter toClean =
         MetricFilter.builder()
             .metricNames(Collections.singletonList(PlatformMetrics.PITR_CONFIG_STATUS))
+            .keysExcluded(keptKeys)
             .build();
     metricService.cleanAndSave(metrics, toClean);
+
+    synchronized (polledUniverses) {
+      for (UUID universeUUID : polledUniverses) {
+        if (!polls.containsKey(universeUUID)) {
+          UNIVERSE_POLL_LATENCY.remove(universeUUID.toString());
+        }
+      }
+      polledUniverses.retainAll(polls.keySet());
+    }
+  }
+
+  /**
+   * Polls snapshot schedules of the universe.
+   *
+   * @return status metrics of the PITR configs, empty list if the universe is paused or null if
+   *     schedules can not be listed.
+   */
+  private List<Metric> pollUniverse(UUID universeUUID, Map<UUID, PitrConfig> snapshotScheduleMap) {
+    Universe universe = Universe.getOrBadRequest(universeUUID);
+    if (universe.getUniverseDetails().universePaused) {
+      return Collections.emptyList();
+    }
+    String masterHostPorts = universe.getMasterAddresses();
+    String certificate = universe.getCertificateNodetoNode();
+    Set<UUID> snapshotScheduleUUIDs = snapshotScheduleMap.keySet();
+    log.info("Universe uuid: {}, schedule uuid: {}", universeUUID, snapshotScheduleUUIDs);
+    List<SnapshotScheduleInfo> scheduleInfoList;
+    YBClient client = null;
+    Histogram.Timer timer = POLL_LATENCY.startTimer();
+    try {
+      client = ybClientService.getClient(masterHostPorts, certificate);
+      ListSnapshotSchedulesResponse scheduleResp = client.listSnapshotSchedules(null);
+      scheduleInfoList = scheduleResp.getSnapshotScheduleInfoList();
+    } catch (Exception ex) {
+      log.error("Failed to get snapshots for universe {}", universeUUID, ex);
+      return null;
+    } finally {
+      ybClientService.closeClient(client, masterHostPorts);
+      UNIVERSE_POLL_LATENCY.labels(universeUUID.toString()).set(timer.observeDuration());
+      synchronized (polledUniverses) {
+        polledUniverses.add(universeUUID);
+      }
+    }
+
+    Customer customer = Customer.get(universe.customerId);
+    List<Metric> metrics = new ArrayList<>();
+    for (SnapshotScheduleInfo snapshotScheduleInfo : scheduleInfoList) {
+      if (!snapshotScheduleUUIDs.contains(snapshotScheduleInfo.getSnapshotScheduleUUID())) {
+        continue;
+      }
+      PitrConfig pitrConfig =
+          snapshotScheduleMap.get(snapshotScheduleInfo.getSnapshotScheduleUUID());
+      boolean pitrStatus =
+          BackupUtil.allSnapshotsSuccessful(snapshotScheduleInfo.getSnapshotInfoList());
+
+      if (pitrStatus) {
+        metrics.add(
+            BackupUtil.buildMetricTemplate(
+                PlatformMetrics.PITR_CONFIG_STATUS, customer, universe, pitrConfig, STATUS_OK));
+      } else {
+        log.error(
+            "Failed state for PITR config: {} for universe: {}",
+            pitrConfig.getUuid(),
+            universeUUID);
+        metrics.add(
+            BackupUtil.buildMetricTemplate(
+                PlatformMetrics.PITR_CONFIG_STATUS, customer, universe, pitrConfig, STATUS_NOT_OK));
+      }
+    }
+    return metrics;
   }
 }
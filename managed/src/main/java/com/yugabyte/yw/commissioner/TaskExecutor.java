@@ -846,6 +846,9 @@ public class TaskExecutor {
 
     protected abstract TaskExecutionListener getTaskExecutionListener();
 
+    // Invoked after the state of the task is persisted.
+    protected abstract void onTaskStateChanged();
+
     Duration getTimeLimit() {
       return timeLimit;
     }
@@ -869,6 +872,7 @@ public class TaskExecutor {
     synchronized void setTaskState(TaskInfo.State state) {
       taskInfo.setTaskState(state);
       taskInfo.update();
+      onTaskStateChanged();
     }
 
     synchronized boolean compareAndSetTaskState(TaskInfo.State expected, TaskInfo.State state) {
@@ -925,6 +929,7 @@ public class TaskExecutor {
       taskInfo.setTaskState(state);
       taskInfo.setTaskDetails(details);
       taskInfo.update();
+      onTaskStateChanged();
     }
 
     void publishBeforeTask() {
@@ -956,6 +961,8 @@ public class TaskExecutor {
         new AtomicReference<>();
     // Time when the abort is set.
     private volatile Instant abortTime;
+    // Serializes summary updates from concurrently completing subtasks.
+    private final Object summaryLock = new Object();
 
     RunnableTask(ITask task, TaskInfo taskInfo) {
       super(task, taskInfo);
@@ -998,6 +1005,8 @@ public class TaskExecutor {
         CustomerTask customerTask = CustomerTask.findByTaskUUID(taskUUID);
         if (customerTask != null && !isShutdown.get()) {
           customerTask.markAsCompleted();
+          // The customer task may not have existed yet when the task started.
+          updateCustomerTaskSummary();
         }
 
         // In case, it is a scheduled task, update state of the task.
@@ -1034,6 +1043,18 @@ public class TaskExecutor {
       return taskExecutionListenerRef.get();
     }
 
+    @Override
+    protected void onTaskStateChanged() {
+      updateCustomerTaskSummary();
+    }
+
+    /** Updates the task summary on the customer task, which is what task lists show. */
+    void updateCustomerTaskSummary() {
+      synchronized (summaryLock) {
+        CustomerTask.updateSummary(taskInfo);
+      }
+    }
+
     public synchronized void doHeartbeat() {
       log.trace("Heartbeating task {}", getTaskUUID());
       TaskInfo taskInfo = TaskInfo.getOrBadRequest(getTaskUUID());
@@ -1186,6 +1207,14 @@ public class TaskExecutor {
       return parentRunnableTask == null ? null : parentRunnableTask.getTaskExecutionListener();
     }
 
+    @Override
+    protected synchronized void onTaskStateChanged() {
+      // Only successful subtasks change the progress of the parent task.
+      if (parentRunnableTask != null && taskInfo.getTaskState() == TaskInfo.State.Success) {
+        parentRunnableTask.updateCustomerTaskSummary();
+      }
+    }
+
     public synchronized void setSubTaskGroupType(SubTaskGroupType subTaskGroupType) {
       if (taskInfo.getSubTaskGroupType() != subTaskGroupType) {
         taskInfo.setSubTaskGroupType(subTaskGroupType);
@@ -3,20 +3,41 @@
 package com.yugabyte.yw.commissioner;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.config.CustomerConfKeys;
+import com.yugabyte.yw.common.config.GlobalConfKeys;
 import com.yugabyte.yw.common.config.RuntimeConfGetter;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 
+/**
+ * Deletes completed customer tasks, with their task_info trees, once they are older than the
+ * retention duration of their customer. Tasks are deleted in batches of yb.taskGC.batch_size, one
+ * transaction per batch, and customers are processed in parallel. A run stops once its time budget
+ * is used up, the next run then continues from where it stopped.
+ */
 @Singleton
 @Slf4j
 public class TaskGarbageCollector {
@@ -26,6 +47,11 @@ public class TaskGarbageCollector {
   static final String TASK_INFO_METRIC_NAME = "ybp_task_info_gc_count";
   static final String NUM_TASK_GC_RUNS = "ybp_task_gc_run_count";
   static final String NUM_TASK_GC_ERRORS = "ybp_task_gc_error_count";
+  static final String NUM_TASK_GC_BATCHES = "ybp_task_gc_batch_count";
+  static final String TASK_GC_BATCH_LATENCY = "ybp_task_gc_batch_latency_seconds";
+  static final String TASK_GC_RUN_DURATION = "ybp_task_gc_run_duration_seconds";
+  static final String NUM_TASK_GC_BUDGET_EXHAUSTED = "ybp_task_gc_budget_exhausted_count";
+  static final String TASK_GC_UNFINISHED_CUSTOMERS = "ybp_task_gc_unfinished_customers";
 
   // Counter label
   static final String CUSTOMER_UUID_LABEL = "customer_uuid";
@@ -35,6 +61,11 @@ public class TaskGarbageCollector {
   private static Counter PURGED_TASK_INFO_COUNT;
   private static Counter NUM_TASK_GC_RUNS_COUNT;
   private static Counter NUM_TASK_GC_ERRORS_COUNT;
+  private static Counter NUM_TASK_GC_BATCHES_COUNT;
+  private static Histogram TASK_GC_BATCH_LATENCY_HISTOGRAM;
+  private static Gauge TASK_GC_RUN_DURATION_GAUGE;
+  private static Counter NUM_TASK_GC_BUDGET_EXHAUSTED_COUNT;
+  private static Gauge TASK_GC_UNFINISHED_CUSTOMERS_GAUGE;
 
   // Config names
   static final String YB_TASK_GC_GC_CHECK_INTERVAL = "yb.taskGC.gc_check_interval";
@@ -46,15 +77,24 @@ public class TaskGarbageCollector {
   private final PlatformScheduler platformScheduler;
   private final RuntimeConfGetter confGetter;
   private final RuntimeConfigFactory runtimeConfigFactory;
+  private final PlatformExecutorFactory platformExecutorFactory;
+
+  // Customers whose stale tasks were not all looked at within the time budget of a run, with the
+  // id of the last customer task looked at. The next run starts with them, after that id.
+  private final Map<UUID, Long> resumeAfterIds = new ConcurrentHashMap<>();
+
+  private ExecutorService executor;
 
   @Inject
   public TaskGarbageCollector(
       PlatformScheduler platformScheduler,
       RuntimeConfigFactory runtimeConfigFactory,
-      RuntimeConfGetter confGetter) {
+      RuntimeConfGetter confGetter,
+      PlatformExecutorFactory platformExecutorFactory) {
     this.platformScheduler = platformScheduler;
     this.confGetter = confGetter;
     this.runtimeConfigFactory = runtimeConfigFactory;
+    this.platformExecutorFactory = platformExecutorFactory;
   }
 
   @VisibleForTesting
@@ -75,6 +115,25 @@ public class TaskGarbageCollector {
     NUM_TASK_GC_ERRORS_COUNT =
         Counter.build(NUM_TASK_GC_ERRORS, "Number of failed customer_task delete attempts")
             .register(CollectorRegistry.defaultRegistry);
+    NUM_TASK_GC_BATCHES_COUNT =
+        Counter.build(NUM_TASK_GC_BATCHES, "Number of customer_task batches garbage collected")
+            .register(CollectorRegistry.defaultRegistry);
+    TASK_GC_BATCH_LATENCY_HISTOGRAM =
+        Histogram.build(TASK_GC_BATCH_LATENCY, "Time to delete one batch of customer tasks")
+            .register(CollectorRegistry.defaultRegistry);
+    TASK_GC_RUN_DURATION_GAUGE =
+        Gauge.build(TASK_GC_RUN_DURATION, "Duration of the last task gc run")
+            .register(CollectorRegistry.defaultRegistry);
+    NUM_TASK_GC_BUDGET_EXHAUSTED_COUNT =
+        Counter.build(
+                NUM_TASK_GC_BUDGET_EXHAUSTED,
+                "Number of times a customer task gc stopped as the run time budget was used up")
+            .register(CollectorRegistry.defaultRegistry);
+    TASK_GC_UNFINISHED_CUSTOMERS_GAUGE =
+        Gauge.build(
+                TASK_GC_UNFINISHED_CUSTOMERS,
+                "Number of customers whose task gc continues in the next run")
+            .register(CollectorRegistry.defaultRegistry);
   }
 
   public void start() {
@@ -84,6 +143,12 @@ public class TaskGarbageCollector {
       log.warn("!!! TASK GC DISABLED !!!");
     } else {
       log.info("Scheduling TaskGC every " + gcInterval);
+      int parallelism = confGetter.getGlobalConf(GlobalConfKeys.taskGcParallelism);
+      executor =
+          platformExecutorFactory.createFixedExecutor(
+              getClass().getSimpleName(),
+              parallelism,
+              new ThreadFactoryBuilder().setNameFormat("TaskGC-%d").build());
       platformScheduler.schedule(
           getClass().getSimpleName(),
           Duration.ZERO, // InitialDelay
@@ -93,33 +158,94 @@ public class TaskGarbageCollector {
   }
 
   private void scheduleRunner() {
+    long startNanos = System.nanoTime();
     try {
-      Customer.getAll().forEach(this::checkCustomer);
+      long deadlineNanos = startNanos + runTimeBudget().toNanos();
+      List<Customer> customers = new ArrayList<>(Customer.getAll());
+      // Customers left unfinished by the previous run go first, so that none of them starves.
+      customers.sort(Comparator.comparing(c -> !resumeAfterIds.containsKey(c.getUuid())));
+      List<Future<?>> futures = new ArrayList<>();
+      for (Customer c : customers) {
+        futures.add(executor.submit(() -> checkCustomer(c, deadlineNanos)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Task garbage collector interrupted");
     } catch (Exception e) {
       log.error("Error running task garbage collector", e);
+    } finally {
+      TASK_GC_RUN_DURATION_GAUGE.set((System.nanoTime() - startNanos) / 1e9);
+      TASK_GC_UNFINISHED_CUSTOMERS_GAUGE.set(resumeAfterIds.size());
     }
   }
 
-  private void checkCustomer(Customer c) {
-    List<CustomerTask> staleTasks = CustomerTask.findOlderThan(c, taskRetentionDuration(c));
-    purgeStaleTasks(c, staleTasks);
+  private void checkCustomer(Customer c, long deadlineNanos) {
+    try {
+      purgeStaleTasks(c, taskRetentionDuration(c), deadlineNanos);
+    } catch (Exception e) {
+      log.error("Error running task garbage collector for customer {}", c.getUuid(), e);
+    }
   }
 
+  /**
+   * Deletes completed customer tasks of the customer older than the retention duration, batch by
+   * batch, until there are none left or the deadline passes. At least one batch is deleted per
+   * call, so that every run makes progress.
+   */
   @VisibleForTesting
-  void purgeStaleTasks(Customer c, List<CustomerTask> staleTasks) {
+  void purgeStaleTasks(Customer c, Duration retentionDuration, long deadlineNanos) {
     NUM_TASK_GC_RUNS_COUNT.inc();
+    UUID customerUUID = c.getUuid();
+    Date cutoff = Date.from(Instant.now().minus(retentionDuration));
+    int batchSize = confGetter.getGlobalConf(GlobalConfKeys.taskGcBatchSize);
+    long afterId = resumeAfterIds.getOrDefault(customerUUID, 0L);
     int numRowsGCdInThisRun = 0;
-    for (CustomerTask customerTask : staleTasks) {
-      int numRowsDeleted = customerTask.cascadeDeleteCompleted();
-      numRowsGCdInThisRun += numRowsDeleted;
-      if (numRowsDeleted > 0) {
-        PURGED_CUSTOMER_TASK_COUNT.labels(c.getUuid().toString()).inc();
-        PURGED_TASK_INFO_COUNT.labels(c.getUuid().toString()).inc(numRowsDeleted - 1);
-      } else {
-        NUM_TASK_GC_ERRORS_COUNT.inc();
+    while (true) {
+      List<CustomerTask> staleTasks =
+          CustomerTask.findCompletedBefore(customerUUID, cutoff, afterId, batchSize);
+      if (!staleTasks.isEmpty()) {
+        numRowsGCdInThisRun += purgeBatch(c, staleTasks);
+        afterId = staleTasks.get(staleTasks.size() - 1).getId();
+      }
+      if (staleTasks.size() < batchSize) {
+        resumeAfterIds.remove(customerUUID);
+        break;
+      }
+      if (System.nanoTime() - deadlineNanos >= 0) {
+        resumeAfterIds.put(customerUUID, afterId);
+        NUM_TASK_GC_BUDGET_EXHAUSTED_COUNT.inc();
+        log.info(
+            "Task GC time budget used up for customer {}, next run resumes after customer_task {}",
+            customerUUID,
+            afterId);
+        break;
       }
     }
-    log.info("Garbage collected {} rows", numRowsGCdInThisRun);
+    log.info("Garbage collected {} rows for customer {}", numRowsGCdInThisRun, customerUUID);
+  }
+
+  private int purgeBatch(Customer c, List<CustomerTask> staleTasks) {
+    Pair<Integer, Integer> numRowsDeleted;
+    Histogram.Timer timer = TASK_GC_BATCH_LATENCY_HISTOGRAM.startTimer();
+    try {
+      numRowsDeleted = CustomerTask.cascadeDeleteCompleted(staleTasks);
+    } finally {
+      timer.observeDuration();
+    }
+    NUM_TASK_GC_BATCHES_COUNT.inc();
+    int numCustomerTasks = numRowsDeleted.getLeft();
+    int numTaskInfos = numRowsDeleted.getRight();
+    if (numCustomerTasks > 0) {
+      PURGED_CUSTOMER_TASK_COUNT.labels(c.getUuid().toString()).inc(numCustomerTasks);
+      PURGED_TASK_INFO_COUNT.labels(c.getUuid().toString()).inc(numTaskInfos);
+    }
+    if (numCustomerTasks < staleTasks.size()) {
+      NUM_TASK_GC_ERRORS_COUNT.inc(staleTasks.size() - numCustomerTasks);
+    }
+    return numCustomerTasks + numTaskInfos;
   }
 
   /** The interval at which the gc checker will run. */
@@ -127,6 +253,11 @@ public class TaskGarbageCollector {
     return runtimeConfigFactory.globalRuntimeConf().getDuration(YB_TASK_GC_GC_CHECK_INTERVAL);
   }
 
+  /** For how long a run may delete tasks. */
+  private Duration runTimeBudget() {
+    return confGetter.getGlobalConf(GlobalConfKeys.taskGcRunTimeBudget);
+  }
+
   /** For how many days to retain a completed task before garbage collecting it. */
   private Duration taskRetentionDuration(Customer customer) {
     return confGetter.getConfForScope(customer, CustomerConfKeys.taskGcRetentionDuration);
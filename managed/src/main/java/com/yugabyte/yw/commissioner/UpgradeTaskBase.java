@@ -4,6 +4,7 @@ package com.yugabyte.yw.commissioner;
 
 import static play.mvc.Http.Status.BAD_REQUEST;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.TaskExecutor.SubTaskGroup;
 import com.yugabyte.yw.commissioner.UserTaskDetails.SubTaskGroupType;
@@ -15,6 +16,7 @@ import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.config.UniverseConfKeys;
 import com.yugabyte.yw.common.gflags.GFlagsUtil;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.Cluster;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
 import com.yugabyte.yw.forms.UpgradeTaskParams;
 import com.yugabyte.yw.forms.UpgradeTaskParams.UpgradeOption;
@@ -24,7 +26,9 @@ import com.yugabyte.yw.models.HookScope.TriggerType;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
+import com.yugabyte.yw.models.helpers.PlacementInfo;
 import com.yugabyte.yw.models.helpers.PlacementInfo.PlacementAZ;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -39,6 +43,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Value;
@@ -70,6 +75,8 @@ public abstract class UpgradeTaskBase extends UniverseDefinitionTaskBase {
   protected boolean isBlacklistLeaders;
   protected int leaderBacklistWaitTimeMs;
   protected boolean hasRollingUpgrade = false;
+  // Number of tservers of one AZ a rolling upgrade restarts together, if the placement allows it.
+  protected int maxNodesPerAzBatch = 1;
 
   protected UpgradeTaskBase(BaseTaskDependencies baseTaskDependencies) {
     super(baseTaskDependencies);
@@ -94,6 +101,8 @@ public abstract class UpgradeTaskBase extends UniverseDefinitionTaskBase {
       leaderBacklistWaitTimeMs =
           confGetter.getConfForScope(
               getUniverse(), UniverseConfKeys.ybUpgradeBlacklistLeaderWaitTimeMs);
+      maxNodesPerAzBatch =
+          confGetter.getConfForScope(getUniverse(), UniverseConfKeys.ybUpgradeMaxNodesPerAzBatch);
       checkUniverseVersion();
       // Update the universe DB with the update to be performed and set the
       // 'updateInProgress' flag to prevent other updates from happening.
@@ -284,87 +293,99 @@ public abstract class UpgradeTaskBase extends UniverseDefinitionTaskBase {
       }
     }
 
-    for (NodeDetails node : nodes) {
-      Set<ServerType> processTypes = typesByNode.get(node);
-      List<NodeDetails> singletonNodeList = Collections.singletonList(node);
-      boolean isLeaderBlacklistValidRF = isLeaderBlacklistValidRF(node.nodeName);
-      createSetNodeStateTask(node, nodeState).setSubTaskGroupType(subGroupType);
+    Universe universe = getUniverse();
+    List<List<NodeDetails>> batches =
+        splitIntoAzBatches(
+            nodes,
+            typesByNode::get,
+            node -> canUpgradeInAzBatch(universe, node, typesByNode.get(node)),
+            maxNodesPerAzBatch);
+    for (List<NodeDetails> batch : batches) {
+      // All the nodes of a batch run the same processes.
+      Set<ServerType> processTypes = typesByNode.get(batch.get(0));
+      boolean isLeaderBlacklistValidRF = isLeaderBlacklistValidRF(batch.get(0).nodeName);
+      createSetNodeStateTasks(batch, nodeState).setSubTaskGroupType(subGroupType);
       // Run pre node upgrade hooks
-      createHookTriggerTasks(singletonNodeList, true, true);
+      createHookTriggerTasks(batch, true, true);
       if (context.runBeforeStopping) {
-        rollingUpgradeLambda.run(singletonNodeList, processTypes);
+        rollingUpgradeLambda.run(batch, processTypes);
       }
       // set leader blacklist and poll
       if (processTypes.contains(ServerType.TSERVER)
           && isBlacklistLeaders
           && isLeaderBlacklistValidRF) {
-        createModifyBlackListTask(
-                Collections.singletonList(node), true /* isAdd */, true /* isLeaderBlacklist */)
+        createModifyBlackListTask(batch, true /* isAdd */, true /* isLeaderBlacklist */)
             .setSubTaskGroupType(subGroupType);
         createWaitForLeaderBlacklistCompletionTask(leaderBacklistWaitTimeMs)
             .setSubTaskGroupType(subGroupType);
       }
       for (ServerType processType : processTypes) {
-        createServerControlTask(node, processType, "stop").setSubTaskGroupType(subGroupType);
+        createServerControlTasks(batch, processType, "stop").setSubTaskGroupType(subGroupType);
         if (processType == ServerType.MASTER && context.reconfigureMaster && activeRole) {
-          createWaitForMasterLeaderTask().setSubTaskGroupType(subGroupType);
-          createChangeConfigTask(node, false /* isAdd */, subGroupType, true /* useHostPort */);
+          for (NodeDetails node : batch) {
+            createWaitForMasterLeaderTask().setSubTaskGroupType(subGroupType);
+            createChangeConfigTask(node, false /* isAdd */, subGroupType, true /* useHostPort */);
+          }
         }
       }
       if (!context.runBeforeStopping) {
-        rollingUpgradeLambda.run(singletonNodeList, processTypes);
+        rollingUpgradeLambda.run(batch, processTypes);
       }
       if (activeRole) {
         for (ServerType processType : processTypes) {
           if (!context.skipStartingProcesses) {
-            createServerControlTask(node, processType, "start").setSubTaskGroupType(subGroupType);
+            createServerControlTasks(batch, processType, "start")
+                .setSubTaskGroupType(subGroupType);
           }
           if (processType == ServerType.CONTROLLER) {
-            createWaitForYbcServerTask(new HashSet<NodeDetails>(singletonNodeList))
+            createWaitForYbcServerTask(new HashSet<NodeDetails>(batch))
                 .setSubTaskGroupType(subGroupType);
           } else {
-            createWaitForServersTasks(singletonNodeList, processType)
-                .setSubTaskGroupType(subGroupType);
-            if (processType.equals(ServerType.TSERVER) && node.isYsqlServer) {
-              createWaitForServersTasks(singletonNodeList, ServerType.YSQLSERVER)
+            createWaitForServersTasks(batch, processType).setSubTaskGroupType(subGroupType);
+            List<NodeDetails> ysqlNodes =
+                batch.stream().filter(node -> node.isYsqlServer).collect(Collectors.toList());
+            if (processType.equals(ServerType.TSERVER) && !ysqlNodes.isEmpty()) {
+              createWaitForServersTasks(ysqlNodes, ServerType.YSQLSERVER)
                   .setSubTaskGroupType(subGroupType);
             }
           }
 
           if (processType == ServerType.MASTER && context.reconfigureMaster) {
             // Add stopped master to the quorum.
-            createChangeConfigTask(node, true /* isAdd */, subGroupType);
+            for (NodeDetails node : batch) {
+              createChangeConfigTask(node, true /* isAdd */, subGroupType);
+            }
           }
           if (processType != ServerType.CONTROLLER) {
-            createWaitForServerReady(node, processType, getSleepTimeForProcess(processType))
+            createWaitForServerReady(batch, processType, getSleepTimeForProcess(processType))
                 .setSubTaskGroupType(subGroupType);
           }
         }
-        createWaitForKeyInMemoryTask(node).setSubTaskGroupType(subGroupType);
+        createWaitForKeyInMemoryTasks(batch).setSubTaskGroupType(subGroupType);
       }
 
       // remove leader blacklist
       if (processTypes.contains(ServerType.TSERVER)
           && isBlacklistLeaders
           && isLeaderBlacklistValidRF) {
-        createModifyBlackListTask(
-                Collections.singletonList(node), false /* isAdd */, true /* isLeaderBlacklist */)
+        createModifyBlackListTask(batch, false /* isAdd */, true /* isLeaderBlacklist */)
             .setSubTaskGroupType(subGroupType);
       }
+      // The next batch is only stopped once this one has caught up.
       if (activeRole) {
         for (ServerType processType : processTypes) {
           if (processType != ServerType.CONTROLLER) {
-            createWaitForFollowerLagTask(node, processType).setSubTaskGroupType(subGroupType);
+            createWaitForFollowerLagTasks(batch, processType).setSubTaskGroupType(subGroupType);
           }
         }
       }
 
       if (context.postAction != null) {
-        context.postAction.accept(node);
+        batch.forEach(context.postAction);
       }
       // Run post node upgrade hooks
-      createHookTriggerTasks(singletonNodeList, false, true);
-      createSetNodeStateTask(node, NodeState.Live).setSubTaskGroupType(subGroupType);
+      createHookTriggerTasks(batch, false, true);
+      createSetNodeStateTasks(batch, NodeState.Live).setSubTaskGroupType(subGroupType);
     }
 
     if (!isLoadBalancerOn) {
@@ -373,6 +394,67 @@ public abstract class UpgradeTaskBase extends UniverseDefinitionTaskBase {
     }
   }
 
+  /**
+   * Splits the nodes of a rolling upgrade into the groups of nodes which are restarted together.
+   * Nodes which can be batched are grouped by cluster, AZ and processes, up to maxBatchSize nodes
+   * per group, the others are restarted one by one. Groups keep the order of their first node.
+   */
+  @VisibleForTesting
+  static List<List<NodeDetails>> splitIntoAzBatches(
+      Collection<NodeDetails> nodes,
+      Function<NodeDetails, Set<ServerType>> processTypesFunction,
+      Predicate<NodeDetails> canBatch,
+      int maxBatchSize) {
+    List<List<NodeDetails>> result = new ArrayList<>();
+    Map<List<Object>, List<NodeDetails>> openBatches = new HashMap<>();
+    for (NodeDetails node : nodes) {
+      if (maxBatchSize <= 1 || !canBatch.test(node)) {
+        result.add(Collections.singletonList(node));
+        continue;
+      }
+      List<Object> key =
+          Arrays.asList(node.placementUuid, node.azUuid, processTypesFunction.apply(node));
+      List<NodeDetails> batch = openBatches.get(key);
+      if (batch == null || batch.size() >= maxBatchSize) {
+        batch = new ArrayList<>();
+        openBatches.put(key, batch);
+        result.add(batch);
+      }
+      batch.add(node);
+    }
+    return result;
+  }
+
+  // Tservers of one AZ can be restarted together when no tablet has more than one replica in the
+  // AZ, see isAzBatchSafe. Masters are always restarted one by one.
+  private static boolean canUpgradeInAzBatch(
+      Universe universe, NodeDetails node, Set<ServerType> processTypes) {
+    if (processTypes.contains(ServerType.MASTER) || node.state != NodeState.Live) {
+      return false;
+    }
+    Cluster cluster = universe.getUniverseDetails().getClusterByUuid(node.placementUuid);
+    if (cluster == null || cluster.placementInfo == null) {
+      return false;
+    }
+    return isAzBatchSafe(cluster.placementInfo, cluster.userIntent.replicationFactor);
+  }
+
+  /**
+   * Returns true if restarting all the nodes of any single AZ leaves a majority of every tablet
+   * up: each AZ holds at most one replica, and at least replicationFactor AZs hold one.
+   */
+  @VisibleForTesting
+  static boolean isAzBatchSafe(PlacementInfo placementInfo, int replicationFactor) {
+    if (replicationFactor < 3) {
+      return false;
+    }
+    List<PlacementAZ> azs = placementInfo.azStream().collect(Collectors.toList());
+    if (azs.stream().anyMatch(az -> az.replicationFactor > 1)) {
+      return false;
+    }
+    return azs.stream().filter(az -> az.replicationFactor > 0).count() >= replicationFactor;
+  }
+
   public void createNonRollingUpgradeTaskFlow(
       IUpgradeSubTask nonRollingUpgradeLambda,
       Pair<List<NodeDetails>, List<NodeDetails>> mastersAndTServers,
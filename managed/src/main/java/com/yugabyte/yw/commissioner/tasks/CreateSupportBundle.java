@@ -15,6 +15,7 @@ import com.yugabyte.yw.models.helpers.BundleDetails;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.common.supportbundle.SupportBundleComponent;
 import com.yugabyte.yw.common.supportbundle.SupportBundleComponentFactory;
+import com.yugabyte.yw.common.NodeFileDownloadManager;
 import com.yugabyte.yw.common.SupportBundleUtil;
 import com.yugabyte.yw.common.Util;
 import java.io.BufferedOutputStream;
@@ -41,6 +42,7 @@ public class CreateSupportBundle extends AbstractTaskBase {
   @Inject private SupportBundleComponentFactory supportBundleComponentFactory;
   @Inject private SupportBundleUtil supportBundleUtil;
   @Inject private Config config;
+  @Inject private NodeFileDownloadManager nodeFileDownloadManager;
 
   @Inject
   protected CreateSupportBundle(BaseTaskDependencies baseTaskDependencies) {
@@ -118,29 +120,33 @@ public class CreateSupportBundle extends AbstractTaskBase {
     }
 
     // Downloads each type of node level support bundle component type into the bundle path
+    // Nodes are independent, so several of them are handled at once
     List<NodeDetails> nodes = universe.getNodes().stream().collect(Collectors.toList());
-    for (NodeDetails node : nodes) {
-      for (BundleDetails.ComponentType componentType :
-          supportBundle.getBundleDetails().getNodeLevelComponents()) {
-        SupportBundleComponent supportBundleComponent =
-            supportBundleComponentFactory.getComponent(componentType);
-        try {
-          // Call the downloadComponentBetweenDates() function for all node level components with
-          // the node object.
-          // Each component verifies if the dates are required and calls the downloadComponent().
-          Path nodeComponentsDirPath =
-              Paths.get(bundlePath.toAbsolutePath().toString(), node.nodeName);
-          Files.createDirectories(nodeComponentsDirPath);
-          supportBundleComponent.downloadComponentBetweenDates(
-              customer, universe, nodeComponentsDirPath, startDate, endDate, node);
-        } catch (Exception e) {
-          throw new RuntimeException(
-              String.format(
-                  "Error while trying to download the node level component files : %s",
-                  e.getMessage()));
-        }
-      }
-    }
+    nodeFileDownloadManager.forEachNode(
+        nodes,
+        node -> {
+          for (BundleDetails.ComponentType componentType :
+              supportBundle.getBundleDetails().getNodeLevelComponents()) {
+            SupportBundleComponent supportBundleComponent =
+                supportBundleComponentFactory.getComponent(componentType);
+            try {
+              // Call the downloadComponentBetweenDates() function for all node level components
+              // with the node object.
+              // Each component verifies if the dates are required and calls the
+              // downloadComponent().
+              Path nodeComponentsDirPath =
+                  Paths.get(bundlePath.toAbsolutePath().toString(), node.nodeName);
+              Files.createDirectories(nodeComponentsDirPath);
+              supportBundleComponent.downloadComponentBetweenDates(
+                  customer, universe, nodeComponentsDirPath, startDate, endDate, node);
+            } catch (Exception e) {
+              throw new RuntimeException(
+                  String.format(
+                      "Error while trying to download the node level component files : %s",
+                      e.getMessage()));
+            }
+          }
+        });
 
     // Tar the support bundle directory and delete the original folder
     try (FileOutputStream fos = new FileOutputStream(gzipPath.toString()); // need to test this path
@@ -152,6 +152,7 @@ import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -1226,15 +1227,21 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
   }
 
   public SubTaskGroup createWaitForKeyInMemoryTask(NodeDetails node) {
+    return createWaitForKeyInMemoryTasks(Collections.singletonList(node));
+  }
+
+  public SubTaskGroup createWaitForKeyInMemoryTasks(Collection<NodeDetails> nodes) {
     SubTaskGroup subTaskGroup =
         getTaskExecutor().createSubTaskGroup("WaitForEncryptionKeyInMemory", executor);
-    WaitForEncryptionKeyInMemory.Params params = new WaitForEncryptionKeyInMemory.Params();
-    params.universeUUID = taskParams().universeUUID;
-    params.nodeAddress = HostAndPort.fromParts(node.cloudInfo.private_ip, node.masterRpcPort);
-    params.nodeName = node.nodeName;
-    WaitForEncryptionKeyInMemory task = createTask(WaitForEncryptionKeyInMemory.class);
-    task.initialize(params);
-    subTaskGroup.addSubTask(task);
+    for (NodeDetails node : nodes) {
+      WaitForEncryptionKeyInMemory.Params params = new WaitForEncryptionKeyInMemory.Params();
+      params.universeUUID = taskParams().universeUUID;
+      params.nodeAddress = HostAndPort.fromParts(node.cloudInfo.private_ip, node.masterRpcPort);
+      params.nodeName = node.nodeName;
+      WaitForEncryptionKeyInMemory task = createTask(WaitForEncryptionKeyInMemory.class);
+      task.initialize(params);
+      subTaskGroup.addSubTask(task);
+    }
     getRunnableTask().addSubTaskGroup(subTaskGroup);
     return subTaskGroup;
   }
@@ -1274,16 +1281,32 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
    */
   public SubTaskGroup createWaitForServerReady(
       NodeDetails node, ServerType serverType, int sleepTimeMs) {
+    return createWaitForServerReady(Collections.singletonList(node), serverType, sleepTimeMs);
+  }
+
+  /**
+   * Create tasks to check if a specific process is ready to serve requests on the given nodes. The
+   * nodes are checked in parallel.
+   *
+   * @param nodes nodes for which the check needs to be executed.
+   * @param serverType server process type on the nodes to the check.
+   * @param sleepTimeMs default sleep time if server does not support check for readiness.
+   * @return SubTaskGroup
+   */
+  public SubTaskGroup createWaitForServerReady(
+      Collection<NodeDetails> nodes, ServerType serverType, int sleepTimeMs) {
     SubTaskGroup subTaskGroup =
         getTaskExecutor().createSubTaskGroup("WaitForServerReady", executor);
-    WaitForServerReady.Params params = new WaitForServerReady.Params();
-    params.universeUUID = taskParams().universeUUID;
-    params.nodeName = node.nodeName;
-    params.serverType = serverType;
-    params.waitTimeMs = sleepTimeMs;
-    WaitForServerReady task = createTask(WaitForServerReady.class);
-    task.initialize(params);
-    subTaskGroup.addSubTask(task);
+    for (NodeDetails node : nodes) {
+      WaitForServerReady.Params params = new WaitForServerReady.Params();
+      params.universeUUID = taskParams().universeUUID;
+      params.nodeName = node.nodeName;
+      params.serverType = serverType;
+      params.waitTimeMs = sleepTimeMs;
+      WaitForServerReady task = createTask(WaitForServerReady.class);
+      task.initialize(params);
+      subTaskGroup.addSubTask(task);
+    }
     getRunnableTask().addSubTaskGroup(subTaskGroup);
     return subTaskGroup;
   }
@@ -1296,16 +1319,31 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
    * @return SubTaskGroup
    */
   public SubTaskGroup createWaitForFollowerLagTask(NodeDetails node, ServerType serverType) {
+    return createWaitForFollowerLagTasks(Collections.singletonList(node), serverType);
+  }
+
+  /**
+   * Create tasks to check if a specific process on the given nodes is caught up to other processes.
+   * The nodes are checked in parallel.
+   *
+   * @param nodes nodes for which the check needs to be executed.
+   * @param serverType server process type on the nodes to the check.
+   * @return SubTaskGroup
+   */
+  public SubTaskGroup createWaitForFollowerLagTasks(
+      Collection<NodeDetails> nodes, ServerType serverType) {
     SubTaskGroup subTaskGroup =
         getTaskExecutor().createSubTaskGroup("WaitForLeaderBlacklistCompletion", executor);
-    WaitForFollowerLag.Params params = new WaitForFollowerLag.Params();
-    params.universeUUID = taskParams().universeUUID;
-    params.serverType = serverType;
-    params.node = node;
-    params.nodeName = node.nodeName;
-    WaitForFollowerLag task = createTask(WaitForFollowerLag.class);
-    task.initialize(params);
-    subTaskGroup.addSubTask(task);
+    for (NodeDetails node : nodes) {
+      WaitForFollowerLag.Params params = new WaitForFollowerLag.Params();
+      params.universeUUID = taskParams().universeUUID;
+      params.serverType = serverType;
+      params.node = node;
+      params.nodeName = node.nodeName;
+      WaitForFollowerLag task = createTask(WaitForFollowerLag.class);
+      task.initialize(params);
+      subTaskGroup.addSubTask(task);
+    }
     getRunnableTask().addSubTaskGroup(subTaskGroup);
     return subTaskGroup;
   }
@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.UserTaskDetails;
+import com.yugabyte.yw.common.KubernetesManager;
 import com.yugabyte.yw.common.KubernetesManagerFactory;
 import com.yugabyte.yw.forms.AbstractTaskParams;
 import com.yugabyte.yw.models.helpers.CloudInfoInterface;
@@ -73,34 +74,36 @@ public class KubernetesCheckNumPod extends AbstractTaskBase {
     // TODO: add checks for the shell process handler return values.
     switch (taskParams().commandType) {
       case WAIT_FOR_PODS:
-        int iters = 0;
-        boolean status;
-        do {
-          status = waitForPods();
-          iters++;
-          if (status) {
-            break;
-          }
-          waitFor(Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME));
-        } while (!status && iters < MAX_ITERS);
-        if (iters >= MAX_ITERS) {
+        KubernetesManager kubernetesManager = kubernetesManagerFactory.getManager();
+        Map<String, String> config = getConfig();
+        // A pod change ends the wait early, but the wait still ends after MAX_ITERS intervals.
+        if (!KubernetesManager.waitForPodCondition(
+            kubernetesManager,
+            config,
+            taskParams().namespace,
+            Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME),
+            MAX_ITERS,
+            () -> waitForPods(kubernetesManager, config),
+            this::waitFor)) {
           throw new RuntimeException("Pods' start taking too long.");
         }
         break;
     }
   }
 
-  // Wait for the correct number of pods to be in the call.
-  private boolean waitForPods() {
-    Map<String, String> config = taskParams().config;
+  private Map<String, String> getConfig() {
     if (taskParams().config == null) {
       Provider provider = Provider.getOrBadRequest(taskParams().providerUUID);
-      config = CloudInfoInterface.fetchEnvVars(provider);
+      return CloudInfoInterface.fetchEnvVars(provider);
     }
+    return taskParams().config;
+  }
+
+  // Wait for the correct number of pods to be in the call.
+  private boolean waitForPods(KubernetesManager kubernetesManager, Map<String, String> config) {
     List<Pod> pods =
-        kubernetesManagerFactory
-            .getManager()
-            .getPodInfos(config, taskParams().helmReleaseName, taskParams().namespace);
+        kubernetesManager.getPodInfos(
+            config, taskParams().helmReleaseName, taskParams().namespace);
     if (pods.size() == taskParams().podNum) {
       return true;
     } else {
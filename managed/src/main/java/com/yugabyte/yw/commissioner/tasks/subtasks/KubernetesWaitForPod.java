@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.UserTaskDetails;
+import com.yugabyte.yw.common.KubernetesManager;
 import com.yugabyte.yw.common.KubernetesManagerFactory;
 import com.yugabyte.yw.forms.AbstractTaskParams;
 import com.yugabyte.yw.models.helpers.CloudInfoInterface;
@@ -81,36 +82,36 @@ public class KubernetesWaitForPod extends AbstractTaskBase {
     // TODO: add checks for the shell process handler return values.
     switch (taskParams().commandType) {
       case WAIT_FOR_POD:
-        int iters = 0;
-        boolean podReady;
-        do {
-          podReady = isPodReady();
-          iters++;
-          if (podReady) {
-            break;
-          }
-
-          waitFor(Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME));
-        } while ((!podReady) && (iters < MAX_ITERS));
-        if (iters > MAX_ITERS) {
-          throw new RuntimeException("Pod " + taskParams().podName + " creation taking too long.");
+        KubernetesManager kubernetesManager = kubernetesManagerFactory.getManager();
+        Map<String, String> config = getConfig();
+        // A pod change ends the wait early, but the wait still ends after MAX_ITERS intervals.
+        // The task goes on even if the pod is not ready by then.
+        if (!KubernetesManager.waitForPodCondition(
+            kubernetesManager,
+            config,
+            taskParams().namespace,
+            Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME),
+            MAX_ITERS,
+            () -> isPodReady(kubernetesManager, config),
+            this::waitFor)) {
+          LOG.warn("Pod {} is not ready yet, continuing.", taskParams().podName);
         }
         break;
     }
   }
 
-  // Waits for pods as well as the containers inside the pod.
-  private boolean isPodReady() {
-    Map<String, String> config = taskParams().config;
+  private Map<String, String> getConfig() {
     if (taskParams().config == null) {
       Provider provider = Provider.getOrBadRequest(taskParams().providerUUID);
-      config = CloudInfoInterface.fetchEnvVars(provider);
+      return CloudInfoInterface.fetchEnvVars(provider);
     }
+    return taskParams().config;
+  }
 
+  // Waits for pods as well as the containers inside the pod.
+  private boolean isPodReady(KubernetesManager kubernetesManager, Map<String, String> config) {
     Pod podObject =
-        kubernetesManagerFactory
-            .getManager()
-            .getPodObject(config, taskParams().namespace, taskParams().podName);
+        kubernetesManager.getPodObject(config, taskParams().namespace, taskParams().podName);
     if (podObject == null) {
       return false;
     }
@@ -5,34 +5,26 @@ import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.tasks.UniverseTaskBase.ServerType;
 import com.yugabyte.yw.commissioner.tasks.params.ServerSubTaskParams;
+import com.yugabyte.yw.common.NodeReadinessChecker;
+import com.yugabyte.yw.common.NodeReadinessChecker.Check;
 import com.yugabyte.yw.common.Util;
 import com.yugabyte.yw.common.config.UniverseConfKeys;
-import com.yugabyte.yw.metrics.MetricQueryHelper;
-import com.yugabyte.yw.metrics.MetricQueryResponse;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.OptionalDouble;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 
 @Slf4j
 public class WaitForFollowerLag extends AbstractTaskBase {
 
-  // Time to wait (in millisec) during each iteration of follower lag check.
-  private static final int WAIT_EACH_ATTEMPT_MS = 1000;
-
   // Max time we wait to catch up (secs)
   private static final int FOLLOWER_LAG_TIMEOUT_SEC = 900;
 
-  // Log after these many iterations
-  private static final int LOG_EVERY_NUM_ITERS = 10;
-
   public static final String MAX_FOLLOWER_LAG_THRESHOLD_MS =
       "yb.upgrade.max_follower_lag_threshold_ms";
 
-  @Inject private MetricQueryHelper metricQueryHelper;
+  @Inject private NodeReadinessChecker nodeReadinessChecker;
 
   @Inject
   protected WaitForFollowerLag(BaseTaskDependencies baseTaskDependencies) {
@@ -53,71 +45,47 @@ public class WaitForFollowerLag extends AbstractTaskBase {
     Universe universe = Universe.getOrBadRequest(taskParams().universeUUID);
     NodeDetails node = taskParams().node;
     ServerType serverType = taskParams().serverType;
-    double epsilon = 0.00001d;
-    String ip = null;
-    int httpPort = 0;
     int maxFollowerLagThresholdMs =
         confGetter.getConfForScope(universe, UniverseConfKeys.ybUpgradeMaxFollowerLagThresholdMs);
-    double followerLagMs = maxFollowerLagThresholdMs + 1;
-    int numIters = 0;
-    long startTimeMs = System.currentTimeMillis();
+    boolean waitForUnknownLag =
+        confGetter.getConfForScope(universe, UniverseConfKeys.ybUpgradeWaitForUnknownFollowerLag);
+    String ip = Util.getNodeIp(universe, node);
+    int httpPort = serverType == ServerType.MASTER ? node.masterHttpPort : node.tserverHttpPort;
+    OptionalDouble[] followerLagMs = {OptionalDouble.empty()};
 
+    boolean caughtUp;
     try {
-      ip = Util.getNodeIp(universe, node);
-      httpPort = node.tserverHttpPort;
-      if (serverType == ServerType.MASTER) {
-        httpPort = node.masterHttpPort;
-      }
-      followerLagMs = getFollowerLagMs(ip, httpPort);
-      while ((followerLagMs - (double) maxFollowerLagThresholdMs) >= epsilon) {
-        followerLagMs = getFollowerLagMs(ip, httpPort);
-        waitFor(Duration.ofMillis(WAIT_EACH_ATTEMPT_MS));
-        numIters++;
-        if (numIters % LOG_EVERY_NUM_ITERS == 0) {
-          log.info(
-              "Info: iters={}, ip={}, port={}, followerLagMs={}",
-              numIters,
-              ip,
-              httpPort,
-              followerLagMs);
-        }
-
-        // if reached certain threshold of elapsed time, timeout and throw failed/abort the upgrade
-        long curTimeMs = System.currentTimeMillis();
-        long timeElapedMs = curTimeMs - startTimeMs;
-        if (timeElapedMs >= (FOLLOWER_LAG_TIMEOUT_SEC * 1000)) {
-          throw new RuntimeException(
-              String.format(
-                  "Follower lag timeout reached: ip=%s, port=%d, followerLagMs=%f",
-                  ip, httpPort, followerLagMs));
-        }
-      }
-
-      log.debug("node {} ready after iters={}.", node.nodeName, numIters);
+      caughtUp =
+          nodeReadinessChecker.waitFor(
+              Check.FOLLOWER_LAG,
+              node.nodeName,
+              Duration.ofSeconds(FOLLOWER_LAG_TIMEOUT_SEC),
+              this::waitFor,
+              () -> {
+                followerLagMs[0] = nodeReadinessChecker.getFollowerLagMs(ip, httpPort);
+                if (!followerLagMs[0].isPresent()) {
+                  // Cannot find follower lag, assume no lag unless configured to keep waiting.
+                  if (waitForUnknownLag) {
+                    return false;
+                  }
+                  followerLagMs[0] = OptionalDouble.of(0);
+                }
+                return followerLagMs[0].getAsDouble() <= maxFollowerLagThresholdMs;
+              });
     } catch (Exception e) {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     }
-  }
-
-  private double getFollowerLagMs(String ip, int port) {
-    String promQuery =
-        String.format("max by (instance) (follower_lag_ms{instance='%s:%d'})", ip, port);
-    try {
-      // May throw if issue with prometheus, for now we treat as no follower lag
-      ArrayList<MetricQueryResponse.Entry> response = metricQueryHelper.queryDirect(promQuery);
-      if (response.size() != 0) {
-        MetricQueryResponse.Entry entry = response.get(0);
-        String instanceId = entry.labels.get("instance");
-        if (!StringUtils.isEmpty(instanceId) && !CollectionUtils.isEmpty(entry.values)) {
-          double followerLagMs = entry.values.get(0).getRight();
-          return followerLagMs;
-        }
-      }
-    } catch (RuntimeException e) {
-      log.error(e.getMessage());
+    // if reached certain threshold of elapsed time, timeout and throw failed/abort the upgrade
+    if (!caughtUp) {
+      throw new RuntimeException(
+          String.format(
+              "Follower lag timeout reached: ip=%s, port=%d, followerLagMs=%s",
+              ip,
+              httpPort,
+              followerLagMs[0].isPresent() ? followerLagMs[0].getAsDouble() : "unknown"));
     }
-    // cannot find follower lag ms or prometheus query failed, we assume no follower lag
-    return 0;
+    log.debug(
+        "node {} ready with followerLagMs={}.", node.nodeName, followerLagMs[0].getAsDouble());
   }
 }
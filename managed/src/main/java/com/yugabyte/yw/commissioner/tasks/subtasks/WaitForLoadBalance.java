@@ -13,6 +13,8 @@ package com.yugabyte.yw.commissioner.tasks.subtasks;
 import com.google.api.client.util.Throwables;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
+import com.yugabyte.yw.common.NodeReadinessChecker;
+import com.yugabyte.yw.common.NodeReadinessChecker.Check;
 import com.yugabyte.yw.forms.UniverseTaskParams;
 import com.yugabyte.yw.models.Universe;
 import java.time.Duration;
@@ -32,6 +34,8 @@ public class WaitForLoadBalance extends AbstractTaskBase {
   // start the task of loadbalancing.
   private static final int SLEEP_TIME = 10;
 
+  @Inject private NodeReadinessChecker nodeReadinessChecker;
+
   @Inject
   protected WaitForLoadBalance(BaseTaskDependencies baseTaskDependencies) {
     super(baseTaskDependencies);
@@ -74,7 +78,22 @@ public class WaitForLoadBalance extends AbstractTaskBase {
       // minimum. The TServer which is down becuase of an external fault will fail this liveness
       // check, so load will not be balanced. NOTE: Zero implies load distribution can be checked
       // across all servers which the master leader knows about.
-      ret = client.waitForLoadBalance(TIMEOUT_SERVER_WAIT_MS, taskParams().numTservers);
+      YBClient ybClient = client;
+      ret =
+          nodeReadinessChecker.waitFor(
+              Check.LOAD_BALANCE,
+              universe.name,
+              Duration.ofMillis(TIMEOUT_SERVER_WAIT_MS),
+              this::waitFor,
+              () -> {
+                try {
+                  return !ybClient.getIsLoadBalanced(taskParams().numTservers).hasError();
+                } catch (Exception e) {
+                  // Master may be failing over, retry until the timeout.
+                  log.warn("Failed to check load balance: {}", e.getMessage());
+                  return false;
+                }
+              });
     } catch (Exception e) {
       log.error("{} hit error : {}", getName(), e.getMessage());
       Throwables.propagate(e);
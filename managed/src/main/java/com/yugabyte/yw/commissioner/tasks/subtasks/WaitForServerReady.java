@@ -14,6 +14,8 @@ import com.google.common.net.HostAndPort;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.tasks.UniverseTaskBase.ServerType;
 import com.yugabyte.yw.commissioner.tasks.params.ServerSubTaskParams;
+import com.yugabyte.yw.common.NodeReadinessChecker;
+import com.yugabyte.yw.common.NodeReadinessChecker.Check;
 import com.yugabyte.yw.forms.UpgradeParams;
 import java.time.Duration;
 import java.util.concurrent.CancellationException;
@@ -25,15 +27,11 @@ import org.yb.client.YBClient;
 @Slf4j
 public class WaitForServerReady extends ServerSubTaskBase {
 
-  // Time to wait (in millisec) during each iteration of server readiness check.
-  private static final int WAIT_EACH_ATTEMPT_MS = 1000;
-
-  // Log after these many iterations.
-  private static final int LOG_EVERY_NUM_ITERS = 100;
-
   // Maximum total wait time for the rpc to return 0 not-running tablets (10min).
   private static final int MAX_TOTAL_WAIT_MS = 600000;
 
+  @Inject private NodeReadinessChecker nodeReadinessChecker;
+
   @Inject
   protected WaitForServerReady(BaseTaskDependencies baseTaskDependencies) {
     super(baseTaskDependencies);
@@ -50,24 +48,15 @@ public class WaitForServerReady extends ServerSubTaskBase {
     return (Params) taskParams;
   }
 
-  private void sleepFor(int waitTimeMs) {
+  private void sleepFor(long waitTimeMs) {
     waitFor(Duration.ofMillis(getSleepMultiplier() * waitTimeMs));
   }
 
-  // Helper function to sleep for any pending amount of time in userWaitTime, assuming caller
-  // has completed numIters of sleep.
-  private void sleepRemaining(int userWaitTimeMs, int numIters) {
-    if (userWaitTimeMs > (WAIT_EACH_ATTEMPT_MS * numIters)) {
-      sleepFor(userWaitTimeMs - (WAIT_EACH_ATTEMPT_MS * numIters));
-    }
-  }
-
   @Override
   public void run() {
 
     checkParams();
 
-    int numIters = 0;
     int userWaitTimeMs =
         taskParams().waitTimeMs != 0
             ? taskParams().waitTimeMs
@@ -75,60 +64,48 @@ public class WaitForServerReady extends ServerSubTaskBase {
 
     HostAndPort hp = getHostPort();
     boolean isMasterTask = taskParams().serverType == ServerType.MASTER;
+    long startMs = System.currentTimeMillis();
 
-    IsServerReadyResponse response = null;
+    IsServerReadyResponse[] response = {null};
     YBClient client = getClient();
     try {
-      while (true) {
-        numIters++;
-        response = client.isServerReady(hp, !isMasterTask);
-
-        if (response.hasError()) {
-          log.info("Response has error {} after iters={}.", response.errorMessage(), numIters);
-          break;
-        }
-
-        if (response.getNumNotRunningTablets() == 0) {
-          log.info(
-              "{} on node {} ready after iters={}.",
-              taskParams().serverType,
-              taskParams().nodeName,
-              numIters);
-          break;
-        }
-
-        if (numIters > (MAX_TOTAL_WAIT_MS / WAIT_EACH_ATTEMPT_MS)) {
-          log.info(
-              "Timing out after iters={}. {} tablets not running, out of {}.",
-              numIters,
-              response.getNumNotRunningTablets(),
-              response.getTotalTablets());
-          break;
-        }
-
-        if (numIters % LOG_EVERY_NUM_ITERS == 0) {
-          log.info(
-              "{} on node {} not ready after iters={}, {} tablets not running out of {}.",
-              taskParams().serverType,
+      boolean ready =
+          nodeReadinessChecker.waitFor(
+              Check.SERVER_READY,
               taskParams().nodeName,
-              numIters,
-              response.getNumNotRunningTablets(),
-              response.getTotalTablets());
-        }
-
-        sleepFor(WAIT_EACH_ATTEMPT_MS);
+              Duration.ofMillis(MAX_TOTAL_WAIT_MS),
+              delay -> sleepFor(delay.toMillis()),
+              () -> {
+                response[0] = client.isServerReady(hp, !isMasterTask);
+                if (response[0].hasError()) {
+                  log.info("Response has error {}.", response[0].errorMessage());
+                  return true;
+                }
+                return response[0].getNumNotRunningTablets() == 0;
+              });
+
+      if (!ready) {
+        log.info(
+            "Timing out. {} tablets not running, out of {}.",
+            response[0].getNumNotRunningTablets(),
+            response[0].getTotalTablets());
+      } else if (!response[0].hasError()) {
+        log.info("{} on node {} ready.", taskParams().serverType, taskParams().nodeName);
       }
     } catch (CancellationException e) {
       throw e;
     } catch (Exception e) {
       // There is no generic mechanism from proto/rpc to check if an older server does not have
       // this rpc implemented. So, we just sleep for remaining time on any such error.
-      log.info("{} hit exception '{}' after {} iters.", getName(), e.getMessage(), numIters);
+      log.info("{} hit exception '{}'.", getName(), e.getMessage());
     } finally {
       closeClient(client);
     }
 
     // Sleep for the remaining portion of user specified time, if any.
-    sleepRemaining(userWaitTimeMs, numIters);
+    long elapsedMs = System.currentTimeMillis() - startMs;
+    if (userWaitTimeMs > elapsedMs) {
+      sleepFor(userWaitTimeMs - elapsedMs);
+    }
   }
 }
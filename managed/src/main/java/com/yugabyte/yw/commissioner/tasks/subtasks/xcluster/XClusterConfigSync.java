@@ -3,20 +3,21 @@ package com.yugabyte.yw.commissioner.tasks.subtasks.xcluster;
 
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.tasks.XClusterConfigTaskBase;
+import com.yugabyte.yw.common.XClusterReplicationStatusCache;
 import com.yugabyte.yw.common.utils.Pair;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.XClusterConfig;
-import com.yugabyte.yw.models.XClusterConfig.XClusterConfigStatusType;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import org.yb.cdc.CdcConsumer;
 import org.yb.cdc.CdcConsumer.ProducerEntryPB;
 import org.yb.client.YBClient;
 import org.yb.master.CatalogEntityInfo;
@@ -24,9 +25,14 @@ import org.yb.master.CatalogEntityInfo;
 @Slf4j
 public class XClusterConfigSync extends XClusterConfigTaskBase {
 
+  private final XClusterReplicationStatusCache replicationStatusCache;
+
   @Inject
-  protected XClusterConfigSync(BaseTaskDependencies baseTaskDependencies) {
+  protected XClusterConfigSync(
+      BaseTaskDependencies baseTaskDependencies,
+      XClusterReplicationStatusCache replicationStatusCache) {
     super(baseTaskDependencies);
+    this.replicationStatusCache = replicationStatusCache;
   }
 
   @Override
@@ -52,69 +58,83 @@ public class XClusterConfigSync extends XClusterConfigTaskBase {
   private void syncXClusterConfigs(
       CatalogEntityInfo.SysClusterConfigEntryPB config, UUID targetUniverseUUID) {
 
+    // Replication groups are compared with the configs already stored for this target, so
+    // unchanged configs and tables are not written again.
+    Map<Pair<UUID, String>, XClusterConfig> storedXClusterConfigs =
+        XClusterConfig.getByTargetUniverseUUID(targetUniverseUUID)
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    xClusterConfig ->
+                        new Pair<>(xClusterConfig.sourceUniverseUUID, xClusterConfig.name),
+                    Function.identity()));
     Set<Pair<UUID, String>> foundXClusterConfigs = new HashSet<>();
 
     Map<String, ProducerEntryPB> replicationGroups =
         config.getConsumerRegistry().getProducerMapMap();
 
-    replicationGroups.forEach(
-        (replicationGroupName, value) -> {
-          // Parse and get information for this replication group.
-          Optional<Pair<UUID, String>> sourceUuidAndConfigName =
-              maybeParseReplicationGroupName(replicationGroupName);
-          if (!sourceUuidAndConfigName.isPresent()) {
-            log.warn(
-                "Skipping {} because it does not conform to the Platform replication group naming",
-                replicationGroupName);
-            return;
-          }
-          UUID sourceUniverseUUID = sourceUuidAndConfigName.get().getFirst();
-          String xClusterConfigName = sourceUuidAndConfigName.get().getSecond();
-          foundXClusterConfigs.add(sourceUuidAndConfigName.get());
-          // Get table ids for this replication group.
-          Map<String, CdcConsumer.StreamEntryPB> tableMap = value.getStreamMapMap();
-          Set<String> xClusterConfigTables =
-              tableMap
-                  .values()
-                  .stream()
-                  .map(CdcConsumer.StreamEntryPB::getProducerTableId)
-                  .collect(Collectors.toSet());
-          log.info(
-              "Found XClusterConfig({}) between source({}) and target({}): disabled({}), "
-                  + "tables({})",
-              xClusterConfigName,
-              sourceUniverseUUID,
-              targetUniverseUUID,
-              value.getDisableStream(),
-              xClusterConfigTables);
+    Transaction transaction = Ebean.beginTransaction();
+    try {
+      transaction.setBatchMode(true);
+      replicationGroups.forEach(
+          (replicationGroupName, value) -> {
+            // Parse and get information for this replication group.
+            Optional<Pair<UUID, String>> sourceUuidAndConfigName =
+                maybeParseReplicationGroupName(replicationGroupName);
+            if (!sourceUuidAndConfigName.isPresent()) {
+              log.warn(
+                  "Skipping {} because it does not conform to the Platform replication group "
+                      + "naming",
+                  replicationGroupName);
+              return;
+            }
+            UUID sourceUniverseUUID = sourceUuidAndConfigName.get().getFirst();
+            String xClusterConfigName = sourceUuidAndConfigName.get().getSecond();
+            foundXClusterConfigs.add(sourceUuidAndConfigName.get());
+            // Get source table ids and their stream ids for this replication group.
+            Map<String, String> tableIdStreamIdMap =
+                value
+                    .getStreamMapMap()
+                    .entrySet()
+                    .stream()
+                    .collect(
+                        Collectors.toMap(
+                            e -> e.getValue().getProducerTableId(), Map.Entry::getKey));
+            log.info(
+                "Found XClusterConfig({}) between source({}) and target({}): disabled({}), "
+                    + "tables({})",
+                xClusterConfigName,
+                sourceUniverseUUID,
+                targetUniverseUUID,
+                value.getDisableStream(),
+                tableIdStreamIdMap.size());
 
-          // Create or update a row in the Platform database for this replication group.
-          XClusterConfig xClusterConfig =
-              XClusterConfig.getByNameSourceTarget(
-                  xClusterConfigName, sourceUniverseUUID, targetUniverseUUID);
-          if (xClusterConfig == null) {
-            xClusterConfig =
-                XClusterConfig.create(xClusterConfigName, sourceUniverseUUID, targetUniverseUUID);
-            log.info("Creating new XClusterConfig({})", xClusterConfig.uuid);
-          } else {
-            log.info("Updating existing XClusterConfig({})", xClusterConfig.uuid);
-          }
-          xClusterConfig.setStatus(XClusterConfigStatusType.Running);
-          xClusterConfig.setPaused(value.getDisableStream());
-          xClusterConfig.setTables(xClusterConfigTables);
-          xClusterConfig.setReplicationSetupDone(xClusterConfigTables);
-          updateStreamIdsFromTargetUniverseClusterConfig(
-              config, xClusterConfig, xClusterConfigTables);
-        });
+            // Create or update a row in the Platform database for this replication group.
+            XClusterConfig xClusterConfig =
+                storedXClusterConfigs.get(sourceUuidAndConfigName.get());
+            if (xClusterConfig == null) {
+              xClusterConfig =
+                  XClusterConfig.create(
+                      xClusterConfigName, sourceUniverseUUID, targetUniverseUUID);
+              log.info("Creating new XClusterConfig({})", xClusterConfig.uuid);
+            } else {
+              log.info("Updating existing XClusterConfig({})", xClusterConfig.uuid);
+            }
+            xClusterConfig.syncWithReplicationGroup(value.getDisableStream(), tableIdStreamIdMap);
+            replicationStatusCache.invalidate(xClusterConfig.uuid);
+          });
 
-    List<XClusterConfig> currentXClusterConfigsForTarget =
-        XClusterConfig.getByTargetUniverseUUID(targetUniverseUUID);
-    for (XClusterConfig xClusterConfig : currentXClusterConfigsForTarget) {
-      if (!foundXClusterConfigs.contains(
-          new Pair<>(xClusterConfig.sourceUniverseUUID, xClusterConfig.name))) {
-        xClusterConfig.delete();
-        log.info("Deleted unknown XClusterConfig({})", xClusterConfig.uuid);
-      }
+      storedXClusterConfigs.forEach(
+          (sourceUuidAndConfigName, xClusterConfig) -> {
+            if (!foundXClusterConfigs.contains(sourceUuidAndConfigName)) {
+              xClusterConfig.delete();
+              replicationStatusCache.invalidate(xClusterConfig.uuid);
+              log.info("Deleted unknown XClusterConfig({})", xClusterConfig.uuid);
+            }
+          });
+      transaction.commit();
+    } finally {
+      transaction.end();
     }
   }
 }
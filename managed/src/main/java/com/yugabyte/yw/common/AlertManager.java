@@ -21,6 +21,8 @@ import com.yugabyte.yw.common.alerts.AlertChannelService;
 import com.yugabyte.yw.common.alerts.AlertConfigurationService;
 import com.yugabyte.yw.common.alerts.AlertDestinationService;
 import com.yugabyte.yw.common.alerts.AlertNotificationContext;
+import com.yugabyte.yw.common.alerts.AlertNotificationDispatcher;
+import com.yugabyte.yw.common.alerts.AlertNotificationDispatcher.Notification;
 import com.yugabyte.yw.common.alerts.AlertNotificationReport;
 import com.yugabyte.yw.common.alerts.AlertService;
 import com.yugabyte.yw.common.alerts.AlertUtils;
@@ -40,8 +42,11 @@ import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -51,6 +56,8 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
@@ -70,6 +77,7 @@ public class AlertManager {
   private final AlertChannelManager channelsManager;
   private final AlertService alertService;
   private final MetricService metricService;
+  private final AlertNotificationDispatcher dispatcher;
 
   @Inject
   public AlertManager(
@@ -79,7 +87,8 @@ public class AlertManager {
       AlertChannelService alertChannelService,
       AlertDestinationService alertDestinationService,
       AlertChannelManager channelsManager,
-      MetricService metricService) {
+      MetricService metricService,
+      AlertNotificationDispatcher dispatcher) {
     this.emailHelper = emailHelper;
     this.alertService = alertService;
     this.alertConfigurationService = alertConfigurationService;
@@ -87,6 +96,7 @@ public class AlertManager {
     this.alertDestinationService = alertDestinationService;
     this.channelsManager = channelsManager;
     this.metricService = metricService;
+    this.dispatcher = dispatcher;
   }
 
   private NotificationStrategy getNotificationStrategy(Alert alert) {
@@ -128,64 +138,116 @@ public class AlertManager {
   @VisibleForTesting
   boolean sendNotificationForState(
       Alert alert, State state, AlertNotificationReport report, AlertNotificationContext context) {
-    SendNotificationStatus result = SendNotificationStatus.FAILED_TO_RESCHEDULE;
-    try {
-      result = sendNotification(alert, state, report).getStatus();
-      if (result == SendNotificationStatus.FAILED_NO_RESCHEDULE) {
-        // Failed, no reschedule is required.
-        alert.setNextNotificationTime(null);
-        alert.save();
+    List<Alert> toSave = new ArrayList<>();
+    boolean sent =
+        !sendNotificationsForState(
+                Collections.singletonList(alert), state, report, context, toSave)
+            .isEmpty();
+    toSave.forEach(Alert::save);
+    return sent;
+  }
+
+  /**
+   * Sends notifications about the alerts in the given state, and updates their notification
+   * fields. Alerts which need to be saved are added to toSave.
+   *
+   * @return alerts for which the notification was sent.
+   */
+  private List<Alert> sendNotificationsForState(
+      List<Alert> alerts,
+      State state,
+      AlertNotificationReport report,
+      AlertNotificationContext context,
+      Collection<Alert> toSave) {
+    List<PendingNotification> pendingNotifications = new ArrayList<>();
+    for (Alert alert : alerts) {
+      try {
+        pendingNotifications.add(prepareNotification(alert, state, report));
+      } catch (Exception e) {
         report.failAttempt();
-        return false;
+        log.error("Error while sending notification for alert {}", alert.getUuid(), e);
       }
+    }
+    sendPendingNotifications(pendingNotifications, report, true);
 
-      alert.setNotificationAttemptTime(new Date());
-      if (result == SendNotificationStatus.FAILED_TO_RESCHEDULE) {
-        alert.setNotificationsFailed(alert.getNotificationsFailed() + 1);
-
-        Date switchStateTime = getSwitchStateTime(alert);
-        if ((switchStateTime != null)
-            && switchStateTime.before(nowMinusWithoutMillis(1, ChronoUnit.DAYS))) {
-          log.trace("Unable to send notification for alert {}. Stop trying.", alert.getUuid());
-          alert.setNextNotificationTime(null);
-          alert.save();
-          return false;
+    List<Alert> sent = new ArrayList<>();
+    for (PendingNotification pending : pendingNotifications) {
+      Alert alert = pending.getAlert();
+      try {
+        if (applyResult(alert, state, pending.getResult(), report, context, toSave)) {
+          sent.add(alert);
         }
+      } catch (Exception e) {
+        report.failAttempt();
+        log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+      }
+    }
+    return sent;
+  }
 
-        // For now using fixed delay before the notification repeat. Later the behavior
-        // can be adjusted using an amount of failed attempts (using progressive value).
-        alert.setNextNotificationTime(
-            nowPlusWithoutMillis(NOTIFICATION_REPEAT_AFTER_FAILURE_IN_SECS, ChronoUnit.SECONDS));
-        log.trace(
-            "Next time to send notification for alert {} is {}",
-            alert.getUuid(),
-            alert.getNextNotificationTime());
+  /**
+   * Updates the notification fields of the alert after an attempt to notify about it.
+   *
+   * @return true if the notification was sent.
+   */
+  private boolean applyResult(
+      Alert alert,
+      State state,
+      SendNotificationResult sendResult,
+      AlertNotificationReport report,
+      AlertNotificationContext context,
+      Collection<Alert> toSave) {
+    SendNotificationStatus result = sendResult.getStatus();
+    if (result == SendNotificationStatus.FAILED_NO_RESCHEDULE) {
+      // Failed, no reschedule is required.
+      alert.setNextNotificationTime(null);
+      toSave.add(alert);
+      report.failAttempt();
+      return false;
+    }
 
-        report.failAttempt();
-      } else {
+    alert.setNotificationAttemptTime(new Date());
+    if (result == SendNotificationStatus.FAILED_TO_RESCHEDULE) {
+      alert.setNotificationsFailed(alert.getNotificationsFailed() + 1);
 
-        long notificationIntervalMs = 0;
-        AlertingData alertingData =
-            context.getAlertingConfigByCustomer().get(alert.getCustomerUUID());
-        if (alertingData != null) {
-          notificationIntervalMs = alertingData.activeAlertNotificationIntervalMs;
-        }
-        Date nextNotificationTime =
-            notificationIntervalMs != 0 && state == State.ACTIVE
-                ? nowPlusWithoutMillis(notificationIntervalMs, ChronoUnit.MILLIS)
-                : null;
-
-        alert.setNextNotificationTime(nextNotificationTime);
-        alert.setNotificationsFailed(0);
-        alert.setNotifiedState(state);
-        log.trace("Notification sent for alert {}", alert.getUuid());
+      Date switchStateTime = getSwitchStateTime(alert);
+      if ((switchStateTime != null)
+          && switchStateTime.before(nowMinusWithoutMillis(1, ChronoUnit.DAYS))) {
+        log.trace("Unable to send notification for alert {}. Stop trying.", alert.getUuid());
+        alert.setNextNotificationTime(null);
+        toSave.add(alert);
+        return false;
       }
-      alert.save();
 
-    } catch (Exception e) {
+      // For now using fixed delay before the notification repeat. Later the behavior
+      // can be adjusted using an amount of failed attempts (using progressive value).
+      alert.setNextNotificationTime(
+          nowPlusWithoutMillis(NOTIFICATION_REPEAT_AFTER_FAILURE_IN_SECS, ChronoUnit.SECONDS));
+      log.trace(
+          "Next time to send notification for alert {} is {}",
+          alert.getUuid(),
+          alert.getNextNotificationTime());
+
       report.failAttempt();
-      log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+    } else {
+
+      long notificationIntervalMs = 0;
+      AlertingData alertingData =
+          context.getAlertingConfigByCustomer().get(alert.getCustomerUUID());
+      if (alertingData != null) {
+        notificationIntervalMs = alertingData.activeAlertNotificationIntervalMs;
+      }
+      Date nextNotificationTime =
+          notificationIntervalMs != 0 && state == State.ACTIVE
+              ? nowPlusWithoutMillis(notificationIntervalMs, ChronoUnit.MILLIS)
+              : null;
+
+      alert.setNextNotificationTime(nextNotificationTime);
+      alert.setNotificationsFailed(0);
+      alert.setNotifiedState(state);
+      log.trace("Notification sent for alert {}", alert.getUuid());
     }
+    toSave.add(alert);
     return !result.isFailure();
   }
 
@@ -229,48 +291,90 @@ public class AlertManager {
             .build();
     log.debug("Sending notifications, {} alerts to proceed.", toNotify.size());
     AlertNotificationReport report = new AlertNotificationReport();
-    for (Alert alert : toNotify) {
-      try {
-        // Either never sent active notification OR active alert notification period is set -
-        // so need to resend.
-        if (alert.getNotifiedState() == null
-            || (alert.getState() == State.ACTIVE && alert.getNotifiedState() == State.ACTIVE)) {
-          report.raiseAttempt();
-          if (!sendNotificationForState(alert, State.ACTIVE, report, context)) {
-            continue;
-          }
-        }
 
-        if ((alert.getNotifiedState().ordinal() < State.RESOLVED.ordinal())
-            && (alert.getState() == State.RESOLVED)) {
-          report.resolveAttempt();
-          sendNotificationForState(alert, State.RESOLVED, report, context);
-        }
+    // Either never sent active notification OR active alert notification period is set -
+    // so need to resend.
+    List<Alert> toRaise = new ArrayList<>();
+    List<Alert> toResolve = new ArrayList<>();
+    for (Alert alert : toNotify) {
+      if (alert.getNotifiedState() == null
+          || (alert.getState() == State.ACTIVE && alert.getNotifiedState() == State.ACTIVE)) {
+        report.raiseAttempt();
+        toRaise.add(alert);
+      } else if (isResolveNotificationPending(alert)) {
+        toResolve.add(alert);
+      }
+    }
 
-      } catch (Exception e) {
-        report.failAttempt();
-        log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+    // The same alert can be saved after both notifications, so compare by identity.
+    Set<Alert> toSave = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Alert alert : sendNotificationsForState(toRaise, State.ACTIVE, report, context, toSave)) {
+      if (isResolveNotificationPending(alert)) {
+        toResolve.add(alert);
       }
     }
+    toResolve.forEach(alert -> report.resolveAttempt());
+    sendNotificationsForState(toResolve, State.RESOLVED, report, context, toSave);
+
+    saveNotificationState(toSave);
     if (!report.isEmpty()) {
       log.info("{}", report);
     }
   }
 
+  // Saves all the alerts at once. If that fails, like when one of the alerts was deleted, each
+  // alert is saved on its own, so that the others are not notified again on the next run.
+  private void saveNotificationState(Collection<Alert> alerts) {
+    if (alerts.isEmpty()) {
+      return;
+    }
+    try {
+      alertService.save(new ArrayList<>(alerts));
+      return;
+    } catch (Exception e) {
+      log.warn(
+          "Error while saving notification state of {} alerts, saving one by one",
+          alerts.size(),
+          e);
+    }
+    for (Alert alert : alerts) {
+      try {
+        alertService.save(alert);
+      } catch (Exception e) {
+        log.error("Error while saving notification state of alert {}", alert.getUuid(), e);
+      }
+    }
+  }
+
+  private static boolean isResolveNotificationPending(Alert alert) {
+    return (alert.getNotifiedState().ordinal() < State.RESOLVED.ordinal())
+        && (alert.getState() == State.RESOLVED);
+  }
+
   public SendNotificationResult sendNotification(Alert alert) {
-    return sendNotification(alert, null, new AlertNotificationReport());
+    AlertNotificationReport report = new AlertNotificationReport();
+    PendingNotification pending = prepareNotification(alert, null, report);
+    // Test notifications are sent even to channels paused by the circuit breaker.
+    sendPendingNotifications(Collections.singletonList(pending), report, false);
+    return pending.getResult();
   }
 
-  private SendNotificationResult sendNotification(
+  /**
+   * Finds the channels to notify about the alert. If there is nothing to send, the result of the
+   * notification is already set.
+   */
+  private PendingNotification prepareNotification(
       Alert alert, State stateToNotify, AlertNotificationReport report) {
     Customer customer = Customer.get(alert.getCustomerUUID());
+    PendingNotification pending = new PendingNotification(alert);
 
-    boolean atLeastOneSucceeded = false;
     NotificationStrategy strategy = getNotificationStrategy(alert);
 
     if (!strategy.isShouldSend()) {
       log.debug("Skipping notification for alert {}", alert.getUuid());
-      return new SendNotificationResult(SendNotificationStatus.SKIPPED, strategy.getMessage());
+      pending.setResult(
+          new SendNotificationResult(SendNotificationStatus.SKIPPED, strategy.getMessage()));
+      return pending;
     }
 
     if (strategy.getDestination() == null) {
@@ -280,14 +384,17 @@ public class AlertManager {
             alert.getUuid());
         metricService.setFailureStatusMetric(
             MetricService.buildMetricTemplate(PlatformMetrics.ALERT_MANAGER_STATUS, customer));
-        return new SendNotificationResult(
-            SendNotificationStatus.FAILED_TO_RESCHEDULE, "No default destination configured");
+        pending.setResult(
+            new SendNotificationResult(
+                SendNotificationStatus.FAILED_TO_RESCHEDULE, "No default destination configured"));
       } else {
         log.error(
             "Unable to notify about alert {}, destination is missing from DB.", alert.getUuid());
-        return new SendNotificationResult(
-            SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert destination is missing");
+        pending.setResult(
+            new SendNotificationResult(
+                SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert destination is missing"));
       }
+      return pending;
     }
 
     List<AlertChannel> channels = new ArrayList<>(strategy.getDestination().getChannelsList());
@@ -299,9 +406,11 @@ public class AlertManager {
 
       metricService.setFailureStatusMetric(
           MetricService.buildMetricTemplate(PlatformMetrics.ALERT_MANAGER_STATUS, customer));
-      return new SendNotificationResult(
-          SendNotificationStatus.FAILED_TO_RESCHEDULE,
-          "No recipients configured in Health settings");
+      pending.setResult(
+          new SendNotificationResult(
+              SendNotificationStatus.FAILED_TO_RESCHEDULE,
+              "No recipients configured in Health settings"));
+      return pending;
     }
 
     metricService.setOkStatusMetric(
@@ -314,13 +423,14 @@ public class AlertManager {
       tempAlert = alertService.get(alert.getUuid());
       if (tempAlert == null) {
         // The alert was not found. Most probably it is removed during the processing.
-        return new SendNotificationResult(
-            SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert not found in DB");
+        pending.setResult(
+            new SendNotificationResult(
+                SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert not found in DB"));
+        return pending;
       }
       tempAlert.setState(stateToNotify);
     }
 
-    Map<String, String> perChannelStatus = new HashMap<>();
     for (AlertChannel channel : channels) {
       try {
         alertChannelService.validate(channel);
@@ -329,7 +439,7 @@ public class AlertManager {
         if (report.failuresByChannel(channel.getUuid()) == 0) {
           log.warn(String.format("Channel %s skipped: %s", channel.getUuid(), e.getMessage()), e);
         }
-        perChannelStatus.put(channel.getName(), "Misconfigured alert channel");
+        pending.getPerChannelStatus().put(channel.getName(), "Misconfigured alert channel");
         handleChannelSendError(channel, report);
         continue;
       }
@@ -337,36 +447,85 @@ public class AlertManager {
       try {
         AlertChannelInterface handler =
             channelsManager.get(AlertUtils.getJsonTypeName(channel.getParams()));
-        handler.sendNotification(customer, tempAlert, channel);
-        atLeastOneSucceeded = true;
-        perChannelStatus.put(channel.getName(), "Alert sent successfully");
-        setOkChannelStatusMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_STATUS, channel);
-      } catch (PlatformServiceException e) {
-        if (report.failuresByChannel(channel.getUuid()) == 0) {
-          log.error(e.getMessage(), e);
-        }
-        perChannelStatus.put(channel.getName(), e.getMessage());
-        handleChannelSendError(channel, report);
+        pending
+            .getNotifications()
+            .add(new Notification(customer, tempAlert, channel, handler));
       } catch (Exception e) {
-        if (report.failuresByChannel(channel.getUuid()) == 0) {
-          log.error(e.getMessage(), e);
+        handleChannelSendError(pending, channel, e, report);
+      }
+    }
+    return pending;
+  }
+
+  /**
+   * Sends the prepared notifications through the dispatcher, and sets the result of each of them.
+   */
+  private void sendPendingNotifications(
+      List<PendingNotification> pendingNotifications,
+      AlertNotificationReport report,
+      boolean useCircuitBreaker) {
+    List<Notification> notifications = new ArrayList<>();
+    for (PendingNotification pending : pendingNotifications) {
+      if (pending.getResult() == null) {
+        notifications.addAll(pending.getNotifications());
+      }
+    }
+    List<Exception> errors =
+        notifications.isEmpty()
+            ? Collections.emptyList()
+            : dispatcher.dispatch(notifications, useCircuitBreaker);
+
+    int index = 0;
+    for (PendingNotification pending : pendingNotifications) {
+      if (pending.getResult() != null) {
+        continue;
+      }
+      boolean atLeastOneSucceeded = false;
+      for (Notification notification : pending.getNotifications()) {
+        AlertChannel channel = notification.getChannel();
+        Exception error = errors.get(index++);
+        if (error == null) {
+          atLeastOneSucceeded = true;
+          pending.getPerChannelStatus().put(channel.getName(), "Alert sent successfully");
+          setOkChannelStatusMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_STATUS, channel);
+        } else {
+          handleChannelSendError(pending, channel, error, report);
         }
-        perChannelStatus.put(channel.getName(), "Error sending notification: " + e.getMessage());
-        handleChannelSendError(channel, report);
       }
+
+      String resultMessage =
+          "Result: "
+              + pending
+                  .getPerChannelStatus()
+                  .entrySet()
+                  .stream()
+                  .sorted(Entry.comparingByKey())
+                  .map(e -> e.getKey() + " - " + e.getValue())
+                  .collect(Collectors.joining("; "));
+      pending.setResult(
+          atLeastOneSucceeded
+              ? new SendNotificationResult(SendNotificationStatus.SUCCEEDED, resultMessage)
+              : new SendNotificationResult(
+                  SendNotificationStatus.FAILED_TO_RESCHEDULE, resultMessage));
     }
+  }
 
-    String resultMessage =
-        "Result: "
-            + perChannelStatus
-                .entrySet()
-                .stream()
-                .sorted(Entry.comparingByKey())
-                .map(e -> e.getKey() + " - " + e.getValue())
-                .collect(Collectors.joining("; "));
-    return atLeastOneSucceeded
-        ? new SendNotificationResult(SendNotificationStatus.SUCCEEDED, resultMessage)
-        : new SendNotificationResult(SendNotificationStatus.FAILED_TO_RESCHEDULE, resultMessage);
+  private void handleChannelSendError(
+      PendingNotification pending,
+      AlertChannel channel,
+      Exception e,
+      AlertNotificationReport report) {
+    if (report.failuresByChannel(channel.getUuid()) == 0) {
+      log.error(e.getMessage(), e);
+    }
+    pending
+        .getPerChannelStatus()
+        .put(
+            channel.getName(),
+            e instanceof PlatformServiceException
+                ? e.getMessage()
+                : "Error sending notification: " + e.getMessage());
+    handleChannelSendError(channel, report);
   }
 
   private void handleChannelSendError(AlertChannel channel, AlertNotificationReport report) {
@@ -413,6 +572,19 @@ public class AlertManager {
     }
   }
 
+  /** Notification about an alert, from finding its channels to the result of sending it. */
+  @Getter
+  private static class PendingNotification {
+    private final Alert alert;
+    private final List<Notification> notifications = new ArrayList<>();
+    private final Map<String, String> perChannelStatus = new HashMap<>();
+    @Setter private SendNotificationResult result;
+
+    PendingNotification(Alert alert) {
+      this.alert = alert;
+    }
+  }
+
   @Value
   @AllArgsConstructor
   public static class SendNotificationResult {
@@ -32,6 +32,7 @@ import com.yugabyte.yw.models.BackupResp;
 import com.yugabyte.yw.models.BackupResp.BackupRespBuilder;
 import com.yugabyte.yw.models.CommonBackupInfo;
 import com.yugabyte.yw.models.CommonBackupInfo.CommonBackupInfoBuilder;
+import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.KmsConfig;
 import com.yugabyte.yw.models.Metric;
 import com.yugabyte.yw.models.PitrConfig;
@@ -151,8 +152,18 @@ public class BackupUtil {
 
   public static Metric buildMetricTemplate(
       PlatformMetrics metric, Universe universe, PitrConfig pitrConfig, double value) {
+    return buildMetricTemplate(
+        metric, Customer.get(universe.customerId), universe, pitrConfig, value);
+  }
+
+  public static Metric buildMetricTemplate(
+      PlatformMetrics metric,
+      Customer customer,
+      Universe universe,
+      PitrConfig pitrConfig,
+      double value) {
     return MetricService.buildMetricTemplate(
-            metric, universe, MetricService.DEFAULT_METRIC_EXPIRY_SEC)
+            metric, customer, universe, MetricService.DEFAULT_METRIC_EXPIRY_SEC)
         .setKeyLabel(KnownAlertLabels.PITR_CONFIG_UUID, pitrConfig.getUuid().toString())
         .setLabel(KnownAlertLabels.TABLE_TYPE.labelName(), pitrConfig.getTableType().toString())
         .setLabel(KnownAlertLabels.NAMESPACE_NAME.labelName(), pitrConfig.getDbName())
@@ -211,6 +211,7 @@ public class CustomerTaskManager {
       if (TaskInfo.INCOMPLETE_STATES.contains(taskInfo.getTaskState())) {
         setTaskError(taskInfo);
         taskInfo.save();
+        CustomerTask.updateSummary(taskInfo);
       }
 
       // Resume tasks if any
@@ -262,6 +263,11 @@ public class CustomerTaskManager {
           } finally {
             endTransaction();
           }
+          // The resumed task may have started before the customer task pointed to it.
+          TaskInfo newTaskInfo = TaskInfo.get(newTaskUUID);
+          if (newTaskInfo != null) {
+            CustomerTask.updateSummary(newTaskInfo);
+          }
 
         } else {
           // Mark customer task as completed.
@@ -0,0 +1,239 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.yugabyte.yw.common.config.GlobalConfKeys;
+import com.yugabyte.yw.common.config.RuntimeConfGetter;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.events.v1.Event;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the pods, services and events of the universe namespaces up to date through watches, so
+ * that reads during universe operations do not query the Kubernetes API, or spin up kubectl, every
+ * time. Informers of a namespace are started on its first read and stopped once the namespace has
+ * not been read for a while, or on shutdown.
+ */
+@Singleton
+@Slf4j
+public class KubernetesInformerCache {
+
+  private static final long IDLE_TIMEOUT_MINUTES = 10;
+
+  // The pod informer re-delivers all pods this often, in case a watch event was missed.
+  private static final long RESYNC_PERIOD_MS = TimeUnit.MINUTES.toMillis(5);
+
+  private final RuntimeConfGetter confGetter;
+
+  private final Function<Map<String, String>, KubernetesClient> clientFactory;
+
+  private final LoadingCache<NamespaceKey, NamespaceInformers> informers;
+
+  @Inject
+  public KubernetesInformerCache(
+      RuntimeConfGetter confGetter, ShutdownHookHandler shutdownHookHandler) {
+    this(confGetter, NativeKubernetesManager::createClient);
+    shutdownHookHandler.addShutdownHook(this, KubernetesInformerCache::invalidateAll);
+  }
+
+  @VisibleForTesting
+  KubernetesInformerCache(
+      RuntimeConfGetter confGetter,
+      Function<Map<String, String>, KubernetesClient> clientFactory) {
+    this.confGetter = confGetter;
+    this.clientFactory = clientFactory;
+    this.informers =
+        CacheBuilder.newBuilder()
+            .removalListener(n -> ((NamespaceInformers) n.getValue()).close())
+            .expireAfterAccess(IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .build(
+                new CacheLoader<NamespaceKey, NamespaceInformers>() {
+                  @Override
+                  public NamespaceInformers load(NamespaceKey key) {
+                    return new NamespaceInformers(
+                        KubernetesInformerCache.this.clientFactory.apply(key.config), key);
+                  }
+                });
+  }
+
+  public boolean isEnabled() {
+    return confGetter.getGlobalConf(GlobalConfKeys.useKubernetesInformerCache);
+  }
+
+  public List<Pod> getPods(
+      Map<String, String> config, String namespace, Map<String, String> labels) {
+    return list(get(config, namespace).pods, labels);
+  }
+
+  /** Returns the pod, or null if there is no such pod. */
+  public Pod getPod(Map<String, String> config, String namespace, String podName) {
+    return get(config, namespace).pods.getIndexer().getByKey(namespace + "/" + podName);
+  }
+
+  public List<Service> getServices(
+      Map<String, String> config, String namespace, Map<String, String> labels) {
+    return list(get(config, namespace).services, labels);
+  }
+
+  public List<Event> getEvents(Map<String, String> config, String namespace) {
+    return get(config, namespace).events.getIndexer().list();
+  }
+
+  /**
+   * Waits for a pod of the namespace to be added, changed or deleted.
+   *
+   * @return true if a pod changed, false if the timeout passed first.
+   */
+  public boolean awaitPodChange(Map<String, String> config, String namespace, Duration timeout) {
+    return get(config, namespace).awaitPodChange(timeout);
+  }
+
+  /** Stops the informers of all namespaces. */
+  public void invalidateAll() {
+    informers.invalidateAll();
+  }
+
+  private NamespaceInformers get(Map<String, String> config, String namespace) {
+    try {
+      return informers.getUnchecked(new NamespaceKey(config, namespace));
+    } catch (UncheckedExecutionException e) {
+      throw new RuntimeException(
+          "Unable to watch Kubernetes namespace " + namespace + ": " + e.getCause().getMessage(),
+          e.getCause());
+    }
+  }
+
+  private static <T extends HasMetadata> List<T> list(
+      SharedIndexInformer<T> informer, Map<String, String> labels) {
+    return informer
+        .getIndexer()
+        .list()
+        .stream()
+        .filter(
+            item -> {
+              Map<String, String> itemLabels = item.getMetadata().getLabels();
+              return labels
+                  .entrySet()
+                  .stream()
+                  .allMatch(
+                      label ->
+                          itemLabels != null
+                              && Objects.equals(itemLabels.get(label.getKey()), label.getValue()));
+            })
+        .collect(Collectors.toList());
+  }
+
+  // Informers are per kubeconfig, as the same namespace name can exist in several clusters.
+  @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+  private static class NamespaceKey {
+    @EqualsAndHashCode.Include private final String kubeConfig;
+    @EqualsAndHashCode.Include private final String namespace;
+    private final Map<String, String> config;
+
+    private NamespaceKey(Map<String, String> config, String namespace) {
+      this.kubeConfig = config.getOrDefault("KUBECONFIG", "");
+      this.namespace = namespace;
+      this.config = config;
+    }
+  }
+
+  private static class NamespaceInformers {
+    private final KubernetesClient client;
+    private final SharedIndexInformer<Pod> pods;
+    private final SharedIndexInformer<Service> services;
+    private final SharedIndexInformer<Event> events;
+    // Incremented on every pod change, waiters are notified on this object.
+    private long podChanges;
+
+    private NamespaceInformers(KubernetesClient client, NamespaceKey key) {
+      this.client = client;
+      log.info("Starting informers for namespace {} of {}", key.namespace, key.kubeConfig);
+      try {
+        // Each call returns once the initial list is in the cache.
+        pods = client.pods().inNamespace(key.namespace).inform(podHandler(), RESYNC_PERIOD_MS);
+        services = client.services().inNamespace(key.namespace).inform();
+        events = client.events().v1().events().inNamespace(key.namespace).inform();
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    private ResourceEventHandler<Pod> podHandler() {
+      return new ResourceEventHandler<Pod>() {
+        @Override
+        public void onAdd(Pod pod) {
+          podChanged();
+        }
+
+        @Override
+        public void onUpdate(Pod oldPod, Pod newPod) {
+          // Resyncs deliver updates without changes.
+          if (!Objects.equals(
+              oldPod.getMetadata().getResourceVersion(),
+              newPod.getMetadata().getResourceVersion())) {
+            podChanged();
+          }
+        }
+
+        @Override
+        public void onDelete(Pod pod, boolean deletedFinalStateUnknown) {
+          podChanged();
+        }
+      };
+    }
+
+    private synchronized void podChanged() {
+      podChanges++;
+      notifyAll();
+    }
+
+    private synchronized boolean awaitPodChange(Duration timeout) {
+      long startChanges = podChanges;
+      long deadlineNanos = System.nanoTime() + timeout.toNanos();
+      try {
+        while (podChanges == startChanges) {
+          long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+          if (remainingMs <= 0) {
+            return false;
+          }
+          wait(remainingMs);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for pod changes", e);
+      }
+      return true;
+    }
+
+    private void close() {
+      for (SharedIndexInformer<?> informer : Arrays.asList(pods, services, events)) {
+        if (informer != null) {
+          informer.stop();
+        }
+      }
+      client.close();
+    }
+  }
+}
@@ -5,6 +5,7 @@ package com.yugabyte.yw.common;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.yugabyte.yw.common.helm.HelmUtils;
 import io.fabric8.kubernetes.api.model.LoadBalancerIngress;
@@ -24,12 +25,15 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -45,6 +49,8 @@ public abstract class KubernetesManager {
 
   @Inject play.Configuration appConfig;
 
+  @Inject KubernetesInformerCache informerCache;
+
   public static final Logger LOG = LoggerFactory.getLogger(KubernetesManager.class);
 
   private static final String LEGACY_HELM_CHART_FILENAME = "yugabyte-2.7-helm-legacy.tar.gz";
@@ -489,16 +495,103 @@ public abstract class KubernetesManager {
 
   public abstract void applySecret(Map<String, String> config, String namespace, String pullSecret);
 
-  public abstract Pod getPodObject(Map<String, String> config, String namespace, String podName);
+  /* Reads served from the informer cache when it is enabled. */
+
+  public Pod getPodObject(Map<String, String> config, String namespace, String podName) {
+    if (informerCache.isEnabled()) {
+      return informerCache.getPod(config, namespace, podName);
+    }
+    return fetchPodObject(config, namespace, podName);
+  }
+
+  public List<Pod> getPodInfos(
+      Map<String, String> config, String universePrefix, String namespace) {
+    if (informerCache.isEnabled()) {
+      return informerCache.getPods(config, namespace, ImmutableMap.of("release", universePrefix));
+    }
+    return fetchPodInfos(config, universePrefix, namespace);
+  }
+
+  public List<Service> getServices(
+      Map<String, String> config, String universePrefix, String namespace) {
+    if (informerCache.isEnabled()) {
+      return informerCache.getServices(
+          config, namespace, ImmutableMap.of("release", universePrefix));
+    }
+    return fetchServices(config, universePrefix, namespace);
+  }
+
+  public PodStatus getPodStatus(Map<String, String> config, String namespace, String podName) {
+    return getPodObject(config, namespace, podName).getStatus();
+  }
+
+  public List<Event> getEvents(Map<String, String> config, String namespace) {
+    if (informerCache.isEnabled()) {
+      return informerCache.getEvents(config, namespace);
+    }
+    return fetchEvents(config, namespace);
+  }
+
+  /**
+   * Waits up to the timeout for a pod of the namespace to be added, changed or deleted, after
+   * which a pod check is worth repeating. This is a plain sleep without the informer cache.
+   *
+   * @param sleeper sleeps for the given time, tasks pass their abortable waitFor.
+   * @return true if a pod changed before the timeout.
+   */
+  public boolean waitForPodChange(
+      Map<String, String> config, String namespace, Duration timeout, Consumer<Duration> sleeper) {
+    if (!informerCache.isEnabled()) {
+      sleeper.accept(timeout);
+      return false;
+    }
+    boolean changed = informerCache.awaitPodChange(config, namespace, timeout);
+    // Returns right away, unless the task was aborted during the wait.
+    sleeper.accept(Duration.ZERO);
+    return changed;
+  }
+
+  /**
+   * Checks the condition until it holds, waiting for a pod change or for the interval between
+   * checks. Pod changes only make the checks more frequent: the wait ends after maxIntervals
+   * intervals however many changes happen, like restarts of a crash looping pod. The condition is
+   * checked once more at the end of the wait.
+   *
+   * <p>Static so that tasks keep the deadline when the manager is a mock.
+   *
+   * @param sleeper sleeps for the given time, tasks pass their abortable waitFor.
+   * @return true if the condition held before the deadline.
+   */
+  public static boolean waitForPodCondition(
+      KubernetesManager kubernetesManager,
+      Map<String, String> config,
+      String namespace,
+      Duration interval,
+      int maxIntervals,
+      BooleanSupplier condition,
+      Consumer<Duration> sleeper) {
+    long deadlineNanos = System.nanoTime() + interval.multipliedBy(maxIntervals).toNanos();
+    while (!condition.getAsBoolean()) {
+      long remainingNanos = deadlineNanos - System.nanoTime();
+      if (remainingNanos <= 0) {
+        return false;
+      }
+      Duration timeout = Duration.ofNanos(Math.min(interval.toNanos(), remainingNanos));
+      kubernetesManager.waitForPodChange(config, namespace, timeout, sleeper);
+    }
+    return true;
+  }
+
+  protected abstract Pod fetchPodObject(
+      Map<String, String> config, String namespace, String podName);
 
-  public abstract List<Pod> getPodInfos(
+  protected abstract List<Pod> fetchPodInfos(
       Map<String, String> config, String universePrefix, String namespace);
 
-  public abstract List<Service> getServices(
+  protected abstract List<Service> fetchServices(
       Map<String, String> config, String universePrefix, String namespace);
 
-  public abstract PodStatus getPodStatus(
-      Map<String, String> config, String namespace, String podName);
+  protected abstract List<Event> fetchEvents(Map<String, String> config, String namespace);
 
   /** @return the first that exists of loadBalancer.hostname, loadBalancer.ip, clusterIp */
   public abstract String getPreferredServiceIP(
@@ -527,8 +620,6 @@ public abstract class KubernetesManager {
 
   public abstract void deletePod(Map<String, String> config, String namespace, String podName);
 
-  public abstract List<Event> getEvents(Map<String, String> config, String namespace);
-
   public abstract boolean deleteStatefulSet(
       Map<String, String> config, String namespace, String stsName);
 
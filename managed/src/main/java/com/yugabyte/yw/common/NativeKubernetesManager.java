@@ -7,7 +7,6 @@ import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
@@ -39,6 +38,10 @@ import com.google.common.collect.ImmutableMap;
 @Slf4j
 public class NativeKubernetesManager extends KubernetesManager {
   private KubernetesClient getClient(Map<String, String> config) {
+    return createClient(config);
+  }
+
+  static KubernetesClient createClient(Map<String, String> config) {
     if (config.containsKey("KUBECONFIG") && !config.get("KUBECONFIG").isEmpty()) {
       try {
         String kubeConfigContents =
@@ -74,7 +77,7 @@ public class NativeKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public List<Pod> getPodInfos(
+  protected List<Pod> fetchPodInfos(
       Map<String, String> config, String helmReleaseName, String namespace) {
     try (KubernetesClient client = getClient(config)) {
       return client
@@ -87,7 +90,7 @@ public class NativeKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public List<Service> getServices(
+  protected List<Service> fetchServices(
       Map<String, String> config, String helmReleaseName, String namespace) {
     try (KubernetesClient client = getClient(config)) {
       return client
@@ -100,14 +103,7 @@ public class NativeKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public PodStatus getPodStatus(Map<String, String> config, String namespace, String podName) {
-    try (KubernetesClient client = getClient(config)) {
-      return client.pods().inNamespace(namespace).withName(podName).get().getStatus();
-    }
-  }
-
-  @Override
-  public Pod getPodObject(Map<String, String> config, String namespace, String podName) {
+  protected Pod fetchPodObject(Map<String, String> config, String namespace, String podName) {
     try (KubernetesClient client = getClient(config)) {
       return client.pods().inNamespace(namespace).withName(podName).get();
     }
@@ -218,7 +214,7 @@ public class NativeKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public List<Event> getEvents(Map<String, String> config, String namespace) {
+  protected List<Event> fetchEvents(Map<String, String> config, String namespace) {
     try (KubernetesClient client = getClient(config)) {
       return client.events().v1().events().inNamespace(namespace).list().getItems();
     }
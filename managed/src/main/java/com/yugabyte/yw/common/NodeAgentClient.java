@@ -503,18 +503,8 @@ public class NodeAgentClient {
   }
 
   public void downloadFile(NodeAgent nodeAgent, String inputFile, String outputFile, String user) {
-    ManagedChannel channel = getManagedChannel(nodeAgent, true);
     try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(outputFile))) {
-      NodeAgentStub stub = NodeAgentGrpc.newStub(channel);
-      String id = String.format("%s-%s", nodeAgent.uuid, outputFile);
-      DownloadFileResponseObserver responseObserver =
-          new DownloadFileResponseObserver(id, outputStream);
-      DownloadFileRequest.Builder builder = DownloadFileRequest.newBuilder().setFilename(inputFile);
-      if (StringUtils.isNotBlank(user)) {
-        builder.setUser(user);
-      }
-      stub.downloadFile(builder.build(), responseObserver);
-      responseObserver.waitFor();
+      downloadFile(nodeAgent, inputFile, outputStream, user);
     } catch (IOException e) {
       throw new RuntimeException(
           String.format(
@@ -524,6 +514,32 @@ public class NodeAgentClient {
     }
   }
 
+  /**
+   * Streams the remote file into the output stream as the chunks arrive. The output stream is not
+   * closed.
+   */
+  public void downloadFile(
+      NodeAgent nodeAgent, String inputFile, OutputStream outputStream, String user) {
+    ManagedChannel channel = getManagedChannel(nodeAgent, true);
+    NodeAgentStub stub = NodeAgentGrpc.newStub(channel);
+    String id = String.format("%s-%s", nodeAgent.uuid, inputFile);
+    DownloadFileResponseObserver responseObserver =
+        new DownloadFileResponseObserver(id, outputStream);
+    DownloadFileRequest.Builder builder = DownloadFileRequest.newBuilder().setFilename(inputFile);
+    if (StringUtils.isNotBlank(user)) {
+      builder.setUser(user);
+    }
+    stub.downloadFile(builder.build(), responseObserver);
+    responseObserver.waitFor();
+    if (responseObserver.getThrowable() != null) {
+      throw new RuntimeException(
+          String.format(
+              "Error in downloading file %s. Error: %s",
+              inputFile, responseObserver.getThrowable().getMessage()),
+          responseObserver.getThrowable());
+    }
+  }
+
   public void startUpgrade(NodeAgent nodeAgent, NodeAgentUpgradeParam param) {
     ManagedChannel channel = getManagedChannel(nodeAgent, true);
     NodeAgentBlockingStub stub = NodeAgentGrpc.newBlockingStub(channel);
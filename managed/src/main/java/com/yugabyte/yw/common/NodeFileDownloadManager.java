@@ -0,0 +1,321 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.models.NodeAgent;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Lists and downloads files, like logs, from the universe nodes. Files are streamed into a {@link
+ * NodeFileSink} as they arrive, through the node agent when the node has one. Other nodes send
+ * the files of one request in a single archive whose entries are streamed into the sink, instead
+ * of being extracted on the local disk first. Several nodes are handled at once.
+ */
+@Singleton
+@Slf4j
+public class NodeFileDownloadManager {
+
+  public static final String PARALLELISM_KEY = "yb.node_file_download.parallelism";
+
+  private final NodeUniverseManager nodeUniverseManager;
+
+  private final NodeAgentClient nodeAgentClient;
+
+  private final ExecutorService executor;
+
+  @Inject
+  public NodeFileDownloadManager(
+      NodeUniverseManager nodeUniverseManager,
+      NodeAgentClient nodeAgentClient,
+      PlatformExecutorFactory executorFactory,
+      Config config) {
+    this.nodeUniverseManager = nodeUniverseManager;
+    this.nodeAgentClient = nodeAgentClient;
+    ThreadFactory namedThreadFactory =
+        new ThreadFactoryBuilder().setNameFormat("Node-File-Download-Pool-%d").build();
+    this.executor =
+        executorFactory.createFixedExecutor(
+            "Node-File-Download-Pool", config.getInt(PARALLELISM_KEY), namedThreadFactory);
+  }
+
+  /** A regular file on a node, identified by its path relative to a base directory. */
+  @Value
+  public static class NodeFile {
+    String baseDir;
+    String relativePath;
+    long size;
+
+    public String getPath() {
+      return Paths.get(baseDir, relativePath).toString();
+    }
+  }
+
+  /** Receives the downloaded files. It is called concurrently for different nodes. */
+  public interface NodeFileSink {
+
+    /** Returns true if the file does not need to be downloaded again. */
+    default boolean isDownloaded(NodeDetails node, NodeFile file) throws IOException {
+      return false;
+    }
+
+    /** Returns the stream the file content is written into, it is closed afterwards. */
+    OutputStream open(NodeDetails node, NodeFile file) throws IOException;
+
+    /** Called once the whole file has been written. */
+    default void completed(NodeDetails node, NodeFile file) throws IOException {}
+  }
+
+  @FunctionalInterface
+  public interface NodeAction {
+    void run(NodeDetails node) throws Exception;
+  }
+
+  /**
+   * Returns a sink writing the files of each node under its target directory, at the same path
+   * relative to it as on the node. Files are written under a temporary name and renamed once
+   * complete, so that files already downloaded with the same size are skipped when the download
+   * is retried.
+   */
+  public static NodeFileSink toDirectory(Function<NodeDetails, Path> targetDir) {
+    return new NodeFileSink() {
+      @Override
+      public boolean isDownloaded(NodeDetails node, NodeFile file) throws IOException {
+        Path target = target(node, file);
+        return Files.isRegularFile(target) && Files.size(target) == file.getSize();
+      }
+
+      @Override
+      public OutputStream open(NodeDetails node, NodeFile file) throws IOException {
+        Path partial = partial(target(node, file));
+        Files.createDirectories(partial.getParent());
+        return Files.newOutputStream(partial);
+      }
+
+      @Override
+      public void completed(NodeDetails node, NodeFile file) throws IOException {
+        Path target = target(node, file);
+        Files.move(partial(target), target, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      private Path target(NodeDetails node, NodeFile file) {
+        return targetDir.apply(node).resolve(file.getRelativePath());
+      }
+
+      private Path partial(Path target) {
+        return target.resolveSibling(target.getFileName() + ".part");
+      }
+    };
+  }
+
+  /**
+   * Lists the regular files under the directory on the node. The directory is filtered on the
+   * node, which only returns the files modified after the given date.
+   *
+   * @param baseDir the directory the returned paths are relative to.
+   * @param dir the directory to list, relative to baseDir.
+   * @param maxDepth the maximum depth of the files under dir.
+   * @param modifiedAfter skips the files not modified since, unless null.
+   * @return the files, empty if the directory does not exist.
+   */
+  public List<NodeFile> listFiles(
+      Universe universe,
+      NodeDetails node,
+      String baseDir,
+      String dir,
+      int maxDepth,
+      Date modifiedAfter) {
+    List<String> params = new ArrayList<>();
+    params.add("list_files");
+    params.add(Paths.get(baseDir, dir).toString());
+    params.add(String.valueOf(maxDepth));
+    if (modifiedAfter != null && modifiedAfter.getTime() > 0) {
+      params.add(String.valueOf(TimeUnit.MILLISECONDS.toSeconds(modifiedAfter.getTime())));
+    }
+    ShellResponse response =
+        nodeUniverseManager
+            .runScript(node, universe, NodeUniverseManager.NODE_UTILS_SCRIPT, params)
+            .processErrors("Unable to list files in " + dir + " on " + node.nodeName);
+    return parseFileList(baseDir, response.extractRunCommandOutput());
+  }
+
+  @VisibleForTesting
+  static List<NodeFile> parseFileList(String baseDir, String output) {
+    Path basePath = Paths.get(baseDir);
+    return Arrays.stream(output.split("\n"))
+        .map(String::trim)
+        .filter(StringUtils::isNotEmpty)
+        .map(
+            line -> {
+              // Each line is "<size> <path>", the path can contain spaces.
+              int separator = line.indexOf(' ');
+              long size = Long.parseLong(line.substring(0, separator));
+              Path path = Paths.get(line.substring(separator + 1));
+              return new NodeFile(baseDir, basePath.relativize(path).toString(), size);
+            })
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Runs the action for all the nodes, several nodes at a time, and waits for all of them. The
+   * first failure is rethrown once all the nodes are done. The action must not call the methods
+   * of this class handling several nodes, which would wait on the same pool.
+   */
+  public void forEachNode(Collection<NodeDetails> nodes, NodeAction action) {
+    Map<NodeDetails, Future<?>> futures = new LinkedHashMap<>();
+    for (NodeDetails node : nodes) {
+      futures.put(
+          node,
+          executor.submit(
+              () -> {
+                action.run(node);
+                return null;
+              }));
+    }
+    Throwable firstError = null;
+    for (Map.Entry<NodeDetails, Future<?>> entry : futures.entrySet()) {
+      try {
+        entry.getValue().get();
+      } catch (InterruptedException e) {
+        futures.values().forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for nodes", e);
+      } catch (ExecutionException e) {
+        log.error("Failed on node {}", entry.getKey().nodeName, e.getCause());
+        if (firstError == null) {
+          firstError = e.getCause();
+        }
+      }
+    }
+    if (firstError != null) {
+      Throwables.throwIfUnchecked(firstError);
+      throw new RuntimeException(firstError);
+    }
+  }
+
+  /** Downloads the files of all the given nodes, several nodes at a time. */
+  public void downloadFiles(
+      Universe universe, Map<NodeDetails, List<NodeFile>> filesByNode, NodeFileSink sink) {
+    forEachNode(
+        filesByNode.keySet(),
+        node -> downloadNodeFiles(universe, node, filesByNode.get(node), sink));
+  }
+
+  /** Downloads the files of one node in the calling thread. */
+  public void downloadNodeFiles(
+      Universe universe, NodeDetails node, List<NodeFile> files, NodeFileSink sink)
+      throws IOException {
+    List<NodeFile> pendingFiles = new ArrayList<>();
+    for (NodeFile file : files) {
+      if (!sink.isDownloaded(node, file)) {
+        pendingFiles.add(file);
+      }
+    }
+    if (pendingFiles.isEmpty()) {
+      return;
+    }
+    log.debug(
+        "Downloading {} of {} files from node {}",
+        pendingFiles.size(),
+        files.size(),
+        node.nodeName);
+    Optional<NodeAgent> nodeAgent = nodeUniverseManager.maybeGetNodeAgent(node, universe);
+    if (nodeAgent.isPresent()) {
+      for (NodeFile file : pendingFiles) {
+        try (OutputStream outputStream = sink.open(node, file)) {
+          nodeAgentClient.downloadFile(nodeAgent.get(), file.getPath(), outputStream, null);
+        }
+        sink.completed(node, file);
+      }
+      return;
+    }
+    Map<String, List<NodeFile>> filesByBaseDir =
+        pendingFiles
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    NodeFile::getBaseDir, LinkedHashMap::new, Collectors.toList()));
+    for (Map.Entry<String, List<NodeFile>> entry : filesByBaseDir.entrySet()) {
+      downloadArchive(universe, node, entry.getKey(), entry.getValue(), sink);
+    }
+  }
+
+  // Fetches the files in one archive and streams its entries into the sink.
+  private void downloadArchive(
+      Universe universe, NodeDetails node, String baseDir, List<NodeFile> files, NodeFileSink sink)
+      throws IOException {
+    Map<String, NodeFile> filesByPath =
+        files
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    NodeFile::getRelativePath,
+                    Function.identity(),
+                    (f1, f2) -> f1,
+                    LinkedHashMap::new));
+    Path archive = Files.createTempFile(node.nodeName + "-", ".tar.gz");
+    try {
+      ShellResponse response =
+          nodeUniverseManager.downloadNodeFile(
+              node, universe, baseDir, String.join(";", filesByPath.keySet()), archive.toString());
+      response.processErrors("Unable to download files from " + node.nodeName);
+      if (Files.size(archive) == 0) {
+        // None of the files exist anymore.
+        return;
+      }
+      try (TarArchiveInputStream tarInput =
+          new TarArchiveInputStream(
+              new GzipCompressorInputStream(
+                  new BufferedInputStream(Files.newInputStream(archive))))) {
+        TarArchiveEntry entry;
+        while ((entry = tarInput.getNextTarEntry()) != null) {
+          NodeFile file = filesByPath.get(Paths.get(entry.getName()).normalize().toString());
+          if (file == null || !entry.isFile()) {
+            continue;
+          }
+          try (OutputStream outputStream = sink.open(node, file)) {
+            IOUtils.copy(tarInput, outputStream);
+          }
+          sink.completed(node, file);
+        }
+      }
+    } finally {
+      Files.deleteIfExists(archive);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.yugabyte.yw.metrics.MetricQueryHelper;
+import com.yugabyte.yw.metrics.MetricQueryResponse;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+
+/**
+ * Waits for database processes to be ready during universe tasks. Readiness is read from the
+ * processes themselves, through their metrics endpoint or master RPCs, rather than from the last
+ * Prometheus scrape. Polls start with a short delay which doubles up to MAX_POLL_DELAY, so a check
+ * which passes right away costs little and a long wait does not flood the node.
+ *
+ * <p>The time of each wait is exported by check and result, and the last wait of each check.
+ */
+@Singleton
+@Slf4j
+public class NodeReadinessChecker {
+
+  static final Duration INITIAL_POLL_DELAY = Duration.ofMillis(250);
+
+  static final Duration MAX_POLL_DELAY = Duration.ofSeconds(5);
+
+  private static final int LOG_EVERY_NUM_POLLS = 10;
+
+  static final String FOLLOWER_LAG_METRIC = "follower_lag_ms";
+
+  private static final Histogram WAIT_TIME =
+      Histogram.build("ybp_node_readiness_wait_seconds", "Time spent waiting for a readiness check")
+          .labelNames("check", "result")
+          .buckets(0.5, 1, 5, 15, 30, 60, 120, 300, 600, 900)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Gauge LAST_WAIT_TIME =
+      Gauge.build(
+              "ybp_node_readiness_last_wait_seconds",
+              "Time of the last readiness check wait")
+          .labelNames("check")
+          .register(CollectorRegistry.defaultRegistry);
+
+  public enum Check {
+    FOLLOWER_LAG,
+    SERVER_READY,
+    LOAD_BALANCE;
+
+    private String label() {
+      return name().toLowerCase();
+    }
+  }
+
+  @FunctionalInterface
+  public interface Probe {
+    boolean isReady() throws Exception;
+  }
+
+  private final ApiHelper apiHelper;
+
+  private final MetricQueryHelper metricQueryHelper;
+
+  @Inject
+  public NodeReadinessChecker(ApiHelper apiHelper, MetricQueryHelper metricQueryHelper) {
+    this.apiHelper = apiHelper;
+    this.metricQueryHelper = metricQueryHelper;
+  }
+
+  /**
+   * Polls the probe until it reports ready or the timeout passes. An exception thrown by the probe
+   * ends the wait and is rethrown.
+   *
+   * @param check what is checked, for logs and metrics.
+   * @param target node name, or universe name for universe wide checks, for logs.
+   * @param timeout how long to wait for.
+   * @param sleeper sleeps between polls, tasks pass their abortable waitFor.
+   * @param probe the check itself.
+   * @return true if the probe reported ready, false if the timeout passed first.
+   */
+  public boolean waitFor(
+      Check check, String target, Duration timeout, Consumer<Duration> sleeper, Probe probe)
+      throws Exception {
+    long startNanos = System.nanoTime();
+    Duration delay = INITIAL_POLL_DELAY;
+    String result = "error";
+    int numPolls = 0;
+    try {
+      while (true) {
+        numPolls++;
+        if (probe.isReady()) {
+          result = "ready";
+          log.debug("{} of {} passed after {} polls.", check, target, numPolls);
+          return true;
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        if (elapsed.compareTo(timeout) >= 0) {
+          result = "timeout";
+          log.info("{} of {} timed out after {} polls.", check, target, numPolls);
+          return false;
+        }
+        if (numPolls % LOG_EVERY_NUM_POLLS == 0) {
+          log.info("{} of {} not passed after {} polls in {}.", check, target, numPolls, elapsed);
+        }
+        Duration remaining = timeout.minus(elapsed);
+        sleeper.accept(delay.compareTo(remaining) < 0 ? delay : remaining);
+        delay = delay.multipliedBy(2);
+        if (delay.compareTo(MAX_POLL_DELAY) > 0) {
+          delay = MAX_POLL_DELAY;
+        }
+      }
+    } finally {
+      double seconds = (System.nanoTime() - startNanos) / 1e9;
+      WAIT_TIME.labels(check.label(), result).observe(seconds);
+      LAST_WAIT_TIME.labels(check.label()).set(seconds);
+    }
+  }
+
+  /**
+   * Returns the highest follower lag of the tablets of the process, as the process reports it now.
+   * Falls back to the last Prometheus scrape if the metrics endpoint of the process cannot be read.
+   *
+   * @return the lag, or empty if it is unknown as Prometheus cannot be read or has no data.
+   */
+  public OptionalDouble getFollowerLagMs(String ip, int httpPort) {
+    try {
+      return OptionalDouble.of(getFollowerLagMsFromNode(ip, httpPort));
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to read follower lag from {}:{}, using Prometheus: {}",
+          ip,
+          httpPort,
+          e.getMessage());
+      return getFollowerLagMsFromPrometheus(ip, httpPort);
+    }
+  }
+
+  @VisibleForTesting
+  double getFollowerLagMsFromNode(String ip, int httpPort) {
+    String url = String.format("http://%s:%d/metrics", ip, httpPort);
+    JsonNode response =
+        apiHelper.getRequest(url, new HashMap<>(), ImmutableMap.of("metrics", FOLLOWER_LAG_METRIC));
+    if (response == null || !response.isArray()) {
+      throw new RuntimeException("Unexpected response from " + url + ": " + response);
+    }
+    double followerLagMs = 0;
+    for (JsonNode entity : response) {
+      for (JsonNode metric : entity.path("metrics")) {
+        if (FOLLOWER_LAG_METRIC.equals(metric.path("name").asText())) {
+          followerLagMs = Math.max(followerLagMs, metric.path("value").asDouble());
+        }
+      }
+    }
+    return followerLagMs;
+  }
+
+  private OptionalDouble getFollowerLagMsFromPrometheus(String ip, int httpPort) {
+    String promQuery =
+        String.format(
+            "max by (instance) (%s{instance='%s:%d'})", FOLLOWER_LAG_METRIC, ip, httpPort);
+    try {
+      List<MetricQueryResponse.Entry> response = metricQueryHelper.queryDirect(promQuery);
+      if (!CollectionUtils.isEmpty(response)) {
+        MetricQueryResponse.Entry entry = response.get(0);
+        if (!CollectionUtils.isEmpty(entry.values)) {
+          return OptionalDouble.of(entry.values.get(0).getRight());
+        }
+      }
+    } catch (RuntimeException e) {
+      log.error(e.getMessage());
+    }
+    return OptionalDouble.empty();
+  }
+}
@@ -69,22 +69,19 @@ public class NodeUniverseManager extends DevopsBase {
       String ybHomeDir,
       String sourceNodeFile,
       String targetLocalFile) {
-    universeLock.acquireLock(universe.getUniverseUUID());
-    try {
-      List<String> actionArgs = new ArrayList<>();
-      // yb_home_dir denotes a custom starting directory for the remote file. (Eg: ~/, /mnt/d0,
-      // etc.)
-      actionArgs.add("--yb_home_dir");
-      actionArgs.add(ybHomeDir);
-      actionArgs.add("--source_node_files");
-      actionArgs.add(sourceNodeFile);
-      actionArgs.add("--target_local_file");
-      actionArgs.add(targetLocalFile);
-      return executeNodeAction(
-          UniverseNodeAction.DOWNLOAD_FILE, universe, node, actionArgs, DEFAULT_CONTEXT);
-    } finally {
-      universeLock.releaseLock(universe.getUniverseUUID());
-    }
+    // Not serialized per universe like downloadNodeLogs, the archive created on the node has a
+    // unique name so that files can be downloaded from all the nodes at once.
+    List<String> actionArgs = new ArrayList<>();
+    // yb_home_dir denotes a custom starting directory for the remote file. (Eg: ~/, /mnt/d0,
+    // etc.)
+    actionArgs.add("--yb_home_dir");
+    actionArgs.add(ybHomeDir);
+    actionArgs.add("--source_node_files");
+    actionArgs.add(sourceNodeFile);
+    actionArgs.add("--target_local_file");
+    actionArgs.add(targetLocalFile);
+    return executeNodeAction(
+        UniverseNodeAction.DOWNLOAD_FILE, universe, node, actionArgs, DEFAULT_CONTEXT);
   }
 
   public ShellResponse uploadFileToNode(
@@ -262,6 +259,18 @@ public class NodeUniverseManager extends DevopsBase {
     return provider.getYbHome();
   }
 
+  /**
+   * Returns the node agent through which the node actions are run, if any. Kubernetes pods are
+   * always reached through kubectl.
+   */
+  public Optional<NodeAgent> maybeGetNodeAgent(NodeDetails node, Universe universe) {
+    CloudType cloudType = universe.getNodeDeploymentMode(node);
+    if (cloudType == CloudType.kubernetes || cloudType == Common.CloudType.unknown) {
+      return Optional.empty();
+    }
+    return getNodeAgentClient().maybeGetNodeAgentClient(node.cloudInfo.private_ip);
+  }
+
   private void addConnectionParams(
       Universe universe, NodeDetails node, ShellProcessContext context, List<String> commandArgs) {
     UniverseDefinitionTaskParams.Cluster cluster =
@@ -0,0 +1,175 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * Index of the nodes of one cluster by AZ, used to pick nodes while the cluster is configured
+ * according to its placement. Lookups only look at the nodes of the AZ, and the order in which
+ * nodes of an AZ are picked is computed once and reused for all the lookups.
+ *
+ * <p>The index is immutable, updates return a new index which shares the untouched AZs with this
+ * one. It relies on AZ, index and master flag of the nodes not changing while it is used. Node
+ * state may change, it is checked on each lookup.
+ */
+public class PlacementIndex {
+
+  @Getter private final UUID clusterUuid;
+
+  // Nodes by AZ, in the order of the collection the index was built from.
+  private final Map<UUID, List<NodeDetails>> nodesByAz;
+
+  // Selection order of the nodes of an AZ, see PlacementInfoUtil.findNodeInAz.
+  private final Map<UUID, List<NodeDetails>> mastersFirst;
+  private final Map<UUID, List<NodeDetails>> tserversFirst;
+
+  private final Map<String, Optional<NodeDetails>> imageSourceByRegion = new ConcurrentHashMap<>();
+
+  private PlacementIndex(
+      UUID clusterUuid,
+      Map<UUID, List<NodeDetails>> nodesByAz,
+      Map<UUID, List<NodeDetails>> mastersFirst,
+      Map<UUID, List<NodeDetails>> tserversFirst) {
+    this.clusterUuid = clusterUuid;
+    this.nodesByAz = nodesByAz;
+    this.mastersFirst = mastersFirst;
+    this.tserversFirst = tserversFirst;
+  }
+
+  /** Builds the index of the nodes which belong to the given cluster. */
+  public static PlacementIndex of(UUID clusterUuid, Collection<NodeDetails> nodes) {
+    Map<UUID, List<NodeDetails>> nodesByAz = new LinkedHashMap<>();
+    for (NodeDetails node : nodes) {
+      if (node.isInPlacement(clusterUuid)) {
+        nodesByAz.computeIfAbsent(node.azUuid, az -> new ArrayList<>()).add(node);
+      }
+    }
+    nodesByAz.replaceAll((az, azNodes) -> Collections.unmodifiableList(azNodes));
+    return new PlacementIndex(
+        clusterUuid,
+        Collections.unmodifiableMap(nodesByAz),
+        new ConcurrentHashMap<>(),
+        new ConcurrentHashMap<>());
+  }
+
+  public List<NodeDetails> getNodes(UUID azUuid) {
+    return nodesByAz.getOrDefault(azUuid, Collections.emptyList());
+  }
+
+  public Set<UUID> getAzUuids() {
+    return nodesByAz.keySet();
+  }
+
+  /**
+   * Same as PlacementInfoUtil.findNodeInAz over the nodes of this index.
+   *
+   * @param nodeFilter
+   * @param azUuid
+   * @param mastersPreferable
+   * @return the first node of the AZ in selection order which passes the filter, or null.
+   */
+  public NodeDetails findNode(
+      Predicate<NodeDetails> nodeFilter, UUID azUuid, boolean mastersPreferable) {
+    Map<UUID, List<NodeDetails>> memo = mastersPreferable ? mastersFirst : tserversFirst;
+    List<NodeDetails> candidates =
+        memo.computeIfAbsent(azUuid, az -> selectionOrder(getNodes(az), mastersPreferable));
+    for (NodeDetails node : candidates) {
+      if (nodeFilter.test(node)) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /** Returns the first node of the AZ which passes the filter, in the order nodes were indexed. */
+  public NodeDetails findFirst(Predicate<NodeDetails> nodeFilter, UUID azUuid) {
+    for (NodeDetails node : getNodes(azUuid)) {
+      if (nodeFilter.test(node)) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /** Returns a node of the region which has a machine image, new nodes of the region reuse it. */
+  public NodeDetails getMachineImageSource(String regionCode) {
+    return imageSourceByRegion
+        .computeIfAbsent(
+            regionCode,
+            region ->
+                nodesByAz
+                    .values()
+                    .stream()
+                    .flatMap(List::stream)
+                    .filter(n -> region.equals(n.getRegion()) && n.machineImage != null)
+                    .findFirst())
+        .orElse(null);
+  }
+
+  public PlacementIndex withNodeAdded(NodeDetails node) {
+    if (!node.isInPlacement(clusterUuid)) {
+      throw new IllegalArgumentException(
+          "Node " + node.nodeName + " does not belong to cluster " + clusterUuid);
+    }
+    List<NodeDetails> azNodes = new ArrayList<>(getNodes(node.azUuid));
+    azNodes.add(node);
+    return withAzNodes(node.azUuid, azNodes);
+  }
+
+  public PlacementIndex withNodeRemoved(NodeDetails node) {
+    List<NodeDetails> azNodes =
+        getNodes(node.azUuid).stream().filter(n -> n != node).collect(Collectors.toList());
+    return withAzNodes(node.azUuid, azNodes);
+  }
+
+  /** Returns the index without the nodes of the AZ, for example after the AZ left the placement. */
+  public PlacementIndex withoutAz(UUID azUuid) {
+    return withAzNodes(azUuid, Collections.emptyList());
+  }
+
+  private PlacementIndex withAzNodes(UUID azUuid, List<NodeDetails> azNodes) {
+    Map<UUID, List<NodeDetails>> newNodesByAz = new LinkedHashMap<>(nodesByAz);
+    if (azNodes.isEmpty()) {
+      newNodesByAz.remove(azUuid);
+    } else {
+      newNodesByAz.put(azUuid, Collections.unmodifiableList(azNodes));
+    }
+    return new PlacementIndex(
+        clusterUuid,
+        Collections.unmodifiableMap(newNodesByAz),
+        copyMemoWithout(mastersFirst, azUuid),
+        copyMemoWithout(tserversFirst, azUuid));
+  }
+
+  private static Map<UUID, List<NodeDetails>> copyMemoWithout(
+      Map<UUID, List<NodeDetails>> memo, UUID azUuid) {
+    Map<UUID, List<NodeDetails>> result = new ConcurrentHashMap<>(memo);
+    result.remove(azUuid);
+    return result;
+  }
+
+  private static List<NodeDetails> selectionOrder(
+      List<NodeDetails> nodes, boolean mastersPreferable) {
+    List<NodeDetails> result = new ArrayList<>(nodes);
+    result.sort(
+        Comparator.comparing((NodeDetails node) -> node.isMaster == mastersPreferable)
+            .thenComparing(NodeDetails::getNodeIdx)
+            .reversed());
+    return Collections.unmodifiableList(result);
+  }
+}
@@ -1143,22 +1143,18 @@ public class PlacementInfoUtil {
    * Remove a tserver-only node that belongs to the given AZ from the collection of nodes.
    *
    * @param nodes the list of nodes from which to choose the victim.
-   * @param clusterUUID filter nodes by cluster UUID.
+   * @param remaining index of the cluster nodes which are still in the collection.
    * @param targetAZUuid AZ in which the node should be present.
+   * @return the index without the removed node.
    */
-  private static void removeNodeInAZ(
-      Collection<NodeDetails> nodes, UUID clusterUUID, UUID targetAZUuid) {
-    Iterator<NodeDetails> nodeIter = nodes.iterator();
-    while (nodeIter.hasNext()) {
-      NodeDetails currentNode = nodeIter.next();
-      if (currentNode.isInPlacement(clusterUUID)
-          && currentNode.azUuid.equals(targetAZUuid)
-          && !currentNode.isMaster) {
-        nodeIter.remove();
-
-        return;
-      }
+  private static PlacementIndex removeNodeInAZ(
+      Collection<NodeDetails> nodes, PlacementIndex remaining, UUID targetAZUuid) {
+    NodeDetails node = remaining.findFirst(n -> !n.isMaster, targetAZUuid);
+    if (node == null) {
+      return remaining;
     }
+    nodes.remove(node);
+    return remaining.withNodeRemoved(node);
   }
 
   public static Map<UUID, PlacementAZ> getPlacementAZMap(PlacementInfo placementInfo) {
@@ -1208,6 +1204,10 @@ public class PlacementInfoUtil {
                 .stream()
                 .filter(n -> n.placementUuid.equals(cluster.uuid))
                 .collect(Collectors.toSet()));
+    // Nodes to revert or decommission are picked among the nodes the cluster had before this call,
+    // the ones removed from the collection are tracked separately.
+    PlacementIndex placementIndex = PlacementIndex.of(cluster.uuid, nodes);
+    PlacementIndex remaining = placementIndex;
     Set<NodeDetails> deltaNodesSet = new HashSet<>();
     int startIndex = getNextIndexToConfigure(nodesInCluster);
     int iter = 0;
@@ -1222,13 +1222,12 @@ public class PlacementInfoUtil {
         // type, we can simply revert their state back to the state from the stored universe.
         if (universe != null) {
           NodeDetails nodeDetails =
-              findNodeInAz(
+              placementIndex.findNode(
                   node ->
                       node.state == NodeState.ToBeRemoved
                           && node.isTserver
                           && Objects.equals(
                               node.cloudInfo.instance_type, cluster.userIntent.instanceType),
-                  nodesInCluster,
                   placementAZ.uuid,
                   true);
           if (nodeDetails != null) {
@@ -1243,25 +1242,22 @@ public class PlacementInfoUtil {
         if (!added) {
           NodeDetails nodeDetails =
               createNodeDetailsWithPlacementIndex(
-                  cluster, nodesInCluster, index, startIndex + iter);
+                  cluster, placementIndex, index, startIndex + iter);
           deltaNodesSet.add(nodeDetails);
         }
       } else if (index.action == Action.REMOVE) {
         boolean removed = false;
         if (universe != null) {
           NodeDetails nodeDetails =
-              findNodeInAz(
-                  node -> node.isActive() && node.isTserver,
-                  nodesInCluster,
-                  placementAZ.uuid,
-                  false);
+              placementIndex.findNode(
+                  node -> node.isActive() && node.isTserver, placementAZ.uuid, false);
           if (nodeDetails == null || !nodeDetails.state.equals(NodeState.ToBeAdded)) {
-            decommissionNodeInAZ(nodesInCluster, placementAZ.uuid);
+            decommissionNodeInAZ(placementIndex, placementAZ.uuid);
             removed = true;
           }
         }
         if (!removed) {
-          removeNodeInAZ(nodes, cluster.uuid, placementAZ.uuid);
+          remaining = removeNodeInAZ(nodes, remaining, placementAZ.uuid);
         }
       }
       iter++;
@@ -1269,14 +1265,20 @@ public class PlacementInfoUtil {
 
     nodes.addAll(deltaNodesSet);
 
+    // Added nodes all go to placement AZs, so only the remaining nodes need to be checked.
     Set<UUID> existingAZs =
         cluster.placementInfo.azStream().map(p -> p.uuid).collect(Collectors.toSet());
-    for (Iterator<NodeDetails> it = nodes.iterator(); it.hasNext(); ) {
-      NodeDetails node = it.next();
-      if (node.isInPlacement(cluster.uuid) && !existingAZs.contains(node.azUuid)) {
+    List<UUID> removedAZs =
+        remaining
+            .getAzUuids()
+            .stream()
+            .filter(azUuid -> !existingAZs.contains(azUuid))
+            .collect(Collectors.toList());
+    for (UUID azUuid : removedAZs) {
+      for (NodeDetails node : remaining.getNodes(azUuid)) {
         if (universe == null || node.state == NodeState.ToBeAdded) {
           // Just removing it - it doesn't still exist.
-          it.remove();
+          nodes.remove(node);
         } else {
           if (node.isActive() && !node.isInTransit()) {
             node.state = NodeState.ToBeRemoved;
@@ -1448,10 +1450,13 @@ public class PlacementInfoUtil {
    * @param nodes the list of nodes from which to choose the victim.
    * @param targetAZUuid AZ in which the node should be present.
    */
-  private static void decommissionNodeInAZ(Collection<NodeDetails> nodes, UUID targetAZUuid) {
-    NodeDetails nodeDetails = findNodeInAz(NodeDetails::isActive, nodes, targetAZUuid, false);
+  private static void decommissionNodeInAZ(PlacementIndex placementIndex, UUID targetAZUuid) {
+    NodeDetails nodeDetails = placementIndex.findNode(NodeDetails::isActive, targetAZUuid, false);
     if (nodeDetails == null) {
-      LOG.error("Could not find an active node in AZ {}. All nodes: {}.", targetAZUuid, nodes);
+      LOG.error(
+          "Could not find an active node in AZ {}. AZ nodes: {}.",
+          targetAZUuid,
+          placementIndex.getNodes(targetAZUuid));
       throw new IllegalStateException("Should find an active running tserver.");
     } else {
       nodeDetails.state = NodeDetails.NodeState.ToBeRemoved;
@@ -1463,13 +1468,14 @@ public class PlacementInfoUtil {
    * Method takes a placementIndex and returns a NodeDetail object for it in order to add a node.
    *
    * @param cluster The current cluster.
+   * @param placementIndex Index of the current cluster nodes.
    * @param index The placement index combination.
    * @param nodeIdx Node index to be used in node name.
    * @return a NodeDetails object.
    */
   private static NodeDetails createNodeDetailsWithPlacementIndex(
       Cluster cluster,
-      Collection<NodeDetails> nodeDetailsSet,
+      PlacementIndex placementIndex,
       PlacementIndexes index,
       int nodeIdx) {
     NodeDetails nodeDetails = new NodeDetails();
@@ -1484,13 +1490,10 @@ public class PlacementInfoUtil {
     PlacementRegion placementRegion = placementCloud.regionList.get(index.regionIdx);
     nodeDetails.cloudInfo.region = placementRegion.code;
     // Set machineImage if it exists for region
-    for (NodeDetails existingNode : nodeDetailsSet) {
-      if (existingNode.getRegion().equals(placementRegion.code)
-          && existingNode.machineImage != null) {
-        nodeDetails.machineImage = existingNode.machineImage;
-        nodeDetails.ybPrebuiltAmi = existingNode.ybPrebuiltAmi;
-        break;
-      }
+    NodeDetails imageSource = placementIndex.getMachineImageSource(placementRegion.code);
+    if (imageSource != null) {
+      nodeDetails.machineImage = imageSource.machineImage;
+      nodeDetails.ybPrebuiltAmi = imageSource.ybPrebuiltAmi;
     }
     // Set the AZ and the subnet.
     PlacementAZ placementAZ = placementRegion.azList.get(index.azIdx);
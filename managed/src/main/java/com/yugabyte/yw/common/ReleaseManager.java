@@ -4,6 +4,8 @@ package com.yugabyte.yw.common;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import com.yugabyte.yw.cloud.PublicCloudConstants.Architecture;
 import com.yugabyte.yw.commissioner.Commissioner;
@@ -35,11 +37,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -72,6 +80,22 @@ public class ReleaseManager {
   private final AWSUtil awsUtil;
   private final GCPUtil gcpUtil;
 
+  // Snapshots of the release metadata by config type, so that reads do not go to the DB and do
+  // not wait for release operations. Snapshots are replaced on every write done here, and expire
+  // to pick up changes made to the DB otherwise, like a HA backup restore.
+  private final Cache<ConfigHelper.ConfigType, Map<String, Object>> releasesSnapshots =
+      CacheBuilder.newBuilder().expireAfterWrite(30, TimeUnit.SECONDS).build();
+
+  // Serializes the read-modify-write of the release metadata maps. Held only while the map is
+  // updated, never during downloads or file copies.
+  private final Object releasesWriteLock = new Object();
+
+  // Serializes operations on a single release, like a helm chart download and its removal.
+  private final Map<String, Object> versionLocks = new ConcurrentHashMap<>();
+
+  // Only one local release import at a time, it does not block other release operations.
+  private final Object importLock = new Object();
+
   @Inject
   public ReleaseManager(
       ConfigHelper configHelper,
@@ -389,12 +413,27 @@ public class ReleaseManager {
     return getReleaseMetadata(CONFIG_TYPE);
   }
 
+  /**
+   * Returns a copy of the current release metadata map, which the caller may modify. Served from a
+   * snapshot, without locking.
+   */
   public Map<String, Object> getReleaseMetadata(ConfigHelper.ConfigType configType) {
-    Map<String, Object> releases = configHelper.getConfig(configType);
-    if (releases == null || releases.isEmpty()) {
+    try {
+      return new HashMap<>(
+          releasesSnapshots.get(
+              configType, () -> Collections.unmodifiableMap(loadReleaseMetadata(configType))));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private Map<String, Object> loadReleaseMetadata(ConfigHelper.ConfigType configType) {
+    Map<String, Object> config = configHelper.getConfig(configType);
+    if (config == null || config.isEmpty()) {
       log.debug("getReleaseMetadata: No releases found");
       return new HashMap<>();
     }
+    Map<String, Object> releases = new HashMap<>(config);
     releases.forEach(
         (version, metadata) -> {
           if (metadata instanceof String) {
@@ -405,6 +444,38 @@ public class ReleaseManager {
     return releases;
   }
 
+  /**
+   * Applies the update to the release metadata read from the DB and stores the result. Concurrent
+   * updates are serialized, reads keep using the previous snapshot until the update is stored.
+   */
+  private void modifyReleaseMetadata(
+      ConfigHelper.ConfigType configType, Consumer<Map<String, Object>> update) {
+    synchronized (releasesWriteLock) {
+      Map<String, Object> releases = loadReleaseMetadata(configType);
+      update.accept(releases);
+      configHelper.loadConfigToDB(configType, releases);
+      // Stored the way it is read back from the DB, so that the snapshot shares no objects with
+      // the callers.
+      Map<String, Object> snapshot = Json.fromJson(Json.toJson(releases), Map.class);
+      releasesSnapshots.put(configType, Collections.unmodifiableMap(snapshot));
+    }
+  }
+
+  private Object getVersionLock(String version) {
+    return versionLocks.computeIfAbsent(version, v -> new Object());
+  }
+
+  /** Runs the action holding the locks of all the versions, taken in the iteration order. */
+  private void withVersionLocks(Iterator<String> versions, Runnable action) {
+    if (!versions.hasNext()) {
+      action.run();
+      return;
+    }
+    synchronized (getVersionLock(versions.next())) {
+      withVersionLocks(versions, action);
+    }
+  }
+
   /**
    * It enforces the following two conditions: 1. Proper formatting of the .tar.gz package name. 2.
    * Proper formatting of the DB version in the .tar.gz package name. It also checks and prints a
@@ -565,33 +636,54 @@ public class ReleaseManager {
     }
   }
 
-  public synchronized void addReleaseWithMetadata(String version, ReleaseMetadata metadata) {
-    Map<String, Object> currentReleases = getReleaseMetadata();
-    if (currentReleases.containsKey(version)) {
-      throw new PlatformServiceException(
-          Status.BAD_REQUEST, String.format("Release already exists for version %s", version));
+  public void addReleaseWithMetadata(String version, ReleaseMetadata metadata) {
+    synchronized (getVersionLock(version)) {
+      if (getReleaseMetadata().containsKey(version)) {
+        throw releaseExists(version);
+      }
+      log.info("Adding release version {} with metadata {}", version, metadata.toString());
+      // Other releases can be added and removed during the download.
+      downloadYbHelmChart(version, metadata);
+      modifyReleaseMetadata(
+          ConfigHelper.ConfigType.SoftwareReleases,
+          currentReleases -> {
+            // Imported from the local releases during the download.
+            if (currentReleases.containsKey(version)) {
+              throw releaseExists(version);
+            }
+            currentReleases.put(version, metadata);
+          });
     }
-    log.info("Adding release version {} with metadata {}", version, metadata.toString());
-    downloadYbHelmChart(version, metadata);
-    currentReleases.put(version, metadata);
-    configHelper.loadConfigToDB(ConfigHelper.ConfigType.SoftwareReleases, currentReleases);
   }
 
-  public synchronized void removeRelease(String version) {
-    Map<String, Object> currentReleases = getReleaseMetadata();
+  private static PlatformServiceException releaseExists(String version) {
+    return new PlatformServiceException(
+        Status.BAD_REQUEST, String.format("Release already exists for version %s", version));
+  }
+
+  public void removeRelease(String version) {
     String ybReleasesPath = appConfig.getString("yb.releases.path");
-    if (currentReleases.containsKey(version)) {
-      log.info("Removing release version {}", version);
-      currentReleases.remove(version);
-      configHelper.loadConfigToDB(ConfigHelper.ConfigType.SoftwareReleases, currentReleases);
+    synchronized (getVersionLock(version)) {
+      if (getReleaseMetadata().containsKey(version)) {
+        log.info("Removing release version {}", version);
+        modifyReleaseMetadata(
+            ConfigHelper.ConfigType.SoftwareReleases,
+            currentReleases -> currentReleases.remove(version));
+      }
+
+      // delete specific release's directory recursively.
+      File releaseDirectory = new File(ybReleasesPath, version);
+      FileUtils.deleteDirectory(releaseDirectory);
     }
+  }
 
-    // delete specific release's directory recursively.
-    File releaseDirectory = new File(ybReleasesPath, version);
-    FileUtils.deleteDirectory(releaseDirectory);
+  public void importLocalReleases() {
+    synchronized (importLock) {
+      importLocalReleasesInternal();
+    }
   }
 
-  public synchronized void importLocalReleases() {
+  private void importLocalReleasesInternal() {
     String ybReleasesPath = appConfig.getString("yb.releases.path");
     String ybReleasePath = appConfig.getString("yb.docker.release");
     String ybHelmChartPath = appConfig.getString("yb.helm.packagePath");
@@ -709,9 +801,20 @@ public class ReleaseManager {
           // Add gFlag metadata for newly added release.
           addGFlagsMetadataFiles(version, localReleases.get(version));
         }
-        log.info("Importing local releases: [ {} ]", Json.toJson(localReleases));
-        localReleases.forEach(currentReleases::put);
-        configHelper.loadConfigToDB(ConfigHelper.ConfigType.SoftwareReleases, currentReleases);
+        withVersionLocks(
+            new TreeSet<>(localReleases.keySet()).iterator(),
+            () -> {
+              // Releases removed during the import, together with their files, are not added back.
+              localReleases.values().removeIf(release -> !new File(release.filePath).exists());
+              if (localReleases.isEmpty()) {
+                return;
+              }
+              log.info("Importing local releases: [ {} ]", Json.toJson(localReleases));
+              // Releases added through the API during the import are kept.
+              modifyReleaseMetadata(
+                  ConfigHelper.ConfigType.SoftwareReleases,
+                  releases -> localReleases.forEach(releases::putIfAbsent));
+            });
       }
     }
 
@@ -734,9 +837,9 @@ public class ReleaseManager {
         log.info("Local ybc releases: [ {} ]", localYbcReleases.keySet().toString());
         if (!localYbcReleases.isEmpty()) {
           log.info("Importing local releases: [ {} ]", Json.toJson(localYbcReleases));
-          currentYbcReleases.putAll(localYbcReleases);
-          configHelper.loadConfigToDB(
-              ConfigHelper.ConfigType.YbcSoftwareReleases, currentYbcReleases);
+          modifyReleaseMetadata(
+              ConfigHelper.ConfigType.YbcSoftwareReleases,
+              releases -> releases.putAll(localYbcReleases));
         }
       } else {
         log.warn(
@@ -748,8 +851,11 @@ public class ReleaseManager {
   }
 
   /** Idempotent method to update all releases with packages if possible. */
-  public synchronized void updateCurrentReleases() {
-    Map<String, Object> currentReleases = getReleaseMetadata();
+  public void updateCurrentReleases() {
+    modifyReleaseMetadata(ConfigHelper.ConfigType.SoftwareReleases, this::updateReleasePackages);
+  }
+
+  private void updateReleasePackages(Map<String, Object> currentReleases) {
     Map<String, Object> updatedReleases = new HashMap<>();
     currentReleases.forEach(
         (version, object) -> {
@@ -778,7 +884,7 @@ public class ReleaseManager {
           }
           updatedReleases.put(version, rm);
         });
-    configHelper.loadConfigToDB(ConfigHelper.ConfigType.SoftwareReleases, updatedReleases);
+    currentReleases.putAll(updatedReleases);
   }
 
   public void addGFlagsMetadataFiles(String version, ReleaseMetadata releaseMetadata) {
@@ -808,7 +914,7 @@ public class ReleaseManager {
     }
   }
 
-  public synchronized InputStream getTarGZipDBPackageInputStream(
+  public InputStream getTarGZipDBPackageInputStream(
       String version, ReleaseMetadata releaseMetadata) throws Exception {
     if (releaseMetadata.s3 != null) {
       CustomerConfigStorageS3Data configData = new CustomerConfigStorageS3Data();
@@ -835,11 +941,13 @@ public class ReleaseManager {
     }
   }
 
-  public synchronized void updateReleaseMetadata(String version, ReleaseMetadata newData) {
-    Map<String, Object> currentReleases = getReleaseMetadata();
-    if (currentReleases.containsKey(version)) {
-      currentReleases.put(version, newData);
-      configHelper.loadConfigToDB(ConfigHelper.ConfigType.SoftwareReleases, currentReleases);
+  public void updateReleaseMetadata(String version, ReleaseMetadata newData) {
+    synchronized (getVersionLock(version)) {
+      if (getReleaseMetadata().containsKey(version)) {
+        modifyReleaseMetadata(
+            ConfigHelper.ConfigType.SoftwareReleases,
+            currentReleases -> currentReleases.replace(version, newData));
+      }
     }
   }
 
@@ -17,7 +17,6 @@ import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimCondition;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
-import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceList;
@@ -108,7 +107,7 @@ public class ShellKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public List<Pod> getPodInfos(
+  protected List<Pod> fetchPodInfos(
       Map<String, String> config, String helmReleaseName, String namespace) {
     List<String> commandList =
         ImmutableList.of(
@@ -127,7 +126,7 @@ public class ShellKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public List<Service> getServices(
+  protected List<Service> fetchServices(
       Map<String, String> config, String helmReleaseName, String namespace) {
     List<String> commandList =
         ImmutableList.of(
@@ -145,7 +144,7 @@ public class ShellKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public Pod getPodObject(Map<String, String> config, String namespace, String podName) {
+  protected Pod fetchPodObject(Map<String, String> config, String namespace, String podName) {
     List<String> commandList =
         ImmutableList.of("kubectl", "get", "pod", "--namespace", namespace, "-o", "json", podName);
     ShellResponse response =
@@ -153,11 +152,6 @@ public class ShellKubernetesManager extends KubernetesManager {
     return deserialize(response.message, Pod.class);
   }
 
-  @Override
-  public PodStatus getPodStatus(Map<String, String> config, String namespace, String podName) {
-    return getPodObject(config, namespace, podName).getStatus();
-  }
-
   @Override
   public String getPreferredServiceIP(
       Map<String, String> config,
@@ -269,7 +263,7 @@ public class ShellKubernetesManager extends KubernetesManager {
   }
 
   @Override
-  public List<Event> getEvents(Map<String, String> config, String namespace) {
+  protected List<Event> fetchEvents(Map<String, String> config, String namespace) {
     List<String> commandList =
         ImmutableList.of("kubectl", "get", "events", "-n", namespace, "-o", "json");
     ShellResponse response =
@@ -14,6 +14,7 @@ import com.google.inject.Singleton;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.Common.CloudType;
 import com.yugabyte.yw.common.KubernetesManager.RoleData;
+import com.yugabyte.yw.common.NodeFileDownloadManager.NodeFile;
 import com.yugabyte.yw.controllers.handlers.UniverseInfoHandler;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
 import com.yugabyte.yw.models.helpers.CloudInfoInterface;
@@ -354,6 +355,31 @@ public class SupportBundleUtil {
     return filteredLogFilePaths;
   }
 
+  /**
+   * Filters a list of node files with regex pattern/s and between given start and end dates, same
+   * as {@link #filterFilePathsBetweenDates}.
+   *
+   * @param nodeFiles list of node files to filter.
+   * @param fileRegexList list of regex strings to match against any of them.
+   * @param startDate the start date to filter from (inclusive).
+   * @param endDate the end date to filter till (inclusive).
+   * @return list of node files after filtering based on dates.
+   * @throws ParseException
+   */
+  public List<NodeFile> filterNodeFilesBetweenDates(
+      List<NodeFile> nodeFiles, List<String> fileRegexList, Date startDate, Date endDate)
+      throws ParseException {
+    Map<Path, NodeFile> nodeFilesByPath =
+        nodeFiles
+            .stream()
+            .collect(Collectors.toMap(f -> Paths.get(f.getPath()), f -> f, (f1, f2) -> f1));
+    return filterFilePathsBetweenDates(
+            new ArrayList<>(nodeFilesByPath.keySet()), fileRegexList, startDate, endDate)
+        .stream()
+        .map(nodeFilesByPath::get)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Ensures that all directories exist along the given path by creating them if absent.
    *
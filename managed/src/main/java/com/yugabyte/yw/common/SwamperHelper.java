@@ -39,8 +39,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -104,6 +106,7 @@ public class SwamperHelper {
   private final RuntimeConfigFactory runtimeConfigFactory;
   private final Environment environment;
   private final RuntimeConfGetter confGetter;
+  private final Map<String, String> ruleTemplates = new ConcurrentHashMap<>();
 
   @Inject
   public SwamperHelper(
@@ -336,29 +339,20 @@ public class SwamperHelper {
       AlertConfiguration configuration,
       AlertDefinition definition,
       AlertTemplateSettings templateSettings) {
-    String swamperFile = getAlertRuleFile(definition.getUuid());
-    if (swamperFile == null) {
-      return;
-    }
-
-    String fileContent;
-    try (InputStream templateStream =
-        environment.resourceAsStream("alert/alert_definition_header.yml")) {
-      fileContent = IOUtils.toString(templateStream, StandardCharsets.UTF_8);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to read alert definition header template", e);
-    }
+    writeAlertDefinition(
+        definition.getUuid(), renderAlertDefinition(configuration, definition, templateSettings));
+  }
 
-    String template;
-    try (InputStream templateStream =
-        environment.resourceAsStream("alert/alert_definition_rule.yml")) {
-      template = IOUtils.toString(templateStream, StandardCharsets.UTF_8);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to read alert definition rule template", e);
-    }
+  /** Builds the content of the definition rules file, without writing it. */
+  public String renderAlertDefinition(
+      AlertConfiguration configuration,
+      AlertDefinition definition,
+      AlertTemplateSettings templateSettings) {
+    String header = readTemplate("alert/alert_definition_header.yml", "header");
+    String template = readTemplate("alert/alert_definition_rule.yml", "rule");
 
-    fileContent +=
-        configuration
+    return header
+        + configuration
             .getThresholds()
             .keySet()
             .stream()
@@ -370,11 +364,31 @@ public class SwamperHelper {
                   return substitutor.replace(template);
                 })
             .collect(Collectors.joining());
+  }
 
+  public void writeAlertDefinition(UUID definitionUUID, String fileContent) {
+    String swamperFile = getAlertRuleFile(definitionUUID);
+    if (swamperFile == null) {
+      return;
+    }
     writeFile(swamperFile, fileContent);
   }
 
-  public void removeAlertDefinition(UUID definitionUUID) {
+  // Templates are bundled resources, which don't change while running.
+  private String readTemplate(String resource, String name) {
+    return ruleTemplates.computeIfAbsent(
+        resource,
+        r -> {
+          try (InputStream templateStream = environment.resourceAsStream(r)) {
+            return IOUtils.toString(templateStream, StandardCharsets.UTF_8);
+          } catch (IOException e) {
+            throw new RuntimeException("Failed to read alert definition " + name + " template", e);
+          }
+        });
+  }
+
+  /** Returns true if the definition had a rules file. */
+  public boolean removeAlertDefinition(UUID definitionUUID) {
     String swamperFile = getAlertRuleFile(definitionUUID);
     if (swamperFile != null) {
       File file = new File(swamperFile);
@@ -382,8 +396,10 @@ public class SwamperHelper {
       if (file.exists()) {
         file.delete();
         LOG.info("Swamper Rules file deleted: {}", swamperFile);
+        return true;
       }
     }
+    return false;
   }
 
   public List<UUID> getAlertDefinitionConfigUuids() {
@@ -0,0 +1,127 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.yugabyte.yw.commissioner.tasks.XClusterConfigTaskBase;
+import com.yugabyte.yw.common.config.GlobalConfKeys;
+import com.yugabyte.yw.common.config.RuntimeConfGetter;
+import com.yugabyte.yw.common.services.YBClientService;
+import com.yugabyte.yw.models.XClusterConfig;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshot of the replication status of xCluster configs, i.e. which tables have fallen far enough
+ * behind to need a bootstrap. Viewing a config reads the snapshot instead of querying the source
+ * universe masters each time. A snapshot is kept for yb.xcluster.replication_status_cache_ttl and
+ * only while the streams of the config are the same; concurrent requests for a config share one
+ * query. Failed queries are not cached.
+ */
+@Singleton
+@Slf4j
+public class XClusterReplicationStatusCache {
+
+  private final YBClientService ybService;
+
+  private final RuntimeConfGetter confGetter;
+
+  private final ExecutorService executor;
+
+  private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+  private static class Snapshot {
+    private final Map<String, String> tableIdStreamIdMap;
+    private final CompletableFuture<Map<String, Boolean>> isBootstrapRequiredMap;
+    private final long createdNanos = System.nanoTime();
+
+    private Snapshot(
+        Map<String, String> tableIdStreamIdMap,
+        CompletableFuture<Map<String, Boolean>> isBootstrapRequiredMap) {
+      this.tableIdStreamIdMap = tableIdStreamIdMap;
+      this.isBootstrapRequiredMap = isBootstrapRequiredMap;
+    }
+
+    private boolean isExpired(long ttlNanos) {
+      return System.nanoTime() - createdNanos >= ttlNanos
+          || isBootstrapRequiredMap.isCompletedExceptionally();
+    }
+  }
+
+  @Inject
+  public XClusterReplicationStatusCache(
+      YBClientService ybService,
+      RuntimeConfGetter confGetter,
+      PlatformExecutorFactory platformExecutorFactory) {
+    this.ybService = ybService;
+    this.confGetter = confGetter;
+    this.executor =
+        platformExecutorFactory.createFixedExecutor(
+            "XClusterReplicationStatus",
+            confGetter.getGlobalConf(GlobalConfKeys.xClusterReplicationStatusParallelism),
+            new ThreadFactoryBuilder().setNameFormat("XClusterReplicationStatus-%d").build());
+  }
+
+  /**
+   * Returns whether the given tables of the config need bootstrap, as XClusterConfigTaskBase
+   * isBootstrapRequired does. The source universe is queried in the background, so callers can do
+   * other work before they wait for the result.
+   */
+  public CompletableFuture<Map<String, Boolean>> getIsBootstrapRequiredMap(
+      XClusterConfig xClusterConfig, Set<String> tableIds) {
+    Map<String, String> tableIdStreamIdMap =
+        Collections.unmodifiableMap(new HashMap<>(xClusterConfig.getTableIdStreamIdMap(tableIds)));
+    long ttlNanos =
+        confGetter.getGlobalConf(GlobalConfKeys.xClusterReplicationStatusCacheTtl).toNanos();
+    snapshots.values().removeIf(snapshot -> snapshot.isExpired(ttlNanos));
+    return snapshots
+        .compute(
+            xClusterConfig.uuid,
+            (uuid, snapshot) -> {
+              if (snapshot != null
+                  && !snapshot.isExpired(ttlNanos)
+                  && snapshot.tableIdStreamIdMap.equals(tableIdStreamIdMap)) {
+                return snapshot;
+              }
+              return new Snapshot(
+                  tableIdStreamIdMap,
+                  CompletableFuture.supplyAsync(
+                      () -> query(xClusterConfig, tableIds), executor));
+            })
+        .isBootstrapRequiredMap;
+  }
+
+  /** Drops the snapshot of the config, the next request queries the source universe again. */
+  public void invalidate(UUID xClusterConfigUuid) {
+    snapshots.remove(xClusterConfigUuid);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return snapshots.size();
+  }
+
+  private Map<String, Boolean> query(XClusterConfig xClusterConfig, Set<String> tableIds) {
+    try {
+      return Collections.unmodifiableMap(
+          XClusterConfigTaskBase.isBootstrapRequired(ybService, tableIds, xClusterConfig));
+    } catch (Exception e) {
+      log.error(
+          "Failed to get replication status of xCluster config {}: {}",
+          xClusterConfig.uuid,
+          e.getMessage());
+      throw new CompletionException(e);
+    }
+  }
+}
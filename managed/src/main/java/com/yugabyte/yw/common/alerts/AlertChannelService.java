@@ -34,10 +34,13 @@ import play.data.validation.Constraints.Required;
 public class AlertChannelService {
 
   private final BeanValidator beanValidator;
+  private final AlertNotificationDispatcher alertNotificationDispatcher;
 
   @Inject
-  public AlertChannelService(BeanValidator beanValidator) {
+  public AlertChannelService(
+      BeanValidator beanValidator, AlertNotificationDispatcher alertNotificationDispatcher) {
     this.beanValidator = beanValidator;
+    this.alertNotificationDispatcher = alertNotificationDispatcher;
   }
 
   public AlertChannel get(UUID customerUUID, UUID channelUUID) {
@@ -123,6 +126,7 @@ public class AlertChannelService {
       throw new PlatformServiceException(
           INTERNAL_SERVER_ERROR, "Unable to delete alert channel: " + channelUUID);
     }
+    alertNotificationDispatcher.removeChannel(channelUUID);
     log.info("Deleted alert channel {} for customer {}", channelUUID, customerUUID);
   }
 
@@ -13,6 +13,10 @@ package com.yugabyte.yw.common.alerts;
 import static com.yugabyte.yw.common.metrics.MetricService.buildMetricTemplate;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.SwamperHelper;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
@@ -25,10 +29,13 @@ import com.yugabyte.yw.models.MaintenanceWindow;
 import com.yugabyte.yw.models.MaintenanceWindow.State;
 import com.yugabyte.yw.models.filters.AlertConfigurationFilter;
 import com.yugabyte.yw.models.filters.AlertDefinitionFilter;
+import com.yugabyte.yw.models.filters.AlertTemplateSettingsFilter;
 import com.yugabyte.yw.models.filters.MaintenanceWindowFilter;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -36,7 +43,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -51,6 +63,9 @@ public class AlertConfigurationWriter {
   @VisibleForTesting
   static final String CONFIG_SYNC_INTERVAL_PARAM = "yb.alert.config_sync_interval_sec";
 
+  @VisibleForTesting
+  static final String CONFIG_WRITER_PARALLELISM_PARAM = "yb.alert.config_writer_parallelism";
+
   private final AtomicBoolean requiresReload = new AtomicBoolean(true);
 
   private final AtomicBoolean requiresRecordingRulesWrite = new AtomicBoolean(true);
@@ -73,6 +88,12 @@ public class AlertConfigurationWriter {
 
   private final MaintenanceService maintenanceService;
 
+  // Hash of the rules file content last written for each definition. Definitions marked as not
+  // written, but with the same rules, are not written again and don't cause a reload.
+  private final Map<UUID, HashCode> writtenRules = new ConcurrentHashMap<>();
+
+  private final ExecutorService executor;
+
   @Inject
   public AlertConfigurationWriter(
       PlatformScheduler platformScheduler,
@@ -83,7 +104,8 @@ public class AlertConfigurationWriter {
       SwamperHelper swamperHelper,
       MetricQueryHelper metricQueryHelper,
       RuntimeConfigFactory configFactory,
-      MaintenanceService maintenanceService) {
+      MaintenanceService maintenanceService,
+      PlatformExecutorFactory executorFactory) {
     this.platformScheduler = platformScheduler;
     this.metricService = metricService;
     this.alertDefinitionService = alertDefinitionService;
@@ -93,6 +115,13 @@ public class AlertConfigurationWriter {
     this.metricQueryHelper = metricQueryHelper;
     this.configFactory = configFactory;
     this.maintenanceService = maintenanceService;
+    ThreadFactory namedThreadFactory =
+        new ThreadFactoryBuilder().setNameFormat("Alert-Config-Writer-Pool-%d").build();
+    this.executor =
+        executorFactory.createFixedExecutor(
+            "Alert-Config-Writer-Pool",
+            configFactory.staticApplicationConf().getInt(CONFIG_WRITER_PARALLELISM_PARAM),
+            namedThreadFactory);
   }
 
   public void start() {
@@ -112,31 +141,24 @@ public class AlertConfigurationWriter {
         this::process);
   }
 
-  private SyncResult syncDefinition(UUID definitionUuid) {
+  private SyncResult syncDefinition(
+      AlertDefinition definition,
+      AlertConfiguration configuration,
+      AlertTemplateSettings templateSettings) {
+    UUID definitionUuid = definition.getUuid();
     try {
-      AlertDefinition definition = alertDefinitionService.get(definitionUuid);
-      AlertConfiguration configuration =
-          definition != null
-              ? alertConfigurationService.get(definition.getConfigurationUUID())
-              : null;
-      if (definition == null
-          || !definition.isActive()
-          || configuration == null
-          || !configuration.isActive()) {
-        swamperHelper.removeAlertDefinition(definitionUuid);
-        requiresReload.set(true);
-        return SyncResult.REMOVED;
+      if (!definition.isActive() || configuration == null || !configuration.isActive()) {
+        return removeDefinition(definitionUuid);
       }
-      if (definition.isConfigWritten()) {
-        log.info("Alert definition {} has config in sync", definitionUuid);
+      String content =
+          swamperHelper.renderAlertDefinition(configuration, definition, templateSettings);
+      HashCode contentHash = Hashing.sha256().hashString(content, StandardCharsets.UTF_8);
+      if (contentHash.equals(writtenRules.get(definitionUuid))) {
+        log.debug("Alert definition {} rules did not change", definitionUuid);
         return SyncResult.IN_SYNC;
       }
-      AlertTemplateSettings templateSettings =
-          alertTemplateSettingsService.get(
-              configuration.getCustomerUUID(), configuration.getTemplate().name());
-      swamperHelper.writeAlertDefinition(configuration, definition, templateSettings);
-      definition.setConfigWritten(true);
-      alertDefinitionService.save(definition);
+      swamperHelper.writeAlertDefinition(definitionUuid, content);
+      writtenRules.put(definitionUuid, contentHash);
       requiresReload.set(true);
       return SyncResult.SYNCED;
     } catch (Exception e) {
@@ -145,6 +167,19 @@ public class AlertConfigurationWriter {
     }
   }
 
+  private SyncResult removeDefinition(UUID definitionUuid) {
+    try {
+      writtenRules.remove(definitionUuid);
+      if (swamperHelper.removeAlertDefinition(definitionUuid)) {
+        requiresReload.set(true);
+      }
+      return SyncResult.REMOVED;
+    } catch (Exception e) {
+      log.error("Error removing alert definition " + definitionUuid + " config", e);
+      return SyncResult.FAILURE;
+    }
+  }
+
   @VisibleForTesting
   void process() {
     applyMaintenanceWindows();
@@ -230,9 +265,8 @@ public class AlertConfigurationWriter {
     try {
       if (requiresRecordingRulesWrite.get()) {
         swamperHelper.writeRecordingRules();
-        if (metricQueryHelper.isPrometheusManagementEnabled()) {
-          metricQueryHelper.postManagementCommand(MetricQueryHelper.MANAGEMENT_COMMAND_RELOAD);
-        }
+        // Reloaded along with the alert definitions.
+        requiresReload.set(true);
         requiresRecordingRulesWrite.compareAndSet(true, false);
       }
     } catch (Exception e) {
@@ -242,10 +276,34 @@ public class AlertConfigurationWriter {
 
   private void syncDefinitions() {
     try {
-      AlertDefinitionFilter filter = AlertDefinitionFilter.builder().configWritten(false).build();
+      List<AlertDefinition> definitions =
+          alertDefinitionService.list(AlertDefinitionFilter.builder().configWritten(false).build());
+      Map<UUID, AlertConfiguration> configurations = getConfigurations(definitions);
+      Map<UUID, Map<String, AlertTemplateSettings>> templateSettings =
+          getTemplateSettings(configurations.values());
+
+      List<Future<SyncResult>> futures = new ArrayList<>();
+      for (AlertDefinition definition : definitions) {
+        AlertConfiguration configuration = configurations.get(definition.getConfigurationUUID());
+        AlertTemplateSettings settings =
+            configuration != null
+                ? templateSettings
+                    .getOrDefault(configuration.getCustomerUUID(), Collections.emptyMap())
+                    .get(configuration.getTemplate().name())
+                : null;
+        futures.add(executor.submit(() -> syncDefinition(definition, configuration, settings)));
+      }
       List<SyncResult> results = new ArrayList<>();
-      alertDefinitionService.process(
-          filter, definition -> results.add(syncDefinition(definition.getUuid())));
+      List<AlertDefinition> writtenDefinitions = new ArrayList<>();
+      for (int i = 0; i < definitions.size(); i++) {
+        SyncResult result = futures.get(i).get();
+        if (result == SyncResult.SYNCED || result == SyncResult.IN_SYNC) {
+          writtenDefinitions.add(definitions.get(i));
+        }
+        results.add(result);
+      }
+      // Definitions updated during the sync are left to the next run.
+      alertDefinitionService.markConfigWritten(writtenDefinitions);
 
       List<UUID> configUuids = swamperHelper.getAlertDefinitionConfigUuids();
       Set<UUID> definitionUuids =
@@ -255,7 +313,7 @@ public class AlertConfigurationWriter {
           configUuids
               .stream()
               .filter(uuid -> !definitionUuids.contains(uuid))
-              .map(this::syncDefinition)
+              .map(this::removeDefinition)
               .collect(Collectors.toList()));
 
       metricService.setMetric(
@@ -283,6 +341,41 @@ public class AlertConfigurationWriter {
     }
   }
 
+  private Map<UUID, AlertConfiguration> getConfigurations(List<AlertDefinition> definitions) {
+    Set<UUID> configurationUuids =
+        definitions.stream().map(AlertDefinition::getConfigurationUUID).collect(Collectors.toSet());
+    if (configurationUuids.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return alertConfigurationService
+        .list(AlertConfigurationFilter.builder().uuids(configurationUuids).build())
+        .stream()
+        .collect(Collectors.toMap(AlertConfiguration::getUuid, Function.identity()));
+  }
+
+  // Customer UUID -> template -> settings
+  private Map<UUID, Map<String, AlertTemplateSettings>> getTemplateSettings(
+      Collection<AlertConfiguration> configurations) {
+    Set<String> templates =
+        configurations
+            .stream()
+            .map(configuration -> configuration.getTemplate().name())
+            .collect(Collectors.toSet());
+    if (templates.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return alertTemplateSettingsService
+        .list(AlertTemplateSettingsFilter.builder().templates(templates).build())
+        .stream()
+        .collect(
+            Collectors.groupingBy(
+                AlertTemplateSettings::getCustomerUUID,
+                Collectors.toMap(
+                    AlertTemplateSettings::getTemplate,
+                    Function.identity(),
+                    (s1, s2) -> s1)));
+  }
+
   private enum SyncResult {
     IN_SYNC,
     SYNCED,
@@ -21,6 +21,7 @@ import com.yugabyte.yw.models.filters.AlertDefinitionFilter;
 import com.yugabyte.yw.models.filters.AlertFilter;
 import com.yugabyte.yw.models.helpers.EntityOperation;
 import io.ebean.annotation.Transactional;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -96,6 +97,35 @@ public class AlertDefinitionService {
     return save(Collections.singletonList(definition)).get(0);
   }
 
+  /**
+   * Marks the definitions as written to the config, unless they were updated after they were read,
+   * as a concurrent update may require the config to be written again.
+   *
+   * @return the definitions which were marked.
+   */
+  @Transactional
+  public List<AlertDefinition> markConfigWritten(List<AlertDefinition> definitions) {
+    List<AlertDefinition> marked = new ArrayList<>();
+    for (AlertDefinition definition : definitions) {
+      int nextVersion = definition.getVersion() + 1;
+      int updated =
+          AlertDefinition.db()
+              .update(AlertDefinition.class)
+              .set("configWritten", true)
+              .set("version", nextVersion)
+              .where()
+              .eq("uuid", definition.getUuid())
+              .eq("version", definition.getVersion())
+              .update();
+      if (updated > 0) {
+        definition.setConfigWritten(true).setVersion(nextVersion);
+        marked.add(definition);
+      }
+    }
+    log.debug("{} of {} alert definitions marked written", marked.size(), definitions.size());
+    return marked;
+  }
+
   public AlertDefinition get(UUID uuid) {
     if (uuid == null) {
       throw new PlatformServiceException(BAD_REQUEST, "Can't get alert definition by null uuid");
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2022 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.alerts;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.models.Alert;
+import com.yugabyte.yw.models.AlertChannel;
+import com.yugabyte.yw.models.Customer;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends alert notifications through the alert channels, in parallel across channels.
+ *
+ * <p>Notifications are grouped per channel, and each group is sent in order by a worker of the
+ * pool of its channel type, so a slow SMTP server or webhook only delays the notifications going
+ * to it. Pools have bounded queues. Each channel has a rate limit and a circuit breaker, which
+ * fails notifications fast after a number of consecutive failures until the channel has had time
+ * to recover.
+ */
+@Singleton
+@Slf4j
+public class AlertNotificationDispatcher {
+
+  private static final String CONFIG_PREFIX = "yb.alert.notifications.";
+
+  @VisibleForTesting static final String THREADS_PER_CHANNEL_TYPE = "threads_per_channel_type";
+  @VisibleForTesting static final String QUEUE_CAPACITY = "queue_capacity";
+  @VisibleForTesting static final String CHANNEL_RATE_PER_SEC = "channel_rate_per_sec";
+  @VisibleForTesting static final String CIRCUIT_BREAKER_FAILURES = "circuit_breaker_failures";
+
+  @VisibleForTesting
+  static final String CIRCUIT_BREAKER_OPEN_DURATION = "circuit_breaker_open_duration";
+
+  @VisibleForTesting static final String DISPATCH_TIMEOUT = "dispatch_timeout";
+
+  private static final String CHANNEL_TYPE_LABEL = "channel_type";
+  private static final String REASON_LABEL = "reason";
+
+  @VisibleForTesting static final String REASON_ERROR = "error";
+  @VisibleForTesting static final String REASON_REJECTED = "rejected";
+  @VisibleForTesting static final String REASON_CIRCUIT_OPEN = "circuit_open";
+  @VisibleForTesting static final String REASON_RATE_LIMITED = "rate_limited";
+  @VisibleForTesting static final String REASON_TIMEOUT = "timeout";
+
+  private static final Gauge QUEUE_DEPTH =
+      Gauge.build(
+              "ybp_alert_notification_queue_depth",
+              "Number of channel notification batches waiting for a worker")
+          .labelNames(CHANNEL_TYPE_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Histogram DISPATCH_LATENCY =
+      Histogram.build(
+              "ybp_alert_notification_dispatch_latency_seconds",
+              "Time to send a single notification to a channel")
+          .labelNames(CHANNEL_TYPE_LABEL)
+          .buckets(0.1, 0.5, 1, 2.5, 5, 10, 30, 60)
+          .register(CollectorRegistry.defaultRegistry);
+  @VisibleForTesting
+  static final Counter FAILURES =
+      Counter.build("ybp_alert_notification_failures", "Number of failed notifications")
+          .labelNames(CHANNEL_TYPE_LABEL, REASON_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+
+  // Marks a notification which was sent successfully.
+  private static final Object SENT = new Object();
+
+  private final PlatformExecutorFactory platformExecutorFactory;
+  private final int threadsPerChannelType;
+  private final int queueCapacity;
+  private final double channelRatePerSec;
+  private final int circuitBreakerFailures;
+  private final Duration circuitBreakerOpenDuration;
+  private final Duration dispatchTimeout;
+
+  private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+  private final Map<UUID, ChannelState> channelStates = new ConcurrentHashMap<>();
+
+  @Inject
+  public AlertNotificationDispatcher(
+      Config config, PlatformExecutorFactory platformExecutorFactory) {
+    this.platformExecutorFactory = platformExecutorFactory;
+    this.threadsPerChannelType = config.getInt(CONFIG_PREFIX + THREADS_PER_CHANNEL_TYPE);
+    this.queueCapacity = config.getInt(CONFIG_PREFIX + QUEUE_CAPACITY);
+    this.channelRatePerSec = config.getDouble(CONFIG_PREFIX + CHANNEL_RATE_PER_SEC);
+    this.circuitBreakerFailures = config.getInt(CONFIG_PREFIX + CIRCUIT_BREAKER_FAILURES);
+    this.circuitBreakerOpenDuration =
+        config.getDuration(CONFIG_PREFIX + CIRCUIT_BREAKER_OPEN_DURATION);
+    this.dispatchTimeout = config.getDuration(CONFIG_PREFIX + DISPATCH_TIMEOUT);
+  }
+
+  /** A notification about an alert to send through a channel. */
+  @Value
+  public static class Notification {
+    Customer customer;
+    Alert alert;
+    AlertChannel channel;
+    AlertChannelInterface handler;
+  }
+
+  /**
+   * Sends the notifications and waits for them to complete, or for the dispatch timeout to
+   * expire.
+   *
+   * @return for each notification, in the same order, null if it was sent or the reason why it
+   *     was not.
+   */
+  public List<Exception> dispatch(List<Notification> notifications) {
+    return dispatch(notifications, true);
+  }
+
+  /**
+   * Same as {@link #dispatch(List)}.
+   *
+   * @param useCircuitBreaker false to send even through failing channels, without changing their
+   *     circuit breaker state, like for test notifications.
+   */
+  public List<Exception> dispatch(List<Notification> notifications, boolean useCircuitBreaker) {
+    long deadlineNanos = System.nanoTime() + dispatchTimeout.toNanos();
+    AtomicReferenceArray<Object> outcomes = new AtomicReferenceArray<>(notifications.size());
+
+    Map<UUID, List<Integer>> byChannel = new LinkedHashMap<>();
+    for (int i = 0; i < notifications.size(); i++) {
+      byChannel
+          .computeIfAbsent(notifications.get(i).getChannel().getUuid(), k -> new ArrayList<>())
+          .add(i);
+    }
+
+    List<ChannelBatch> batches = new ArrayList<>();
+    for (List<Integer> indexes : byChannel.values()) {
+      AlertChannel channel = notifications.get(indexes.get(0)).getChannel();
+      String channelType = AlertUtils.getJsonTypeName(channel.getParams());
+      ChannelBatch batch = new ChannelBatch(channelType);
+      QUEUE_DEPTH.labels(channelType).inc();
+      try {
+        batch.future =
+            getExecutor(channelType)
+                .submit(
+                    () -> {
+                      if (batch.start()) {
+                        sendAll(
+                            notifications,
+                            indexes,
+                            channelType,
+                            outcomes,
+                            deadlineNanos,
+                            useCircuitBreaker);
+                      }
+                    });
+        batches.add(batch);
+      } catch (RejectedExecutionException e) {
+        QUEUE_DEPTH.labels(channelType).dec();
+        log.warn("Notification queue for {} channels is full", channelType);
+        PlatformNotificationException rejected =
+            new PlatformNotificationException("Notification queue is full");
+        for (int i : indexes) {
+          fail(outcomes, i, channelType, REASON_REJECTED, rejected);
+        }
+      }
+    }
+
+    boolean timedOut = false;
+    for (ChannelBatch batch : batches) {
+      try {
+        batch.future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        timedOut = true;
+        break;
+      } catch (ExecutionException e) {
+        // Never happens as sendAll records every failure in the outcomes.
+        log.error("Unexpected error while sending notifications", e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Interrupted while waiting for notifications to be sent");
+        timedOut = true;
+        break;
+      }
+    }
+
+    List<Exception> result = new ArrayList<>(notifications.size());
+    for (int i = 0; i < notifications.size(); i++) {
+      // Anything not sent yet is given up on, late sends will not overwrite this.
+      AlertChannel channel = notifications.get(i).getChannel();
+      String channelType = AlertUtils.getJsonTypeName(channel.getParams());
+      fail(
+          outcomes,
+          i,
+          channelType,
+          REASON_TIMEOUT,
+          new PlatformNotificationException("Timed out sending notification"));
+      Object outcome = outcomes.get(i);
+      result.add(outcome == SENT ? null : (Exception) outcome);
+    }
+    if (timedOut) {
+      log.warn("Timed out waiting for notifications to be sent after {}", dispatchTimeout);
+      // Interrupts the hung handlers to free the workers. Their notifications are already marked
+      // failed, so they are sent again on the next run rather than late.
+      for (ChannelBatch batch : batches) {
+        if (!batch.future.isDone()) {
+          batch.future.cancel(true);
+          // Takes the batch out of the queue depth if it was cancelled before starting.
+          batch.start();
+        }
+      }
+    }
+    return result;
+  }
+
+  private void sendAll(
+      List<Notification> notifications,
+      List<Integer> indexes,
+      String channelType,
+      AtomicReferenceArray<Object> outcomes,
+      long deadlineNanos,
+      boolean useCircuitBreaker) {
+    ChannelState state =
+        channelStates.computeIfAbsent(
+            notifications.get(indexes.get(0)).getChannel().getUuid(),
+            k -> new ChannelState(RateLimiter.create(channelRatePerSec)));
+    for (int i : indexes) {
+      Notification notification = notifications.get(i);
+      if (outcomes.get(i) != null) {
+        // Given up on after the dispatch timeout.
+        continue;
+      }
+      long remainingNanos = deadlineNanos - System.nanoTime();
+      if (remainingNanos <= 0) {
+        fail(
+            outcomes,
+            i,
+            channelType,
+            REASON_TIMEOUT,
+            new PlatformNotificationException("Timed out sending notification"));
+        continue;
+      }
+      if (useCircuitBreaker && !state.allowRequest(System.currentTimeMillis())) {
+        fail(
+            outcomes,
+            i,
+            channelType,
+            REASON_CIRCUIT_OPEN,
+            new PlatformNotificationException("Channel is failing, notifications are paused"));
+        continue;
+      }
+      if (!state.rateLimiter.tryAcquire(remainingNanos, TimeUnit.NANOSECONDS)) {
+        fail(
+            outcomes,
+            i,
+            channelType,
+            REASON_RATE_LIMITED,
+            new PlatformNotificationException("Channel notification rate limit exceeded"));
+        continue;
+      }
+      Histogram.Timer timer = DISPATCH_LATENCY.labels(channelType).startTimer();
+      try {
+        notification
+            .getHandler()
+            .sendNotification(
+                notification.getCustomer(), notification.getAlert(), notification.getChannel());
+        if (useCircuitBreaker) {
+          state.onSuccess();
+        }
+        outcomes.compareAndSet(i, null, SENT);
+      } catch (Exception e) {
+        // Interrupted after the dispatch timeout is not a channel failure.
+        if (useCircuitBreaker && outcomes.get(i) == null) {
+          state.onFailure(System.currentTimeMillis());
+        }
+        fail(outcomes, i, channelType, REASON_ERROR, e);
+      } finally {
+        timer.observeDuration();
+      }
+    }
+  }
+
+  /** Forgets the rate limiter and circuit breaker state of a deleted channel. */
+  public void removeChannel(UUID channelUuid) {
+    channelStates.remove(channelUuid);
+  }
+
+  private static void fail(
+      AtomicReferenceArray<Object> outcomes,
+      int index,
+      String channelType,
+      String reason,
+      Exception error) {
+    if (outcomes.compareAndSet(index, null, error)) {
+      FAILURES.labels(channelType, reason).inc();
+    }
+  }
+
+  private ExecutorService getExecutor(String channelType) {
+    return executors.computeIfAbsent(
+        channelType,
+        type ->
+            platformExecutorFactory.createExecutor(
+                "alert_notifications_" + type,
+                threadsPerChannelType,
+                threadsPerChannelType,
+                Duration.ZERO,
+                queueCapacity,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("AlertNotifications-" + type + "-%d")
+                    .build()));
+  }
+
+  /** Notifications of one channel, sent by a single worker. */
+  private static class ChannelBatch {
+    private final String channelType;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private Future<?> future;
+
+    ChannelBatch(String channelType) {
+      this.channelType = channelType;
+    }
+
+    // Returns true for the first caller, the worker when it starts the batch or the dispatcher
+    // when it cancels the batch before that.
+    boolean start() {
+      if (!started.compareAndSet(false, true)) {
+        return false;
+      }
+      QUEUE_DEPTH.labels(channelType).dec();
+      return true;
+    }
+  }
+
+  /** Rate limiter and circuit breaker of a single channel. */
+  private class ChannelState {
+    private final RateLimiter rateLimiter;
+    private int consecutiveFailures;
+    private long openUntilMs;
+
+    ChannelState(RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns false while the circuit is open. Once it is over, one notification at a time is let
+     * through until a notification succeeds, or fails and opens the circuit again.
+     */
+    synchronized boolean allowRequest(long nowMs) {
+      if (consecutiveFailures < circuitBreakerFailures) {
+        return true;
+      }
+      if (nowMs < openUntilMs) {
+        return false;
+      }
+      openUntilMs = nowMs + circuitBreakerOpenDuration.toMillis();
+      return true;
+    }
+
+    synchronized void onSuccess() {
+      consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure(long nowMs) {
+      consecutiveFailures++;
+      if (consecutiveFailures >= circuitBreakerFailures) {
+        openUntilMs = nowMs + circuitBreakerOpenDuration.toMillis();
+      }
+    }
+  }
+}
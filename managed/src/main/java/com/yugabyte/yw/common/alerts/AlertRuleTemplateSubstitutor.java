@@ -14,6 +14,7 @@ import com.yugabyte.yw.models.AlertConfiguration;
 import com.yugabyte.yw.models.AlertDefinition;
 import com.yugabyte.yw.models.AlertDefinitionLabel;
 import com.yugabyte.yw.models.AlertTemplateSettings;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -68,10 +69,16 @@ public class AlertRuleTemplateSubstitutor extends PlaceholderSubstitutor {
     private final AlertConfiguration.Severity severity;
     private final AlertTemplateSettings alertTemplateSettings;
 
+    // Effective labels are built on first use, instead of for each summary placeholder.
+    private Collection<AlertDefinitionLabel> effectiveLabels;
+
     @Override
     public String getLabelValue(String name) {
-      return alertDefinition
-          .getEffectiveLabels(alertConfiguration, alertTemplateSettings, severity)
+      if (effectiveLabels == null) {
+        effectiveLabels =
+            alertDefinition.getEffectiveLabels(alertConfiguration, alertTemplateSettings, severity);
+      }
+      return effectiveLabels
           .stream()
           .filter(label -> name.equals(label.getName()))
           .map(AlertDefinitionLabel::getValue)
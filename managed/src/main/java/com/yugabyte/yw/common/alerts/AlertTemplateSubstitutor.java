@@ -25,7 +25,7 @@ public class AlertTemplateSubstitutor<T extends AlertLabelsProvider>
     super(
         key -> {
           if (key.startsWith(LABELS_PREFIX)) {
-            String labelName = key.replace(LABELS_PREFIX, "");
+            String labelName = key.substring(LABELS_PREFIX.length());
             String labelValue = instance.getLabelValue(labelName);
             if (labelValue == null) {
               LOG.trace("Label {} not found in object {}", labelName, instance.getUuid());
@@ -35,7 +35,7 @@ public class AlertTemplateSubstitutor<T extends AlertLabelsProvider>
             return labelValue;
           }
           if (key.startsWith(ANNOTATIONS_PREFIX)) {
-            String annotationName = key.replace(ANNOTATIONS_PREFIX, "");
+            String annotationName = key.substring(ANNOTATIONS_PREFIX.length());
             String annotationValue = instance.getAnnotationValue(annotationName);
             if (annotationValue == null) {
               LOG.trace("Annotation {} not found in object {}", annotationName, instance.getUuid());
@@ -19,16 +19,16 @@ import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import play.libs.Json;
 import play.mvc.Http;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 @Singleton
 public class AuditService {
@@ -92,14 +92,22 @@ public class AuditService {
           .mappingProvider(new JacksonMappingProvider())
           .build();
 
+  private final AuditWriter auditWriter;
+
+  @Inject
+  public AuditService(AuditWriter auditWriter) {
+    this.auditWriter = auditWriter;
+  }
+
   public void createAuditEntry(Http.Context ctx, Http.Request request) {
     createAuditEntry(ctx, request, null, null, null, null, null);
   }
 
   /**
-   * Writes audit entry along with request details. This redacts all the secret fields, defined in
-   * yb.audit.secret_param_paths property. If you're using this method to write audit - make sure
-   * all the secret fields are covered by the above property.
+   * Writes audit entry along with request details, asynchronously unless yb.audit.writer.async is
+   * off. This redacts all the secret fields, defined in yb.audit.secret_param_paths property. If
+   * you're using this method to write audit - make sure all the secret fields are covered by the
+   * above property.
    *
    * @param ctx request context
    * @param request request
@@ -224,25 +232,24 @@ public class AuditService {
       JsonNode additionalDetails) {
     UserWithFeatures user = (UserWithFeatures) ctx.args.get("user");
     ctx.args.put("isAudited", true);
-    String method = request.method();
-    String path = request.path();
-    JsonNode redactedParams = filterSecretFields(params);
-    String userAddress = request.remoteAddress();
-    Audit entry =
-        Audit.create(
-            user.getUser(),
-            path,
-            method,
+    // Secret fields are redacted by the writer, off the request thread.
+    AuditWriter.AuditRecord record =
+        new AuditWriter.AuditRecord(
+            new Date(),
+            user.getUser().customerUUID,
+            user.getUser().uuid,
+            user.getUser().email,
+            request.path(),
+            request.method(),
             target,
             targetID,
             action,
-            redactedParams,
+            params,
             taskUUID,
             additionalDetails,
-            userAddress);
-    MDC.put("logType", "audit");
-    LOG.info(Json.toJson(entry).toString());
-    MDC.remove("logType");
+            request.remoteAddress(),
+            false);
+    auditWriter.write(record);
   }
 
   public List<Audit> getAll(UUID customerUUID) {
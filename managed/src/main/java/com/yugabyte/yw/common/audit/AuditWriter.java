@@ -0,0 +1,443 @@
+/*
+ * Copyright 2022 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.audit;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DSYNC;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.models.Audit;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import play.libs.Json;
+
+/**
+ * Writes audit entries off the request thread. Entries are sharded by user, so entries of one user
+ * are written in the order they were submitted. Each shard has a bounded queue, which a single
+ * writer thread drains in batches, one DB transaction per batch. When the queue is full, or the DB
+ * write fails, entries are appended to a spill file under yb.storage.path and written once the
+ * queue drains, or on the next start.
+ */
+@Slf4j
+@Singleton
+public class AuditWriter {
+
+  private static final String CONFIG_PREFIX = "yb.audit.writer.";
+
+  private static final String SPILL_DIR = "audit_spill";
+
+  private static final String SPILL_FILE_SUFFIX = ".jsonl";
+
+  private static final long POLL_INTERVAL_MS = 1000;
+
+  private static final long FAILURE_BACKOFF_MS = 5000;
+
+  private static final Gauge QUEUE_DEPTH =
+      Gauge.build("ybp_audit_writer_queue_depth", "Audit entries waiting to be written")
+          .labelNames("shard")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Histogram FLUSH_LATENCY =
+      Histogram.build(
+              "ybp_audit_writer_flush_latency_seconds", "Time to write one batch of audit entries")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Histogram BATCH_SIZE =
+      Histogram.build("ybp_audit_writer_batch_size", "Audit entries written in one batch")
+          .buckets(1, 5, 10, 25, 50, 100, 250, 500)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Counter FLUSH_FAILURES =
+      Counter.build("ybp_audit_writer_flush_failures", "Failed audit entry batch writes")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Counter SPILLED_ENTRIES =
+      Counter.build("ybp_audit_writer_spilled_entries", "Audit entries spilled to disk")
+          .register(CollectorRegistry.defaultRegistry);
+
+  /** Audit entry as captured on the request thread. Payload is redacted before it is stored. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class AuditRecord {
+    private Date timestamp;
+    private UUID customerUUID;
+    private UUID userUUID;
+    private String userEmail;
+    private String apiCall;
+    private String apiMethod;
+    private Audit.TargetType target;
+    private String targetID;
+    private Audit.ActionType action;
+    private JsonNode payload;
+    private UUID taskUUID;
+    private JsonNode additionalDetails;
+    private String userAddress;
+    private boolean redacted;
+
+    void redact() {
+      if (!redacted) {
+        payload = AuditService.filterSecretFields(payload);
+        redacted = true;
+      }
+    }
+
+    Audit toAudit() {
+      return Audit.newEntry(
+          timestamp,
+          customerUUID,
+          userUUID,
+          userEmail,
+          apiCall,
+          apiMethod,
+          target,
+          targetID,
+          action,
+          payload,
+          taskUUID,
+          additionalDetails,
+          userAddress);
+    }
+  }
+
+  private final boolean async;
+
+  private final int batchSize;
+
+  private final ExecutorService executor;
+
+  private final Shard[] shards;
+
+  @Inject
+  public AuditWriter(Config config, PlatformExecutorFactory platformExecutorFactory) {
+    this.async = config.getBoolean(CONFIG_PREFIX + "async");
+    this.batchSize = config.getInt(CONFIG_PREFIX + "batch_size");
+    if (async) {
+      int numShards = config.getInt(CONFIG_PREFIX + "shards");
+      int queueCapacity = config.getInt(CONFIG_PREFIX + "queue_capacity");
+      Path spillDir = Paths.get(config.getString("yb.storage.path"), SPILL_DIR);
+      redistributeSpilled(spillDir, numShards);
+      this.executor =
+          platformExecutorFactory.createFixedExecutor(
+              "AuditWriter",
+              numShards,
+              new ThreadFactoryBuilder().setNameFormat("AuditWriter-%d").build());
+      this.shards = new Shard[numShards];
+      for (int i = 0; i < numShards; i++) {
+        shards[i] = new Shard(i, queueCapacity, spillFile(spillDir, i));
+        executor.submit(shards[i]);
+      }
+    } else {
+      this.executor = null;
+      this.shards = null;
+    }
+  }
+
+  /**
+   * Writes the entry. In async mode this only queues it, redaction and the insert happen on the
+   * writer thread of the user's shard.
+   */
+  public void write(AuditRecord record) {
+    if (!async) {
+      persist(Collections.singletonList(record));
+      return;
+    }
+    shards[shardIndex(record.getUserUUID(), shards.length)].submit(record);
+  }
+
+  /**
+   * Stops the writer threads. Queued entries are written first, spilled ones are left for the next
+   * start.
+   */
+  @VisibleForTesting
+  void shutdown() {
+    if (executor != null) {
+      MoreExecutors.shutdownAndAwaitTermination(executor, 1, TimeUnit.MINUTES);
+    }
+  }
+
+  private static int shardIndex(UUID userUUID, int numShards) {
+    return Math.floorMod(Objects.hashCode(userUUID), numShards);
+  }
+
+  private static Path spillFile(Path spillDir, int shardIndex) {
+    return spillDir.resolve("shard-" + shardIndex + SPILL_FILE_SUFFIX);
+  }
+
+  /**
+   * Moves entries spilled before the restart to the spill files of the shards now owning their
+   * users. Spill files are named by shard index, and which shard owns a user depends on the shard
+   * count, so every file is read whatever the count was when it was written. Entries of one user
+   * come from a single file, so they stay in order. The new files are in place before the old ones
+   * are removed, a crash in between writes some entries twice rather than losing them.
+   */
+  private static void redistributeSpilled(Path spillDir, int numShards) {
+    List<Path> files;
+    try (Stream<Path> paths = Files.list(spillDir)) {
+      files = paths.sorted().collect(Collectors.toList());
+    } catch (NoSuchFileException e) {
+      return;
+    } catch (IOException e) {
+      log.error("Failed to list spilled audit entries in {}", spillDir, e);
+      return;
+    }
+    if (files.isEmpty()) {
+      return;
+    }
+    List<StringBuilder> shardLines = new ArrayList<>(numShards);
+    for (int i = 0; i < numShards; i++) {
+      shardLines.add(new StringBuilder());
+    }
+    try {
+      List<Path> spillFiles = new ArrayList<>();
+      for (Path file : files) {
+        if (!file.getFileName().toString().endsWith(SPILL_FILE_SUFFIX)) {
+          // Left by a spill which failed before replacing the spill file.
+          Files.deleteIfExists(file);
+          continue;
+        }
+        spillFiles.add(file);
+        for (String line : Files.readAllLines(file)) {
+          if (line.isEmpty()) {
+            continue;
+          }
+          try {
+            AuditRecord record = Json.fromJson(Json.parse(line), AuditRecord.class);
+            shardLines.get(shardIndex(record.getUserUUID(), numShards)).append(line).append('\n');
+          } catch (Exception e) {
+            log.error("Skipping malformed spilled audit entry: {}", line, e);
+          }
+        }
+      }
+      List<Path> written = new ArrayList<>();
+      for (int i = 0; i < numShards; i++) {
+        if (shardLines.get(i).length() == 0) {
+          continue;
+        }
+        Path spillFile = spillFile(spillDir, i);
+        Path tmpFile = spillFile.resolveSibling(spillFile.getFileName() + ".tmp");
+        Files.write(
+            tmpFile,
+            shardLines.get(i).toString().getBytes(StandardCharsets.UTF_8),
+            CREATE,
+            TRUNCATE_EXISTING,
+            WRITE,
+            DSYNC);
+        Files.move(tmpFile, spillFile, StandardCopyOption.ATOMIC_MOVE);
+        written.add(spillFile);
+      }
+      for (Path file : spillFiles) {
+        if (!written.contains(file)) {
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to redistribute spilled audit entries in {}", spillDir, e);
+    }
+  }
+
+  static void persist(List<AuditRecord> records) {
+    List<Audit> entries =
+        records
+            .stream()
+            .peek(AuditRecord::redact)
+            .map(AuditRecord::toAudit)
+            .collect(Collectors.toList());
+    Audit.db().saveAll(entries);
+    MDC.put("logType", "audit");
+    entries.forEach(entry -> AuditService.LOG.info(Json.toJson(entry).toString()));
+    MDC.remove("logType");
+  }
+
+  private class Shard implements Runnable {
+    private final String name;
+
+    private final BlockingQueue<AuditRecord> queue;
+
+    private final Path spillFile;
+
+    // Set while the spill file has entries. New entries are spilled too, to keep them after the
+    // already spilled ones.
+    private volatile boolean spilling;
+
+    Shard(int index, int queueCapacity, Path spillFile) {
+      this.name = String.valueOf(index);
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+      this.spillFile = spillFile;
+      // Entries spilled before a restart are written first.
+      this.spilling = Files.exists(spillFile);
+    }
+
+    synchronized void submit(AuditRecord record) {
+      if (!spilling && queue.offer(record)) {
+        QUEUE_DEPTH.labels(name).set(queue.size());
+        return;
+      }
+      spill(Collections.singletonList(record), false);
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        try {
+          AuditRecord first =
+              spilling ? queue.poll() : queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+          if (first != null) {
+            List<AuditRecord> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            QUEUE_DEPTH.labels(name).set(queue.size());
+            flush(batch);
+            continue;
+          }
+          // Spilled entries are left for the next start if we are shutting down.
+          if (executor.isShutdown()) {
+            return;
+          }
+          if (spilling) {
+            flush(takeSpilled());
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          synchronized (this) {
+            List<AuditRecord> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            spill(remaining, true);
+          }
+          return;
+        }
+      }
+    }
+
+    private void flush(List<AuditRecord> records) throws InterruptedException {
+      for (int from = 0; from < records.size(); from += batchSize) {
+        List<AuditRecord> batch = records.subList(from, Math.min(from + batchSize, records.size()));
+        Histogram.Timer timer = FLUSH_LATENCY.startTimer();
+        try {
+          persist(batch);
+          BATCH_SIZE.observe(batch.size());
+        } catch (Exception e) {
+          log.error("Failed to write {} audit entries, spilling them to disk", batch.size(), e);
+          FLUSH_FAILURES.inc();
+          synchronized (this) {
+            // Whatever is queued is newer than the failed entries and older than spilled ones.
+            List<AuditRecord> remaining = new ArrayList<>(records.subList(from, records.size()));
+            queue.drainTo(remaining);
+            QUEUE_DEPTH.labels(name).set(0);
+            spill(remaining, true);
+          }
+          Thread.sleep(FAILURE_BACKOFF_MS);
+          return;
+        } finally {
+          timer.observeDuration();
+        }
+      }
+    }
+
+    private synchronized List<AuditRecord> takeSpilled() throws InterruptedException {
+      List<String> lines;
+      try {
+        lines = Files.exists(spillFile) ? Files.readAllLines(spillFile) : Collections.emptyList();
+        Files.deleteIfExists(spillFile);
+      } catch (IOException e) {
+        log.error("Failed to read spilled audit entries from {}", spillFile, e);
+        Thread.sleep(FAILURE_BACKOFF_MS);
+        return Collections.emptyList();
+      }
+      spilling = false;
+      List<AuditRecord> result = new ArrayList<>(lines.size());
+      for (String line : lines) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        try {
+          result.add(Json.fromJson(Json.parse(line), AuditRecord.class));
+        } catch (Exception e) {
+          log.error("Skipping malformed spilled audit entry: {}", line, e);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Appends records to the spill file, or puts them before the spilled ones. Must be called with
+     * the shard lock held. Records are redacted first, secrets are never written to disk.
+     */
+    private void spill(List<AuditRecord> records, boolean beforeSpilled) {
+      if (records.isEmpty()) {
+        return;
+      }
+      StringBuilder lines = new StringBuilder();
+      for (AuditRecord record : records) {
+        record.redact();
+        lines.append(Json.stringify(Json.toJson(record))).append('\n');
+      }
+      try {
+        Files.createDirectories(spillFile.getParent());
+        if (beforeSpilled && Files.exists(spillFile)) {
+          Path tmpFile = spillFile.resolveSibling(spillFile.getFileName() + ".tmp");
+          Files.write(tmpFile, lines.toString().getBytes(StandardCharsets.UTF_8));
+          Files.write(tmpFile, Files.readAllBytes(spillFile), APPEND, DSYNC);
+          Files.move(tmpFile, spillFile, StandardCopyOption.ATOMIC_MOVE);
+        } else {
+          Files.write(
+              spillFile,
+              lines.toString().getBytes(StandardCharsets.UTF_8),
+              CREATE,
+              APPEND,
+              WRITE,
+              DSYNC);
+        }
+        spilling = true;
+        SPILLED_ENTRIES.inc(records.size());
+      } catch (IOException e) {
+        log.error("Failed to spill {} audit entries to {}", records.size(), spillFile, e);
+        records.forEach(record -> log.error("Lost audit entry {}", Json.toJson(record)));
+      }
+    }
+  }
+}
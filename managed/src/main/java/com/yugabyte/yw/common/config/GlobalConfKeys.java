@@ -51,6 +51,15 @@ public class GlobalConfKeys extends RuntimeConfigKeysModule {
           "Use java library instead of spinning up kubectl process.",
           ConfDataType.BooleanType,
           ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static final ConfKeyInfo<Boolean> useKubernetesInformerCache =
+      new ConfKeyInfo<>(
+          "yb.use_kubernetes_informer_cache",
+          ScopeType.GLOBAL,
+          "Use Kubernetes Informer Cache",
+          "Serve pod, service and event reads from watches on the universe namespaces instead"
+              + " of querying the Kubernetes API, or spinning up kubectl, on every read.",
+          ConfDataType.BooleanType,
+          ImmutableList.of(ConfKeyTags.BETA));
   // TODO(): Add correct metadata
   public static final ConfKeyInfo<Boolean> useNewHelmNaming =
       new ConfKeyInfo<>(
@@ -463,6 +472,50 @@ public class GlobalConfKeys extends RuntimeConfigKeysModule {
           "How frequently do we check for completed tasks in database",
           ConfDataType.DurationType,
           ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static ConfKeyInfo<Integer> taskGcBatchSize =
+      new ConfKeyInfo<>(
+          "yb.taskGC.batch_size",
+          ScopeType.GLOBAL,
+          "Task Garbage Collector Batch Size",
+          "Number of completed customer tasks deleted together with their task trees in one"
+              + " transaction",
+          ConfDataType.IntegerType,
+          ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static ConfKeyInfo<Duration> taskGcRunTimeBudget =
+      new ConfKeyInfo<>(
+          "yb.taskGC.run_time_budget",
+          ScopeType.GLOBAL,
+          "Task Garbage Collector Run Time Budget",
+          "For how long a task garbage collection run may delete tasks. Remaining tasks are"
+              + " deleted by the next run",
+          ConfDataType.DurationType,
+          ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static ConfKeyInfo<Integer> taskGcParallelism =
+      new ConfKeyInfo<>(
+          "yb.taskGC.parallelism",
+          ScopeType.GLOBAL,
+          "Task Garbage Collector Parallelism",
+          "Number of customers whose tasks are garbage collected in parallel. Applied on restart",
+          ConfDataType.IntegerType,
+          ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static ConfKeyInfo<Duration> xClusterReplicationStatusCacheTtl =
+      new ConfKeyInfo<>(
+          "yb.xcluster.replication_status_cache_ttl",
+          ScopeType.GLOBAL,
+          "xCluster Replication Status Cache TTL",
+          "For how long the replication status of an xCluster config is served from cache"
+              + " instead of querying the source universe. Zero disables the cache",
+          ConfDataType.DurationType,
+          ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static ConfKeyInfo<Integer> xClusterReplicationStatusParallelism =
+      new ConfKeyInfo<>(
+          "yb.xcluster.replication_status_parallelism",
+          ScopeType.GLOBAL,
+          "xCluster Replication Status Parallelism",
+          "Number of xCluster configs whose replication status is queried in parallel."
+              + " Applied on restart",
+          ConfDataType.IntegerType,
+          ImmutableList.of(ConfKeyTags.PUBLIC));
   // TODO yury
   public static ConfKeyInfo<Boolean> editProviderNewEnabled =
       new ConfKeyInfo<>(
@@ -76,6 +76,24 @@ public class UniverseConfKeys extends RuntimeConfigKeysModule {
           "The maximum time (in milliseconds) that we allow a tserver to be behind its peers",
           ConfDataType.IntegerType,
           ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static final ConfKeyInfo<Boolean> ybUpgradeWaitForUnknownFollowerLag =
+      new ConfKeyInfo<>(
+          "yb.upgrade.wait_for_unknown_follower_lag",
+          ScopeType.UNIVERSE,
+          "YB Upgrade Wait For Unknown Follower Lag",
+          "Keep waiting for a node to catch up when its follower lag can be read neither from "
+              + "the node nor from Prometheus, instead of assuming no lag",
+          ConfDataType.BooleanType,
+          ImmutableList.of(ConfKeyTags.BETA));
+  public static final ConfKeyInfo<Integer> ybUpgradeMaxNodesPerAzBatch =
+      new ConfKeyInfo<>(
+          "yb.upgrade.max_nodes_per_az_batch",
+          ScopeType.UNIVERSE,
+          "YB Upgrade Max Nodes Per AZ Batch",
+          "The maximum number of tservers of one AZ that a rolling upgrade restarts together. "
+              + "Only used when the cluster has at least as many AZs as its replication factor",
+          ConfDataType.IntegerType,
+          ImmutableList.of(ConfKeyTags.BETA));
   // TODO(naorem): Add correct metadata
   public static final ConfKeyInfo<Boolean> ybUpgradeVmImage =
       new ConfKeyInfo<>(
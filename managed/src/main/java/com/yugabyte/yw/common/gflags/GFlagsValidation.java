@@ -16,25 +16,31 @@ import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.Util;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.common.utils.FileUtils;
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import play.Environment;
@@ -51,14 +57,69 @@ public class GFlagsValidation {
   public static final List<String> GFLAG_FILENAME_LIST =
       ImmutableList.of("master_flags.xml", "tserver_flags.xml");
 
+  private static final XmlMapper XML_MAPPER = createXmlMapper();
+
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+  // Parsed metadata by version and server type. Versions are few, so entries are never evicted.
+  private final Map<Pair<String, String>, GFlagsMetadata> metadataCache =
+      new ConcurrentHashMap<>();
+
+  private volatile MostUsedGFlags mostUsedGFlags;
+
   @Inject
   public GFlagsValidation(Environment environment, RuntimeConfigFactory runtimeConfigFactory) {
     this.environment = environment;
     this.runtimeConfigFactory = runtimeConfigFactory;
   }
 
+  private static XmlMapper createXmlMapper() {
+    JacksonXmlModule xmlModule = new JacksonXmlModule();
+    xmlModule.setDefaultUseWrapper(false);
+    return new XmlMapper(xmlModule);
+  }
+
   public List<GFlagDetails> extractGFlags(String version, String serverType, boolean mostUsedGFlags)
       throws IOException {
+    GFlagsMetadata metadata = getMetadata(version, serverType);
+    return mostUsedGFlags ? metadata.mostUsedFlags : metadata.flags;
+  }
+
+  /** Returns the gflags of the version and server type by name. */
+  public Map<String, GFlagDetails> getGFlagsMap(String version, String serverType)
+      throws IOException {
+    return getMetadata(version, serverType).flagsByName;
+  }
+
+  public Optional<GFlagDetails> getGFlagDetails(String version, String serverType, String name)
+      throws IOException {
+    return Optional.ofNullable(getGFlagsMap(version, serverType).get(name));
+  }
+
+  /**
+   * Drops the parsed metadata of the version, so that it is read again. Needed when the metadata
+   * files of the version are added, as bundled metadata of the major version may have been used
+   * before.
+   */
+  public void invalidate(String version) {
+    metadataCache.keySet().removeIf(key -> key.getLeft().equals(version));
+  }
+
+  private GFlagsMetadata getMetadata(String version, String serverType) throws IOException {
+    Pair<String, String> key = new ImmutablePair<>(version, serverType);
+    GFlagsMetadata metadata = metadataCache.get(key);
+    if (metadata == null) {
+      // Concurrent first reads may both parse the file, the first parsed one is kept.
+      metadata = loadMetadata(version, serverType);
+      GFlagsMetadata previous = metadataCache.putIfAbsent(key, metadata);
+      if (previous != null) {
+        metadata = previous;
+      }
+    }
+    return metadata;
+  }
+
+  private GFlagsMetadata loadMetadata(String version, String serverType) throws IOException {
     String releasesPath =
         runtimeConfigFactory.staticApplicationConf().getString(Util.YB_RELEASES_PATH);
     File file =
@@ -80,30 +141,26 @@ public class GFlagsValidation {
               "GFlags metadata file for " + majorVersion + " is not present");
         }
       }
-      JacksonXmlModule xmlModule = new JacksonXmlModule();
-      xmlModule.setDefaultUseWrapper(false);
-      XmlMapper xmlMapper = new XmlMapper(xmlModule);
-      AllGFlags data = xmlMapper.readValue(flagStream, AllGFlags.class);
-      if (mostUsedGFlags) {
-        InputStream inputStream =
-            environment.resourceAsStream("gflags_metadata/" + "most_used_gflags.json");
-        ObjectMapper mapper = new ObjectMapper();
-        MostUsedGFlags freqUsedGFlags = mapper.readValue(inputStream, MostUsedGFlags.class);
-        List<GFlagDetails> result = new ArrayList<>();
-        for (GFlagDetails flag : data.flags) {
-          if (serverType.equals(ServerType.MASTER.name())) {
-            if (freqUsedGFlags.masterGFlags.contains(flag.name)) {
-              result.add(flag);
-            }
-          } else {
-            if (freqUsedGFlags.tserverGFlags.contains(flag.name)) {
-              result.add(flag);
-            }
-          }
+      AllGFlags data = XML_MAPPER.readValue(flagStream, AllGFlags.class);
+      List<GFlagDetails> flags = data.flags != null ? data.flags : Collections.emptyList();
+      MostUsedGFlags freqUsedGFlags = getMostUsedGFlags();
+      Set<String> mostUsedNames =
+          new HashSet<>(
+              serverType.equals(ServerType.MASTER.name())
+                  ? freqUsedGFlags.masterGFlags
+                  : freqUsedGFlags.tserverGFlags);
+      Map<String, GFlagDetails> flagsByName = new HashMap<>();
+      List<GFlagDetails> mostUsedFlags = new ArrayList<>();
+      for (GFlagDetails flag : flags) {
+        flagsByName.putIfAbsent(flag.name, flag);
+        if (mostUsedNames.contains(flag.name)) {
+          mostUsedFlags.add(flag);
         }
-        return result;
       }
-      return data.flags;
+      return new GFlagsMetadata(
+          Collections.unmodifiableList(new ArrayList<>(flags)),
+          Collections.unmodifiableMap(flagsByName),
+          Collections.unmodifiableList(mostUsedFlags));
     } finally {
       if (flagStream != null) {
         flagStream.close();
@@ -111,16 +168,33 @@ public class GFlagsValidation {
     }
   }
 
+  private MostUsedGFlags getMostUsedGFlags() throws IOException {
+    MostUsedGFlags result = mostUsedGFlags;
+    if (result == null) {
+      try (InputStream inputStream =
+          environment.resourceAsStream("gflags_metadata/" + "most_used_gflags.json")) {
+        result = JSON_MAPPER.readValue(inputStream, MostUsedGFlags.class);
+      }
+      mostUsedGFlags = result;
+    }
+    return result;
+  }
+
+  /**
+   * Extracts the missing gflags metadata files of the DB version from the DB package. Reading the
+   * package stops as soon as all the required files are found.
+   */
   public void fetchGFlagFilesFromTarGZipInputStream(
       InputStream inputStream,
       String dbVersion,
       List<String> requiredGFlagFileList,
       String releasesPath)
       throws IOException {
+    Set<String> remainingFiles = new HashSet<>(requiredGFlagFileList);
     try (TarArchiveInputStream tarInput =
         new TarArchiveInputStream(new GzipCompressorInputStream(inputStream))) {
       TarArchiveEntry currentEntry;
-      while ((currentEntry = tarInput.getNextTarEntry()) != null) {
+      while (!remainingFiles.isEmpty() && (currentEntry = tarInput.getNextTarEntry()) != null) {
         // Ignore all non-flag xml files.
         if (!currentEntry.isFile() || !currentEntry.getName().endsWith("flags.xml")) {
           continue;
@@ -133,20 +207,18 @@ public class GFlagsValidation {
         }
         String gFlagFileName = tarGFlagFilePathList.get(tarGFlagFilePathList.size() - 1);
         // Don't modify/re-write existing gFlags files, only add missing ones.
-        if (!requiredGFlagFileList.contains(gFlagFileName)) {
+        if (!remainingFiles.remove(gFlagFileName)) {
           continue;
         }
-        String absoluteGFlagFileName =
-            String.format("%s/%s/%s", releasesPath, dbVersion, gFlagFileName);
-        File gFlagOutputFile = new File(absoluteGFlagFileName);
-        if (!gFlagOutputFile.exists()) {
-          gFlagOutputFile.getParentFile().mkdirs();
-          gFlagOutputFile.createNewFile();
-          BufferedInputStream in = new BufferedInputStream(tarInput);
-          ByteArrayOutputStream out = new ByteArrayOutputStream();
-          IOUtils.copy(in, out);
-          try (OutputStream outputStream = new FileOutputStream(gFlagOutputFile)) {
-            out.writeTo(outputStream);
+        Path gFlagOutputFile = Paths.get(releasesPath, dbVersion, gFlagFileName);
+        if (!Files.exists(gFlagOutputFile)) {
+          Files.createDirectories(gFlagOutputFile.getParent());
+          // Written aside and moved in place, so that a failed copy leaves no partial file.
+          Path tempFile =
+              Files.createTempFile(gFlagOutputFile.getParent(), gFlagFileName, ".tmp");
+          try {
+            Files.copy(tarInput, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, gFlagOutputFile, StandardCopyOption.ATOMIC_MOVE);
           } catch (IOException e) {
             LOG.error(
                 "Caught an error while adding {} for DB version{}: {}",
@@ -154,12 +226,16 @@ public class GFlagsValidation {
                 dbVersion,
                 e);
             throw e;
+          } finally {
+            Files.deleteIfExists(tempFile);
           }
         }
       }
     } catch (IOException e) {
       LOG.error("Caught an error while adding gFlags metadata for version: {}", dbVersion, e);
       throw e;
+    } finally {
+      invalidate(dbVersion);
     }
   }
 
@@ -191,6 +267,22 @@ public class GFlagsValidation {
     public List<GFlagDetails> flags;
   }
 
+  /** Parsed gflags metadata of a version and server type. */
+  private static class GFlagsMetadata {
+    private final List<GFlagDetails> flags;
+    private final Map<String, GFlagDetails> flagsByName;
+    private final List<GFlagDetails> mostUsedFlags;
+
+    private GFlagsMetadata(
+        List<GFlagDetails> flags,
+        Map<String, GFlagDetails> flagsByName,
+        List<GFlagDetails> mostUsedFlags) {
+      this.flags = flags;
+      this.flagsByName = flagsByName;
+      this.mostUsedFlags = mostUsedFlags;
+    }
+  }
+
   /** Structure to capture most used gflags from json file. */
   private static class MostUsedGFlags {
     @JsonProperty(value = "MASTER")
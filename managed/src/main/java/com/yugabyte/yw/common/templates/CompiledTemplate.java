@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.templates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Template string split once into literal text and placeholder names, so that rendering it is a
+ * single pass over the segments instead of a search for the placeholders. Instances are immutable
+ * and can be shared between threads.
+ */
+public class CompiledTemplate {
+
+  // Builders larger than this are not kept for reuse, to not hold on to memory.
+  private static final int MAX_REUSED_CAPACITY = 64 * 1024;
+
+  // Builder reused by the renders of the current thread. It is taken out while in use, so that
+  // a render started from a value provider gets its own builder.
+  private static final ThreadLocal<StringBuilder> REUSABLE_BUILDER =
+      ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+  // Literal text at even positions, placeholder names at odd positions.
+  private final String[] segments;
+
+  private final int literalLength;
+
+  private CompiledTemplate(String[] segments, int literalLength) {
+    this.segments = segments;
+    this.literalLength = literalLength;
+  }
+
+  /**
+   * Splits the template into segments. Placeholders are found the same way as by {@link
+   * PlaceholderSubstitutor}: for nested prefixes, the one right before the suffix starts the
+   * placeholder, and the placeholder name is trimmed.
+   */
+  public static CompiledTemplate compile(
+      String templateStr, String parameterPrefix, String parameterSuffix) {
+    List<String> segments = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int literalLength = 0;
+    int position = 0;
+    int prefixPosition;
+    while ((prefixPosition = templateStr.indexOf(parameterPrefix, position)) >= 0) {
+      int suffixPosition =
+          templateStr.indexOf(parameterSuffix, prefixPosition + parameterPrefix.length());
+      if (suffixPosition == -1) {
+        break;
+      }
+      int nextPrefixPosition =
+          templateStr.indexOf(parameterPrefix, prefixPosition + parameterPrefix.length());
+      if (nextPrefixPosition > 0 && nextPrefixPosition < suffixPosition) {
+        // we need to find prefix right before suffix
+        literal.append(templateStr, position, nextPrefixPosition);
+        position = nextPrefixPosition;
+        continue;
+      }
+      literal.append(templateStr, position, prefixPosition);
+      literalLength += literal.length();
+      segments.add(literal.toString());
+      literal.setLength(0);
+      segments.add(
+          templateStr.substring(prefixPosition + parameterPrefix.length(), suffixPosition).trim());
+      position = suffixPosition + parameterSuffix.length();
+    }
+    // Copying tail.
+    literal.append(templateStr, position, templateStr.length());
+    literalLength += literal.length();
+    segments.add(literal.toString());
+    return new CompiledTemplate(segments.toArray(new String[0]), literalLength);
+  }
+
+  /** Returns the placeholder names, in the template order. */
+  public List<String> getPlaceholders() {
+    List<String> result = new ArrayList<>(segments.length / 2);
+    for (int i = 1; i < segments.length; i += 2) {
+      result.add(segments[i]);
+    }
+    return result;
+  }
+
+  /** Renders the template, placeholders are replaced with the value provider results. */
+  public String render(Function<String, String> valueProvider) {
+    StringBuilder builder = REUSABLE_BUILDER.get();
+    boolean reused = builder != null;
+    if (reused) {
+      REUSABLE_BUILDER.set(null);
+      builder.setLength(0);
+    } else {
+      builder = new StringBuilder(literalLength + 16 * (segments.length / 2));
+    }
+    try {
+      renderTo(builder, valueProvider);
+      return builder.toString();
+    } finally {
+      if (reused) {
+        REUSABLE_BUILDER.set(
+            builder.capacity() <= MAX_REUSED_CAPACITY ? builder : new StringBuilder(1024));
+      }
+    }
+  }
+
+  /** Appends the rendered template to the builder. */
+  public void renderTo(StringBuilder builder, Function<String, String> valueProvider) {
+    builder.append(segments[0]);
+    for (int i = 1; i < segments.length; i += 2) {
+      builder.append(valueProvider.apply(segments[i]));
+      builder.append(segments[i + 1]);
+    }
+  }
+}
@@ -10,12 +10,22 @@
 
 package com.yugabyte.yw.common.templates;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.function.Function;
+import lombok.Value;
 
 /**
  * Replace placeholders, surrounded by prefix and suffix strings with some values from domain model.
  */
 public class PlaceholderSubstitutor {
+  // Templates are mostly the static alert, rule and notification templates. The cache is bounded
+  // as rendered messages are sometimes substituted again.
+  private static final int MAX_COMPILED_TEMPLATES = 1000;
+
+  private static final Cache<TemplateKey, CompiledTemplate> COMPILED_TEMPLATES =
+      CacheBuilder.newBuilder().maximumSize(MAX_COMPILED_TEMPLATES).build();
+
   private final String parameterPrefix;
   private final String parameterSuffix;
   private final Function<String, String> valueProvider;
@@ -45,33 +55,24 @@ public class PlaceholderSubstitutor {
     if (templateStr == null) {
       return null;
     }
+    return compile(templateStr).render(valueProvider);
+  }
 
-    StringBuilder result = new StringBuilder();
-    int position = 0;
-    int prefixPosition;
-    while ((prefixPosition = templateStr.indexOf(parameterPrefix, position)) >= 0) {
-      int suffixPosition =
-          templateStr.indexOf(parameterSuffix, prefixPosition + parameterPrefix.length());
-      if (suffixPosition == -1) {
-        break;
-      }
-      int nextPrefixPosition =
-          templateStr.indexOf(parameterPrefix, prefixPosition + parameterPrefix.length());
-      if (nextPrefixPosition > 0 && nextPrefixPosition < suffixPosition) {
-        // we need to find prefix right before suffix
-        result.append(templateStr, position, nextPrefixPosition);
-        position = nextPrefixPosition;
-        continue;
-      }
-      result.append(templateStr, position, prefixPosition);
-      String parameter =
-          templateStr.substring(prefixPosition + parameterPrefix.length(), suffixPosition);
-      parameter = parameter.trim();
-      result.append(valueProvider.apply(parameter));
-      position = suffixPosition + parameterSuffix.length();
+  /** Returns the compiled template, templates are compiled once and then taken from the cache. */
+  public CompiledTemplate compile(String templateStr) {
+    TemplateKey key = new TemplateKey(parameterPrefix, parameterSuffix, templateStr);
+    CompiledTemplate compiled = COMPILED_TEMPLATES.getIfPresent(key);
+    if (compiled == null) {
+      compiled = CompiledTemplate.compile(templateStr, parameterPrefix, parameterSuffix);
+      COMPILED_TEMPLATES.put(key, compiled);
     }
-    // Copying tail.
-    result.append(templateStr.substring(position));
-    return result.toString();
+    return compiled;
+  }
+
+  @Value
+  private static class TemplateKey {
+    String parameterPrefix;
+    String parameterSuffix;
+    String template;
   }
 }
@@ -22,17 +22,23 @@ import com.yugabyte.yw.forms.SubTaskFormData;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.forms.UniverseResp;
 import com.yugabyte.yw.forms.UniverseTaskParams;
+import com.yugabyte.yw.forms.paging.CustomerTaskPagedApiQuery;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
 import com.yugabyte.yw.models.TaskInfo;
 import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.filters.CustomerTaskFilter;
 import com.yugabyte.yw.models.helpers.TaskType;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedApiResponse;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedQuery;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedResponse;
 import io.ebean.Query;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.Authorization;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -105,7 +111,7 @@ public class CustomerTaskController extends AuthenticatedController {
   }
 
   private CustomerTaskFormData buildCustomerTaskFromData(
-      CustomerTask task, ObjectNode taskProgress, TaskInfo taskInfo) {
+      CustomerTask task, ObjectNode taskProgress, JsonNode taskDetails) {
     try {
       CustomerTaskFormData taskData = new CustomerTaskFormData();
       taskData.percentComplete = taskProgress.get("percent").asInt();
@@ -126,8 +132,9 @@ public class CustomerTaskController extends AuthenticatedController {
       String correlationId = task.getCorrelationId();
       if (!Strings.isNullOrEmpty(correlationId)) taskData.correlationId = correlationId;
       ObjectNode versionNumbers = Json.newObject();
-      JsonNode taskDetails = taskInfo.getTaskDetails();
-      if (taskData.type == "UpgradeSoftware" && taskDetails.has(YB_PREV_SOFTWARE_VERSION)) {
+      if (taskData.type == "UpgradeSoftware"
+          && taskDetails != null
+          && taskDetails.has(YB_PREV_SOFTWARE_VERSION)) {
         versionNumbers.put(
             YB_PREV_SOFTWARE_VERSION, taskDetails.get(YB_PREV_SOFTWARE_VERSION).asText());
         versionNumbers.put(YB_SOFTWARE_VERSION, taskDetails.get(YB_SOFTWARE_VERSION).asText());
@@ -140,50 +147,52 @@ public class CustomerTaskController extends AuthenticatedController {
     }
   }
 
-  private Map<UUID, List<CustomerTaskFormData>> fetchTasks(UUID customerUUID, UUID targetUUID) {
-    Query<CustomerTask> customerTaskQuery =
-        CustomerTask.find
-            .query()
-            .where()
-            .eq("customer_uuid", customerUUID)
-            .orderBy("create_time desc");
-
-    if (targetUUID != null) {
-      customerTaskQuery.where().eq("target_uuid", targetUUID);
+  private List<CustomerTaskFormData> buildCustomerTaskListData(List<CustomerTask> customerTasks) {
+    // Tasks keep their summary on the customer task. Only those without one, which completed
+    // before summaries were kept, need their task_info.
+    Set<UUID> taskUuids =
+        customerTasks
+            .stream()
+            .filter(task -> task.getTaskState() == null)
+            .map(CustomerTask::getTaskUUID)
+            .collect(Collectors.toSet());
+    Map<UUID, TaskInfo> taskInfoMap =
+        taskUuids.isEmpty()
+            ? Collections.emptyMap()
+            : TaskInfo.find(taskUuids)
+                .stream()
+                .collect(Collectors.toMap(TaskInfo::getTaskUUID, Function.identity()));
+
+    List<CustomerTaskFormData> result = new ArrayList<>(customerTasks.size());
+    for (CustomerTask task : customerTasks) {
+      Optional<ObjectNode> optTaskProgress;
+      JsonNode taskDetails;
+      if (task.getTaskState() != null) {
+        optTaskProgress = commissioner.buildTaskSummaryStatus(task);
+        taskDetails = task.getSummaryDetails();
+      } else {
+        TaskInfo taskInfo = taskInfoMap.get(task.getTaskUUID());
+        optTaskProgress = commissioner.buildTaskStatus(task, taskInfo);
+        taskDetails = taskInfo == null ? null : taskInfo.getTaskDetails();
+      }
+      optTaskProgress
+          .map(taskProgress -> buildCustomerTaskFromData(task, taskProgress, taskDetails))
+          .ifPresent(result::add);
     }
+    return result;
+  }
 
+  private Map<UUID, List<CustomerTaskFormData>> fetchTasks(UUID customerUUID, UUID targetUUID) {
     List<CustomerTask> customerTaskList =
-        customerTaskQuery
-            .setMaxRows(
-                confGetter.getConfForScope(
-                    Customer.getOrBadRequest(customerUUID), CustomerConfKeys.taskDbQueryLimit))
-            .orderBy("create_time desc")
-            .findPagedList()
-            .getList();
+        CustomerTask.findRecent(
+            customerUUID,
+            targetUUID,
+            confGetter.getConfForScope(
+                Customer.getOrBadRequest(customerUUID), CustomerConfKeys.taskDbQueryLimit));
 
     Map<UUID, List<CustomerTaskFormData>> taskListMap = new HashMap<>();
-
-    Set<UUID> taskUuids =
-        customerTaskList.stream().map(CustomerTask::getTaskUUID).collect(Collectors.toSet());
-    Map<UUID, TaskInfo> taskInfoMap =
-        TaskInfo.find(taskUuids)
-            .stream()
-            .collect(Collectors.toMap(TaskInfo::getTaskUUID, Function.identity()));
-    for (CustomerTask task : customerTaskList) {
-      Optional<ObjectNode> optTaskProgress =
-          commissioner.buildTaskStatus(task, taskInfoMap.get(task.getTaskUUID()));
-
-      optTaskProgress.ifPresent(
-          taskProgress -> {
-            CustomerTaskFormData taskData =
-                buildCustomerTaskFromData(task, taskProgress, taskInfoMap.get(task.getTaskUUID()));
-            if (taskData != null) {
-              List<CustomerTaskFormData> taskList =
-                  taskListMap.getOrDefault(task.getTargetUUID(), new ArrayList<>());
-              taskList.add(taskData);
-              taskListMap.putIfAbsent(task.getTargetUUID(), taskList);
-            }
-          });
+    for (CustomerTaskFormData taskData : buildCustomerTaskListData(customerTaskList)) {
+      taskListMap.computeIfAbsent(taskData.targetUUID, k -> new ArrayList<>()).add(taskData);
     }
     return taskListMap;
   }
@@ -219,6 +228,22 @@ public class CustomerTaskController extends AuthenticatedController {
     return PlatformResults.withData(taskList);
   }
 
+  @ApiOperation(value = "UI_ONLY", hidden = true)
+  public Result pageTasks(UUID customerUUID) {
+    Customer.getOrBadRequest(customerUUID);
+
+    CustomerTaskPagedApiQuery apiQuery = parseJsonAndValidate(CustomerTaskPagedApiQuery.class);
+    CustomerTaskFilter filter =
+        apiQuery.getFilter().toFilter().toBuilder().customerUUID(customerUUID).build();
+    CustomerTaskPagedQuery query = apiQuery.copyWithFilter(filter, CustomerTaskPagedQuery.class);
+
+    CustomerTaskPagedResponse response = CustomerTask.pagedList(query);
+    CustomerTaskPagedApiResponse tasks =
+        response.setData(
+            buildCustomerTaskListData(response.getEntities()), new CustomerTaskPagedApiResponse());
+    return PlatformResults.withData(tasks);
+  }
+
   @ApiOperation(value = "Get a task's status", response = Object.class)
   public Result taskStatus(UUID customerUUID, UUID taskUUID) {
     Customer.getOrBadRequest(customerUUID);
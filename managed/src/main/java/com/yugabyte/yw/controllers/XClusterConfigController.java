@@ -16,6 +16,7 @@ import com.yugabyte.yw.commissioner.Commissioner;
 import com.yugabyte.yw.commissioner.tasks.XClusterConfigTaskBase;
 import com.yugabyte.yw.common.BackupUtil;
 import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.common.XClusterReplicationStatusCache;
 import com.yugabyte.yw.common.customer.config.CustomerConfigService;
 import com.yugabyte.yw.common.services.YBClientService;
 import com.yugabyte.yw.common.utils.Pair;
@@ -53,6 +54,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -72,6 +74,7 @@ public class XClusterConfigController extends AuthenticatedController {
   private final BackupUtil backupUtil;
   private final CustomerConfigService customerConfigService;
   private final YBClientService ybService;
+  private final XClusterReplicationStatusCache replicationStatusCache;
 
   @Inject
   public XClusterConfigController(
@@ -79,12 +82,14 @@ public class XClusterConfigController extends AuthenticatedController {
       MetricQueryHelper metricQueryHelper,
       BackupUtil backupUtil,
       CustomerConfigService customerConfigService,
-      YBClientService ybService) {
+      YBClientService ybService,
+      XClusterReplicationStatusCache replicationStatusCache) {
     this.commissioner = commissioner;
     this.metricQueryHelper = metricQueryHelper;
     this.backupUtil = backupUtil;
     this.customerConfigService = customerConfigService;
     this.ybService = ybService;
+    this.replicationStatusCache = replicationStatusCache;
   }
 
   /**
@@ -233,6 +238,13 @@ public class XClusterConfigController extends AuthenticatedController {
     XClusterConfig xClusterConfig =
         XClusterConfig.getValidConfigOrBadRequest(customer, xclusterConfigUUID);
 
+    // Check whether the replication is broken for the tables, while lag metrics are queried.
+    Set<String> tableIdsInRunningStatus =
+        xClusterConfig.getTableIdsInStatus(
+            xClusterConfig.getTables(), XClusterTableConfig.Status.Running);
+    CompletableFuture<Map<String, Boolean>> isBootstrapRequiredFuture =
+        replicationStatusCache.getIsBootstrapRequiredMap(xClusterConfig, tableIdsInRunningStatus);
+
     JsonNode lagMetricData;
 
     try {
@@ -267,15 +279,9 @@ public class XClusterConfigController extends AuthenticatedController {
       lagMetricData = Json.newObject().put("error", errorMsg);
     }
 
-    // Check whether the replication is broken for the tables.
-    Set<String> tableIdsInRunningStatus =
-        xClusterConfig.getTableIdsInStatus(
-            xClusterConfig.getTables(), XClusterTableConfig.Status.Running);
     Map<String, Boolean> isBootstrapRequiredMap;
     try {
-      isBootstrapRequiredMap =
-          XClusterConfigTaskBase.isBootstrapRequired(
-              this.ybService, tableIdsInRunningStatus, xClusterConfig);
+      isBootstrapRequiredMap = isBootstrapRequiredFuture.join();
     } catch (Exception e) {
       log.error("XClusterConfigTaskBase.isBootstrapRequired hit error : {}", e.getMessage());
       // If isBootstrapRequired method hits error, assume all the tables are in error state.
@@ -21,7 +21,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -71,16 +70,10 @@ public class GFlagsValidationHandler {
 
     // extract master gflags metadata.
     Map<String, GFlagDetails> masterGflagsMap =
-        gflagsValidation
-            .extractGFlags(version, ServerType.MASTER.toString(), false)
-            .stream()
-            .collect(Collectors.toMap(gflag -> gflag.name, Function.identity()));
+        gflagsValidation.getGFlagsMap(version, ServerType.MASTER.toString());
     // extract tserver gflags metadata.
     Map<String, GFlagDetails> tserverGflagsMap =
-        gflagsValidation
-            .extractGFlags(version, ServerType.TSERVER.toString(), false)
-            .stream()
-            .collect(Collectors.toMap(gflag -> gflag.name, Function.identity()));
+        gflagsValidation.getGFlagsMap(version, ServerType.TSERVER.toString());
 
     List<GFlagsValidationResponse> validationResponseArrayList = new ArrayList<>();
     for (GFlagsValidationRequest gflag : gflags.gflagsList) {
@@ -97,11 +90,8 @@ public class GFlagsValidationHandler {
       throws IOException {
     validateServerType(serverType);
     validateVersionFormat(version);
-    List<GFlagDetails> gflagsList = gflagsValidation.extractGFlags(version, serverType, false);
-    return gflagsList
-        .stream()
-        .filter(flag -> flag.name.equals(gflag))
-        .findFirst()
+    return gflagsValidation
+        .getGFlagDetails(version, serverType, gflag)
         .orElseThrow(
             () ->
                 new PlatformServiceException(BAD_REQUEST, gflag + " is not present in metadata."));
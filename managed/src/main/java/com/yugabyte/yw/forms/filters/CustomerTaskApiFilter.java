@@ -0,0 +1,18 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.forms.filters;
+
+import com.yugabyte.yw.models.filters.CustomerTaskFilter;
+import java.util.UUID;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class CustomerTaskApiFilter {
+  UUID targetUUID;
+
+  public CustomerTaskFilter toFilter() {
+    return CustomerTaskFilter.builder().targetUUID(targetUUID).build();
+  }
+}
@@ -0,0 +1,14 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.forms.paging;
+
+import com.yugabyte.yw.forms.filters.CustomerTaskApiFilter;
+import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CustomerTaskPagedApiQuery
+    extends PagedQuery<CustomerTaskApiFilter, CustomerTask.SortBy> {}
@@ -9,7 +9,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.yugabyte.yw.common.PlatformServiceException;
 import io.ebean.Finder;
 import io.ebean.Model;
-import io.ebean.annotation.CreatedTimestamp;
 import io.ebean.annotation.DbJson;
 import io.ebean.annotation.EnumValue;
 import io.swagger.annotations.ApiModel;
@@ -536,8 +535,9 @@ public class Audit extends Model {
     return this.customerUUID;
   }
 
-  // The task creation time.
-  @CreatedTimestamp private final Date timestamp;
+  // The task creation time. Set when the entry is built, which for batched writes can be a bit
+  // earlier than the insert.
+  private Date timestamp;
 
   public Date getTimestamp() {
     return this.timestamp;
@@ -664,10 +664,49 @@ public class Audit extends Model {
       UUID taskUUID,
       JsonNode details,
       String userAddress) {
+    Audit entry =
+        newEntry(
+            new Date(),
+            user.customerUUID,
+            user.uuid,
+            user.email,
+            apiCall,
+            apiMethod,
+            target,
+            targetID,
+            action,
+            body,
+            taskUUID,
+            details,
+            userAddress);
+    entry.save();
+    return entry;
+  }
+
+  /**
+   * Builds an audit entry without saving it, so that entries can be written in batches.
+   *
+   * @return New unsaved Audit table entry.
+   */
+  public static Audit newEntry(
+      Date timestamp,
+      UUID customerUUID,
+      UUID userUUID,
+      String userEmail,
+      String apiCall,
+      String apiMethod,
+      TargetType target,
+      String targetID,
+      ActionType action,
+      JsonNode body,
+      UUID taskUUID,
+      JsonNode details,
+      String userAddress) {
     Audit entry = new Audit();
-    entry.customerUUID = user.customerUUID;
-    entry.userUUID = user.uuid;
-    entry.userEmail = user.email;
+    entry.timestamp = timestamp;
+    entry.customerUUID = customerUUID;
+    entry.userUUID = userUUID;
+    entry.userEmail = userEmail;
     entry.apiCall = apiCall;
     entry.apiMethod = apiMethod;
     entry.target = target;
@@ -677,7 +716,6 @@ public class Audit extends Model {
     entry.payload = body;
     entry.additionalDetails = details;
     entry.userAddress = userAddress;
-    entry.save();
     return entry;
   }
 
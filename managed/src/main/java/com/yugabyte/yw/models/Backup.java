@@ -172,6 +172,8 @@ public class Backup extends Model {
   public enum SortBy implements PagedQuery.SortByIF {
     createTime("createTime");
 
+    private static final SortByIF ORDER_FIELD = new PagedQuery.OrderField("backupUUID");
+
     private final String sortField;
 
     SortBy(String sortField) {
@@ -184,7 +186,7 @@ public class Backup extends Model {
 
     @Override
     public SortByIF getOrderField() {
-      return SortBy.createTime;
+      return ORDER_FIELD;
     }
   }
 
@@ -3,37 +3,64 @@
 package com.yugabyte.yw.models;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.api.client.util.Strings;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.logging.LogUtil;
+import com.yugabyte.yw.models.filters.CustomerTaskFilter;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedQuery;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedResponse;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import com.yugabyte.yw.models.paging.PagedQuery.SortByIF;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import io.ebean.ExpressionList;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.PersistenceContextScope;
+import io.ebean.annotation.DbJson;
 import io.ebean.annotation.EnumValue;
 import io.ebean.annotation.Transactional;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import play.data.validation.Constraints;
+import play.libs.Json;
 
 import javax.annotation.Nullable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.yugabyte.yw.models.helpers.CommonUtils.performPagedQuery;
 import static io.swagger.annotations.ApiModelProperty.AccessMode.READ_ONLY;
 import static play.mvc.Http.Status.BAD_REQUEST;
 
@@ -43,6 +70,37 @@ import static play.mvc.Http.Status.BAD_REQUEST;
 public class CustomerTask extends Model {
   public static final Logger LOG = LoggerFactory.getLogger(CustomerTask.class);
 
+  private static final String YB_SOFTWARE_VERSION = "ybSoftwareVersion";
+  private static final String YB_PREV_SOFTWARE_VERSION = "ybPrevSoftwareVersion";
+
+  // Bumped on every change to customer tasks made through this model, so that cached lists of
+  // recent tasks are never served after a change.
+  private static final AtomicLong version = new AtomicLong();
+
+  private static final Cache<List<Object>, List<CustomerTask>> recentTasksCache =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(1, TimeUnit.MINUTES).build();
+
+  public enum SortBy implements PagedQuery.SortByIF {
+    createTime("createTime");
+
+    private static final SortByIF ORDER_FIELD = new PagedQuery.OrderField("id");
+
+    private final String sortField;
+
+    SortBy(String sortField) {
+      this.sortField = sortField;
+    }
+
+    public String getSortField() {
+      return sortField;
+    }
+
+    @Override
+    public SortByIF getOrderField() {
+      return ORDER_FIELD;
+    }
+  }
+
   public enum TargetType {
     @EnumValue("Universe")
     Universe(true),
@@ -568,6 +626,52 @@ public class CustomerTask extends Model {
     return correlationId;
   }
 
+  @Column
+  @Enumerated(EnumType.STRING)
+  @ApiModelProperty(value = "State of the task", accessMode = READ_ONLY)
+  private TaskInfo.State taskState;
+
+  /** State of the task, or null if the task executor has not reported it yet. */
+  public TaskInfo.State getTaskState() {
+    return taskState;
+  }
+
+  @Column
+  @ApiModelProperty(value = "Percentage of completed subtasks", accessMode = READ_ONLY)
+  private Double percentComplete;
+
+  public Double getPercentComplete() {
+    return percentComplete;
+  }
+
+  @Column(columnDefinition = "TEXT")
+  @DbJson
+  @JsonIgnore
+  private JsonNode summaryDetails;
+
+  public JsonNode getSummaryDetails() {
+    return summaryDetails;
+  }
+
+  @Override
+  public void save() {
+    super.save();
+    version.incrementAndGet();
+  }
+
+  @Override
+  public void update() {
+    super.update();
+    version.incrementAndGet();
+  }
+
+  @Override
+  public boolean delete() {
+    boolean result = super.delete();
+    version.incrementAndGet();
+    return result;
+  }
+
   public void markAsCompleted() {
     markAsCompleted(new Date());
   }
@@ -687,6 +791,152 @@ public class CustomerTask extends Model {
     return 2 + subTasks.size();
   }
 
+  /**
+   * Set based {@link #cascadeDeleteCompleted()} for a batch of completed customer tasks. The task
+   * trees of the whole batch are deleted with a few statements, instead of a few per tree. Trees
+   * which cascadeDeleteCompleted would not delete are skipped.
+   *
+   * @param customerTasks completed customer tasks
+   * @return number of customer_task rows and number of task_info rows deleted
+   */
+  @Transactional
+  public static Pair<Integer, Integer> cascadeDeleteCompleted(List<CustomerTask> customerTasks) {
+    if (customerTasks.isEmpty()) {
+      return Pair.of(0, 0);
+    }
+    Set<UUID> taskUUIDs =
+        customerTasks.stream().map(CustomerTask::getTaskUUID).collect(Collectors.toSet());
+    Map<UUID, TaskInfo> rootTasks =
+        TaskInfo.find
+            .query()
+            .where()
+            .idIn(taskUUIDs)
+            .findList()
+            .stream()
+            .collect(Collectors.toMap(TaskInfo::getTaskUUID, Function.identity()));
+    Set<UUID> withIncompleteSubTasks =
+        TaskInfo.find
+            .query()
+            .select("parentUuid")
+            .where()
+            .in("parent_uuid", taskUUIDs)
+            .in("task_state", TaskInfo.INCOMPLETE_STATES)
+            .findList()
+            .stream()
+            .map(TaskInfo::getParentUUID)
+            .collect(Collectors.toSet());
+    List<Long> customerTaskIds = new ArrayList<>();
+    Set<UUID> deletedTaskUUIDs = new HashSet<>();
+    for (CustomerTask customerTask : customerTasks) {
+      TaskInfo rootTaskInfo = rootTasks.get(customerTask.taskUUID);
+      if (rootTaskInfo != null && !rootTaskInfo.hasCompleted()) {
+        LOG.warn(
+            "Completed CustomerTask(id:{}, type:{}) has incomplete task_info {}",
+            customerTask.id,
+            customerTask.type,
+            rootTaskInfo);
+        continue;
+      }
+      if (rootTaskInfo != null
+          && rootTaskInfo.getTaskState() == TaskInfo.State.Success
+          && withIncompleteSubTasks.contains(customerTask.taskUUID)) {
+        LOG.warn(
+            "For a customer_task.id: {}, Successful task_info.uuid ({}) has incomplete subtasks",
+            customerTask.id,
+            customerTask.taskUUID);
+        continue;
+      }
+      // Customer tasks without task_info are left over from failed submissions, drop them too.
+      customerTaskIds.add(customerTask.id);
+      deletedTaskUUIDs.add(customerTask.taskUUID);
+    }
+    if (customerTaskIds.isEmpty()) {
+      return Pair.of(0, 0);
+    }
+    // Note: delete leaf nodes first to preserve referential integrity.
+    int numTaskInfos =
+        TaskInfo.find.query().where().in("parent_uuid", deletedTaskUUIDs).delete()
+            + TaskInfo.find.query().where().idIn(deletedTaskUUIDs).delete();
+    int numCustomerTasks = find.query().where().idIn(customerTaskIds).delete();
+    version.incrementAndGet();
+    return Pair.of(numCustomerTasks, numTaskInfos);
+  }
+
+  /**
+   * Copies state, progress and software versions of the task to its customer task, so that task
+   * lists are served by a single query on customer_task. Invoked by the task executor on every
+   * state change of the task or completion of its subtasks.
+   */
+  public static void updateSummary(TaskInfo taskInfo) {
+    List<CustomerTask> customerTasks =
+        find.query().where().eq("task_uuid", taskInfo.getTaskUUID()).findList();
+    if (customerTasks.isEmpty()) {
+      // The customer task is created right after the task is submitted, next change updates it.
+      return;
+    }
+    TaskInfo.State state = taskInfo.getTaskState();
+    double percent = taskInfo.getPercentCompleted();
+    JsonNode taskDetails = taskInfo.getTaskDetails();
+    ObjectNode versions = null;
+    if (taskDetails != null && taskDetails.has(YB_PREV_SOFTWARE_VERSION)) {
+      versions = Json.newObject();
+      versions.put(YB_PREV_SOFTWARE_VERSION, taskDetails.get(YB_PREV_SOFTWARE_VERSION).asText());
+      versions.put(YB_SOFTWARE_VERSION, taskDetails.path(YB_SOFTWARE_VERSION).asText());
+    }
+    for (CustomerTask customerTask : customerTasks) {
+      customerTask.taskState = state;
+      customerTask.percentComplete = percent;
+      customerTask.summaryDetails = versions;
+      customerTask.save();
+    }
+  }
+
+  /**
+   * Returns the latest customer tasks, newest first. Lists are cached until the next change of any
+   * customer task, as the UI polls them much more often than tasks change.
+   */
+  public static List<CustomerTask> findRecent(UUID customerUUID, UUID targetUUID, int limit) {
+    List<Object> key = Arrays.asList(version.get(), customerUUID, targetUUID, limit);
+    try {
+      return recentTasksCache.get(
+          key,
+          () -> {
+            ExpressionList<CustomerTask> query =
+                createQueryByFilter(
+                    CustomerTaskFilter.builder()
+                        .customerUUID(customerUUID)
+                        .targetUUID(targetUUID)
+                        .build());
+            return query.orderBy("create_time desc, id desc").setMaxRows(limit).findList();
+          });
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  public static CustomerTaskPagedResponse pagedList(CustomerTaskPagedQuery pagedQuery) {
+    if (pagedQuery.getSortBy() == null) {
+      pagedQuery.setSortBy(SortBy.createTime);
+      pagedQuery.setDirection(SortDirection.DESC);
+    }
+    return performPagedQuery(
+        createQueryByFilter(pagedQuery.getFilter()).query(),
+        pagedQuery,
+        CustomerTaskPagedResponse.class);
+  }
+
+  public static ExpressionList<CustomerTask> createQueryByFilter(CustomerTaskFilter filter) {
+    ExpressionList<CustomerTask> query =
+        find.query()
+            .setPersistenceContextScope(PersistenceContextScope.QUERY)
+            .where()
+            .eq("customer_uuid", filter.getCustomerUUID());
+    if (filter.getTargetUUID() != null) {
+      query.eq("target_uuid", filter.getTargetUUID());
+    }
+    return query;
+  }
+
   public static CustomerTask findByTaskUUID(UUID taskUUID) {
     return find.query().where().eq("task_uuid", taskUUID).findOne();
   }
@@ -700,6 +950,22 @@ public class CustomerTask extends Model {
         .findList();
   }
 
+  /**
+   * Returns customer tasks of the customer completed before the cutoff, in id order, starting
+   * after the given id.
+   */
+  public static List<CustomerTask> findCompletedBefore(
+      UUID customerUUID, Date cutoff, long afterId, int limit) {
+    return find.query()
+        .where()
+        .eq("customerUUID", customerUUID)
+        .le("completion_time", cutoff)
+        .gt("id", afterId)
+        .orderBy("id")
+        .setMaxRows(limit)
+        .findList();
+  }
+
   public static List<CustomerTask> findIncompleteByTargetUUID(UUID targetUUID) {
     return find.query().where().eq("target_uuid", targetUUID).isNull("completion_time").findList();
   }
@@ -7,6 +7,7 @@ import static play.mvc.Http.Status.BAD_REQUEST;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.certmgmt.CertificateHelper;
 import io.ebean.ExpressionList;
@@ -30,6 +31,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -233,6 +236,10 @@ public class NodeAgent extends Model {
     return finder.query().findSet();
   }
 
+  public static Set<UUID> getAllUuids() {
+    return new HashSet<>(finder.query().findIds());
+  }
+
   public static Set<NodeAgent> getUpdatableNodeAgents(UUID customerUuid, String softwareVersion) {
     return finder
         .query()
@@ -290,6 +297,13 @@ public class NodeAgent extends Model {
     save();
   }
 
+  /** Sets the heartbeat time of the node agents in one statement per batch of uuids. */
+  public static void heartbeat(Collection<UUID> uuids, Date time) {
+    for (List<UUID> batch : Iterables.partition(uuids, 1000)) {
+      db().update(NodeAgent.class).set("updatedAt", time).where().in("uuid", batch).update();
+    }
+  }
+
   public void heartbeat() {
     Date current = new Date();
     if (db().update(NodeAgent.class).set("updatedAt", current).where().eq("uuid", uuid).update()
@@ -66,6 +66,8 @@ public class Restore extends Model {
   public enum SortBy implements PagedQuery.SortByIF {
     createTime("createTime");
 
+    private static final SortByIF ORDER_FIELD = new PagedQuery.OrderField("restoreUUID");
+
     private final String sortField;
 
     SortBy(String sortField) {
@@ -78,7 +80,7 @@ public class Restore extends Model {
 
     @Override
     public SortByIF getOrderField() {
-      return SortBy.createTime;
+      return ORDER_FIELD;
     }
   }
 
@@ -510,6 +510,7 @@ public class Schedule extends Model {
     responseMin.setHasPrev(response.isHasPrev());
     responseMin.setHasNext(response.isHasNext());
     responseMin.setTotalCount(response.getTotalCount());
+    responseMin.setNextContinuationToken(response.getNextContinuationToken());
     return responseMin;
   }
 
@@ -24,9 +24,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.persistence.CascadeType;
@@ -408,6 +410,54 @@ public class XClusterConfig extends Model {
     setReplicationSetupDone(tableIds, true /* replicationSetupDone */);
   }
 
+  /**
+   * Makes this config match a replication group read from the target universe cluster config.
+   * Only tables which were added, removed or whose stream changed are written, together with the
+   * config in one update.
+   *
+   * @param paused Whether the replication group is disabled
+   * @param tableIdStreamIdMap Stream ids of the replication group by source table id
+   */
+  @Transactional
+  public void syncWithReplicationGroup(boolean paused, Map<String, String> tableIdStreamIdMap) {
+    if (this.tables == null) {
+      this.tables = new HashSet<>();
+    }
+    int numRemoved = this.tables.size();
+    this.tables.removeIf(tableConfig -> !tableIdStreamIdMap.containsKey(tableConfig.tableId));
+    numRemoved -= this.tables.size();
+    Map<String, XClusterTableConfig> existing =
+        this.tables
+            .stream()
+            .collect(Collectors.toMap(tableConfig -> tableConfig.tableId, Function.identity()));
+    int numAdded = 0;
+    int numChanged = 0;
+    for (Map.Entry<String, String> entry : tableIdStreamIdMap.entrySet()) {
+      XClusterTableConfig tableConfig = existing.get(entry.getKey());
+      if (tableConfig == null) {
+        tableConfig = new XClusterTableConfig(this, entry.getKey());
+        addTableConfig(tableConfig);
+        numAdded++;
+      } else if (!tableConfig.replicationSetupDone
+          || !Objects.equals(tableConfig.streamId, entry.getValue())) {
+        numChanged++;
+      } else {
+        continue;
+      }
+      tableConfig.replicationSetupDone = true;
+      tableConfig.streamId = entry.getValue();
+    }
+    this.status = XClusterConfigStatusType.Running;
+    this.paused = paused;
+    log.info(
+        "Synced xCluster config {}: {} tables added, {} removed, {} changed",
+        this.uuid,
+        numAdded,
+        numRemoved,
+        numChanged);
+    update();
+  }
+
   @Transactional
   public void removeTables(Set<String> tableIds) {
     if (this.tables == null) {
@@ -0,0 +1,14 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.filters;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class CustomerTaskFilter {
+  UUID customerUUID;
+  UUID targetUUID;
+}
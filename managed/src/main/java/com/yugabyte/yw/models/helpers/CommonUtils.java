@@ -9,6 +9,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.Iterables;
 import com.jayway.jsonpath.Configuration;
@@ -23,12 +25,16 @@ import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.Users;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
 import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
+import com.yugabyte.yw.models.paging.ContinuationToken;
 import com.yugabyte.yw.models.paging.PagedQuery;
+import com.yugabyte.yw.models.paging.PagedQuery.SortByIF;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
 import com.yugabyte.yw.models.paging.PagedResponse;
 import io.ebean.ExpressionList;
 import io.ebean.Junction;
 import io.ebean.PagedList;
 import io.ebean.Query;
+import io.ebean.bean.EntityBean;
 import io.ebean.common.BeanList;
 import java.lang.annotation.Annotation;
 import java.time.Duration;
@@ -50,6 +56,8 @@ import java.util.Random;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -81,6 +89,10 @@ public class CommonUtils {
   public static final int DB_IN_CLAUSE_TO_WARN = 50000;
   public static final int DB_OR_CHAIN_TO_WARN = 100;
 
+  // Total counts of keyset paged queries, by response class and filter.
+  private static final Cache<List<Object>, Integer> PAGED_QUERY_COUNT_CACHE =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(30, TimeUnit.SECONDS).build();
+
   private static final Configuration JSONPATH_CONFIG =
       Configuration.builder()
           .jsonProvider(new JacksonJsonNodeJsonProvider())
@@ -501,17 +513,44 @@ public class CommonUtils {
 
   public static <E, R extends PagedResponse<E>> R performPagedQuery(
       Query<E> query, PagedQuery<?, ?> pagedQuery, Class<R> responseClass) {
-    if (pagedQuery.getDirection() == PagedQuery.SortDirection.DESC) {
-      query.orderBy().desc(pagedQuery.getSortBy().getSortField());
+    SortByIF sortBy = pagedQuery.getSortBy();
+    SortByIF orderBy = sortBy.getOrderField();
+    SortDirection direction = pagedQuery.getDirection();
+    String continuationToken = pagedQuery.getContinuationToken();
+    Integer totalCount = null;
+    if (continuationToken != null) {
+      ContinuationToken position =
+          ContinuationToken.decode(continuationToken, sortBy.getSortField(), direction);
+      if (pagedQuery.isNeedTotalCount()) {
+        // Counting has to go through every matching row, so do it once for a filter and reuse
+        // the count for the next pages.
+        totalCount = getCachedCount(query, pagedQuery.getFilter(), responseClass);
+      }
+      seekAfter(query.where(), sortBy, orderBy, direction, position);
+    }
+    if (direction == SortDirection.DESC) {
+      query.orderBy().desc(sortBy.getSortField());
     } else {
-      query.orderBy().asc(pagedQuery.getSortBy().getSortField());
+      query.orderBy().asc(sortBy.getSortField());
     }
-    if (pagedQuery.getSortBy() != pagedQuery.getSortBy().getOrderField()) {
-      query.orderBy().asc(pagedQuery.getSortBy().getOrderField().getSortField());
+    if (sortBy != orderBy) {
+      query.orderBy().asc(orderBy.getSortField());
     }
-    query.setFirstRow(pagedQuery.getOffset());
     query.setMaxRows(pagedQuery.getLimit() + 1);
-    PagedList<E> pagedList = query.findPagedList();
+    List<E> entities;
+    boolean hasPrev;
+    if (continuationToken != null) {
+      entities = query.findList();
+      hasPrev = true;
+    } else {
+      query.setFirstRow(pagedQuery.getOffset());
+      PagedList<E> pagedList = query.findPagedList();
+      entities = pagedList.getList();
+      hasPrev = pagedList.hasPrev();
+      if (pagedQuery.isNeedTotalCount()) {
+        totalCount = pagedList.getTotalCount();
+      }
+    }
     R response;
     try {
       response = responseClass.newInstance();
@@ -519,17 +558,87 @@ public class CommonUtils {
       throw new IllegalStateException(
           "Failed to create " + responseClass.getSimpleName() + " instance", e);
     }
-    int actualSize = pagedList.getList().size();
-    response.setEntities(
-        pagedList.getList().subList(0, Math.min(actualSize, pagedQuery.getLimit())));
-    response.setHasPrev(pagedList.hasPrev());
+    int actualSize = entities.size();
+    List<E> page = entities.subList(0, Math.min(actualSize, pagedQuery.getLimit()));
+    response.setEntities(page);
+    response.setHasPrev(hasPrev);
     response.setHasNext(actualSize > pagedQuery.getLimit());
+    if (response.isHasNext() && !page.isEmpty()) {
+      E last = page.get(page.size() - 1);
+      response.setNextContinuationToken(
+          new ContinuationToken(
+                  sortBy.getSortField(),
+                  direction,
+                  getPropertyValue(last, sortBy.getSortField()),
+                  getPropertyValue(last, orderBy.getSortField()))
+              .encode());
+    }
     if (pagedQuery.isNeedTotalCount()) {
-      response.setTotalCount(pagedList.getTotalCount());
+      response.setTotalCount(totalCount);
     }
     return response;
   }
 
+  /**
+   * Restricts the query to the entities which come after the given position in the query order.
+   * Nulls are sorted as larger than any value, as PostgreSQL does.
+   */
+  private static <E> void seekAfter(
+      ExpressionList<E> where,
+      SortByIF sortBy,
+      SortByIF orderBy,
+      SortDirection direction,
+      ContinuationToken position) {
+    String sortField = sortBy.getSortField();
+    Object sortValue = position.getSortValue();
+    if (sortBy == orderBy) {
+      // Order fields are unique, so there are no ties to break.
+      if (direction == SortDirection.DESC) {
+        where.lt(sortField, sortValue);
+      } else {
+        where.gt(sortField, sortValue);
+      }
+      return;
+    }
+    String orderField = orderBy.getSortField();
+    Object orderValue = position.getOrderValue();
+    Junction<E> orExpr = where.or();
+    if (sortValue == null) {
+      orExpr.and().isNull(sortField).gt(orderField, orderValue).endAnd();
+      if (direction == SortDirection.DESC) {
+        orExpr.isNotNull(sortField);
+      }
+    } else {
+      if (direction == SortDirection.DESC) {
+        orExpr.lt(sortField, sortValue);
+      } else {
+        orExpr.gt(sortField, sortValue);
+        orExpr.isNull(sortField);
+      }
+      orExpr.and().eq(sortField, sortValue).gt(orderField, orderValue).endAnd();
+    }
+    where.endOr();
+  }
+
+  private static Object getPropertyValue(Object entity, String property) {
+    EntityBean bean = (EntityBean) entity;
+    int index = Arrays.asList(bean._ebean_getPropertyNames()).indexOf(property);
+    if (index < 0) {
+      throw new IllegalStateException(
+          "No property " + property + " in " + entity.getClass().getSimpleName());
+    }
+    return bean._ebean_getField(index);
+  }
+
+  private static int getCachedCount(Query<?> query, Object filter, Class<?> responseClass) {
+    try {
+      return PAGED_QUERY_COUNT_CACHE.get(
+          Arrays.asList(responseClass, filter), () -> query.copy().findCount());
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to count entities for " + filter, e.getCause());
+    }
+  }
+
   public static Date nowWithoutMillis() {
     return Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
   }
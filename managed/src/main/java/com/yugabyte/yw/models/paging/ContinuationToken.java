@@ -0,0 +1,108 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.paging;
+
+import static play.mvc.Http.Status.BAD_REQUEST;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Value;
+import play.libs.Json;
+
+/**
+ * Position of a page in keyset paging: the sort and order field values of the last entity of the
+ * previous page. The next page starts right after that entity, however deep it is.
+ *
+ * <p>The token is opaque to clients. It is the base64 encoded JSON of the position.
+ */
+@Value
+public class ContinuationToken {
+
+  // Types of values which can be restored from a token, in addition to enums.
+  private static final Set<Class<?>> VALUE_TYPES =
+      ImmutableSet.of(
+          String.class,
+          UUID.class,
+          Date.class,
+          Integer.class,
+          Long.class,
+          Double.class,
+          Boolean.class);
+
+  String sortField;
+  SortDirection direction;
+  Object sortValue;
+  Object orderValue;
+
+  public String encode() {
+    ObjectNode json = Json.newObject();
+    json.put("sortField", sortField);
+    json.put("direction", direction.name());
+    json.set("sortValue", encodeValue(sortValue));
+    json.set("orderValue", encodeValue(orderValue));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(Json.stringify(json).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token returned for a query with the given sort field and direction.
+   *
+   * @throws PlatformServiceException if the token is malformed or was returned for another sort
+   *     order.
+   */
+  public static ContinuationToken decode(
+      String token, String sortField, SortDirection direction) {
+    ContinuationToken result;
+    try {
+      JsonNode json =
+          Json.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+      result =
+          new ContinuationToken(
+              json.get("sortField").asText(),
+              SortDirection.valueOf(json.get("direction").asText()),
+              decodeValue(json.get("sortValue")),
+              decodeValue(json.get("orderValue")));
+    } catch (Exception e) {
+      throw new PlatformServiceException(BAD_REQUEST, "Invalid continuation token");
+    }
+    if (!Objects.equals(result.getSortField(), sortField) || result.getDirection() != direction) {
+      throw new PlatformServiceException(
+          BAD_REQUEST, "Continuation token was returned for another sort order");
+    }
+    return result;
+  }
+
+  private static JsonNode encodeValue(Object value) {
+    ObjectNode json = Json.newObject();
+    if (value == null) {
+      return json;
+    }
+    json.put("type", value.getClass().getName());
+    json.set("value", Json.toJson(value));
+    return json;
+  }
+
+  private static Object decodeValue(JsonNode json) throws ClassNotFoundException {
+    if (!json.has("type")) {
+      return null;
+    }
+    Class<?> type =
+        Class.forName(
+            json.get("type").asText(), false, ContinuationToken.class.getClassLoader());
+    // Only restore plain values, never arbitrary classes named by a client.
+    if (!VALUE_TYPES.contains(type) && !type.isEnum()) {
+      throw new IllegalArgumentException("Unsupported value type " + type);
+    }
+    return Json.fromJson(json.get("value"), type);
+  }
+}
@@ -0,0 +1,11 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.paging;
+
+import com.yugabyte.yw.forms.CustomerTaskFormData;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CustomerTaskPagedApiResponse extends PagedResponse<CustomerTaskFormData> {}
@@ -0,0 +1,12 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.paging;
+
+import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.filters.CustomerTaskFilter;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CustomerTaskPagedQuery extends PagedQuery<CustomerTaskFilter, CustomerTask.SortBy> {}
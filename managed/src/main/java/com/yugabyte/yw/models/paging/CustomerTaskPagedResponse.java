@@ -0,0 +1,11 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.paging;
+
+import com.yugabyte.yw.models.CustomerTask;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CustomerTaskPagedResponse extends PagedResponse<CustomerTask> {}
@@ -4,6 +4,7 @@ package com.yugabyte.yw.models.paging;
 
 import javax.validation.Valid;
 import lombok.Data;
+import lombok.Value;
 import play.data.validation.Constraints;
 
 @Data
@@ -20,6 +21,17 @@ public abstract class PagedQuery<F, S extends PagedQuery.SortByIF> {
     SortByIF getOrderField();
   }
 
+  /** Order field which is not one of the sort options, e.g. the id of an entity. */
+  @Value
+  public static class OrderField implements SortByIF {
+    String sortField;
+
+    @Override
+    public SortByIF getOrderField() {
+      return this;
+    }
+  }
+
   @Constraints.Required() F filter;
 
   @Constraints.Required() S sortBy;
@@ -32,6 +44,10 @@ public abstract class PagedQuery<F, S extends PagedQuery.SortByIF> {
 
   @Constraints.Required() boolean needTotalCount;
 
+  // Token from PagedResponse.nextContinuationToken of the previous page. When set, the page is
+  // found by seeking past the last entity of the previous page, and offset is ignored.
+  String continuationToken;
+
   public <NF, T extends PagedQuery<NF, S>> T copyWithFilter(NF newFilter, Class<T> queryClass) {
     T newQuery;
     try {
@@ -45,6 +61,7 @@ public abstract class PagedQuery<F, S extends PagedQuery.SortByIF> {
     newQuery.setOffset(offset);
     newQuery.setLimit(limit);
     newQuery.setNeedTotalCount(needTotalCount);
+    newQuery.setContinuationToken(continuationToken);
     return newQuery;
   }
 }
@@ -11,12 +11,15 @@ public class PagedResponse<E> {
   boolean hasNext;
   boolean hasPrev;
   Integer totalCount;
+  // Pass as PagedQuery.continuationToken to get the next page.
+  String nextContinuationToken;
 
   public <D, T extends PagedResponse<D>> T setData(List<D> data, T response) {
     response.setEntities(data);
     response.setHasNext(hasNext);
     response.setHasPrev(hasPrev);
     response.setTotalCount(totalCount);
+    response.setNextContinuationToken(nextContinuationToken);
     return response;
   }
 }
@@ -0,0 +1,9 @@
+-- Copyright (c) YugaByte, Inc.
+
+-- Task summary kept up to date by the task executor, so that task lists do not read task_info.
+ALTER TABLE customer_task ADD COLUMN IF NOT EXISTS task_state VARCHAR(50);
+ALTER TABLE customer_task ADD COLUMN IF NOT EXISTS percent_complete DOUBLE PRECISION;
+ALTER TABLE customer_task ADD COLUMN IF NOT EXISTS summary_details TEXT;
+
+CREATE INDEX IF NOT EXISTS customer_task_customer_uuid_create_time_idx
+  ON customer_task (customer_uuid, create_time, id);
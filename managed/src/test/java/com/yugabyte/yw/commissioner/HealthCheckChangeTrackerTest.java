@@ -0,0 +1,119 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.yugabyte.yw.commissioner.HealthCheckChangeTracker.CheckChange;
+import com.yugabyte.yw.commissioner.HealthCheckChangeTracker.CheckKey;
+import com.yugabyte.yw.commissioner.HealthCheckChangeTracker.MetricUpdate;
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.MetricKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+
+public class HealthCheckChangeTrackerTest {
+
+  private static final UUID CUSTOMER_UUID = UUID.randomUUID();
+
+  private static final UUID UNIVERSE_UUID = UUID.randomUUID();
+
+  private static final CheckKey MASTER_UPTIME = new CheckKey("n1", "Uptime", true);
+
+  private static final CheckKey TSERVER_UPTIME = new CheckKey("n1", "Uptime", false);
+
+  private static final CheckKey DISK = new CheckKey("n1", "Disk utilization", false);
+
+  private final HealthCheckChangeTracker tracker = new HealthCheckChangeTracker();
+
+  private static Metric metric(String node, double value) {
+    return new Metric()
+        .setName("ybp_health_check_status")
+        .setCustomerUUID(CUSTOMER_UUID)
+        .setSourceUuid(UNIVERSE_UUID)
+        .setKeyLabel("node", node)
+        .setValue(value);
+  }
+
+  @Test
+  public void testChangesAreRecorded() {
+    Date first = new Date(1000);
+    assertTrue(
+        tracker
+            .recordResults(
+                UNIVERSE_UUID,
+                ImmutableMap.of(MASTER_UPTIME, false, TSERVER_UPTIME, false, DISK, false),
+                first)
+            .isEmpty());
+
+    Date second = new Date(2000);
+    List<CheckChange> changes =
+        tracker.recordResults(
+            UNIVERSE_UUID, ImmutableMap.of(MASTER_UPTIME, false, TSERVER_UPTIME, true), second);
+    assertEquals(2, changes.size());
+    assertTrue(changes.contains(new CheckChange(TSERVER_UPTIME, false, true, second)));
+    assertTrue(changes.contains(new CheckChange(DISK, false, null, second)));
+
+    Date third = new Date(3000);
+    tracker.recordResults(
+        UNIVERSE_UUID, ImmutableMap.of(MASTER_UPTIME, false, TSERVER_UPTIME, false), third);
+
+    assertEquals(
+        Arrays.asList(
+            new CheckChange(TSERVER_UPTIME, true, false, third),
+            new CheckChange(TSERVER_UPTIME, false, true, second)),
+        tracker.getChanges(UNIVERSE_UUID, "Uptime", first));
+    assertEquals(3, tracker.getChanges(UNIVERSE_UUID, null, first).size());
+    assertEquals(1, tracker.getChanges(UNIVERSE_UUID, null, third).size());
+    assertTrue(tracker.getChanges(UUID.randomUUID(), null, first).isEmpty());
+  }
+
+  @Test
+  public void testHistoryKeepsLatestChanges() {
+    for (int i = 0; i < HealthCheckChangeTracker.HISTORY_SIZE * 2; i++) {
+      tracker.recordResults(
+          UNIVERSE_UUID, Collections.singletonMap(DISK, i % 2 == 0), new Date(i * 1000L));
+    }
+    List<CheckChange> changes = tracker.getChanges(UNIVERSE_UUID, null, new Date(0));
+    assertEquals(HealthCheckChangeTracker.HISTORY_SIZE, changes.size());
+    // Newest first.
+    long lastChangeTime = (HealthCheckChangeTracker.HISTORY_SIZE * 2 - 1) * 1000L;
+    assertEquals(lastChangeTime, changes.get(0).getTimestamp().getTime());
+  }
+
+  @Test
+  public void testOnlyChangedMetricsAreSaved() {
+    Date first = new Date(0);
+    MetricUpdate update =
+        tracker.diffMetrics(UNIVERSE_UUID, Arrays.asList(metric("n1", 0), metric("n2", 0)), first);
+    assertTrue(update.isFullSync());
+    assertEquals(2, update.getToSave().size());
+
+    Date second = new Date(first.getTime() + 1000);
+    Metric changed = metric("n1", 1);
+    update = tracker.diffMetrics(UNIVERSE_UUID, Arrays.asList(changed, metric("n3", 0)), second);
+    assertFalse(update.isFullSync());
+    assertEquals(2, update.getToSave().size());
+    assertTrue(update.getToSave().contains(changed));
+    assertEquals(Collections.singleton(MetricKey.from(metric("n2", 0))), update.getToDelete());
+
+    update = tracker.diffMetrics(UNIVERSE_UUID, Arrays.asList(changed, metric("n3", 0)), second);
+    assertFalse(update.isFullSync());
+    assertTrue(update.getToSave().isEmpty());
+    assertTrue(update.getToDelete().isEmpty());
+
+    Date later =
+        new Date(first.getTime() + HealthCheckChangeTracker.FULL_SYNC_INTERVAL.toMillis());
+    assertTrue(tracker.diffMetrics(UNIVERSE_UUID, Arrays.asList(changed), later).isFullSync());
+
+    tracker.invalidateMetrics(UNIVERSE_UUID);
+    assertTrue(tracker.diffMetrics(UNIVERSE_UUID, Arrays.asList(changed), later).isFullSync());
+  }
+}
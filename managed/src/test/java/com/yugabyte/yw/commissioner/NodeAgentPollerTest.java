@@ -8,13 +8,16 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.NodeAgentPoller.PollerTask;
 import com.yugabyte.yw.commissioner.NodeAgentPoller.PollerTaskParam;
@@ -40,8 +43,15 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -56,10 +66,13 @@ public class NodeAgentPollerTest extends FakeDBApplication {
   @Mock private PlatformExecutorFactory mockPlatformExecutorFactory;
   @Mock private PlatformScheduler mockPlatformScheduler;
   @Mock private NodeAgentClient mockNodeAgentClient;
+  @Mock private ExecutorService mockPollerExecutor;
   private NodeAgentManager nodeAgentManager;
   private NodeAgentHandler nodeAgentHandler;
   private NodeAgentPoller nodeAgentPoller;
   private Customer customer;
+  // Poller tasks submitted on a wheel tick, run by the test.
+  private final List<PollerTask> submittedTasks = new ArrayList<>();
 
   @Before
   public void setup() {
@@ -75,7 +88,8 @@ public class NodeAgentPollerTest extends FakeDBApplication {
             nodeAgentManager,
             mockNodeAgentClient);
     nodeAgentHandler.enableConnectionValidation(false);
-    when(mockAppConfig.getString(eq("yb.storage.path"))).thenReturn("/tmp");
+    // Not used by the tests which do not register node agents.
+    lenient().when(mockAppConfig.getString(eq("yb.storage.path"))).thenReturn("/tmp");
   }
 
   private NodeAgent register(NodeAgentForm payload) {
@@ -87,6 +101,160 @@ public class NodeAgentPollerTest extends FakeDBApplication {
     return nodeAgentHandler.updateState(customer.uuid, nodeAgent.uuid, payload);
   }
 
+  private NodeAgent register(String name, String ip) {
+    NodeAgentForm payload = new NodeAgentForm();
+    payload.version = "2.12.0.0";
+    payload.name = name;
+    payload.ip = ip;
+    payload.osType = OSType.LINUX.name();
+    payload.archType = ArchType.AMD64.name();
+    return register(payload);
+  }
+
+  private void initWheel(Duration retention) {
+    when(mockAppConfig.getDuration(eq(NodeAgentPoller.POLLER_INTERVAL_PROPERTY)))
+        .thenReturn(Duration.ofMinutes(4));
+    when(mockAppConfig.getInt(eq(NodeAgentPoller.POLLER_WHEEL_SLOTS_PROPERTY))).thenReturn(4);
+    when(mockAppConfig.getDuration(eq(NodeAgentPoller.RETENTION_DURATION_PROPERTY)))
+        .thenReturn(retention);
+    when(mockConfigHelper.getConfig(eq(ConfigType.SoftwareVersion)))
+        .thenReturn(ImmutableMap.of("version", "2.12.0.0"));
+    when(mockPlatformExecutorFactory.createExecutor(anyString(), any()))
+        .thenReturn(mockPollerExecutor);
+    when(mockPollerExecutor.submit(any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              submittedTasks.add(invocation.getArgument(0, PollerTask.class));
+              return CompletableFuture.completedFuture(null);
+            });
+    nodeAgentPoller.init();
+  }
+
+  // Runs one tick of the wheel and returns the node agents it scheduled.
+  private Set<UUID> tick(boolean runTasks) {
+    submittedTasks.clear();
+    nodeAgentPoller.pollerService();
+    if (runTasks) {
+      submittedTasks.forEach(PollerTask::run);
+    }
+    return submittedTasks
+        .stream()
+        .map(task -> task.getParam().getNodeAgentUuid())
+        .collect(Collectors.toSet());
+  }
+
+  private static Set<UUID> inSlot(int slot, NodeAgent... nodeAgents) {
+    Set<UUID> result = new HashSet<>();
+    for (NodeAgent nodeAgent : nodeAgents) {
+      if (NodeAgentPoller.wheelSlot(nodeAgent.uuid, 4) == slot) {
+        result.add(nodeAgent.uuid);
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testWheelSlotAssignment() {
+    Set<Integer> usedSlots = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      UUID nodeUuid = UUID.randomUUID();
+      int slot = NodeAgentPoller.wheelSlot(nodeUuid, 12);
+      assertTrue("Slot out of range " + slot, slot >= 0 && slot < 12);
+      assertEquals(slot, NodeAgentPoller.wheelSlot(nodeUuid, 12));
+      usedSlots.add(slot);
+    }
+    assertEquals(12, usedSlots.size());
+  }
+
+  @Test
+  public void testWheelPollsSlotPerTick() {
+    when(mockNodeAgentClient.waitForServerReady(any(), any())).thenReturn(null);
+    NodeAgent[] nodeAgents = new NodeAgent[6];
+    for (int i = 0; i < nodeAgents.length; i++) {
+      nodeAgents[i] = register("node" + i, "10.20.30." + i);
+    }
+    initWheel(Duration.ofMinutes(10));
+    for (int slot = 0; slot < 4; slot++) {
+      assertEquals(inSlot(slot, nodeAgents), tick(true));
+    }
+    // The wheel wraps around to the first slot.
+    assertEquals(inSlot(0, nodeAgents), tick(true));
+  }
+
+  @Test
+  public void testWheelWrapAroundReloadsNodeAgents() {
+    when(mockNodeAgentClient.waitForServerReady(any(), any())).thenReturn(null);
+    NodeAgent nodeAgent1 = register("node1", "10.20.30.1");
+    initWheel(Duration.ofMinutes(10));
+    Set<UUID> firstTurn = new HashSet<>(tick(true));
+    // Added during the turn, it is on the wheel from the next turn.
+    NodeAgent nodeAgent2 = register("node2", "10.20.30.2");
+    for (int slot = 1; slot < 4; slot++) {
+      firstTurn.addAll(tick(true));
+    }
+    assertEquals(ImmutableSet.of(nodeAgent1.uuid), firstTurn);
+    Set<UUID> secondTurn = new HashSet<>();
+    for (int slot = 0; slot < 4; slot++) {
+      secondTurn.addAll(tick(true));
+    }
+    assertEquals(ImmutableSet.of(nodeAgent1.uuid, nodeAgent2.uuid), secondTurn);
+  }
+
+  @Test
+  public void testWheelSkipsRunningPolls() {
+    NodeAgent nodeAgent = register("node1", "10.20.30.1");
+    initWheel(Duration.ofMinutes(10));
+    int slot = NodeAgentPoller.wheelSlot(nodeAgent.uuid, 4);
+    for (int i = 0; i < 4; i++) {
+      assertEquals(i == slot, tick(false).contains(nodeAgent.uuid));
+    }
+    // The poll of the previous turn has not finished yet.
+    for (int i = 0; i < 4; i++) {
+      assertFalse(tick(false).contains(nodeAgent.uuid));
+    }
+  }
+
+  @Test
+  public void testWheelFlushesHeartbeatsOnTick() throws Exception {
+    when(mockNodeAgentClient.waitForServerReady(any(), any())).thenReturn(null);
+    NodeAgent nodeAgent = register("node1", "10.20.30.1");
+    Date time1 = nodeAgent.updatedAt;
+    initWheel(Duration.ofMinutes(10));
+    Thread.sleep(1000);
+    int slot = NodeAgentPoller.wheelSlot(nodeAgent.uuid, 4);
+    for (int i = 0; i <= slot; i++) {
+      tick(true);
+    }
+    // The heartbeat is written on the next tick.
+    assertEquals(time1, NodeAgent.getOrBadRequest(customer.uuid, nodeAgent.uuid).updatedAt);
+    tick(true);
+    Date time2 = NodeAgent.getOrBadRequest(customer.uuid, nodeAgent.uuid).updatedAt;
+    assertTrue("Time is not updated " + time1, time2.after(time1));
+  }
+
+  @Test
+  public void testWheelExpiry() throws Exception {
+    when(mockNodeAgentClient.waitForServerReady(any(), any())).thenThrow(RuntimeException.class);
+    NodeAgent nodeAgent = register("node1", "10.20.30.1");
+    UUID nodeAgentUuid = nodeAgent.uuid;
+    initWheel(Duration.ofMillis(100));
+    // Sleep to run after the expiry time.
+    Thread.sleep(1000);
+    Set<UUID> scheduled = new HashSet<>();
+    for (int i = 0; i < 4; i++) {
+      scheduled.addAll(tick(true));
+    }
+    assertEquals(ImmutableSet.of(nodeAgentUuid), scheduled);
+    assertThrows(
+        "Cannot find node agent",
+        PlatformServiceException.class,
+        () -> NodeAgent.getOrBadRequest(customer.uuid, nodeAgentUuid));
+    // The purged node agent is off the wheel from the next turn.
+    for (int i = 0; i < 4; i++) {
+      assertTrue(tick(true).isEmpty());
+    }
+  }
+
   @Test
   public void testExpiry() throws Exception {
     when(mockNodeAgentClient.waitForServerReady(any(), any())).thenThrow(RuntimeException.class);
@@ -150,6 +318,10 @@ public class NodeAgentPollerTest extends FakeDBApplication {
     // Run to just heartbeat.
     pollerTask.run();
     nodeAgent = NodeAgent.getOrBadRequest(customer.uuid, nodeAgentUuid);
+    // Heartbeats are written in bulk on flush.
+    assertEquals(time1, nodeAgent.updatedAt);
+    nodeAgentPoller.flushHeartbeats();
+    nodeAgent = NodeAgent.getOrBadRequest(customer.uuid, nodeAgentUuid);
     Date time2 = nodeAgent.updatedAt;
     assertEquals(State.READY, nodeAgent.state);
     // Make sure time is updated.
@@ -0,0 +1,249 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.commissioner.Common.CloudType;
+import com.yugabyte.yw.commissioner.PerfAdvisorScheduler.RunResult;
+import com.yugabyte.yw.common.ApiUtils;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.config.impl.SettableRuntimeConfigFactory;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import com.yugabyte.yw.queries.QueryHelper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.yb.client.YBClient;
+import org.yb.perf_advisor.services.generation.PlatformPerfAdvisor;
+import play.libs.Json;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PerfAdvisorSchedulerTest extends FakeDBApplication {
+
+  private static final long FREQUENCY_MS = TimeUnit.MINUTES.toMillis(10);
+
+  @Mock private SettableRuntimeConfigFactory mockConfigFactory;
+  @Mock private PlatformScheduler mockPlatformScheduler;
+  @Mock private PlatformPerfAdvisor mockPlatformPerfAdvisor;
+  @Mock private QueryHelper mockQueryHelper;
+  @Mock private PlatformExecutorFactory mockPlatformExecutorFactory;
+
+  private Customer customer;
+
+  private ExecutorService executor;
+
+  // Released to let runs of the blocking universe finish.
+  private final CountDownLatch blockingRunReleased = new CountDownLatch(1);
+
+  private final CountDownLatch blockingRunStarted = new CountDownLatch(1);
+
+  private UUID blockingUniverseUUID;
+
+  // Universes in the order perf advisor runs started, when their databases are listed.
+  private final List<UUID> runUniverses = Collections.synchronizedList(new ArrayList<>());
+
+  private final AtomicLong tickerNanos = new AtomicLong();
+
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return tickerNanos.get();
+        }
+      };
+
+  @Before
+  public void setUp() throws Exception {
+    customer = ModelFactory.testCustomer();
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put("yb.perf_advisor.enabled", true)
+                .put("yb.perf_advisor.max_parallel_runs", 1)
+                .put("yb.perf_advisor.database_list_cache_ttl_mins", 60)
+                .put("yb.perf_advisor.scheduler_interval_mins", 5)
+                .put("yb.perf_advisor.universe_frequency_mins", 10)
+                .build());
+    when(mockConfigFactory.staticApplicationConf()).thenReturn(config);
+    when(mockConfigFactory.forUniverse(any())).thenReturn(config);
+    when(mockService.getClient(any(), any())).thenReturn(mock(YBClient.class));
+    // Databases are listed right before perf advisor runs.
+    when(mockQueryHelper.listDatabaseNames(any()))
+        .thenAnswer(
+            invocation -> {
+              UUID universeUUID = invocation.getArgument(0, Universe.class).getUniverseUUID();
+              runUniverses.add(universeUUID);
+              if (universeUUID.equals(blockingUniverseUUID)) {
+                blockingRunStarted.countDown();
+                blockingRunReleased.await();
+              }
+              return Json.parse("{\"result\": [{\"datname\": \"yugabyte\"}]}");
+            });
+  }
+
+  @After
+  public void tearDown() {
+    blockingRunReleased.countDown();
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private PerfAdvisorScheduler createScheduler(ExecutorService executor) {
+    this.executor = executor;
+    when(mockPlatformExecutorFactory.createFixedExecutor(anyString(), anyInt(), any()))
+        .thenReturn(executor);
+    return new PerfAdvisorScheduler(
+        mockConfigFactory,
+        mockPlatformScheduler,
+        mockPlatformPerfAdvisor,
+        mockQueryHelper,
+        mockPlatformExecutorFactory,
+        ticker);
+  }
+
+  // The first scheduled run of the universe is offset by its jitterMs within the frequency.
+  private Universe createUniverse(String name, long jitterMs) {
+    UUID universeUUID = new UUID(UUID.randomUUID().getMostSignificantBits(), jitterMs);
+    Universe universe =
+        ModelFactory.createUniverse(name, universeUUID, customer.getCustomerId(), CloudType.aws);
+    return Universe.saveDetails(
+        universeUUID,
+        u -> {
+          UniverseDefinitionTaskParams details = u.getUniverseDetails();
+          NodeDetails node = ApiUtils.getDummyNodeDetails(1, NodeDetails.NodeState.Live);
+          node.placementUuid = details.getPrimaryCluster().uuid;
+          details.nodeDetailsSet = new HashSet<>(Collections.singletonList(node));
+          u.setUniverseDetails(details);
+        });
+  }
+
+  // Occupies the only run slot with a manual run which does not finish until released.
+  private Universe startBlockingRun(PerfAdvisorScheduler scheduler) throws Exception {
+    Universe universe = createUniverse("blocking", 500);
+    blockingUniverseUUID = universe.getUniverseUUID();
+    assertTrue(scheduler.runPerfAdvisor(universe).isStarted());
+    assertTrue(blockingRunStarted.await(10, TimeUnit.SECONDS));
+    return universe;
+  }
+
+  @Test
+  public void testMostOverdueRunsFirst() throws Exception {
+    PerfAdvisorScheduler scheduler = createScheduler(Executors.newSingleThreadExecutor());
+    startBlockingRun(scheduler);
+    Universe third = createUniverse("third", 3000);
+    Universe first = createUniverse("first", 1000);
+    Universe second = createUniverse("second", 2000);
+
+    long now = System.currentTimeMillis();
+    scheduler.scheduleRunner(now);
+    scheduler.scheduleRunner(now + FREQUENCY_MS);
+    blockingRunReleased.countDown();
+
+    verify(mockPlatformPerfAdvisor, after(1000).times(4)).run(any());
+    assertEquals(
+        Arrays.asList(
+            blockingUniverseUUID,
+            first.getUniverseUUID(),
+            second.getUniverseUUID(),
+            third.getUniverseUUID()),
+        runUniverses);
+  }
+
+  @Test
+  public void testNoDuplicateRuns() throws Exception {
+    PerfAdvisorScheduler scheduler = createScheduler(Executors.newSingleThreadExecutor());
+    Universe universe = startBlockingRun(scheduler);
+
+    RunResult result = scheduler.runPerfAdvisor(universe);
+    assertFalse(result.isStarted());
+    assertEquals("Perf advisor run in progress", result.getFailureReason());
+    long now = System.currentTimeMillis();
+    scheduler.scheduleRunner(now);
+    scheduler.scheduleRunner(now + FREQUENCY_MS);
+    blockingRunReleased.countDown();
+
+    verify(mockPlatformPerfAdvisor, after(1000).times(1)).run(any());
+  }
+
+  @Test
+  public void testScheduledRunsWaitForFrequency() {
+    PerfAdvisorScheduler scheduler = createScheduler(MoreExecutors.newDirectExecutorService());
+    createUniverse("universe", 1000);
+
+    long now = System.currentTimeMillis();
+    scheduler.scheduleRunner(now);
+    verify(mockPlatformPerfAdvisor, times(0)).run(any());
+    scheduler.scheduleRunner(now + FREQUENCY_MS);
+    verify(mockPlatformPerfAdvisor, times(1)).run(any());
+    // The next run is due a frequency after the last one.
+    scheduler.scheduleRunner(now + FREQUENCY_MS - 1);
+    verify(mockPlatformPerfAdvisor, times(1)).run(any());
+    scheduler.scheduleRunner(System.currentTimeMillis() + FREQUENCY_MS);
+    verify(mockPlatformPerfAdvisor, times(2)).run(any());
+  }
+
+  @Test
+  public void testDatabaseListCacheExpires() {
+    PerfAdvisorScheduler scheduler = createScheduler(MoreExecutors.newDirectExecutorService());
+    createUniverse("universe", 1000);
+
+    long now = System.currentTimeMillis();
+    scheduler.scheduleRunner(now);
+    scheduler.scheduleRunner(now + FREQUENCY_MS);
+    scheduler.scheduleRunner(System.currentTimeMillis() + FREQUENCY_MS);
+    verify(mockPlatformPerfAdvisor, times(2)).run(any());
+    verify(mockQueryHelper, times(1)).listDatabaseNames(any());
+
+    tickerNanos.addAndGet(TimeUnit.MINUTES.toNanos(61));
+    scheduler.scheduleRunner(System.currentTimeMillis() + FREQUENCY_MS);
+    verify(mockPlatformPerfAdvisor, times(3)).run(any());
+    verify(mockQueryHelper, times(2)).listDatabaseNames(any());
+  }
+
+  @Test
+  public void testManualRunRefreshesDatabaseList() {
+    PerfAdvisorScheduler scheduler = createScheduler(MoreExecutors.newDirectExecutorService());
+    Universe universe = createUniverse("universe", 1000);
+
+    assertTrue(scheduler.runPerfAdvisor(universe).isStarted());
+    assertTrue(scheduler.runPerfAdvisor(universe).isStarted());
+    verify(mockQueryHelper, times(2)).listDatabaseNames(any());
+  }
+}
@@ -0,0 +1,139 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static com.yugabyte.yw.common.AssertHelper.assertMetricValue;
+import static com.yugabyte.yw.common.metrics.MetricService.STATUS_NOT_OK;
+import static com.yugabyte.yw.common.metrics.MetricService.STATUS_OK;
+import static io.prometheus.client.CollectorRegistry.defaultRegistry;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.yugabyte.yw.common.BackupUtil;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.config.RuntimeConfigFactory;
+import com.yugabyte.yw.forms.CreatePitrConfigParams;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.MetricKey;
+import com.yugabyte.yw.models.PitrConfig;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.util.Collections;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.yb.CommonTypes.TableType;
+import org.yb.client.ListSnapshotSchedulesResponse;
+import org.yb.client.SnapshotInfo;
+import org.yb.client.SnapshotScheduleInfo;
+import org.yb.client.YBClient;
+import org.yb.master.CatalogEntityInfo.SysSnapshotEntryPB.State;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PitrConfigPollerTest extends FakeDBApplication {
+
+  private static final String UNIVERSE_POLL_LATENCY =
+      "ybp_pitr_config_universe_poll_latency_seconds";
+
+  private Customer customer;
+  private Universe universe;
+  private PitrConfig pitrConfig;
+  private YBClient mockClient;
+  private ListSnapshotSchedulesResponse mockListSnapshotSchedulesResponse;
+  private PitrConfigPoller pitrConfigPoller;
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    universe = ModelFactory.createUniverse(customer.getCustomerId());
+    mockClient = mock(YBClient.class);
+    mockListSnapshotSchedulesResponse = mock(ListSnapshotSchedulesResponse.class);
+    when(mockService.getClient(any(), any())).thenReturn(mockClient);
+
+    CreatePitrConfigParams params = new CreatePitrConfigParams();
+    params.retentionPeriodInSeconds = 7 * 86400L;
+    params.intervalInSeconds = 86400L;
+    params.universeUUID = universe.universeUUID;
+    params.customerUUID = customer.uuid;
+    params.keyspaceName = "yugabyte";
+    params.tableType = TableType.PGSQL_TABLE_TYPE;
+    pitrConfig = PitrConfig.create(UUID.randomUUID(), params);
+
+    pitrConfigPoller =
+        new PitrConfigPoller(
+            mock(PlatformScheduler.class),
+            app.injector().instanceOf(RuntimeConfigFactory.class),
+            mockService,
+            metricService,
+            app.injector().instanceOf(PlatformExecutorFactory.class));
+  }
+
+  private void mockSnapshotSchedule(State snapshotState) throws Exception {
+    long snapshotTime = System.currentTimeMillis();
+    SnapshotInfo snapshot =
+        new SnapshotInfo(UUID.randomUUID(), snapshotTime, snapshotTime - 86400L, snapshotState);
+    SnapshotScheduleInfo schedule =
+        new SnapshotScheduleInfo(
+            pitrConfig.getUuid(), 86400L, 7L * 86400L, Collections.singletonList(snapshot));
+    when(mockListSnapshotSchedulesResponse.getSnapshotScheduleInfoList())
+        .thenReturn(Collections.singletonList(schedule));
+    when(mockClient.listSnapshotSchedules(any())).thenReturn(mockListSnapshotSchedulesResponse);
+  }
+
+  private MetricKey statusMetricKey() {
+    return MetricKey.from(
+        BackupUtil.buildMetricTemplate(
+            PlatformMetrics.PITR_CONFIG_STATUS, customer, universe, pitrConfig, STATUS_OK));
+  }
+
+  private Double pollLatency(UUID universeUUID) {
+    return defaultRegistry.getSampleValue(
+        UNIVERSE_POLL_LATENCY,
+        new String[] {"universe_uuid"},
+        new String[] {universeUUID.toString()});
+  }
+
+  @Test
+  public void testPollSavesStatus() throws Exception {
+    mockSnapshotSchedule(State.FAILED);
+    pitrConfigPoller.scheduleRunner();
+
+    assertMetricValue(metricService, statusMetricKey(), STATUS_NOT_OK);
+    assertNotNull(pollLatency(universe.universeUUID));
+  }
+
+  @Test
+  public void testFailedPollKeepsLastStatus() throws Exception {
+    mockSnapshotSchedule(State.COMPLETE);
+    pitrConfigPoller.scheduleRunner();
+    assertMetricValue(metricService, statusMetricKey(), STATUS_OK);
+
+    when(mockClient.listSnapshotSchedules(any())).thenThrow(new RuntimeException("Timed out"));
+    pitrConfigPoller.scheduleRunner();
+
+    assertMetricValue(metricService, statusMetricKey(), STATUS_OK);
+  }
+
+  @Test
+  public void testDeletedUniverseMetricsRemoved() throws Exception {
+    mockSnapshotSchedule(State.COMPLETE);
+    pitrConfigPoller.scheduleRunner();
+    assertMetricValue(metricService, statusMetricKey(), STATUS_OK);
+    assertNotNull(pollLatency(universe.universeUUID));
+
+    // PITR configs are deleted with the universe.
+    Universe.delete(universe.universeUUID);
+    pitrConfigPoller.scheduleRunner();
+
+    assertMetricValue(metricService, statusMetricKey(), null);
+    assertNull(pollLatency(universe.universeUUID));
+  }
+}
@@ -2,11 +2,15 @@ package com.yugabyte.yw.commissioner;
 
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.CUSTOMER_TASK_METRIC_NAME;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.CUSTOMER_UUID_LABEL;
+import static com.yugabyte.yw.commissioner.TaskGarbageCollector.NUM_TASK_GC_BUDGET_EXHAUSTED;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.NUM_TASK_GC_ERRORS;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.NUM_TASK_GC_RUNS;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.TASK_INFO_METRIC_NAME;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.YB_TASK_GC_GC_CHECK_INTERVAL;
 import static io.prometheus.client.CollectorRegistry.defaultRegistry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.times;
@@ -15,34 +19,42 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.typesafe.config.Config;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.config.GlobalConfKeys;
 import com.yugabyte.yw.common.config.RuntimeConfGetter;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.TaskInfo;
+import com.yugabyte.yw.models.helpers.TaskType;
 import java.time.Duration;
-import java.util.Collections;
 import java.util.UUID;
-import junit.framework.TestCase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
 
 @RunWith(MockitoJUnitRunner.class)
-public class TaskGarbageCollectorTest extends TestCase {
+public class TaskGarbageCollectorTest extends FakeDBApplication {
+
+  // Counters are not reset between tests, so they are checked relative to their initial values.
+  private double initialRuns;
+  private double initialErrors;
+  private double initialBudgetExhausted;
 
   private void checkCounters(
       UUID customerUuid,
-      Double expectedNumRuns,
-      Double expectedErrors,
+      double expectedNumRuns,
+      double expectedErrors,
       Double expectedCustomerTaskGC,
       Double expectedTaskInfoGC) {
-    assertEquals(
-        expectedNumRuns, defaultRegistry.getSampleValue(getTotalCounterName(NUM_TASK_GC_RUNS)));
-    assertEquals(
-        expectedErrors, defaultRegistry.getSampleValue(getTotalCounterName(NUM_TASK_GC_ERRORS)));
+    assertEquals(expectedNumRuns, getTotal(NUM_TASK_GC_RUNS) - initialRuns, 0.0);
+    assertEquals(expectedErrors, getTotal(NUM_TASK_GC_ERRORS) - initialErrors, 0.0);
     assertEquals(
         expectedCustomerTaskGC,
         defaultRegistry.getSampleValue(
@@ -63,70 +75,144 @@ public class TaskGarbageCollectorTest extends TestCase {
 
   @Mock Config mockAppConfig;
 
-  @Mock Customer mockCustomer;
+  @Mock RuntimeConfGetter mockConfGetter;
 
-  @Mock CustomerTask mockCustomerTask;
+  @Mock PlatformExecutorFactory mockPlatformExecutorFactory;
 
-  @Mock RuntimeConfGetter mockConfGetter;
+  private Customer customer;
 
   private TaskGarbageCollector taskGarbageCollector;
 
   @Before
   public void setUp() {
-    when(mockRuntimeConfFactory.globalRuntimeConf()).thenReturn(mockAppConfig);
+    customer = ModelFactory.testCustomer();
     taskGarbageCollector =
-        new TaskGarbageCollector(mockPlatformScheduler, mockRuntimeConfFactory, mockConfGetter);
-    defaultRegistry.clear();
-    TaskGarbageCollector.registerMetrics();
+        new TaskGarbageCollector(
+            mockPlatformScheduler,
+            mockRuntimeConfFactory,
+            mockConfGetter,
+            mockPlatformExecutorFactory);
+    initialRuns = getTotal(NUM_TASK_GC_RUNS);
+    initialErrors = getTotal(NUM_TASK_GC_ERRORS);
+    initialBudgetExhausted = getTotal(NUM_TASK_GC_BUDGET_EXHAUSTED);
+  }
+
+  private CustomerTask createCompletedTask(TaskInfo.State rootState) {
+    TaskInfo rootTaskInfo = createTaskInfo(null, rootState);
+    createTaskInfo(rootTaskInfo.getTaskUUID(), TaskInfo.State.Success);
+    createTaskInfo(rootTaskInfo.getTaskUUID(), TaskInfo.State.Success);
+    CustomerTask customerTask =
+        CustomerTask.create(
+            customer,
+            UUID.randomUUID(),
+            rootTaskInfo.getTaskUUID(),
+            CustomerTask.TargetType.Universe,
+            CustomerTask.TaskType.Create,
+            "Foo");
+    customerTask.markAsCompleted();
+    return customerTask;
+  }
+
+  private TaskInfo createTaskInfo(UUID parentUUID, TaskInfo.State state) {
+    TaskInfo taskInfo = new TaskInfo(TaskType.CreateUniverse);
+    taskInfo.setTaskUUID(UUID.randomUUID());
+    taskInfo.setTaskDetails(Json.newObject());
+    taskInfo.setOwner("");
+    taskInfo.setTaskState(state);
+    if (parentUUID != null) {
+      taskInfo.setParentUuid(parentUUID);
+    }
+    taskInfo.save();
+    return taskInfo;
+  }
+
+  private void purge(long deadlineNanos) {
+    taskGarbageCollector.purgeStaleTasks(customer, Duration.ZERO, deadlineNanos);
+  }
+
+  private long noDeadline() {
+    return System.nanoTime() + Duration.ofHours(1).toNanos();
   }
 
   @Test
   public void testStart_disabled() {
+    when(mockRuntimeConfFactory.globalRuntimeConf()).thenReturn(mockAppConfig);
     when(mockAppConfig.getDuration(YB_TASK_GC_GC_CHECK_INTERVAL)).thenReturn(Duration.ZERO);
     taskGarbageCollector.start();
     verifyZeroInteractions(mockPlatformScheduler);
+    verifyZeroInteractions(mockPlatformExecutorFactory);
   }
 
   @Test
   public void testStart_enabled() {
+    when(mockRuntimeConfFactory.globalRuntimeConf()).thenReturn(mockAppConfig);
     when(mockAppConfig.getDuration(YB_TASK_GC_GC_CHECK_INTERVAL)).thenReturn(Duration.ofDays(1));
+    when(mockConfGetter.getGlobalConf(GlobalConfKeys.taskGcParallelism)).thenReturn(2);
     taskGarbageCollector.start();
+    verify(mockPlatformExecutorFactory, times(1)).createFixedExecutor(any(), eq(2), any());
     verify(mockPlatformScheduler, times(1))
         .schedule(any(), eq(Duration.ZERO), eq(Duration.ofDays(1)), any());
   }
 
   @Test
   public void testPurge_noneStale() {
-    UUID customerUuid = UUID.randomUUID();
+    when(mockConfGetter.getGlobalConf(GlobalConfKeys.taskGcBatchSize)).thenReturn(10);
 
-    taskGarbageCollector.purgeStaleTasks(mockCustomer, Collections.emptyList());
+    purge(noDeadline());
 
-    checkCounters(customerUuid, 1.0, 0.0, null, null);
+    checkCounters(customer.getUuid(), 1.0, 0.0, null, null);
   }
 
   @Test
   public void testPurge() {
-    UUID customerUuid = UUID.randomUUID();
-    when(mockCustomer.getUuid()).thenReturn(customerUuid);
-    // Pretend we deleted 5 rows in all:
-    when(mockCustomerTask.cascadeDeleteCompleted()).thenReturn(5);
+    when(mockConfGetter.getGlobalConf(GlobalConfKeys.taskGcBatchSize)).thenReturn(10);
+    CustomerTask customerTask = createCompletedTask(TaskInfo.State.Success);
 
-    taskGarbageCollector.purgeStaleTasks(mockCustomer, Collections.singletonList(mockCustomerTask));
+    purge(noDeadline());
 
-    checkCounters(customerUuid, 1.0, 0.0, 1.0, 4.0);
+    checkCounters(customer.getUuid(), 1.0, 0.0, 1.0, 3.0);
+    assertNull(CustomerTask.findByTaskUUID(customerTask.getTaskUUID()));
+    assertEquals(0, TaskInfo.find.all().size());
   }
 
   // Test that if we do not delete when there are referential integrity issues; then we report such
   // error in counter.
   @Test
   public void testPurge_invalidData() {
-    UUID customerUuid = UUID.randomUUID();
-    // Pretend we deleted 5 rows in all:
-    when(mockCustomerTask.cascadeDeleteCompleted()).thenReturn(0);
+    when(mockConfGetter.getGlobalConf(GlobalConfKeys.taskGcBatchSize)).thenReturn(10);
+    CustomerTask customerTask = createCompletedTask(TaskInfo.State.Running);
 
-    taskGarbageCollector.purgeStaleTasks(mockCustomer, Collections.singletonList(mockCustomerTask));
+    purge(noDeadline());
+
+    checkCounters(customer.getUuid(), 1.0, 1.0, null, null);
+    assertNotNull(CustomerTask.findByTaskUUID(customerTask.getTaskUUID()));
+    assertEquals(3, TaskInfo.find.all().size());
+  }
+
+  @Test
+  public void testPurge_resumesAfterTimeBudget() {
+    when(mockConfGetter.getGlobalConf(GlobalConfKeys.taskGcBatchSize)).thenReturn(2);
+    for (int i = 0; i < 5; i++) {
+      createCompletedTask(TaskInfo.State.Success);
+    }
+
+    // The budget is used up already, so each run deletes a single batch.
+    purge(System.nanoTime());
+    assertEquals(3, CustomerTask.find.all().size());
+    purge(System.nanoTime());
+    assertEquals(1, CustomerTask.find.all().size());
+    assertEquals(2.0, getTotal(NUM_TASK_GC_BUDGET_EXHAUSTED) - initialBudgetExhausted, 0.0);
+
+    purge(System.nanoTime());
+    assertEquals(0, CustomerTask.find.all().size());
+    assertEquals(0, TaskInfo.find.all().size());
+    assertEquals(2.0, getTotal(NUM_TASK_GC_BUDGET_EXHAUSTED) - initialBudgetExhausted, 0.0);
+    checkCounters(customer.getUuid(), 3.0, 0.0, 5.0, 15.0);
+  }
 
-    checkCounters(customerUuid, 1.0, 1.0, null, null);
+  private double getTotal(String name) {
+    Double value = defaultRegistry.getSampleValue(getTotalCounterName(name));
+    return value == null ? 0.0 : value;
   }
 
   private String getTotalCounterName(String name) {
@@ -0,0 +1,145 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import com.yugabyte.yw.commissioner.tasks.UniverseTaskBase.ServerType;
+import com.yugabyte.yw.common.ApiUtils;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
+import com.yugabyte.yw.models.helpers.PlacementInfo;
+import com.yugabyte.yw.models.helpers.PlacementInfo.PlacementAZ;
+import com.yugabyte.yw.models.helpers.PlacementInfo.PlacementCloud;
+import com.yugabyte.yw.models.helpers.PlacementInfo.PlacementRegion;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class UpgradeTaskBaseTest {
+
+  private static final Set<ServerType> TSERVER = ImmutableSet.of(ServerType.TSERVER);
+
+  private final UUID clusterUuid = UUID.randomUUID();
+
+  // Nodes 1..count, spread over the AZs round robin like a real placement.
+  private List<NodeDetails> createNodes(int count, List<UUID> azUuids) {
+    List<NodeDetails> nodes = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      UUID azUuid = azUuids.get((i - 1) % azUuids.size());
+      NodeDetails node =
+          ApiUtils.getDummyNodeDetails(
+              i, NodeState.Live, false, true, "aws", "region-1", "az-" + azUuid, null, azUuid);
+      node.placementUuid = clusterUuid;
+      nodes.add(node);
+    }
+    return nodes;
+  }
+
+  // One AZ per replica count, all in one region.
+  private static PlacementInfo placement(int... azReplicas) {
+    PlacementRegion region = new PlacementRegion();
+    for (int replicas : azReplicas) {
+      PlacementAZ az = new PlacementAZ();
+      az.uuid = UUID.randomUUID();
+      az.replicationFactor = replicas;
+      az.numNodesInAZ = Math.max(replicas, 1);
+      region.azList.add(az);
+    }
+    PlacementCloud cloud = new PlacementCloud();
+    cloud.regionList.add(region);
+    PlacementInfo placementInfo = new PlacementInfo();
+    placementInfo.cloudList.add(cloud);
+    return placementInfo;
+  }
+
+  private static List<List<Integer>> indexes(List<List<NodeDetails>> batches) {
+    return batches
+        .stream()
+        .map(batch -> batch.stream().map(NodeDetails::getNodeIdx).collect(Collectors.toList()))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testOneByOneByDefault() {
+    List<NodeDetails> nodes =
+        createNodes(4, Arrays.asList(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+    assertEquals(
+        Arrays.asList(Arrays.asList(1), Arrays.asList(2), Arrays.asList(3), Arrays.asList(4)),
+        indexes(UpgradeTaskBase.splitIntoAzBatches(nodes, node -> TSERVER, node -> true, 1)));
+  }
+
+  @Test
+  public void testBatchesPerAz() {
+    List<NodeDetails> nodes =
+        createNodes(9, Arrays.asList(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList(1, 4),
+            Arrays.asList(2, 5),
+            Arrays.asList(3, 6),
+            Arrays.asList(7),
+            Arrays.asList(8),
+            Arrays.asList(9)),
+        indexes(UpgradeTaskBase.splitIntoAzBatches(nodes, node -> TSERVER, node -> true, 2)));
+    // A batch size larger than an AZ makes the upgrade take one step per AZ.
+    assertEquals(
+        Arrays.asList(Arrays.asList(1, 4, 7), Arrays.asList(2, 5, 8), Arrays.asList(3, 6, 9)),
+        indexes(UpgradeTaskBase.splitIntoAzBatches(nodes, node -> TSERVER, node -> true, 10)));
+  }
+
+  @Test
+  public void testNodesWhichCannotBeBatched() {
+    List<NodeDetails> nodes = createNodes(6, Arrays.asList(UUID.randomUUID(), UUID.randomUUID()));
+    nodes.get(2).isMaster = true;
+    assertEquals(
+        Arrays.asList(Arrays.asList(1, 5), Arrays.asList(2, 4, 6), Arrays.asList(3)),
+        indexes(
+            UpgradeTaskBase.splitIntoAzBatches(nodes, node -> TSERVER, node -> !node.isMaster, 3)));
+  }
+
+  @Test
+  public void testBatchesHaveSameProcesses() {
+    List<NodeDetails> nodes = createNodes(4, Arrays.asList(UUID.randomUUID()));
+    Set<ServerType> withController = ImmutableSet.of(ServerType.TSERVER, ServerType.CONTROLLER);
+    assertEquals(
+        Arrays.asList(Arrays.asList(1, 3), Arrays.asList(2, 4)),
+        indexes(
+            UpgradeTaskBase.splitIntoAzBatches(
+                nodes,
+                node -> node.nodeIdx % 2 == 0 ? withController : TSERVER,
+                node -> true,
+                4)));
+  }
+
+  @Test
+  public void testAzBatchSafeWithOneReplicaPerAz() {
+    assertTrue(UpgradeTaskBase.isAzBatchSafe(placement(1, 1, 1), 3));
+    assertTrue(UpgradeTaskBase.isAzBatchSafe(placement(1, 1, 1, 0), 3));
+    assertTrue(UpgradeTaskBase.isAzBatchSafe(placement(1, 1, 1, 1, 1), 5));
+  }
+
+  @Test
+  public void testAzBatchUnsafeWithUnevenPlacement() {
+    // Restarting the AZ with 2 replicas would take down a majority of every tablet.
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(2, 1, 0), 3));
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(2, 1, 0, 0), 3));
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(2, 2, 1), 5));
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(3), 3));
+  }
+
+  @Test
+  public void testAzBatchUnsafeWithLowReplicationFactor() {
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(1), 1));
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(1, 1), 2));
+    // Fewer AZs with replicas than the replication factor.
+    assertFalse(UpgradeTaskBase.isAzBatchSafe(placement(1, 1, 0), 3));
+  }
+}
@@ -63,6 +63,7 @@ import org.mockito.junit.MockitoRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.client.ChangeMasterClusterConfigResponse;
+import org.yb.client.IsLoadBalancedResponse;
 import org.yb.client.ListMastersResponse;
 import org.yb.client.ListTabletServersResponse;
 import play.libs.Json;
@@ -98,12 +99,13 @@ public class AddNodeToUniverseTest extends UniverseModifyBaseTest {
       ListMastersResponse listMastersResponse = mock(ListMastersResponse.class);
       when(listMastersResponse.getMasters()).thenReturn(Collections.emptyList());
       when(mockClient.listMasters()).thenReturn(listMastersResponse);
+      when(mockClient.getIsLoadBalanced(anyInt()))
+          .thenReturn(new IsLoadBalancedResponse(0, "", null));
     } catch (Exception e) {
       fail();
     }
 
     mockWaits(mockClient, 4);
-    when(mockClient.waitForLoadBalance(anyLong(), anyInt())).thenReturn(true);
     when(mockYBClient.getClientWithConfig(any())).thenReturn(mockClient);
   }
 
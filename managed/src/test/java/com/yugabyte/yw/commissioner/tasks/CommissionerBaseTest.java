@@ -3,6 +3,9 @@
 package com.yugabyte.yw.commissioner.tasks;
 
 import static com.yugabyte.yw.common.TestHelper.testDatabase;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -65,6 +68,7 @@ import org.yb.master.CatalogEntityInfo;
 import play.Application;
 import play.Environment;
 import play.inject.guice.GuiceApplicationBuilder;
+import play.libs.Json;
 
 public abstract class CommissionerBaseTest extends PlatformGuiceApplicationBaseTest {
   private static final int MAX_RETRY_COUNT = 2000;
@@ -157,6 +161,14 @@ public abstract class CommissionerBaseTest extends PlatformGuiceApplicationBaseT
     when(mockBaseTaskDependencies.getExecutorFactory())
         .thenReturn(app.injector().instanceOf(PlatformExecutorFactory.class));
     when(mockBaseTaskDependencies.getTaskExecutor()).thenReturn(taskExecutor);
+
+    // Nodes report no follower lag on their metrics endpoint.
+    lenient()
+        .when(mockApiHelper.getRequest(endsWith("/metrics"), anyMap(), anyMap()))
+        .thenReturn(
+            Json.parse(
+                "[{\"type\": \"tablet\", \"metrics\":"
+                    + " [{\"name\": \"follower_lag_ms\", \"value\": 0}]}]"));
   }
 
   @Override
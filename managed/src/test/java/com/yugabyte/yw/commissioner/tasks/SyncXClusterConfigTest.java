@@ -321,6 +321,37 @@ public class SyncXClusterConfigTest extends CommissionerBaseTest {
     actual.delete();
   }
 
+  @Test
+  public void testSyncKeepsDetailsOfExistingTables() {
+    XClusterConfig xClusterConfig =
+        XClusterConfig.create(createFormData, XClusterConfigStatusType.Running);
+    xClusterConfig.setNeedBootstrapForTables(
+        Collections.singleton(exampleTableID1), true /* needBootstrap */);
+
+    Set<String> expectedTables = new HashSet<>();
+    expectedTables.add(exampleTableID1);
+    expectedTables.add(exampleTableID3);
+    createFormData.tables = expectedTables;
+    List<Tuple<XClusterConfigCreateFormData, Boolean>> xClusterConfigInfoList =
+        Collections.singletonList(new Tuple<>(createFormData, false));
+    setupMockClusterConfig(xClusterConfigInfoList, null);
+
+    TaskInfo taskInfo = submitTask(targetUniverse);
+    assertNotNull(taskInfo);
+    assertEquals(Success, taskInfo.getTaskState());
+
+    XClusterConfig actual = XClusterConfig.getOrBadRequest(xClusterConfig.uuid);
+    assertEquals(expectedTables, actual.getTables());
+    assertTrue(actual.getTableById(exampleTableID1).needBootstrap);
+    assertFalse(actual.getTableById(exampleTableID3).needBootstrap);
+    for (String tableId : expectedTables) {
+      assertTrue(actual.getTableById(tableId).replicationSetupDone);
+      assertNotNull(actual.getTableById(tableId).streamId);
+    }
+
+    actual.delete();
+  }
+
   @Test
   public void testSyncModifyExistingStatus() {
     XClusterConfig.create(createFormData, XClusterConfigStatusType.Running);
@@ -15,6 +15,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,7 +27,9 @@ import com.yugabyte.yw.common.alerts.AlertChannelManager;
 import com.yugabyte.yw.common.alerts.AlertChannelService;
 import com.yugabyte.yw.common.alerts.AlertDestinationService;
 import com.yugabyte.yw.common.alerts.AlertNotificationContext;
+import com.yugabyte.yw.common.alerts.AlertNotificationDispatcher;
 import com.yugabyte.yw.common.alerts.AlertNotificationReport;
+import com.yugabyte.yw.common.alerts.AlertService;
 import com.yugabyte.yw.common.alerts.AlertUtils;
 import com.yugabyte.yw.common.alerts.PlatformNotificationException;
 import com.yugabyte.yw.common.alerts.impl.AlertChannelEmail;
@@ -47,6 +50,7 @@ import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import javax.mail.MessagingException;
 import junitparams.JUnitParamsRunner;
@@ -58,6 +62,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -116,7 +121,8 @@ public class AlertManagerTest extends FakeDBApplication {
             alertChannelService,
             alertDestinationService,
             channelsManager,
-            metricService);
+            metricService,
+            app.injector().instanceOf(AlertNotificationDispatcher.class));
 
     defaultDestination = alertDestinationService.createDefaultDestination(defaultCustomer.uuid);
     defaultChannel = defaultDestination.getChannelsList().get(0);
@@ -340,6 +346,49 @@ public class AlertManagerTest extends FakeDBApplication {
     assertThat(captor.getValue().getState(), is(State.ACTIVE));
   }
 
+  @Test
+  public void testSendNotifications_OneAlertFailsToSave() throws PlatformNotificationException {
+    Alert alert = createPendingAlert();
+    Alert failingAlert = createPendingAlert();
+
+    AlertService spyAlertService = spy(alertService);
+    // The batch save fails, as well as the save of one alert.
+    doThrow(new RuntimeException("Batch failure"))
+        .when(spyAlertService)
+        .save(ArgumentMatchers.<List<Alert>>argThat(alerts -> alerts.size() > 1));
+    doThrow(new RuntimeException("Alert failure"))
+        .when(spyAlertService)
+        .save(
+            ArgumentMatchers.<Alert>argThat(
+                toSave -> toSave.getUuid().equals(failingAlert.getUuid())));
+    am =
+        new AlertManager(
+            emailHelper,
+            spyAlertService,
+            alertConfigurationService,
+            alertChannelService,
+            alertDestinationService,
+            channelsManager,
+            metricService,
+            app.injector().instanceOf(AlertNotificationDispatcher.class));
+
+    am.sendNotifications();
+
+    verify(emailChannel, times(2)).sendNotification(eq(defaultCustomer), any(), any());
+    // Only the alert which failed to save is notified again on the next run.
+    assertThat(alertService.get(alert.getUuid()).getNotifiedState(), equalTo(State.ACTIVE));
+    assertThat(alertService.get(failingAlert.getUuid()).getNotifiedState(), nullValue());
+  }
+
+  private Alert createPendingAlert() {
+    Alert alert = ModelFactory.createAlert(defaultCustomer, universe);
+    alert
+        .setDefinitionUuid(definition.getUuid())
+        .setNextNotificationTime(Date.from(new Date().toInstant().minusSeconds(10)));
+    alert.save();
+    return alert;
+  }
+
   @Test
   public void testSendNotificationForState_() throws MessagingException {
     Alert alert = ModelFactory.createAlert(defaultCustomer, definition);
@@ -0,0 +1,137 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.yugabyte.yw.common.config.RuntimeConfGetter;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KubernetesInformerCacheTest {
+
+  private static final String NAMESPACE = "yb-admin-demo";
+
+  private static final Map<String, String> CONFIG =
+      ImmutableMap.of("KUBECONFIG", "/opt/yugabyte/demo-kubeconfig");
+
+  @Rule public KubernetesServer server = new KubernetesServer(true, true);
+
+  @Mock RuntimeConfGetter mockConfGetter;
+
+  private KubernetesInformerCache informerCache;
+
+  @Before
+  public void setUp() {
+    informerCache =
+        new KubernetesInformerCache(
+            mockConfGetter,
+            config -> new DefaultKubernetesClient(server.getClient().getConfiguration()));
+  }
+
+  @After
+  public void tearDown() {
+    informerCache.invalidateAll();
+  }
+
+  private void createPod(String name, String release) {
+    server
+        .getClient()
+        .pods()
+        .inNamespace(NAMESPACE)
+        .create(
+            new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .addToLabels("release", release)
+                .endMetadata()
+                .build());
+  }
+
+  @Test
+  public void testReadsFromCache() {
+    createPod("yb-master-0", "demo");
+    createPod("yb-tserver-0", "demo");
+    createPod("yb-tserver-0-other", "other");
+    server
+        .getClient()
+        .services()
+        .inNamespace(NAMESPACE)
+        .create(
+            new ServiceBuilder()
+                .withNewMetadata()
+                .withName("yb-masters")
+                .withNamespace(NAMESPACE)
+                .addToLabels("release", "demo")
+                .endMetadata()
+                .build());
+
+    assertEquals(
+        ImmutableMap.of("yb-master-0", "demo", "yb-tserver-0", "demo"),
+        informerCache
+            .getPods(CONFIG, NAMESPACE, ImmutableMap.of("release", "demo"))
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    pod -> pod.getMetadata().getName(),
+                    pod -> pod.getMetadata().getLabels().get("release"))));
+    assertEquals(3, informerCache.getPods(CONFIG, NAMESPACE, Collections.emptyMap()).size());
+    assertNotNull(informerCache.getPod(CONFIG, NAMESPACE, "yb-master-0"));
+    assertNull(informerCache.getPod(CONFIG, NAMESPACE, "yb-master-1"));
+    Map<String, String> demoRelease = ImmutableMap.of("release", "demo");
+    assertEquals(1, informerCache.getServices(CONFIG, NAMESPACE, demoRelease).size());
+    Map<String, String> otherRelease = ImmutableMap.of("release", "other");
+    assertEquals(0, informerCache.getServices(CONFIG, NAMESPACE, otherRelease).size());
+  }
+
+  @Test
+  public void testPodChangesWakeUpWaiters() throws Exception {
+    assertTrue(informerCache.getPods(CONFIG, NAMESPACE, Collections.emptyMap()).isEmpty());
+    assertFalse(informerCache.awaitPodChange(CONFIG, NAMESPACE, Duration.ofMillis(100)));
+
+    Thread creator =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(200);
+              } catch (InterruptedException e) {
+                return;
+              }
+              createPod("yb-master-0", "demo");
+            });
+    creator.start();
+    assertTrue(informerCache.awaitPodChange(CONFIG, NAMESPACE, Duration.ofSeconds(30)));
+    creator.join();
+    Pod pod = informerCache.getPod(CONFIG, NAMESPACE, "yb-master-0");
+    assertNotNull(pod);
+
+    server.getClient().pods().inNamespace(NAMESPACE).withName("yb-master-0").delete();
+    long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+    while (informerCache.getPod(CONFIG, NAMESPACE, "yb-master-0") != null
+        && System.nanoTime() < deadline) {
+      informerCache.awaitPodChange(CONFIG, NAMESPACE, Duration.ofSeconds(1));
+    }
+    assertNull(informerCache.getPod(CONFIG, NAMESPACE, "yb-master-0"));
+  }
+}
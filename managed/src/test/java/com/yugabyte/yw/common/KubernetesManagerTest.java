@@ -3,7 +3,9 @@
 package com.yugabyte.yw.common;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Mockito.times;
@@ -16,9 +18,13 @@ import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Provider;
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Before;
@@ -37,6 +43,8 @@ public class KubernetesManagerTest extends FakeDBApplication {
 
   @Mock play.Configuration mockAppConfig;
 
+  @Mock KubernetesInformerCache informerCache;
+
   @InjectMocks ShellKubernetesManager kubernetesManager;
 
   Provider defaultProvider;
@@ -179,4 +187,66 @@ public class KubernetesManagerTest extends FakeDBApplication {
             "release=" + "demo-universe"),
         command.getValue());
   }
+
+  @Test
+  public void testPodChangesDoNotExtendWait() {
+    when(informerCache.isEnabled()).thenReturn(true);
+    // Pods change all the time, like a crash looping pod.
+    when(informerCache.awaitPodChange(any(), any(), any())).thenReturn(true);
+    AtomicInteger checks = new AtomicInteger();
+    long start = System.nanoTime();
+    assertFalse(
+        KubernetesManager.waitForPodCondition(
+            kubernetesManager,
+            configProvider,
+            "demo-ns",
+            Duration.ofMillis(20),
+            5,
+            () -> checks.incrementAndGet() < 0,
+            duration -> {}));
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMs >= 100);
+    assertTrue(elapsedMs < 5000);
+    assertTrue(checks.get() >= 5);
+
+    checks.set(0);
+    assertTrue(
+        KubernetesManager.waitForPodCondition(
+            kubernetesManager,
+            configProvider,
+            "demo-ns",
+            Duration.ofMillis(20),
+            5,
+            () -> checks.incrementAndGet() >= 3,
+            duration -> {}));
+    assertEquals(3, checks.get());
+  }
+
+  @Test
+  public void testWaitWithoutInformerSleepsBetweenChecks() {
+    when(informerCache.isEnabled()).thenReturn(false);
+    AtomicInteger checks = new AtomicInteger();
+    List<Duration> sleeps = new ArrayList<>();
+    assertFalse(
+        KubernetesManager.waitForPodCondition(
+            kubernetesManager,
+            configProvider,
+            "demo-ns",
+            Duration.ofMillis(20),
+            5,
+            () -> checks.incrementAndGet() < 0,
+            duration -> {
+              sleeps.add(duration);
+              try {
+                TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            }));
+    // The wait ends on the deadline, without checks back to back.
+    assertTrue(sleeps.stream().allMatch(duration -> duration.toNanos() > 0));
+    assertTrue(checks.get() >= 5);
+    assertTrue(checks.get() <= 7);
+    assertEquals(checks.get() - 1, sleeps.size());
+  }
 }
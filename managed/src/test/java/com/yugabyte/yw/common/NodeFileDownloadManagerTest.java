@@ -0,0 +1,229 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.NodeFileDownloadManager.NodeFile;
+import com.yugabyte.yw.models.NodeAgent;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NodeFileDownloadManagerTest {
+
+  private static final String HOME_DIR = "/mnt/d0/yb-data";
+
+  @Rule public TemporaryFolder targetDir = new TemporaryFolder();
+
+  @Mock NodeUniverseManager mockNodeUniverseManager;
+
+  @Mock NodeAgentClient mockNodeAgentClient;
+
+  @Mock PlatformExecutorFactory mockExecutorFactory;
+
+  @Mock Config mockConfig;
+
+  private NodeFileDownloadManager downloadManager;
+
+  private final NodeDetails node = new NodeDetails();
+
+  @Before
+  public void setUp() {
+    node.nodeName = "u-n1";
+    when(mockConfig.getInt(NodeFileDownloadManager.PARALLELISM_KEY)).thenReturn(4);
+    when(mockExecutorFactory.createFixedExecutor(anyString(), eq(4), any()))
+        .thenReturn(Executors.newFixedThreadPool(4));
+    downloadManager =
+        new NodeFileDownloadManager(
+            mockNodeUniverseManager, mockNodeAgentClient, mockExecutorFactory, mockConfig);
+  }
+
+  private static NodeFile nodeFile(String relativePath, String content) {
+    return new NodeFile(HOME_DIR, relativePath, content.length());
+  }
+
+  private String readTarget(String relativePath) throws Exception {
+    Path target = targetDir.getRoot().toPath().resolve(relativePath);
+    return new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testListFiles() {
+    when(mockNodeUniverseManager.runScript(
+            any(), any(), eq(NodeUniverseManager.NODE_UTILS_SCRIPT), any()))
+        .thenReturn(
+            ShellResponse.create(
+                0,
+                "Command output:\n12 /mnt/d0/yb-data/master/logs/yb-master.INFO\n"
+                    + "3 /mnt/d0/yb-data/master/logs/with space.log\n"));
+    Date modifiedAfter = new Date(1670000000000L);
+    List<NodeFile> files =
+        downloadManager.listFiles(null, node, HOME_DIR, "master/logs", 1, modifiedAfter);
+    assertEquals(
+        Arrays.asList(
+            new NodeFile(HOME_DIR, "master/logs/yb-master.INFO", 12),
+            new NodeFile(HOME_DIR, "master/logs/with space.log", 3)),
+        files);
+    assertEquals("/mnt/d0/yb-data/master/logs/with space.log", files.get(1).getPath());
+    verify(mockNodeUniverseManager)
+        .runScript(
+            node,
+            null,
+            NodeUniverseManager.NODE_UTILS_SCRIPT,
+            Arrays.asList("list_files", "/mnt/d0/yb-data/master/logs", "1", "1670000000"));
+  }
+
+  @Test
+  public void testDownloadThroughNodeAgent() throws Exception {
+    NodeAgent nodeAgent = new NodeAgent();
+    when(mockNodeUniverseManager.maybeGetNodeAgent(any(), any()))
+        .thenReturn(Optional.of(nodeAgent));
+    doAnswer(
+            invocation -> {
+              String path = invocation.getArgument(1);
+              OutputStream outputStream = invocation.getArgument(2);
+              outputStream.write(("content of " + path).getBytes(StandardCharsets.UTF_8));
+              return null;
+            })
+        .when(mockNodeAgentClient)
+        .downloadFile(eq(nodeAgent), anyString(), any(OutputStream.class), isNull());
+
+    // Already downloaded by an earlier attempt.
+    String existingContent = "content of " + HOME_DIR + "/master/logs/old.log";
+    Files.createDirectories(targetDir.getRoot().toPath().resolve("master/logs"));
+    Files.write(
+        targetDir.getRoot().toPath().resolve("master/logs/old.log"),
+        existingContent.getBytes(StandardCharsets.UTF_8));
+
+    downloadManager.downloadNodeFiles(
+        null,
+        node,
+        Arrays.asList(
+            nodeFile("master/logs/old.log", existingContent),
+            nodeFile("master/logs/new.log", "")),
+        NodeFileDownloadManager.toDirectory(n -> targetDir.getRoot().toPath()));
+
+    assertEquals(
+        "content of " + HOME_DIR + "/master/logs/new.log", readTarget("master/logs/new.log"));
+    assertEquals(existingContent, readTarget("master/logs/old.log"));
+    assertFalse(Files.exists(targetDir.getRoot().toPath().resolve("master/logs/new.log.part")));
+    verify(mockNodeAgentClient, times(1))
+        .downloadFile(eq(nodeAgent), anyString(), any(OutputStream.class), isNull());
+    verify(mockNodeUniverseManager, never())
+        .downloadNodeFile(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void testDownloadThroughArchive() throws Exception {
+    when(mockNodeUniverseManager.maybeGetNodeAgent(any(), any())).thenReturn(Optional.empty());
+    when(mockNodeUniverseManager.downloadNodeFile(
+            eq(node), any(), eq(HOME_DIR), eq("master/logs/a.log;tserver/logs/b.log"), any()))
+        .thenAnswer(
+            invocation -> {
+              Path archive = Paths.get((String) invocation.getArgument(4));
+              try (TarArchiveOutputStream tarOutput =
+                  new TarArchiveOutputStream(
+                      new GzipCompressorOutputStream(Files.newOutputStream(archive)))) {
+                for (String name : Arrays.asList("master/logs/a.log", "tserver/logs/b.log")) {
+                  byte[] content = name.getBytes(StandardCharsets.UTF_8);
+                  TarArchiveEntry entry = new TarArchiveEntry(name);
+                  entry.setSize(content.length);
+                  tarOutput.putArchiveEntry(entry);
+                  tarOutput.write(content);
+                  tarOutput.closeArchiveEntry();
+                }
+              }
+              return ShellResponse.create(0, "");
+            });
+
+    downloadManager.downloadNodeFiles(
+        null,
+        node,
+        Arrays.asList(nodeFile("master/logs/a.log", "?"), nodeFile("tserver/logs/b.log", "?")),
+        NodeFileDownloadManager.toDirectory(n -> targetDir.getRoot().toPath()));
+
+    assertEquals("master/logs/a.log", readTarget("master/logs/a.log"));
+    assertEquals("tserver/logs/b.log", readTarget("tserver/logs/b.log"));
+  }
+
+  @Test
+  public void testForEachNodeRunsNodesConcurrently() {
+    List<NodeDetails> nodes =
+        IntStream.range(0, 4)
+            .mapToObj(
+                i -> {
+                  NodeDetails n = new NodeDetails();
+                  n.nodeName = "u-n" + i;
+                  return n;
+                })
+            .collect(Collectors.toList());
+    // Only completes if all the nodes are handled at once.
+    CountDownLatch latch = new CountDownLatch(nodes.size());
+    downloadManager.forEachNode(
+        nodes,
+        n -> {
+          latch.countDown();
+          assertTrue(latch.await(10, TimeUnit.SECONDS));
+        });
+  }
+
+  @Test
+  public void testForEachNodeRethrowsFailure() {
+    NodeDetails otherNode = new NodeDetails();
+    otherNode.nodeName = "u-n2";
+    List<String> done = Collections.synchronizedList(new ArrayList<>());
+    try {
+      downloadManager.forEachNode(
+          Arrays.asList(node, otherNode),
+          n -> {
+            if (n == node) {
+              throw new IllegalStateException("unreachable");
+            }
+            done.add(n.nodeName);
+          });
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("unreachable", e.getMessage());
+    }
+    assertEquals(Collections.singletonList("u-n2"), done);
+  }
+}
@@ -0,0 +1,144 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yugabyte.yw.common.NodeReadinessChecker.Check;
+import com.yugabyte.yw.metrics.MetricQueryHelper;
+import com.yugabyte.yw.metrics.MetricQueryResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NodeReadinessCheckerTest {
+
+  private static final String METRICS_URL = "http://10.0.0.1:9000/metrics";
+
+  @Mock ApiHelper mockApiHelper;
+
+  @Mock MetricQueryHelper mockMetricQueryHelper;
+
+  private NodeReadinessChecker checker;
+
+  private final List<Duration> sleeps = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    checker = new NodeReadinessChecker(mockApiHelper, mockMetricQueryHelper);
+  }
+
+  private boolean waitFor(Duration timeout, int readyAfterPolls) throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+    return checker.waitFor(
+        Check.SERVER_READY,
+        "host-n1",
+        timeout,
+        sleeps::add,
+        () -> polls.incrementAndGet() >= readyAfterPolls);
+  }
+
+  @Test
+  public void testWaitReadyRightAway() throws Exception {
+    assertTrue(waitFor(Duration.ofMinutes(1), 1));
+    assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void testWaitBacksOffExponentially() throws Exception {
+    assertTrue(waitFor(Duration.ofMinutes(1), 9));
+    assertEquals(
+        Arrays.asList(
+            Duration.ofMillis(250),
+            Duration.ofMillis(500),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(4),
+            NodeReadinessChecker.MAX_POLL_DELAY,
+            NodeReadinessChecker.MAX_POLL_DELAY,
+            NodeReadinessChecker.MAX_POLL_DELAY),
+        sleeps);
+  }
+
+  @Test
+  public void testWaitTimesOut() throws Exception {
+    assertFalse(waitFor(Duration.ZERO, Integer.MAX_VALUE));
+    assertTrue(sleeps.isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testWaitRethrowsProbeError() throws Exception {
+    checker.waitFor(
+        Check.FOLLOWER_LAG,
+        "host-n1",
+        Duration.ofMinutes(1),
+        sleeps::add,
+        () -> {
+          throw new IllegalStateException("unreachable");
+        });
+  }
+
+  @Test
+  public void testFollowerLagFromNode() {
+    when(mockApiHelper.getRequest(eq(METRICS_URL), anyMap(), anyMap()))
+        .thenReturn(
+            Json.parse(
+                "[{\"type\": \"tablet\", \"id\": \"t1\", \"metrics\": "
+                    + "[{\"name\": \"follower_lag_ms\", \"value\": 120}]},"
+                    + "{\"type\": \"tablet\", \"id\": \"t2\", \"metrics\": "
+                    + "[{\"name\": \"follower_lag_ms\", \"value\": 3400},"
+                    + " {\"name\": \"other_metric\", \"value\": 99999}]},"
+                    + "{\"type\": \"server\", \"id\": \"yb.tabletserver\", \"metrics\": []}]"));
+    assertEquals(3400, checker.getFollowerLagMs("10.0.0.1", 9000).getAsDouble(), 0.0);
+    verify(mockMetricQueryHelper, never()).queryDirect(anyString());
+  }
+
+  @Test
+  public void testFollowerLagFallsBackToPrometheus() {
+    when(mockApiHelper.getRequest(eq(METRICS_URL), anyMap(), anyMap()))
+        .thenReturn(ApiResponse.errorJSON("Connection refused"));
+    MetricQueryResponse.Entry entry = new MetricQueryResponse.Entry();
+    entry.labels = new HashMap<>(Collections.singletonMap("instance", "10.0.0.1:9000"));
+    entry.values = new ArrayList<>(Collections.singletonList(new ImmutablePair<>(0.0, 250.0)));
+    when(mockMetricQueryHelper.queryDirect(any()))
+        .thenReturn(new ArrayList<>(Collections.singletonList(entry)));
+    assertEquals(250, checker.getFollowerLagMs("10.0.0.1", 9000).getAsDouble(), 0.0);
+  }
+
+  @Test
+  public void testFollowerLagUnknownWithoutPrometheusData() {
+    when(mockApiHelper.getRequest(eq(METRICS_URL), anyMap(), anyMap()))
+        .thenReturn(ApiResponse.errorJSON("Connection refused"));
+    when(mockMetricQueryHelper.queryDirect(any())).thenReturn(new ArrayList<>());
+    assertFalse(checker.getFollowerLagMs("10.0.0.1", 9000).isPresent());
+  }
+
+  @Test
+  public void testFollowerLagUnknownWhenPrometheusFails() {
+    when(mockApiHelper.getRequest(eq(METRICS_URL), anyMap(), anyMap()))
+        .thenReturn(ApiResponse.errorJSON("Connection refused"));
+    when(mockMetricQueryHelper.queryDirect(any())).thenThrow(new RuntimeException("Timed out"));
+    assertFalse(checker.getFollowerLagMs("10.0.0.1", 9000).isPresent());
+  }
+}
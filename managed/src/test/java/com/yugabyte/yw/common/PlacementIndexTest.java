@@ -0,0 +1,181 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PlacementIndexTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PlacementIndexTest.class);
+
+  private final UUID clusterUuid = UUID.randomUUID();
+
+  private List<NodeDetails> createNodes(int count, List<UUID> azUuids, int numMasters) {
+    List<NodeDetails> nodes = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      UUID azUuid = azUuids.get((i - 1) % azUuids.size());
+      NodeDetails node =
+          ApiUtils.getDummyNodeDetails(
+              i,
+              NodeState.Live,
+              i <= numMasters,
+              true,
+              "aws",
+              "region-" + ((i - 1) % azUuids.size()) / 3,
+              "az-" + azUuid,
+              null,
+              azUuid);
+      node.placementUuid = clusterUuid;
+      nodes.add(node);
+    }
+    return nodes;
+  }
+
+  private List<UUID> createAzUuids(int count) {
+    List<UUID> result = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      result.add(UUID.randomUUID());
+    }
+    return result;
+  }
+
+  @Test
+  public void testFindNodeSameAsFindNodeInAz() {
+    List<UUID> azUuids = createAzUuids(3);
+    List<NodeDetails> nodes = createNodes(30, azUuids, 3);
+    Random random = new Random(42);
+    NodeState[] states = {NodeState.Live, NodeState.ToBeAdded, NodeState.ToBeRemoved};
+    nodes.forEach(node -> node.state = states[random.nextInt(states.length)]);
+    PlacementIndex index = PlacementIndex.of(clusterUuid, nodes);
+
+    List<Predicate<NodeDetails>> filters =
+        Arrays.asList(
+            NodeDetails::isActive,
+            node -> node.state == NodeState.ToBeRemoved,
+            node -> node.state == NodeState.Stopped);
+    for (UUID azUuid : azUuids) {
+      for (Predicate<NodeDetails> filter : filters) {
+        for (boolean mastersPreferable : new boolean[] {true, false}) {
+          assertSame(
+              PlacementInfoUtil.findNodeInAz(filter, nodes, azUuid, mastersPreferable),
+              index.findNode(filter, azUuid, mastersPreferable));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFindNodeChecksCurrentState() {
+    UUID azUuid = UUID.randomUUID();
+    List<NodeDetails> nodes = createNodes(5, Arrays.asList(azUuid), 2);
+    PlacementIndex index = PlacementIndex.of(clusterUuid, nodes);
+    // Tserver only nodes go first, by descending index.
+    for (int expectedIdx : new int[] {5, 4, 3, 2, 1}) {
+      NodeDetails node = index.findNode(NodeDetails::isActive, azUuid, false);
+      assertEquals(expectedIdx, node.nodeIdx);
+      node.state = NodeState.ToBeRemoved;
+    }
+    assertNull(index.findNode(NodeDetails::isActive, azUuid, false));
+  }
+
+  @Test
+  public void testIncrementalUpdates() {
+    List<UUID> azUuids = createAzUuids(2);
+    List<NodeDetails> nodes = createNodes(4, azUuids, 0);
+    PlacementIndex index = PlacementIndex.of(clusterUuid, nodes);
+    UUID az = azUuids.get(0);
+    assertEquals(3, index.findNode(n -> true, az, false).nodeIdx);
+
+    NodeDetails added = createNodes(5, azUuids, 0).get(4);
+    PlacementIndex withAdded = index.withNodeAdded(added);
+    assertSame(added, withAdded.findNode(n -> true, az, false));
+    // The original index is not changed.
+    assertEquals(3, index.findNode(n -> true, az, false).nodeIdx);
+    assertEquals(2, index.getNodes(az).size());
+
+    PlacementIndex withRemoved = withAdded.withNodeRemoved(added);
+    assertEquals(3, withRemoved.findNode(n -> true, az, false).nodeIdx);
+    assertEquals(3, withAdded.getNodes(az).size());
+
+    PlacementIndex withoutAz = withRemoved.withoutAz(az);
+    assertTrue(withoutAz.getNodes(az).isEmpty());
+    assertNull(withoutAz.findNode(n -> true, az, false));
+    assertEquals(Arrays.asList(azUuids.get(1)), new ArrayList<>(withoutAz.getAzUuids()));
+    assertEquals(2, withoutAz.getNodes(azUuids.get(1)).size());
+  }
+
+  @Test
+  public void testOtherClustersAreNotIndexed() {
+    UUID azUuid = UUID.randomUUID();
+    List<NodeDetails> nodes = createNodes(3, Arrays.asList(azUuid), 0);
+    nodes.get(2).placementUuid = UUID.randomUUID();
+    PlacementIndex index = PlacementIndex.of(clusterUuid, nodes);
+    assertEquals(2, index.getNodes(azUuid).size());
+    assertEquals(2, index.findNode(n -> true, azUuid, false).nodeIdx);
+  }
+
+  @Test
+  public void testMachineImageSource() {
+    List<UUID> azUuids = createAzUuids(6);
+    List<NodeDetails> nodes = createNodes(12, azUuids, 0);
+    nodes.get(9).machineImage = "image-1";
+    PlacementIndex index = PlacementIndex.of(clusterUuid, nodes);
+    assertSame(nodes.get(9), index.getMachineImageSource(nodes.get(9).getRegion()));
+    assertNull(index.getMachineImageSource(nodes.get(0).getRegion()));
+  }
+
+  // Picks nodes to decommission from a 1000 node cluster in 9 AZs, the way a configure request
+  // shrinking the cluster does, and compares the time with a scan over all the nodes per pick.
+  @Test
+  public void testDecommissionSelectionOn1000Nodes() {
+    List<UUID> azUuids = createAzUuids(9);
+    int numPicks = 500;
+
+    List<NodeDetails> scanned = createNodes(1000, azUuids, 3);
+    long start = System.nanoTime();
+    List<Integer> scanResult = new ArrayList<>();
+    for (int i = 0; i < numPicks; i++) {
+      NodeDetails node =
+          PlacementInfoUtil.findNodeInAz(
+              NodeDetails::isActive, scanned, azUuids.get(i % azUuids.size()), false);
+      node.state = NodeState.ToBeRemoved;
+      scanResult.add(node.nodeIdx);
+    }
+    long scanNanos = System.nanoTime() - start;
+
+    List<NodeDetails> indexed = createNodes(1000, azUuids, 3);
+    start = System.nanoTime();
+    PlacementIndex index = PlacementIndex.of(clusterUuid, indexed);
+    List<Integer> indexResult = new ArrayList<>();
+    for (int i = 0; i < numPicks; i++) {
+      NodeDetails node =
+          index.findNode(NodeDetails::isActive, azUuids.get(i % azUuids.size()), false);
+      node.state = NodeState.ToBeRemoved;
+      indexResult.add(node.nodeIdx);
+    }
+    long indexNanos = System.nanoTime() - start;
+
+    assertEquals(scanResult, indexResult);
+    LOG.info(
+        "Picked {} of 1000 nodes: scan {} ms, index {} ms",
+        numPicks,
+        TimeUnit.NANOSECONDS.toMillis(scanNanos),
+        TimeUnit.NANOSECONDS.toMillis(indexNanos));
+  }
+}
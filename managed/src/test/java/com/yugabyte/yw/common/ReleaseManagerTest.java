@@ -14,6 +14,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -274,6 +275,25 @@ public class ReleaseManagerTest extends FakeDBApplication {
     assertReleases(expectedMap, releaseMap.getValue());
   }
 
+  @Test
+  public void testLoadReleasesSkipsReleaseRemovedDuringImport() throws Exception {
+    when(appConfig.getString("yb.releases.path")).thenReturn(TMP_STORAGE_PATH);
+    List<String> versions = ImmutableList.of("0.0.1");
+    createDummyReleases(versions, false, false);
+    when(mockGFlagsValidation.getMissingGFlagFileList(any()))
+        .thenReturn(GFlagsValidation.GFLAG_FILENAME_LIST);
+    // The release is removed while its gflags metadata is being added.
+    doAnswer(
+            invocation -> {
+              FileUtils.deleteDirectory(new File(TMP_STORAGE_PATH, "0.0.1"));
+              return null;
+            })
+        .when(mockGFlagsValidation)
+        .fetchGFlagFilesFromTarGZipInputStream(any(), any(), any(), any());
+    releaseManager.importLocalReleases();
+    Mockito.verify(configHelper, times(0)).loadConfigToDB(any(), anyMap());
+  }
+
   @Test
   public void testLoadReleasesWithLinuxOSReleasePath() throws IOException {
     when(appConfig.getString("yb.releases.path")).thenReturn(TMP_STORAGE_PATH);
@@ -523,6 +543,23 @@ public class ReleaseManagerTest extends FakeDBApplication {
     assertThat(release.filePath, allOf(notNullValue(), equalTo("/path/to/yugabyte-0.0.1.tar.gz")));
   }
 
+  @Test
+  public void testReleaseMetadataReadFromSnapshot() {
+    Map<String, Object> releases = new HashMap<>();
+    releases.put("0.0.1", "/path/to/yugabyte-0.0.1.tar.gz");
+    when(configHelper.getConfig(SoftwareReleases)).thenReturn(releases);
+    Map<String, Object> allReleases = releaseManager.getReleaseMetadata();
+    assertEquals(1, allReleases.size());
+    // Changes of the caller are not visible to the next reads.
+    allReleases.remove("0.0.1");
+    assertNotNull(releaseManager.getReleaseByVersion("0.0.1"));
+    verify(configHelper, times(1)).getConfig(SoftwareReleases);
+
+    when(appConfig.getString("yb.releases.path")).thenReturn(TMP_STORAGE_PATH);
+    releaseManager.removeRelease("0.0.1");
+    assertNull(releaseManager.getReleaseByVersion("0.0.1"));
+  }
+
   @Test
   public void testAddRelease() {
     ReleaseManager.ReleaseMetadata metadata =
@@ -14,6 +14,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -26,6 +27,7 @@ import com.yugabyte.yw.common.AlertTemplate;
 import com.yugabyte.yw.common.AssertHelper;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.SwamperHelper;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
@@ -42,6 +44,8 @@ import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.temporal.ChronoUnit;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -76,7 +80,12 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
   @Before
   public void setUp() {
     when(globalConfig.getInt(AlertConfigurationWriter.CONFIG_SYNC_INTERVAL_PARAM)).thenReturn(1);
+    when(globalConfig.getInt(AlertConfigurationWriter.CONFIG_WRITER_PARALLELISM_PARAM))
+        .thenReturn(2);
     when(configFactory.globalRuntimeConf()).thenReturn(globalConfig);
+    when(configFactory.staticApplicationConf()).thenReturn(globalConfig);
+    when(swamperHelper.renderAlertDefinition(any(), any(), any()))
+        .thenAnswer(invocation -> renderRules(invocation.getArgument(1)));
     maintenanceService = app.injector().instanceOf(MaintenanceService.class);
     AlertTemplateSettingsService alertTemplateSettingsService =
         app.injector().instanceOf(AlertTemplateSettingsService.class);
@@ -90,7 +99,8 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
             swamperHelper,
             queryHelper,
             configFactory,
-            maintenanceService);
+            maintenanceService,
+            app.injector().instanceOf(PlatformExecutorFactory.class));
 
     customer = ModelFactory.testCustomer();
     universe = ModelFactory.createUniverse(customer.getCustomerId());
@@ -99,6 +109,15 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
     definition = ModelFactory.createAlertDefinition(customer, universe, configuration);
   }
 
+  private static String renderRules(AlertDefinition definition) {
+    return definition
+        .getLabels()
+        .stream()
+        .map(label -> label.getName() + "=" + label.getValue())
+        .sorted()
+        .collect(Collectors.joining(","));
+  }
+
   @Test
   public void testSyncActiveDefinition() {
     when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
@@ -106,9 +125,10 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     AlertDefinition expected = alertDefinitionService.get(definition.getUuid());
 
-    verify(swamperHelper, times(1)).writeAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).renderAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).writeAlertDefinition(expected.getUuid(), renderRules(expected));
     verify(swamperHelper, times(1)).writeRecordingRules();
-    verify(queryHelper, times(2)).postManagementCommand("reload");
+    verify(queryHelper, times(1)).postManagementCommand("reload");
 
     AssertHelper.assertMetricValue(
         metricService,
@@ -122,6 +142,52 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
         1.0);
   }
 
+  @Test
+  public void testUnchangedDefinitionNotWrittenAgain() {
+    when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
+    configurationWriter.process();
+
+    AlertDefinition written = alertDefinitionService.get(definition.getUuid());
+    assertThat(written.isConfigWritten(), equalTo(true));
+    written.setConfigWritten(false);
+    alertDefinitionService.save(written);
+
+    configurationWriter.process();
+
+    verify(swamperHelper, times(2)).renderAlertDefinition(any(), any(), any());
+    verify(swamperHelper, times(1)).writeAlertDefinition(any(), anyString());
+    verify(queryHelper, times(1)).postManagementCommand("reload");
+    assertThat(alertDefinitionService.get(definition.getUuid()).isConfigWritten(), equalTo(true));
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder().name(PlatformMetrics.ALERT_CONFIG_WRITTEN.getMetricName()).build(),
+        0.0);
+  }
+
+  @Test
+  public void testDefinitionUpdatedDuringSyncWrittenAgain() {
+    when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
+    AtomicBoolean updated = new AtomicBoolean();
+    when(swamperHelper.renderAlertDefinition(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              AlertDefinition rendered = invocation.getArgument(1);
+              if (updated.compareAndSet(false, true)) {
+                // Updated by the user while the writer renders the previous state.
+                AlertDefinition current = alertDefinitionService.get(rendered.getUuid());
+                alertDefinitionService.save(current.setQuery(current.getQuery() + " or vector(0)"));
+              }
+              return renderRules(rendered);
+            });
+
+    configurationWriter.process();
+    assertThat(alertDefinitionService.get(definition.getUuid()).isConfigWritten(), equalTo(false));
+
+    configurationWriter.process();
+    assertThat(alertDefinitionService.get(definition.getUuid()).isConfigWritten(), equalTo(true));
+    verify(swamperHelper, times(2)).renderAlertDefinition(any(), any(), any());
+  }
+
   @Test
   public void testSyncNotActiveDefinition() {
     when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
@@ -133,7 +199,7 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     verify(swamperHelper, times(1)).removeAlertDefinition(definition.getUuid());
     verify(swamperHelper, times(1)).writeRecordingRules();
-    verify(queryHelper, times(2)).postManagementCommand("reload");
+    verify(queryHelper, times(1)).postManagementCommand("reload");
 
     AssertHelper.assertMetricValue(
         metricService,
@@ -153,14 +219,16 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
     UUID missingDefinitionUuid = UUID.randomUUID();
     when(swamperHelper.getAlertDefinitionConfigUuids())
         .thenReturn(ImmutableList.of(missingDefinitionUuid));
+    when(swamperHelper.removeAlertDefinition(missingDefinitionUuid)).thenReturn(true);
     configurationWriter.process();
 
     AlertDefinition expected = alertDefinitionService.get(definition.getUuid());
 
-    verify(swamperHelper, times(1)).writeAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).renderAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).writeAlertDefinition(expected.getUuid(), renderRules(expected));
     verify(swamperHelper, times(1)).removeAlertDefinition(missingDefinitionUuid);
     verify(swamperHelper, times(1)).writeRecordingRules();
-    verify(queryHelper, times(2)).postManagementCommand("reload");
+    verify(queryHelper, times(1)).postManagementCommand("reload");
 
     AssertHelper.assertMetricValue(
         metricService,
@@ -185,19 +253,19 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     configurationWriter.process();
 
-    verify(swamperHelper, never()).writeAlertDefinition(any(), any(), any());
+    verify(swamperHelper, never()).writeAlertDefinition(any(), anyString());
     verify(swamperHelper, never()).removeAlertDefinition(any());
     // Called once after startup
     verify(swamperHelper, times(1)).writeRecordingRules();
-    verify(queryHelper, times(2)).postManagementCommand("reload");
+    verify(queryHelper, times(1)).postManagementCommand("reload");
 
     configurationWriter.process();
 
-    verify(swamperHelper, never()).writeAlertDefinition(any(), any(), any());
+    verify(swamperHelper, never()).writeAlertDefinition(any(), anyString());
     verify(swamperHelper, never()).removeAlertDefinition(any());
     // Not called on subsequent run
     verify(swamperHelper, times(1)).writeRecordingRules();
-    verify(queryHelper, times(2)).postManagementCommand("reload");
+    verify(queryHelper, times(1)).postManagementCommand("reload");
 
     AssertHelper.assertMetricValue(
         metricService,
@@ -222,7 +290,8 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     AlertDefinition expected = alertDefinitionService.get(definition.getUuid());
 
-    verify(swamperHelper, times(1)).writeAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).renderAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).writeAlertDefinition(expected.getUuid(), renderRules(expected));
     verify(queryHelper, never()).postManagementCommand("reload");
 
     AssertHelper.assertMetricValue(
@@ -274,8 +343,10 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
                 + ","
                 + maintenanceWindow2.getUuid().toString()));
     verify(swamperHelper, times(1))
-        .writeAlertDefinition(updatedConfiguration, updatedDefinition, null);
-    verify(queryHelper, times(2)).postManagementCommand("reload");
+        .renderAlertDefinition(updatedConfiguration, updatedDefinition, null);
+    verify(swamperHelper, times(1))
+        .writeAlertDefinition(definition.getUuid(), renderRules(updatedDefinition));
+    verify(queryHelper, times(1)).postManagementCommand("reload");
 
     maintenanceWindow.setEndTime(CommonUtils.nowMinusWithoutMillis(1, ChronoUnit.HOURS));
     maintenanceWindow.save();
@@ -292,8 +363,10 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
         updatedDefinition.getLabelValue(KnownAlertLabels.MAINTENANCE_WINDOW_UUIDS),
         equalTo(maintenanceWindow2.getUuid().toString()));
     verify(swamperHelper, times(1))
-        .writeAlertDefinition(updatedConfiguration, updatedDefinition, null);
-    verify(queryHelper, times(3)).postManagementCommand("reload");
+        .renderAlertDefinition(updatedConfiguration, updatedDefinition, null);
+    verify(swamperHelper, times(1))
+        .writeAlertDefinition(definition.getUuid(), renderRules(updatedDefinition));
+    verify(queryHelper, times(2)).postManagementCommand("reload");
 
     maintenanceService.delete(maintenanceWindow2.getUuid());
 
@@ -306,7 +379,9 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
     assertThat(
         updatedDefinition.getLabelValue(KnownAlertLabels.MAINTENANCE_WINDOW_UUIDS), nullValue());
     verify(swamperHelper, times(1))
-        .writeAlertDefinition(updatedConfiguration, updatedDefinition, null);
-    verify(queryHelper, times(4)).postManagementCommand("reload");
+        .renderAlertDefinition(updatedConfiguration, updatedDefinition, null);
+    verify(swamperHelper, times(1))
+        .writeAlertDefinition(definition.getUuid(), renderRules(updatedDefinition));
+    verify(queryHelper, times(3)).postManagementCommand("reload");
   }
 }
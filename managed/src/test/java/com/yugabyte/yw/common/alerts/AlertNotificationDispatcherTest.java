@@ -0,0 +1,230 @@
+/*
+ * Copyright 2022 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common.alerts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.alerts.AlertNotificationDispatcher.Notification;
+import com.yugabyte.yw.common.alerts.impl.AlertChannelWebHook;
+import com.yugabyte.yw.models.Alert;
+import com.yugabyte.yw.models.AlertChannel;
+import com.yugabyte.yw.models.Customer;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AlertNotificationDispatcherTest extends FakeDBApplication {
+
+  private Customer customer;
+
+  private Alert alert;
+
+  // Stand-in for an SMTP server which does not answer until released.
+  private final CountDownLatch smtpReleased = new CountDownLatch(1);
+
+  private final AlertChannelInterface hangingSmtp =
+      (customer, alert, channel) -> {
+        try {
+          smtpReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      };
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    alert = ModelFactory.createAlert(customer);
+  }
+
+  @After
+  public void tearDown() {
+    smtpReleased.countDown();
+  }
+
+  private AlertNotificationDispatcher createDispatcher(
+      int threads, int queueCapacity, int circuitBreakerFailures) {
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put("yb.alert.notifications.threads_per_channel_type", threads)
+                .put("yb.alert.notifications.queue_capacity", queueCapacity)
+                .put("yb.alert.notifications.channel_rate_per_sec", 1000)
+                .put("yb.alert.notifications.circuit_breaker_failures", circuitBreakerFailures)
+                .put("yb.alert.notifications.circuit_breaker_open_duration", "1 hour")
+                .put("yb.alert.notifications.dispatch_timeout", "2 seconds")
+                .build());
+    return new AlertNotificationDispatcher(
+        config, app.injector().instanceOf(PlatformExecutorFactory.class));
+  }
+
+  private AlertChannel createWebHookChannel(String url) {
+    AlertChannel channel = new AlertChannel();
+    channel.setUuid(UUID.randomUUID());
+    channel.setCustomerUUID(customer.getUuid());
+    channel.setName("WebHook " + url);
+    AlertChannelWebHookParams params = new AlertChannelWebHookParams();
+    params.setWebhookUrl(url);
+    channel.setParams(params);
+    return channel;
+  }
+
+  @Test
+  public void testSlowChannelDoesNotDelayOthers() throws Exception {
+    try (MockWebServer server = new MockWebServer()) {
+      server.start();
+      server.enqueue(new MockResponse().setBody("{\"status\":\"ok\"}"));
+
+      AlertChannel email = ModelFactory.createEmailChannel(customer.getUuid(), "Email");
+      AlertChannel webHook = createWebHookChannel(server.url("/hook").toString());
+      AlertChannelWebHook webHookHandler = app.injector().instanceOf(AlertChannelWebHook.class);
+
+      List<Exception> result =
+          createDispatcher(4, 10, 5)
+              .dispatch(
+                  ImmutableList.of(
+                      new Notification(customer, alert, email, hangingSmtp),
+                      new Notification(customer, alert, webHook, webHookHandler)));
+
+      assertThat(result.get(0).getMessage(), equalTo("Timed out sending notification"));
+      assertThat(result.get(1), nullValue());
+      assertThat(server.getRequestCount(), is(1));
+    }
+  }
+
+  @Test
+  public void testCircuitBreaker() {
+    AtomicInteger attempts = new AtomicInteger();
+    AlertChannelInterface failing =
+        (customer, alert, channel) -> {
+          attempts.incrementAndGet();
+          throw new PlatformNotificationException("Connection refused");
+        };
+    AlertChannel channel = ModelFactory.createEmailChannel(customer.getUuid(), "Email");
+    Notification notification = new Notification(customer, alert, channel, failing);
+
+    List<Exception> result =
+        createDispatcher(1, 10, 2)
+            .dispatch(ImmutableList.of(notification, notification, notification));
+
+    assertThat(attempts.get(), is(2));
+    assertThat(result.get(0).getMessage(), equalTo("Connection refused"));
+    assertThat(result.get(1).getMessage(), equalTo("Connection refused"));
+    assertThat(
+        result.get(2).getMessage(), equalTo("Channel is failing, notifications are paused"));
+  }
+
+  @Test
+  public void testTimeoutInterruptsWorker() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    AlertChannelInterface hanging =
+        (customer, alert, channel) -> {
+          try {
+            new CountDownLatch(1).await();
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+          }
+        };
+    AlertChannelInterface ok = (customer, alert, channel) -> {};
+    AlertChannel channel = ModelFactory.createEmailChannel(customer.getUuid(), "Email");
+    AlertNotificationDispatcher dispatcher = createDispatcher(1, 10, 5);
+
+    List<Exception> result =
+        dispatcher.dispatch(ImmutableList.of(new Notification(customer, alert, channel, hanging)));
+
+    assertThat(result.get(0).getMessage(), equalTo("Timed out sending notification"));
+    assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+    // The only worker is free again.
+    result = dispatcher.dispatch(ImmutableList.of(new Notification(customer, alert, channel, ok)));
+    assertThat(result.get(0), nullValue());
+  }
+
+  @Test
+  public void testCircuitBreakerSkipped() {
+    AlertChannelInterface failing =
+        (customer, alert, channel) -> {
+          throw new PlatformNotificationException("Connection refused");
+        };
+    AlertChannelInterface ok = (customer, alert, channel) -> {};
+    AlertChannel channel = ModelFactory.createEmailChannel(customer.getUuid(), "Email");
+    AlertNotificationDispatcher dispatcher = createDispatcher(1, 10, 1);
+
+    dispatcher.dispatch(ImmutableList.of(new Notification(customer, alert, channel, failing)));
+    List<Exception> result =
+        dispatcher.dispatch(
+            ImmutableList.of(new Notification(customer, alert, channel, ok)), false);
+    assertThat(result.get(0), nullValue());
+
+    // Test notifications do not close the circuit either.
+    result = dispatcher.dispatch(ImmutableList.of(new Notification(customer, alert, channel, ok)));
+    assertThat(
+        result.get(0).getMessage(), equalTo("Channel is failing, notifications are paused"));
+  }
+
+  @Test
+  public void testRemoveChannel() {
+    AlertChannelInterface failing =
+        (customer, alert, channel) -> {
+          throw new PlatformNotificationException("Connection refused");
+        };
+    AlertChannelInterface ok = (customer, alert, channel) -> {};
+    AlertChannel channel = ModelFactory.createEmailChannel(customer.getUuid(), "Email");
+    AlertNotificationDispatcher dispatcher = createDispatcher(1, 10, 1);
+
+    dispatcher.dispatch(ImmutableList.of(new Notification(customer, alert, channel, failing)));
+    dispatcher.removeChannel(channel.getUuid());
+
+    List<Exception> result =
+        dispatcher.dispatch(ImmutableList.of(new Notification(customer, alert, channel, ok)));
+    assertThat(result.get(0), nullValue());
+  }
+
+  @Test
+  public void testQueueFull() {
+    AlertChannelInterface ok = (customer, alert, channel) -> {};
+    AlertChannel hanging = ModelFactory.createEmailChannel(customer.getUuid(), "Hanging");
+    AlertChannel queued = ModelFactory.createEmailChannel(customer.getUuid(), "Queued");
+    AlertChannel rejected = ModelFactory.createEmailChannel(customer.getUuid(), "Rejected");
+
+    // One worker, busy with the hanging channel, and room for one more channel in the queue.
+    List<Exception> result =
+        createDispatcher(1, 1, 5)
+            .dispatch(
+                ImmutableList.of(
+                    new Notification(customer, alert, hanging, hangingSmtp),
+                    new Notification(customer, alert, queued, ok),
+                    new Notification(customer, alert, rejected, ok)));
+
+    assertThat(result.get(0).getMessage(), equalTo("Timed out sending notification"));
+    assertThat(result.get(1).getMessage(), equalTo("Timed out sending notification"));
+    assertThat(result.get(2).getMessage(), equalTo("Notification queue is full"));
+  }
+}
@@ -106,7 +106,8 @@ public class QueryAlertsTest extends FakeDBApplication {
             alertChannelService,
             alertDestinationService,
             channelsManager,
-            metricService);
+            metricService,
+            app.injector().instanceOf(AlertNotificationDispatcher.class));
     queryAlerts =
         new QueryAlerts(
             mockPlatformScheduler,
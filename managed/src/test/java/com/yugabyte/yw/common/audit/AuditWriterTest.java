@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.audit;
+
+import static com.yugabyte.yw.common.audit.AuditService.SECRET_REPLACEMENT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.audit.AuditWriter.AuditRecord;
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Users;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AuditWriterTest extends FakeDBApplication {
+
+  @Rule public TemporaryFolder storagePath = new TemporaryFolder();
+
+  private Customer customer;
+
+  private Users user;
+
+  private final List<AuditWriter> writers = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    user = ModelFactory.testUser(customer);
+  }
+
+  @After
+  public void tearDown() {
+    writers.forEach(AuditWriter::shutdown);
+  }
+
+  private AuditWriter createWriter(int queueCapacity) {
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put("yb.audit.writer.async", true)
+                .put("yb.audit.writer.shards", 2)
+                .put("yb.audit.writer.queue_capacity", queueCapacity)
+                .put("yb.audit.writer.batch_size", 3)
+                .put("yb.storage.path", storagePath.getRoot().getAbsolutePath())
+                .build());
+    AuditWriter writer =
+        new AuditWriter(config, app.injector().instanceOf(PlatformExecutorFactory.class));
+    writers.add(writer);
+    return writer;
+  }
+
+  private AuditRecord createRecord(String apiCall) {
+    return new AuditRecord(
+        new Date(),
+        customer.getUuid(),
+        user.uuid,
+        user.getEmail(),
+        apiCall,
+        "PUT",
+        null,
+        null,
+        null,
+        Json.newObject().put("password", "secret"),
+        null,
+        null,
+        "127.0.0.1",
+        false);
+  }
+
+  private void writeSpilled(Path spillFile, String... apiCalls) throws Exception {
+    StringBuilder lines = new StringBuilder();
+    for (String apiCall : apiCalls) {
+      AuditRecord record = createRecord(apiCall);
+      record.redact();
+      lines.append(Json.stringify(Json.toJson(record))).append('\n');
+    }
+    Files.createDirectories(spillFile.getParent());
+    Files.write(spillFile, lines.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private List<Audit> waitForEntries(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 30000;
+    List<Audit> entries = Audit.getAll(customer.getUuid());
+    while (entries.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+      entries = Audit.getAll(customer.getUuid());
+    }
+    entries.sort(Comparator.comparing(Audit::getAuditID));
+    return entries;
+  }
+
+  @Test
+  public void testWritesInOrderWhenQueueIsFull() throws InterruptedException {
+    AuditWriter writer = createWriter(1);
+    List<String> apiCalls =
+        IntStream.range(0, 20).mapToObj(i -> "/api/call/" + i).collect(Collectors.toList());
+
+    apiCalls.forEach(apiCall -> writer.write(createRecord(apiCall)));
+
+    List<Audit> entries = waitForEntries(apiCalls.size());
+    assertThat(entries, hasSize(apiCalls.size()));
+    assertThat(
+        entries.stream().map(Audit::getApiCall).collect(Collectors.toList()),
+        contains(apiCalls.toArray()));
+    for (Audit entry : entries) {
+      assertThat(entry.getPayload().get("password").asText(), equalTo(SECRET_REPLACEMENT));
+    }
+  }
+
+  @Test
+  public void testWritesEntriesSpilledBeforeRestart() throws Exception {
+    Path spillDir = storagePath.getRoot().toPath().resolve("audit_spill");
+    // Entries are written whichever shard's file they were spilled to.
+    for (int shard = 0; shard < 2; shard++) {
+      writeSpilled(spillDir.resolve("shard-" + shard + ".jsonl"), "/api/spilled/" + shard);
+    }
+
+    createWriter(10);
+
+    List<Audit> entries = waitForEntries(2);
+    assertThat(
+        entries.stream().map(Audit::getApiCall).sorted().collect(Collectors.toList()),
+        contains("/api/spilled/0", "/api/spilled/1"));
+    assertThat(Files.exists(spillDir.resolve("shard-0.jsonl")), equalTo(false));
+    assertThat(Files.exists(spillDir.resolve("shard-1.jsonl")), equalTo(false));
+  }
+
+  @Test
+  public void testWritesEntriesSpilledWithMoreShards() throws Exception {
+    Path spillDir = storagePath.getRoot().toPath().resolve("audit_spill");
+    // Spilled by a writer with more shards than the new one has.
+    writeSpilled(spillDir.resolve("shard-5.jsonl"), "/api/spilled/0", "/api/spilled/1");
+
+    createWriter(10);
+
+    List<Audit> entries = waitForEntries(2);
+    assertThat(
+        entries.stream().map(Audit::getApiCall).collect(Collectors.toList()),
+        contains("/api/spilled/0", "/api/spilled/1"));
+    assertThat(Files.exists(spillDir.resolve("shard-5.jsonl")), equalTo(false));
+  }
+}
@@ -0,0 +1,132 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common.gflags;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.common.Util;
+import com.yugabyte.yw.common.config.RuntimeConfigFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import play.Environment;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GFlagsValidationTest {
+
+  private static final String VERSION = "2.17.1.0-b1";
+
+  private static final String MASTER_FLAGS_XML =
+      "<?xml version=\"1.0\"?><AllFlags><program>yb-master</program>"
+          + "<flag><file>master.cc</file><name>master_only_flag</name><meaning>test</meaning>"
+          + "<default>10</default><type>int32</type><tags>runtime</tags></flag></AllFlags>";
+
+  @Rule public TemporaryFolder releasesDir = new TemporaryFolder();
+
+  @Mock RuntimeConfigFactory mockRuntimeConfigFactory;
+
+  private GFlagsValidation gFlagsValidation;
+
+  @Before
+  public void setUp() {
+    when(mockRuntimeConfigFactory.staticApplicationConf())
+        .thenReturn(
+            ConfigFactory.parseMap(
+                ImmutableMap.of(Util.YB_RELEASES_PATH, releasesDir.getRoot().getPath())));
+    gFlagsValidation = new GFlagsValidation(Environment.simple(), mockRuntimeConfigFactory);
+  }
+
+  private static byte[] createDBPackage(String... files) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (TarArchiveOutputStream tarOutput =
+        new TarArchiveOutputStream(new GzipCompressorOutputStream(bytes))) {
+      for (String file : files) {
+        byte[] content = MASTER_FLAGS_XML.getBytes(StandardCharsets.UTF_8);
+        TarArchiveEntry entry = new TarArchiveEntry("yugabyte-" + VERSION + "/" + file);
+        entry.setSize(content.length);
+        tarOutput.putArchiveEntry(entry);
+        tarOutput.write(content);
+        tarOutput.closeArchiveEntry();
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  @Test
+  public void testBundledMetadataIsParsedOnce() throws IOException {
+    List<GFlagDetails> flags = gFlagsValidation.extractGFlags(VERSION, "MASTER", false);
+    assertFalse(flags.isEmpty());
+    assertSame(flags, gFlagsValidation.extractGFlags(VERSION, "MASTER", false));
+    assertSame(
+        gFlagsValidation.extractGFlags(VERSION, "MASTER", true),
+        gFlagsValidation.extractGFlags(VERSION, "MASTER", true));
+    assertTrue(flags.size() > gFlagsValidation.extractGFlags(VERSION, "MASTER", true).size());
+
+    GFlagDetails flag = flags.get(0);
+    assertSame(flag, gFlagsValidation.getGFlagDetails(VERSION, "MASTER", flag.name).get());
+    assertSame(flag, gFlagsValidation.getGFlagsMap(VERSION, "MASTER").get(flag.name));
+    assertFalse(gFlagsValidation.getGFlagDetails(VERSION, "MASTER", "no_such_flag").isPresent());
+  }
+
+  @Test
+  public void testFetchedMetadataReplacesBundled() throws IOException {
+    List<GFlagDetails> bundledFlags = gFlagsValidation.extractGFlags(VERSION, "MASTER", false);
+
+    gFlagsValidation.fetchGFlagFilesFromTarGZipInputStream(
+        new ByteArrayInputStream(createDBPackage("bin/yb-master", "master_flags.xml")),
+        VERSION,
+        Arrays.asList("master_flags.xml"),
+        releasesDir.getRoot().getPath());
+    Path masterFlagsFile = releasesDir.getRoot().toPath().resolve(VERSION + "/master_flags.xml");
+    assertEquals(
+        MASTER_FLAGS_XML, new String(Files.readAllBytes(masterFlagsFile), StandardCharsets.UTF_8));
+
+    List<GFlagDetails> flags = gFlagsValidation.extractGFlags(VERSION, "MASTER", false);
+    assertNotEquals(bundledFlags, flags);
+    assertEquals(1, flags.size());
+    GFlagDetails flag =
+        gFlagsValidation.getGFlagDetails(VERSION, "MASTER", "master_only_flag").get();
+    assertEquals("10", flag.defaultValue);
+    assertEquals("int32", flag.type);
+  }
+
+  @Test
+  public void testFetchKeepsExistingFiles() throws IOException {
+    Path versionDir = releasesDir.newFolder(VERSION).toPath();
+    Files.write(
+        versionDir.resolve("tserver_flags.xml"), "existing".getBytes(StandardCharsets.UTF_8));
+
+    gFlagsValidation.fetchGFlagFilesFromTarGZipInputStream(
+        new ByteArrayInputStream(createDBPackage("master_flags.xml", "tserver_flags.xml")),
+        VERSION,
+        Arrays.asList("master_flags.xml", "tserver_flags.xml"),
+        releasesDir.getRoot().getPath());
+    assertTrue(Files.exists(versionDir.resolve("master_flags.xml")));
+    byte[] tserverFlags = Files.readAllBytes(versionDir.resolve("tserver_flags.xml"));
+    assertEquals("existing", new String(tserverFlags, StandardCharsets.UTF_8));
+    // Only the extracted files are left in the version directory.
+    assertEquals(2, versionDir.toFile().list().length);
+  }
+}
@@ -3,8 +3,9 @@
 package com.yugabyte.yw.common.supportbundle;
 
 import static com.yugabyte.yw.common.TestHelper.createTempFile;
-import static com.yugabyte.yw.common.TestHelper.createTarGzipFiles;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
@@ -14,15 +15,18 @@ import static org.mockito.Mockito.verify;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.NodeFileDownloadManager;
+import com.yugabyte.yw.common.NodeFileDownloadManager.NodeFile;
+import com.yugabyte.yw.common.NodeFileDownloadManager.NodeFileSink;
 import com.yugabyte.yw.common.SupportBundleUtil;
 import com.yugabyte.yw.common.NodeUniverseManager;
-import com.yugabyte.yw.controllers.handlers.UniverseInfoHandler;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.Universe;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Paths;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,8 +45,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class UniverseLogsComponentTest extends FakeDBApplication {
-  @Mock public UniverseInfoHandler mockUniverseInfoHandler;
   @Mock public NodeUniverseManager mockNodeUniverseManager;
+  @Mock public NodeFileDownloadManager mockNodeFileDownloadManager;
   @Mock public Config mockConfig;
   @Mock public SupportBundleUtil mockSupportBundleUtil = new SupportBundleUtil();
 
@@ -80,7 +84,7 @@ public class UniverseLogsComponentTest extends FakeDBApplication {
         Paths.get(
             createTempFile(
                 fakeSourceComponentPath + "master/logs/", "tmp.txt", "test-logs-content"));
-    this.fakeTargetComponentPath = fakeBundlePath + "/" + node.nodeName + "/logs";
+    this.fakeTargetComponentPath = fakeBundlePath + "/master/logs";
 
     // List of fake logs, simulates the absolute paths of files on the node server
     List<String> fakeLogsList =
@@ -102,28 +106,37 @@ public class UniverseLogsComponentTest extends FakeDBApplication {
         .thenCallRealMethod();
     when(mockSupportBundleUtil.filterList(any(), any())).thenCallRealMethod();
     when(mockSupportBundleUtil.checkDateBetweenDates(any(), any(), any())).thenCallRealMethod();
-    when(mockSupportBundleUtil.unGzip(any(), any())).thenCallRealMethod();
-    when(mockSupportBundleUtil.unTar(any(), any())).thenCallRealMethod();
-
-    // Generate a fake shell response containing the entire list of file paths
-    // Mocks the server response
-    List<Path> fakeLogFilePathList =
-        fakeLogsList.stream().map(Paths::get).collect(Collectors.toList());
-    when(mockNodeUniverseManager.getNodeFilePaths(any(), any(), any(), eq(1), eq("f")))
-        .thenReturn(fakeLogFilePathList);
-    // Generate a fake shell response containing the output of the "check file exists" script
-    // Mocks the server response as "file existing"
-    when(mockNodeUniverseManager.checkNodeIfFileExists(any(), any(), any())).thenReturn(true);
-
-    when(mockUniverseInfoHandler.downloadNodeFile(any(), any(), any(), any(), any(), any()))
-        .thenAnswer(
+    when(mockSupportBundleUtil.filterNodeFilesBetweenDates(any(), any(), any(), any()))
+        .thenCallRealMethod();
+
+    // Generate the fake list of files returned by the node, relative to the data directory
+    Path fakeNodeHomeDir = Paths.get("/mnt/yb-data");
+    List<NodeFile> fakeLogFiles =
+        fakeLogsList
+            .stream()
+            .map(Paths::get)
+            .map(fakeNodeHomeDir::relativize)
+            .map(path -> new NodeFile(fakeNodeHomeDir.toString(), path.toString(), 17))
+            .collect(Collectors.toList());
+    when(mockNodeFileDownloadManager.listFiles(
+            any(), any(), any(), eq("master/logs"), eq(1), any()))
+        .thenReturn(fakeLogFiles);
+
+    // Write the fake temp file into the sink for every requested file
+    doAnswer(
             answer -> {
-              Path fakeTargetComponentTarGzPath =
-                  Paths.get(fakeTargetComponentPath, "tempOutput.tar.gz");
-              Files.createDirectories(Paths.get(fakeTargetComponentPath));
-              createTarGzipFiles(Arrays.asList(masterTempFile), fakeTargetComponentTarGzPath);
-              return fakeTargetComponentTarGzPath;
-            });
+              List<NodeFile> files = answer.getArgument(2);
+              NodeFileSink sink = answer.getArgument(3);
+              for (NodeFile file : files) {
+                try (OutputStream outputStream = sink.open(node, file)) {
+                  Files.copy(masterTempFile, outputStream);
+                }
+                sink.completed(node, file);
+              }
+              return null;
+            })
+        .when(mockNodeFileDownloadManager)
+        .downloadNodeFiles(any(), any(), any(), any());
   }
 
   @After
@@ -140,16 +153,20 @@ public class UniverseLogsComponentTest extends FakeDBApplication {
     // Calling the download function
     UniverseLogsComponent universeLogsComponent =
         new UniverseLogsComponent(
-            mockUniverseInfoHandler, mockNodeUniverseManager, mockConfig, mockSupportBundleUtil);
+            mockNodeUniverseManager,
+            mockNodeFileDownloadManager,
+            mockConfig,
+            mockSupportBundleUtil);
     universeLogsComponent.downloadComponentBetweenDates(
         customer, universe, Paths.get(fakeBundlePath), startDate, endDate, node);
 
     // Check that the download function is called
-    verify(mockUniverseInfoHandler, times(1))
-        .downloadNodeFile(any(), any(), any(), any(), any(), any());
+    verify(mockNodeFileDownloadManager, times(1))
+        .downloadNodeFiles(any(), any(), any(), any());
 
-    // Check if the logs directory is created
-    Boolean isDestDirCreated = new File(fakeTargetComponentPath).exists();
-    assertTrue(isDestDirCreated);
+    // Check if the logs are written under the logs directory
+    File[] downloadedFiles = new File(fakeTargetComponentPath).listFiles();
+    assertEquals(2, downloadedFiles.length);
+    assertTrue(Arrays.stream(downloadedFiles).noneMatch(f -> f.getName().endsWith(".part")));
   }
 }
@@ -25,6 +25,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
 import junitparams.naming.TestCaseName;
@@ -55,6 +59,11 @@ public class GFlagsValidationUiOnlyControllerTest extends FakeDBApplication {
     flag2.type = "int32";
     List<GFlagDetails> gflagList = new ArrayList<>(Arrays.asList(flag1, flag2));
     when(mockGFlagsValidation.extractGFlags(any(), any(), anyBoolean())).thenReturn(gflagList);
+    Map<String, GFlagDetails> gflagMap =
+        gflagList.stream().collect(Collectors.toMap(flag -> flag.name, Function.identity()));
+    when(mockGFlagsValidation.getGFlagsMap(any(), any())).thenReturn(gflagMap);
+    when(mockGFlagsValidation.getGFlagDetails(any(), any(), any()))
+        .thenAnswer(invocation -> Optional.ofNullable(gflagMap.get(invocation.getArgument(2))));
   }
 
   @Test
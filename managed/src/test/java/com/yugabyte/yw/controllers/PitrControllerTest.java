@@ -91,7 +91,7 @@ public class PitrControllerTest extends FakeDBApplication {
     defaultUniverse.setUniverseDetails(details);
     defaultUniverse.save();
     Commissioner commissioner = app.injector().instanceOf(Commissioner.class);
-    auditService = new AuditService();
+    auditService = app.injector().instanceOf(AuditService.class);
     pitrController = new PitrController(commissioner, mockService);
     pitrController.setAuditService(auditService);
   }
@@ -165,7 +165,7 @@ public class TablesControllerTest extends FakeDBApplication {
     when(mockService.getClient(any(), any())).thenReturn(mockClient);
     mockNodeUniverseManager = mock(NodeUniverseManager.class);
 
-    auditService = new AuditService();
+    auditService = app.injector().instanceOf(AuditService.class);
     Commissioner commissioner = app.injector().instanceOf(Commissioner.class);
     MetricQueryHelper metricQueryHelper = app.injector().instanceOf(MetricQueryHelper.class);
     CustomerConfigService customerConfigService =
@@ -3,6 +3,7 @@ package com.yugabyte.yw.models;
 
 import static com.yugabyte.yw.common.ModelFactory.createAlertConfiguration;
 import static com.yugabyte.yw.common.TestUtils.replaceFirstChar;
+import static com.yugabyte.yw.common.ThrownMatcher.thrown;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -18,6 +19,7 @@ import static org.hamcrest.Matchers.nullValue;
 
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.alerts.AlertService;
 import com.yugabyte.yw.models.Alert.SortBy;
 import com.yugabyte.yw.models.Alert.State;
@@ -27,7 +29,9 @@ import com.yugabyte.yw.models.filters.AlertFilter;
 import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.paging.AlertPagedQuery;
+import com.yugabyte.yw.models.paging.AlertPagedResponse;
 import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -257,6 +261,58 @@ public class AlertTest extends FakeDBApplication {
     assertThat(result, contains(alert1, alert2, alert3));
   }
 
+  @Test
+  public void testContinuationTokenPaging() {
+    AlertDefinition definition = createDefinition();
+    Date createTime = new Date();
+    for (int i = 0; i < 7; i++) {
+      // Some alerts share the create time, so the ties are broken by uuid.
+      Date alertCreateTime = Date.from(createTime.toInstant().minusSeconds(i / 2));
+      ModelFactory.createAlert(cust1, definition, alert -> alert.setCreateTime(alertCreateTime));
+    }
+
+    AlertPagedQuery query = new AlertPagedQuery();
+    query.setFilter(AlertFilter.builder().build());
+    query.setSortBy(SortBy.createTime);
+    query.setDirection(SortDirection.DESC);
+    query.setLimit(10);
+    List<Alert> expected = alertService.pagedList(query).getEntities();
+
+    query.setLimit(3);
+    query.setNeedTotalCount(true);
+    AlertPagedResponse page = alertService.pagedList(query);
+    List<Alert> result = new ArrayList<>(page.getEntities());
+    while (page.isHasNext()) {
+      query.setContinuationToken(page.getNextContinuationToken());
+      page = alertService.pagedList(query);
+      assertThat(page.isHasPrev(), is(true));
+      assertThat(page.getTotalCount(), equalTo(7));
+      result.addAll(page.getEntities());
+    }
+    assertThat(page.getNextContinuationToken(), nullValue());
+    assertThat(result, equalTo(expected));
+  }
+
+  @Test
+  public void testContinuationTokenForAnotherSortOrder() {
+    ModelFactory.createAlert(cust1, definition);
+    ModelFactory.createAlert(cust1, definition);
+
+    AlertPagedQuery query = new AlertPagedQuery();
+    query.setFilter(AlertFilter.builder().build());
+    query.setSortBy(SortBy.createTime);
+    query.setDirection(SortDirection.DESC);
+    query.setLimit(1);
+    query.setContinuationToken(alertService.pagedList(query).getNextContinuationToken());
+    query.setSortBy(SortBy.name);
+
+    assertThat(
+        () -> alertService.pagedList(query),
+        thrown(
+            PlatformServiceException.class,
+            "Continuation token was returned for another sort order"));
+  }
+
   @Test
   public void testAcknowledge() {
     Alert alert = createAlert();
@@ -42,7 +42,7 @@ public class AuditTest extends FakeDBApplication {
 
   @Before
   public void setUp() {
-    auditService = new AuditService();
+    auditService = app.injector().instanceOf(AuditService.class);
 
     customer = ModelFactory.testCustomer("tc1", "Test Customer 1");
     user = ModelFactory.testUser(customer);
@@ -9,6 +9,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -16,10 +17,16 @@ import static org.junit.Assert.assertTrue;
 
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.filters.CustomerTaskFilter;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedQuery;
+import com.yugabyte.yw.models.paging.CustomerTaskPagedResponse;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
 import com.yugabyte.yw.models.helpers.TaskType;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -89,6 +96,14 @@ public class CustomerTaskTest extends FakeDBApplication {
         defaultCustomer, targetUUID, rootTaskUUID, targetType, taskType, "Foo");
   }
 
+  private static List<Long> ids(CustomerTask... tasks) {
+    return ids(Arrays.asList(tasks));
+  }
+
+  private static List<Long> ids(List<CustomerTask> tasks) {
+    return tasks.stream().map(CustomerTask::getId).collect(Collectors.toList());
+  }
+
   private TaskInfo buildTaskInfo(UUID parentUUID, TaskType taskType) {
     TaskInfo taskInfo;
     taskInfo = new TaskInfo(taskType);
@@ -268,4 +283,82 @@ public class CustomerTaskTest extends FakeDBApplication {
     assertTrue(CustomerTask.find.all().isEmpty());
     assertTrue(TaskInfo.find.all().isEmpty());
   }
+
+  @Test
+  public void testUpdateSummary() {
+    UUID targetUUID = UUID.randomUUID();
+    CustomerTask th =
+        createTaskTree(
+            CustomerTask.TargetType.Universe,
+            targetUUID,
+            Create,
+            3,
+            Optional.of(TaskInfo.State.Running),
+            true);
+    assertNull(th.getTaskState());
+
+    TaskInfo taskInfo = TaskInfo.getOrBadRequest(th.getTaskUUID());
+    taskInfo.setTaskDetails(
+        Json.newObject()
+            .put("ybPrevSoftwareVersion", "2.14.0.0")
+            .put("ybSoftwareVersion", "2.16.0.0"));
+    taskInfo.save();
+    CustomerTask.updateSummary(taskInfo);
+
+    th.refresh();
+    assertEquals(TaskInfo.State.Running, th.getTaskState());
+    // One of the two subtasks succeeded.
+    assertEquals(50.0, th.getPercentComplete(), 0.0);
+    assertEquals("2.14.0.0", th.getSummaryDetails().get("ybPrevSoftwareVersion").asText());
+    assertEquals("2.16.0.0", th.getSummaryDetails().get("ybSoftwareVersion").asText());
+  }
+
+  @Test
+  public void testFindRecent() {
+    UUID targetUUID = UUID.randomUUID();
+    List<CustomerTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      tasks.add(createTask(CustomerTask.TargetType.Universe, targetUUID, Create));
+    }
+    createTask(CustomerTask.TargetType.Universe, UUID.randomUUID(), Create);
+
+    List<CustomerTask> recent = CustomerTask.findRecent(defaultCustomer.uuid, targetUUID, 3);
+    assertThat(ids(recent), is(equalTo(ids(tasks.get(4), tasks.get(3), tasks.get(2)))));
+    assertEquals(6, CustomerTask.findRecent(defaultCustomer.uuid, null, 10).size());
+
+    // Cached lists are not served after a customer task change.
+    CustomerTask newTask = createTask(CustomerTask.TargetType.Universe, targetUUID, Create);
+    recent = CustomerTask.findRecent(defaultCustomer.uuid, targetUUID, 3);
+    assertEquals(newTask.getId(), recent.get(0).getId());
+  }
+
+  @Test
+  public void testPagedListWithContinuationToken() {
+    UUID targetUUID = UUID.randomUUID();
+    for (int i = 0; i < 7; i++) {
+      createTask(CustomerTask.TargetType.Universe, targetUUID, Create);
+    }
+    CustomerTaskPagedQuery query = new CustomerTaskPagedQuery();
+    query.setFilter(
+        CustomerTaskFilter.builder()
+            .customerUUID(defaultCustomer.uuid)
+            .targetUUID(targetUUID)
+            .build());
+    query.setSortBy(CustomerTask.SortBy.createTime);
+    query.setDirection(SortDirection.DESC);
+    query.setLimit(10);
+    List<Long> expected = ids(CustomerTask.pagedList(query).getEntities());
+    assertEquals(7, expected.size());
+
+    query.setLimit(3);
+    CustomerTaskPagedResponse page = CustomerTask.pagedList(query);
+    List<Long> result = new ArrayList<>(ids(page.getEntities()));
+    while (page.isHasNext()) {
+      query.setContinuationToken(page.getNextContinuationToken());
+      page = CustomerTask.pagedList(query);
+      result.addAll(ids(page.getEntities()));
+    }
+    assertFalse(page.isHasNext());
+    assertThat(result, is(equalTo(expected)));
+  }
 }